@@ -0,0 +1,93 @@
+package io.github.gbessonov.jhash.benchmarks.cli;
+
+import io.github.gbessonov.jhash.HashCode;
+import io.github.gbessonov.jhash.JHash;
+import io.github.gbessonov.jhash.cli.DirectoryHasher;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Hashing a generated local tree of {@value #SMALL_FILES} small files (1 to 8 KiB) and
+ * {@value #HUGE_FILES} files of 256 MiB, about 1.1 GiB in total: the concurrent
+ * {@link DirectoryHasher} at several I/O concurrency levels against a sequential
+ * walk-and-hash loop. After the first run the tree is served from the page cache.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class DirectoryHashBenchmark {
+    static final int SMALL_FILES = 20_000;
+    static final int HUGE_FILES = 4;
+
+    @Param({"1", "8", "64"})
+    private int ioConcurrency;
+
+    private Path root;
+    private DirectoryHasher hasher;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        root = Files.createTempDirectory("jhash-tree");
+        var random = new Random(42);
+        for (int i = 0; i < SMALL_FILES; i++) {
+            var dir = Files.createDirectories(root.resolve("d" + (i % 100)));
+            var data = new byte[1024 + random.nextInt(7 * 1024)];
+            random.nextBytes(data);
+            Files.write(dir.resolve("f" + i), data);
+        }
+        var huge = new byte[256 << 20];
+        for (int i = 0; i < HUGE_FILES; i++) {
+            random.nextBytes(huge);
+            Files.write(root.resolve("huge" + i), huge);
+        }
+        hasher = new DirectoryHasher(ioConcurrency, Runtime.getRuntime().availableProcessors(), 0);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        hasher.close();
+        try (Stream<Path> paths = Files.walk(root)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).collect(Collectors.toList())) {
+                Files.delete(path);
+            }
+        }
+    }
+
+    @Benchmark
+    public long jHashDirectoryHasher() throws IOException {
+        var summary = hasher.hash(List.of(root), new DirectoryHasher.Listener() {
+            @Override
+            public void onHashed(Path file, HashCode hash) {
+            }
+
+            @Override
+            public void onFailed(Path file, IOException error) {
+                throw new IllegalStateException(error);
+            }
+        });
+        return summary.getBytes();
+    }
+
+    @Benchmark
+    public long sequentialLoop() throws IOException {
+        long digests = 0;
+        try (Stream<Path> paths = Files.walk(root)) {
+            for (Path file : paths.filter(Files::isRegularFile).collect(Collectors.toList())) {
+                digests += JHash.murmur3_128File(file).asLong();
+            }
+        }
+        return digests;
+    }
+}
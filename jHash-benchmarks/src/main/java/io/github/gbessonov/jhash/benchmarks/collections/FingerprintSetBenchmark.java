@@ -0,0 +1,131 @@
+package io.github.gbessonov.jhash.benchmarks.collections;
+
+import io.github.gbessonov.jhash.HashCode;
+import io.github.gbessonov.jhash.JHash;
+import io.github.gbessonov.jhash.collections.ConcurrentFingerprintSet;
+import io.github.gbessonov.jhash.collections.FingerprintSet;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.management.ManagementFactory;
+import java.util.HashSet;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Deduplication against a set of {@code entries} Murmur3 fingerprints: {@link FingerprintSet},
+ * {@link ConcurrentFingerprintSet} and the {@code HashSet<HashCode>} they replace. {@code duplicate}
+ * adds a fingerprint already in the set and {@code missing} looks up one that is not; both hash a
+ * long key first, the same for all three.
+ * <p>
+ * {@code footprint} is a single shot that reports, as its {@code bytesPerEntry} counter, the heap
+ * retained by the filled set per entry, measured once in the setup.
+ * <p>
+ * Forks get a 16 GB heap. The {@code HashSet} of 100M entries needs about that much, so that case
+ * may fail with an {@code OutOfMemoryError}; run it alone with a larger heap, e.g.
+ * {@code -p set=hashSet -p entries=100000000 -jvmArgsAppend -Xmx24g}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx16g")
+public class FingerprintSetBenchmark {
+
+    @Param({"fingerprintSet", "concurrent", "hashSet"})
+    public String set;
+
+    @Param({"1000000", "10000000", "100000000"})
+    public int entries;
+
+    private int kind;
+    private FingerprintSet fingerprints;
+    private ConcurrentFingerprintSet concurrent;
+    private HashSet<HashCode> hashCodes;
+    private long next;
+    private long bytesPerEntry;
+
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class Footprint {
+        public long bytesPerEntry;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            bytesPerEntry = 0;
+        }
+    }
+
+    @Setup
+    public void setup() {
+        long before = usedHeap();
+        switch (set) {
+            case "fingerprintSet":
+                kind = 0;
+                fingerprints = FingerprintSet.create();
+                break;
+            case "concurrent":
+                kind = 1;
+                concurrent = ConcurrentFingerprintSet.create();
+                break;
+            case "hashSet":
+                kind = 2;
+                hashCodes = new HashSet<>();
+                break;
+            default:
+                throw new IllegalArgumentException(set);
+        }
+        for (long key = 0; key < entries; key++) {
+            add(JHash.murmur3_128(key));
+        }
+        bytesPerEntry = (usedHeap() - before) / entries;
+    }
+
+    private static long usedHeap() {
+        System.gc();
+        System.gc();
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+
+    private boolean add(HashCode hash) {
+        switch (kind) {
+            case 0:
+                return fingerprints.addIfAbsent(hash.lowBits(), hash.highBits());
+            case 1:
+                return concurrent.addIfAbsent(hash.lowBits(), hash.highBits());
+            default:
+                return hashCodes.add(hash);
+        }
+    }
+
+    private boolean contains(HashCode hash) {
+        switch (kind) {
+            case 0:
+                return fingerprints.contains(hash.lowBits(), hash.highBits());
+            case 1:
+                return concurrent.contains(hash.lowBits(), hash.highBits());
+            default:
+                return hashCodes.contains(hash);
+        }
+    }
+
+    @Benchmark
+    public boolean duplicate() {
+        next = next + 1 == entries ? 0 : next + 1;
+        return add(JHash.murmur3_128(next));
+    }
+
+    @Benchmark
+    public boolean missing() {
+        next = next + 1 == entries ? 0 : next + 1;
+        return contains(JHash.murmur3_128(-1 - next));
+    }
+
+    // One iteration of one call, so the counter is the measured value itself rather than a sum
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @Warmup(iterations = 0)
+    @Measurement(iterations = 1)
+    public void footprint(Footprint footprint) {
+        footprint.bytesPerEntry = bytesPerEntry;
+    }
+}
@@ -0,0 +1,91 @@
+package io.github.gbessonov.jhash.benchmarks.murmur3a;
+
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hashing;
+import io.github.gbessonov.jhash.JHash;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 32-bit hashing of short byte arrays and strings, as used for hash-table bucketing:
+ * Murmur3A one-shots and the 128-bit Murmur3F truncated to an int, against Guava's
+ * {@code murmur3_32_fixed}. Each invocation hashes a different key.
+ * Run with {@code -prof gc}: the jHash one-shots report a {@code gc.alloc.rate.norm} of 0 B/op.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Thread)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class Murmur3aBenchmark {
+    private static final int KEY_COUNT = 1024;
+
+    @Param({"4", "8", "16", "32", "128"})
+    private int keyLength;
+
+    private final byte[][] keyBytes = new byte[KEY_COUNT][];
+    private final String[] keyStrings = new String[KEY_COUNT];
+    private final HashFunction guava = Hashing.murmur3_32_fixed();
+    private int next;
+
+    @Setup
+    public void setup() {
+        var random = new Random(42);
+        for (int i = 0; i < KEY_COUNT; i++) {
+            var chars = new char[keyLength];
+            for (int j = 0; j < keyLength; j++) {
+                chars[j] = (char) ('a' + random.nextInt(26));
+            }
+            keyStrings[i] = new String(chars);
+            keyBytes[i] = keyStrings[i].getBytes(StandardCharsets.UTF_8);
+        }
+    }
+
+    private int nextIndex() {
+        return next = (next + 1) & (KEY_COUNT - 1);
+    }
+
+    @Benchmark
+    public int jHashBytes() {
+        return JHash.murmur3_32(keyBytes[nextIndex()]);
+    }
+
+    @Benchmark
+    public int jHashStreamingBytes() {
+        return JHash.newMurmur3_32().include(keyBytes[nextIndex()]).hash().asInt();
+    }
+
+    @Benchmark
+    public int jHash128TruncatedBytes() {
+        return (int) JHash.murmur3_128_low64(keyBytes[nextIndex()]);
+    }
+
+    @Benchmark
+    public int guavaBytes() {
+        return guava.hashBytes(keyBytes[nextIndex()]).asInt();
+    }
+
+    @Benchmark
+    public int jHashUtf8() {
+        return JHash.murmur3_32_utf8(keyStrings[nextIndex()]);
+    }
+
+    @Benchmark
+    public int guavaUtf8() {
+        return guava.hashString(keyStrings[nextIndex()], StandardCharsets.UTF_8).asInt();
+    }
+
+    @Benchmark
+    public int jHashChars() {
+        return JHash.murmur3_32_chars(keyStrings[nextIndex()]);
+    }
+
+    @Benchmark
+    public int guavaUnencodedChars() {
+        return guava.hashUnencodedChars(keyStrings[nextIndex()]).asInt();
+    }
+}
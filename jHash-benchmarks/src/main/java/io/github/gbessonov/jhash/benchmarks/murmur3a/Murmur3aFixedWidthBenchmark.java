@@ -0,0 +1,69 @@
+package io.github.gbessonov.jhash.benchmarks.murmur3a;
+
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hashing;
+import io.github.gbessonov.jhash.JHash;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 32-bit hashing of int and long keys: the Murmur3A fixed-width one-shots against the 128-bit
+ * Murmur3F ones truncated to an int and Guava's {@code murmur3_32_fixed}. Each invocation hashes a different key.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Thread)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class Murmur3aFixedWidthBenchmark {
+    private static final int KEY_COUNT = 1024;
+
+    private final long[] keys = new long[KEY_COUNT];
+    private final HashFunction guava = Hashing.murmur3_32_fixed();
+    private int next;
+
+    @Setup
+    public void setup() {
+        var random = new Random(42);
+        for (int i = 0; i < KEY_COUNT; i++) {
+            keys[i] = random.nextLong();
+        }
+    }
+
+    private int nextIndex() {
+        return next = (next + 1) & (KEY_COUNT - 1);
+    }
+
+    @Benchmark
+    public int jHashInt() {
+        return JHash.murmur3_32((int) keys[nextIndex()]);
+    }
+
+    @Benchmark
+    public int jHash128TruncatedInt() {
+        return (int) JHash.murmur3_128_low64((int) keys[nextIndex()]);
+    }
+
+    @Benchmark
+    public int guavaInt() {
+        return guava.hashInt((int) keys[nextIndex()]).asInt();
+    }
+
+    @Benchmark
+    public int jHashLong() {
+        return JHash.murmur3_32(keys[nextIndex()]);
+    }
+
+    @Benchmark
+    public int jHash128TruncatedLong() {
+        return (int) JHash.murmur3_128_low64(keys[nextIndex()]);
+    }
+
+    @Benchmark
+    public int guavaLong() {
+        return guava.hashLong(keys[nextIndex()]).asInt();
+    }
+}
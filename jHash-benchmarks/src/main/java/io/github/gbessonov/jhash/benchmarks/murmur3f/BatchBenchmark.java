@@ -0,0 +1,66 @@
+package io.github.gbessonov.jhash.benchmarks.murmur3f;
+
+import io.github.gbessonov.jhash.JHash;
+import io.github.gbessonov.jhash.implementations.murmur3f.Murmur3fBatch;
+import io.github.gbessonov.jhash.implementations.murmur3f.Murmur3fOneShot;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hashing a variable-length column (data region + offsets), reported per value.
+ * Value lengths are uniform in {@code [1, 2 * averageLength]}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@OperationsPerInvocation(BatchBenchmark.COUNT)
+public class BatchBenchmark {
+    static final int COUNT = 65536;
+
+    @Param({"8", "32", "256"})
+    private int averageLength;
+
+    private byte[] data;
+    private int[] offsets;
+    private long[] out;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        offsets = new int[COUNT + 1];
+        for (int i = 0; i < COUNT; i++) {
+            offsets[i + 1] = offsets[i] + 1 + random.nextInt(2 * averageLength);
+        }
+        data = new byte[offsets[COUNT]];
+        random.nextBytes(data);
+        out = new long[2 * COUNT];
+    }
+
+    @Benchmark
+    public long[] jHashBatch() {
+        Murmur3fBatch.hash(data, offsets, COUNT, 0, out);
+        return out;
+    }
+
+    @Benchmark
+    public long[] jHashOneShotLoop() {
+        for (int i = 0; i < COUNT; i++) {
+            Murmur3fOneShot.hash(data, offsets[i], offsets[i + 1] - offsets[i], 0, out, 2 * i);
+        }
+        return out;
+    }
+
+    @Benchmark
+    public void jHashCopyPerValue(Blackhole bh) {
+        for (int i = 0; i < COUNT; i++) {
+            bh.consume(JHash.newMurmur3_128().include(Arrays.copyOfRange(data, offsets[i], offsets[i + 1])).hash());
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package io.github.gbessonov.jhash.benchmarks.murmur3f;
+
+import io.github.gbessonov.jhash.HashCode;
+import io.github.gbessonov.jhash.HashFunction;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import io.github.gbessonov.jhash.implementations.murmur3f.Murmur3fFactory;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.nio.ByteBuffer;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Streaming over direct buffers, as read from sockets and file channels.
+ * {@code jHashDirectBufferCopy} is what callers had to do before {@code include(ByteBuffer)} existed.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class ByteBufferStreamingBenchmark {
+
+    @Param({"64", "1024", "65536"})
+    private int chunkSize;
+
+    @Param({"10", "1000"})
+    private int chunkCount;
+
+    private ByteBuffer[] chunks;
+    private byte[] copyBuffer;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        chunks = new ByteBuffer[chunkCount];
+        byte[] bytes = new byte[chunkSize];
+
+        for (int i = 0; i < chunkCount; i++) {
+            random.nextBytes(bytes);
+            chunks[i] = ByteBuffer.allocateDirect(chunkSize).put(bytes).flip();
+        }
+        copyBuffer = new byte[chunkSize];
+    }
+
+    @Benchmark
+    public HashCode jHashDirectBuffer(Blackhole bh) {
+        HashFunction hasher = Murmur3fFactory.create(0);
+        for (ByteBuffer chunk : chunks) {
+            hasher.include(chunk);
+        }
+        var hash = hasher.hash();
+        bh.consume(hash);
+        return hash;
+    }
+
+    @Benchmark
+    public HashCode jHashDirectBufferGather(Blackhole bh) {
+        var hash = Murmur3fFactory.create(0).include(chunks).hash();
+        bh.consume(hash);
+        return hash;
+    }
+
+    @Benchmark
+    public HashCode jHashDirectBufferCopy(Blackhole bh) {
+        HashFunction hasher = Murmur3fFactory.create(0);
+        for (ByteBuffer chunk : chunks) {
+            chunk.get(0, copyBuffer);
+            hasher.include(copyBuffer);
+        }
+        var hash = hasher.hash();
+        bh.consume(hash);
+        return hash;
+    }
+
+    @Benchmark
+    public com.google.common.hash.HashCode guavaDirectBuffer(Blackhole bh) {
+        Hasher hasher = Hashing.murmur3_128().newHasher();
+        for (ByteBuffer chunk : chunks) {
+            hasher.putBytes(chunk.duplicate());
+        }
+        var hash = hasher.hash();
+        bh.consume(hash);
+        return hash;
+    }
+}
@@ -0,0 +1,66 @@
+package io.github.gbessonov.jhash.benchmarks.murmur3f;
+
+import io.github.gbessonov.jhash.HashCode;
+import io.github.gbessonov.jhash.HashFunction;
+import io.github.gbessonov.jhash.implementations.murmur3f.Murmur3fFactory;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hashing a composite key (long id, int shard, UTF-8 name) with typed feeders
+ * against serializing it into a temporary byte[] first.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class CompositeKeyBenchmark {
+
+    @Param({"orders", "customer-profile-attributes", "Größenmaßstäbe"})
+    private String name;
+
+    private final long id = 0x1234_5678_9abc_def0L;
+    private final int shard = 17;
+    private final HashFunction hasher = Murmur3fFactory.create(0);
+
+    @Benchmark
+    public HashCode jHashTypedFeeders(Blackhole bh) {
+        hasher.reset(0);
+        var hash = hasher.putLong(id).putInt(shard).putUtf8(name).hash();
+        bh.consume(hash);
+        return hash;
+    }
+
+    @Benchmark
+    public HashCode jHashSerialized(Blackhole bh) {
+        byte[] nameBytes = name.getBytes(StandardCharsets.UTF_8);
+        byte[] key = ByteBuffer.allocate(12 + nameBytes.length)
+                .order(ByteOrder.LITTLE_ENDIAN)
+                .putLong(id)
+                .putInt(shard)
+                .put(nameBytes)
+                .array();
+        hasher.reset(0);
+        var hash = hasher.include(key).hash();
+        bh.consume(hash);
+        return hash;
+    }
+
+    @Benchmark
+    public com.google.common.hash.HashCode guavaTypedFeeders(Blackhole bh) {
+        var hash = com.google.common.hash.Hashing.murmur3_128().newHasher()
+                .putLong(id)
+                .putInt(shard)
+                .putString(name, StandardCharsets.UTF_8)
+                .hash();
+        bh.consume(hash);
+        return hash;
+    }
+}
@@ -0,0 +1,76 @@
+package io.github.gbessonov.jhash.benchmarks.murmur3f;
+
+import io.github.gbessonov.jhash.HashCode;
+import io.github.gbessonov.jhash.HashFunction;
+import io.github.gbessonov.jhash.JHash;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Memory-mapped file hashing against reading the file onto the heap first.
+ * Files larger than the maximum array size cannot go through a single {@link Files#readAllBytes},
+ * so the heap baseline reads them in 1 GiB {@link InputStream#readNBytes} chunks instead.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 2)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class FileHashBenchmark {
+    private static final int HEAP_CHUNK = 1 << 30;
+
+    @Param({"1048576", "67108864", "1073741824", "8589934592"})
+    private long fileSize;
+
+    private Path file;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        file = Files.createTempFile("jhash-bench", ".bin");
+        byte[] block = new byte[1 << 20];
+        new Random(42).nextBytes(block);
+        try (OutputStream out = Files.newOutputStream(file)) {
+            for (long written = 0; written < fileSize; written += block.length) {
+                out.write(block, 0, (int) Math.min(block.length, fileSize - written));
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public HashCode jHashMapped(Blackhole bh) throws IOException {
+        var hash = JHash.murmur3_128File(file);
+        bh.consume(hash);
+        return hash;
+    }
+
+    @Benchmark
+    public HashCode jHashReadAllBytes(Blackhole bh) throws IOException {
+        HashFunction hasher = JHash.newMurmur3_128();
+        if (fileSize <= HEAP_CHUNK) {
+            hasher.include(Files.readAllBytes(file));
+        } else {
+            try (InputStream in = Files.newInputStream(file)) {
+                for (long read = 0; read < fileSize; read += HEAP_CHUNK) {
+                    hasher.include(in.readNBytes(HEAP_CHUNK));
+                }
+            }
+        }
+        var hash = hasher.hash();
+        bh.consume(hash);
+        return hash;
+    }
+}
@@ -0,0 +1,89 @@
+package io.github.gbessonov.jhash.benchmarks.murmur3f;
+
+import io.github.gbessonov.jhash.io.FileHashCache;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * A build-style pass over {@value #FILES} unchanged files of {@code fileSize} bytes through
+ * {@link FileHashCache}: a cold run starting from an empty index, which hashes every file, against
+ * a warm run answered from the index with one {@code stat} per file.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(1)
+public class FileHashCacheBenchmark {
+    static final int FILES = 2000;
+
+    @Param({"4096", "262144"})
+    private int fileSize;
+
+    private Path root;
+    private Path index;
+    private final List<Path> files = new ArrayList<>();
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        root = Files.createTempDirectory("jhash-cache");
+        index = root.resolve("index");
+        var random = new Random(42);
+        var data = new byte[fileSize];
+        var old = FileTime.fromMillis(System.currentTimeMillis() - 60_000);
+        for (int i = 0; i < FILES; i++) {
+            random.nextBytes(data);
+            var file = Files.write(root.resolve("f" + i), data);
+            Files.setLastModifiedTime(file, old);
+            files.add(file);
+        }
+        try (var cache = FileHashCache.open(index, FILES)) {
+            hashAll(cache);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        try (Stream<Path> paths = Files.walk(root)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).collect(Collectors.toList())) {
+                Files.delete(path);
+            }
+        }
+    }
+
+    @Benchmark
+    public long coldRun() throws IOException {
+        var coldIndex = root.resolve("cold-index");
+        Files.deleteIfExists(coldIndex);
+        try (var cache = FileHashCache.open(coldIndex, FILES)) {
+            return hashAll(cache);
+        }
+    }
+
+    @Benchmark
+    public long warmRun() throws IOException {
+        try (var cache = FileHashCache.open(index, FILES)) {
+            return hashAll(cache);
+        }
+    }
+
+    private long hashAll(FileHashCache cache) throws IOException {
+        long digests = 0;
+        for (Path file : files) {
+            digests += cache.hash(file).asLong();
+        }
+        return digests;
+    }
+}
@@ -0,0 +1,77 @@
+package io.github.gbessonov.jhash.benchmarks.murmur3f;
+
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hashing;
+import io.github.gbessonov.jhash.JHash;
+import io.github.gbessonov.jhash.implementations.murmur3f.Murmur3fOneShot;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hashing 8-byte ids and 16-byte UUIDs: the fixed-width fast paths against the generic
+ * byte[] path and Guava's {@code hashLong}. Each invocation hashes a different key.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Thread)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class FixedWidthBenchmark {
+    private static final int KEY_COUNT = 1024;
+
+    private final long[] keys = new long[KEY_COUNT];
+    private final byte[][] keyBytes = new byte[KEY_COUNT][];
+    private final long[] halves = new long[2];
+    private final HashFunction guava = Hashing.murmur3_128();
+    private int next;
+
+    @Setup
+    public void setup() {
+        var random = new Random(42);
+        for (int i = 0; i < KEY_COUNT; i++) {
+            keys[i] = random.nextLong();
+            keyBytes[i] = ByteBuffer.allocate(8).order(ByteOrder.LITTLE_ENDIAN).putLong(keys[i]).array();
+        }
+    }
+
+    private int nextIndex() {
+        return next = (next + 1) & (KEY_COUNT - 1);
+    }
+
+    @Benchmark
+    public long jHashLongLow64() {
+        return JHash.murmur3_128_low64(keys[nextIndex()]);
+    }
+
+    @Benchmark
+    public long[] jHashLong128Into() {
+        Murmur3fOneShot.hash(keys[nextIndex()], 0, halves, 0);
+        return halves;
+    }
+
+    @Benchmark
+    public long jHashUuidLow64() {
+        int i = nextIndex();
+        return JHash.murmur3_128_low64(keys[i], keys[(i + 1) & (KEY_COUNT - 1)]);
+    }
+
+    @Benchmark
+    public long jHashGenericByteArrayLow64() {
+        return JHash.murmur3_128_low64(keyBytes[nextIndex()]);
+    }
+
+    @Benchmark
+    public long jHashStreamingPutLong() {
+        return JHash.newMurmur3_128().putLong(keys[nextIndex()]).hash().asLong();
+    }
+
+    @Benchmark
+    public long guavaHashLong() {
+        return guava.hashLong(keys[nextIndex()]).asLong();
+    }
+}
@@ -1,6 +1,8 @@
 package io.github.gbessonov.jhash.benchmarks.murmur3f;
 
 import io.github.gbessonov.jhash.HashCode;
+import io.github.gbessonov.jhash.JHash;
+import io.github.gbessonov.jhash.implementations.murmur3f.BlockReader;
 import io.github.gbessonov.jhash.implementations.murmur3f.Murmur3fFactory;
 import org.openjdk.jmh.annotations.*;
 import org.openjdk.jmh.infra.Blackhole;
@@ -8,6 +10,10 @@ import org.openjdk.jmh.infra.Blackhole;
 import java.util.Random;
 import java.util.concurrent.TimeUnit;
 
+/**
+ * One-shot hashing. Run with {@code -prof gc} to compare allocations:
+ * {@code jHashMurmur3Low64} and {@code jHashMurmur3Into} report a {@code gc.alloc.rate.norm} of 0 B/op.
+ */
 @BenchmarkMode(Mode.Throughput)
 @OutputTimeUnit(TimeUnit.SECONDS)
 @State(Scope.Benchmark)
@@ -15,10 +21,20 @@ import java.util.concurrent.TimeUnit;
 @Measurement(iterations = 5, time = 1)
 @Fork(2)
 public class HashBenchmark {
-    @Param({"8", "64", "1024", "8192"})
+    @Param({"8", "64", "1024", "8192", "65536", "1048576"})
     private int inputSize;
 
     private byte[] data;
+    private final long[] halves = new long[2];
+
+    /**
+     * Block-read kernel; only the jHash benchmarks depending on this state are run once per kernel.
+     */
+    @State(Scope.Benchmark)
+    public static class KernelState {
+        @Param({"SCALAR", "VAR_HANDLE"})
+        private BlockReader kernel;
+    }
 
     @Setup
     public void setup() {
@@ -33,6 +49,42 @@ public class HashBenchmark {
         return hash;
     }
 
+    @Benchmark
+    public long jHashMurmur3Low64() {
+        return JHash.murmur3_128_low64(data);
+    }
+
+    @Benchmark
+    public long[] jHashMurmur3Into() {
+        JHash.murmur3_128_into(data, halves, 0);
+        return halves;
+    }
+
+    @Benchmark
+    public HashCode jHashMurmur3Kernel(KernelState kernelState, Blackhole bh) {
+        var hash = Murmur3fFactory.create(0, kernelState.kernel).include(data).hash();
+        bh.consume(hash);
+        return hash;
+    }
+
+    @Benchmark
+    public HashCode jHashMurmur3X86_128(Blackhole bh) {
+        var hash = JHash.murmur3_x86_128(data);
+        bh.consume(hash);
+        return hash;
+    }
+
+    @Benchmark
+    public long jHashMurmur3X86_128Low64() {
+        return JHash.murmur3_x86_128_low64(data);
+    }
+
+    @Benchmark
+    public long[] jHashMurmur3X86_128Into() {
+        JHash.murmur3_x86_128_into(data, halves, 0);
+        return halves;
+    }
+
     @Benchmark
     public com.google.common.hash.HashCode guavaMurmur3(Blackhole bh) {
         var hash = com.google.common.hash.Hashing.murmur3_128(0).hashBytes(data);
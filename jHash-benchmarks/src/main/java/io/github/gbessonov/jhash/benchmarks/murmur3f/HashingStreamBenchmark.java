@@ -0,0 +1,155 @@
+package io.github.gbessonov.jhash.benchmarks.murmur3f;
+
+import io.github.gbessonov.jhash.JHash;
+import io.github.gbessonov.jhash.io.HashingInputStream;
+import io.github.gbessonov.jhash.io.HashingOutputStream;
+import io.github.gbessonov.jhash.io.HashingReadableByteChannel;
+import io.github.gbessonov.jhash.io.HashingWritableByteChannel;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Copying 1 GiB through each hashing adapter against a plain copy of the same streams/channels.
+ * The source replays a random 64 KiB chunk and the sink discards, so the numbers are the copy loop
+ * plus hashing, without any I/O.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+public class HashingStreamBenchmark {
+    private static final long SIZE = 1L << 30;
+    private static final int CHUNK = 64 << 10;
+
+    private final byte[] chunk = new byte[CHUNK];
+    private final ByteBuffer directChunk = ByteBuffer.allocateDirect(CHUNK);
+    private final ByteBuffer copyBuffer = ByteBuffer.allocateDirect(CHUNK);
+
+    @Setup
+    public void setup() {
+        new Random(42).nextBytes(chunk);
+        directChunk.put(chunk).clear();
+    }
+
+    @Benchmark
+    public long plainStreamCopy() throws IOException {
+        return new ChunkInputStream().transferTo(OutputStream.nullOutputStream());
+    }
+
+    @Benchmark
+    public long hashingInputStreamCopy() throws IOException {
+        var in = new HashingInputStream(JHash.newMurmur3_128(), new ChunkInputStream());
+        in.transferTo(OutputStream.nullOutputStream());
+        return in.hash().asLong();
+    }
+
+    @Benchmark
+    public long hashingOutputStreamCopy() throws IOException {
+        var out = new HashingOutputStream(JHash.newMurmur3_128(), OutputStream.nullOutputStream());
+        new ChunkInputStream().transferTo(out);
+        return out.hash().asLong();
+    }
+
+    @Benchmark
+    public long plainChannelCopy() throws IOException {
+        return copy(new ChunkChannel(), new NullChannel());
+    }
+
+    @Benchmark
+    public long hashingReadableChannelCopy() throws IOException {
+        var in = new HashingReadableByteChannel(JHash.newMurmur3_128(), new ChunkChannel());
+        copy(in, new NullChannel());
+        return in.hash().asLong();
+    }
+
+    @Benchmark
+    public long hashingWritableChannelCopy() throws IOException {
+        var out = new HashingWritableByteChannel(JHash.newMurmur3_128(), new NullChannel());
+        copy(new ChunkChannel(), out);
+        return out.hash().asLong();
+    }
+
+    private long copy(ReadableByteChannel in, WritableByteChannel out) throws IOException {
+        long total = 0;
+        copyBuffer.clear();
+        while (in.read(copyBuffer) >= 0) {
+            copyBuffer.flip();
+            total += out.write(copyBuffer);
+            copyBuffer.clear();
+        }
+        return total;
+    }
+
+    // Serves SIZE bytes by replaying the chunk
+    private final class ChunkInputStream extends InputStream {
+        private long remaining = SIZE;
+
+        @Override
+        public int read() {
+            return remaining-- > 0 ? chunk[(int) (remaining % CHUNK)] & 0xff : -1;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            if (remaining == 0) {
+                return -1;
+            }
+            int n = (int) Math.min(Math.min(len, CHUNK), remaining);
+            System.arraycopy(chunk, 0, b, off, n);
+            remaining -= n;
+            return n;
+        }
+    }
+
+    private final class ChunkChannel implements ReadableByteChannel {
+        private long remaining = SIZE;
+
+        @Override
+        public int read(ByteBuffer dst) {
+            if (remaining == 0) {
+                return -1;
+            }
+            int n = (int) Math.min(Math.min(dst.remaining(), CHUNK), remaining);
+            dst.put(directChunk.clear().limit(n));
+            remaining -= n;
+            return n;
+        }
+
+        @Override
+        public boolean isOpen() {
+            return true;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    private static final class NullChannel implements WritableByteChannel {
+        @Override
+        public int write(ByteBuffer src) {
+            int n = src.remaining();
+            src.position(src.limit());
+            return n;
+        }
+
+        @Override
+        public boolean isOpen() {
+            return true;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package io.github.gbessonov.jhash.benchmarks.murmur3f;
+
+import io.github.gbessonov.jhash.HashFunction;
+import io.github.gbessonov.jhash.JHash;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hashing {@value #SUFFIXES} keys sharing a common prefix (namespace, table, ...), reported per key:
+ * absorbing the prefix once and {@link HashFunction#copy() forking} it per suffix against
+ * re-hashing the prefix for every key.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@OperationsPerInvocation(PrefixForkBenchmark.SUFFIXES)
+public class PrefixForkBenchmark {
+    static final int SUFFIXES = 1000;
+
+    @Param({"64", "256", "1024", "4096"})
+    private int prefixLength;
+
+    private byte[] prefix;
+    private byte[][] suffixes;
+
+    @Setup
+    public void setup() {
+        var random = new Random(42);
+        prefix = new byte[prefixLength];
+        random.nextBytes(prefix);
+        suffixes = new byte[SUFFIXES][];
+        for (int i = 0; i < SUFFIXES; i++) {
+            suffixes[i] = new byte[8 + random.nextInt(24)];
+            random.nextBytes(suffixes[i]);
+        }
+    }
+
+    @Benchmark
+    public void jHashForkedPrefix(Blackhole bh) {
+        HashFunction base = JHash.newMurmur3_128().include(prefix);
+        for (byte[] suffix : suffixes) {
+            bh.consume(base.copy().include(suffix).hash());
+        }
+    }
+
+    @Benchmark
+    public void jHashRehashedPrefix(Blackhole bh) {
+        for (byte[] suffix : suffixes) {
+            bh.consume(JHash.newMurmur3_128().include(prefix).include(suffix).hash());
+        }
+    }
+}
@@ -4,6 +4,7 @@ import io.github.gbessonov.jhash.HashCode;
 import io.github.gbessonov.jhash.HashFunction;
 import com.google.common.hash.Hasher;
 import com.google.common.hash.Hashing;
+import io.github.gbessonov.jhash.implementations.murmur3c.Murmur3cFactory;
 import io.github.gbessonov.jhash.implementations.murmur3f.Murmur3fFactory;
 import org.openjdk.jmh.annotations.*;
 import org.openjdk.jmh.infra.Blackhole;
@@ -18,20 +19,34 @@ import java.util.concurrent.TimeUnit;
 @Measurement(iterations = 5, time = 1)
 @Fork(2)
 public class StreamingBenchmark {
+    // Past this many bytes the chunks repeat, so that large chunks of many counts fit the heap
+    private static final long MAX_DISTINCT_BYTES = 64 << 20;
 
     @Param({"10", "100", "1000", "10000", "100000"})
     private int chunkCount;
 
+    // Serializers feed fragments of a few bytes; 64 is a typical buffered-writer chunk, 1024 and
+    // 65536 are buffered and file reads that take the bulk path of include
+    @Param({"1", "3", "7", "13", "17", "64", "1024", "65536"})
+    private int chunkSize;
+
     private byte[][] chunks;
+    private final HashFunction reusedHasher = Murmur3fFactory.create(0);
+    private final long[] halves = new long[2];
 
     @Setup
     public void setup() {
         Random random = new Random(42);
         chunks = new byte[chunkCount][];
 
+        int distinct = (int) Math.min(chunkCount, MAX_DISTINCT_BYTES / chunkSize);
         for (int i = 0; i < chunkCount; i++) {
-            chunks[i] = new byte[64]; // 64-byte chunks
-            random.nextBytes(chunks[i]);
+            if (i < distinct) {
+                chunks[i] = new byte[chunkSize];
+                random.nextBytes(chunks[i]);
+            } else {
+                chunks[i] = chunks[i % distinct];
+            }
         }
     }
 
@@ -46,6 +61,27 @@ public class StreamingBenchmark {
         return hash;
     }
 
+    @Benchmark
+    public long[] jHashStreamingReusedHashInto() {
+        reusedHasher.reset(0);
+        for (byte[] chunk : chunks) {
+            reusedHasher.include(chunk);
+        }
+        reusedHasher.hashInto(halves, 0);
+        return halves;
+    }
+
+    @Benchmark
+    public HashCode jHashX86_128Streaming(Blackhole bh) {
+        HashFunction hasher = Murmur3cFactory.create(0);
+        for (byte[] chunk : chunks) {
+            hasher.include(chunk);
+        }
+        var hash = hasher.hash();
+        bh.consume(hash);
+        return hash;
+    }
+
     @Benchmark
     public com.google.common.hash.HashCode guavaStreaming(Blackhole bh) {
         Hasher hasher = Hashing.murmur3_128().newHasher();
@@ -0,0 +1,61 @@
+package io.github.gbessonov.jhash.benchmarks.murmur3f;
+
+import io.github.gbessonov.jhash.HashCode;
+import io.github.gbessonov.jhash.JHash;
+import io.github.gbessonov.jhash.implementations.murmur3f.Murmur3fTree;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.ByteBuffer;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Core scaling of the parallel tree hash over a 256 MiB input, against sequential Murmur3f.
+ * {@code parallelism} is the size of the {@link ForkJoinPool}; to go beyond the default grid
+ * on a larger machine, override it, e.g. {@code -p parallelism=1,2,4,8,16,32}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 2, jvmArgsAppend = "-Xmx2g")
+public class TreeHashBenchmark {
+    private static final int SIZE = 256 << 20;
+
+    @Param({"1", "2", "4", "8"})
+    private int parallelism;
+
+    private byte[] data;
+    private ByteBuffer direct;
+    private ForkJoinPool pool;
+
+    @Setup
+    public void setup() {
+        data = new byte[SIZE];
+        new Random(42).nextBytes(data);
+        direct = ByteBuffer.allocateDirect(SIZE).put(data).flip();
+        pool = new ForkJoinPool(parallelism);
+    }
+
+    @TearDown
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public HashCode jHashTreeByteArray() {
+        return Murmur3fTree.hash(data, 0, pool);
+    }
+
+    @Benchmark
+    public HashCode jHashTreeDirectBuffer() {
+        return Murmur3fTree.hash(direct, 0, pool);
+    }
+
+    @Benchmark
+    public HashCode jHashSequential() {
+        return JHash.murmur3_128(data);
+    }
+}
@@ -0,0 +1,173 @@
+package io.github.gbessonov.jhash.benchmarks.routing;
+
+import io.github.gbessonov.jhash.JHash;
+import io.github.gbessonov.jhash.routing.JumpRouter;
+import io.github.gbessonov.jhash.routing.RendezvousRouter;
+import io.github.gbessonov.jhash.routing.RingRouter;
+import io.github.gbessonov.jhash.routing.Router;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lookup throughput of the routers over 10 to 1000 nodes for 16-byte keys and long keys, against
+ * {@code mod}: the Murmur3 digest as a {@code BigInteger} modulo the node count.
+ * <p>
+ * {@code addNode} and {@code removeNode} route each key before and after a node joins or the last
+ * node leaves and count the keys that change nodes; the {@code moved} and {@code kept} counters
+ * give the fraction moved, ideally {@code 1 / (n + 1)} and {@code 1 / n}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class RouterBenchmark {
+    private static final int KEYS = 1 << 16;
+
+    @Param({"jump", "ring", "rendezvous", "mod"})
+    public String router;
+
+    @Param({"10", "100", "1000"})
+    public int nodes;
+
+    private byte[][] keys;
+    private int next;
+    private Lookup current;
+    private long[] currentIds;
+    private Lookup grown;
+    private long[] grownIds;
+    private Lookup shrunk;
+    private long[] shrunkIds;
+
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class Moves {
+        public long moved;
+        public long kept;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            moved = 0;
+            kept = 0;
+        }
+
+        void count(long from, long to) {
+            if (from != to) {
+                moved++;
+            } else {
+                kept++;
+            }
+        }
+    }
+
+    @Setup
+    public void setup() {
+        keys = new byte[KEYS][];
+        for (int i = 0; i < KEYS; i++) {
+            keys[i] = String.format("record-%09d", i).getBytes(StandardCharsets.UTF_8);
+        }
+        grownIds = new long[nodes + 1];
+        for (int i = 0; i <= nodes; i++) {
+            grownIds[i] = router.equals("ring") || router.equals("rendezvous")
+                    ? JHash.murmur3_128_low64(("node-" + i).getBytes(StandardCharsets.UTF_8))
+                    : i;
+        }
+        currentIds = Arrays.copyOf(grownIds, nodes);
+        shrunkIds = Arrays.copyOf(grownIds, nodes - 1);
+        current = create(currentIds);
+        grown = create(grownIds);
+        shrunk = create(shrunkIds);
+    }
+
+    private Lookup create(long[] ids) {
+        switch (router) {
+            case "jump":
+                return new RouterLookup(JumpRouter.create(ids.length));
+            case "ring":
+                return new RouterLookup(RingRouter.create(ids));
+            case "rendezvous":
+                return new RouterLookup(RendezvousRouter.create(ids));
+            case "mod":
+                return new ModLookup(ids.length);
+            default:
+                throw new IllegalArgumentException(router);
+        }
+    }
+
+    private byte[] nextKey() {
+        next = next + 1 & KEYS - 1;
+        return keys[next];
+    }
+
+    @Benchmark
+    public int route() {
+        return current.route(nextKey());
+    }
+
+    @Benchmark
+    public int routeLong() {
+        next = next + 1 & KEYS - 1;
+        return current.route((long) next);
+    }
+
+    @Benchmark
+    public void addNode(Moves moves) {
+        byte[] key = nextKey();
+        moves.count(currentIds[current.route(key)], grownIds[grown.route(key)]);
+    }
+
+    @Benchmark
+    public void removeNode(Moves moves) {
+        byte[] key = nextKey();
+        moves.count(currentIds[current.route(key)], shrunkIds[shrunk.route(key)]);
+    }
+
+    // The two lookups measured, shared by the routers and the mod baseline
+    private interface Lookup {
+        int route(byte[] key);
+
+        int route(long key);
+    }
+
+    private static final class RouterLookup implements Lookup {
+        private final Router router;
+
+        RouterLookup(Router router) {
+            this.router = router;
+        }
+
+        @Override
+        public int route(byte[] key) {
+            return router.route(key);
+        }
+
+        @Override
+        public int route(long key) {
+            return router.route(key);
+        }
+    }
+
+    // The approach the routers replace: a BigInteger per lookup and every key moves on resize
+    private static final class ModLookup implements Lookup {
+        private final BigInteger nodes;
+
+        ModLookup(int nodes) {
+            this.nodes = BigInteger.valueOf(nodes);
+        }
+
+        @Override
+        public int route(byte[] key) {
+            return JHash.murmur3_128(key).getValueBigInteger().mod(nodes).intValue();
+        }
+
+        @Override
+        public int route(long key) {
+            return JHash.murmur3_128(key).getValueBigInteger().mod(nodes).intValue();
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package io.github.gbessonov.jhash.benchmarks.sketch;
+
+import com.google.common.hash.Funnels;
+import io.github.gbessonov.jhash.sketch.BloomFilter;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Put and query throughput of {@link BloomFilter} against Guava's {@code BloomFilter}, which keeps
+ * its bits in an {@code AtomicLongArray}, from one thread and from four threads sharing a filter.
+ * Keys are longs cycling through {@value #KEYS} values, the filter's expected insertions, so the
+ * filter stays at its design load; queries hit about half of the time. The {@code mixed} group
+ * runs three writers against one reader.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class BloomFilterBenchmark {
+    static final long KEYS = 1 << 22;
+    private static final double FPP = 0.01;
+
+    private BloomFilter filter;
+    private com.google.common.hash.BloomFilter<Long> guava;
+
+    @State(Scope.Thread)
+    public static class Keys {
+        private long next;
+
+        @Setup
+        public void setup() {
+            next = ThreadLocalRandom.current().nextLong(KEYS);
+        }
+
+        long nextKey() {
+            next = next + 1 & KEYS - 1;
+            return next;
+        }
+
+        long nextQuery() {
+            next = next + 1 & 2 * KEYS - 1;
+            return next;
+        }
+    }
+
+    @Setup
+    public void setup() {
+        filter = BloomFilter.create(KEYS, FPP);
+        guava = com.google.common.hash.BloomFilter.create(Funnels.longFunnel(), KEYS, FPP);
+        for (long key = 0; key < KEYS; key += 2) {
+            filter.put(key);
+            guava.put(key);
+        }
+    }
+
+    @Benchmark
+    public boolean put(Keys keys) {
+        return filter.put(keys.nextKey());
+    }
+
+    @Benchmark
+    @Threads(4)
+    public boolean putContended(Keys keys) {
+        return filter.put(keys.nextKey());
+    }
+
+    @Benchmark
+    public boolean mightContain(Keys keys) {
+        return filter.mightContain(keys.nextQuery());
+    }
+
+    @Benchmark
+    @Threads(4)
+    public boolean mightContainContended(Keys keys) {
+        return filter.mightContain(keys.nextQuery());
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(3)
+    public boolean mixedPut(Keys keys) {
+        return filter.put(keys.nextKey());
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(1)
+    public boolean mixedMightContain(Keys keys) {
+        return filter.mightContain(keys.nextQuery());
+    }
+
+    @Benchmark
+    public boolean guavaPut(Keys keys) {
+        return guava.put(keys.nextKey());
+    }
+
+    @Benchmark
+    @Threads(4)
+    public boolean guavaPutContended(Keys keys) {
+        return guava.put(keys.nextKey());
+    }
+
+    @Benchmark
+    public boolean guavaMightContain(Keys keys) {
+        return guava.mightContain(keys.nextQuery());
+    }
+
+    @Benchmark
+    @Threads(4)
+    public boolean guavaMightContainContended(Keys keys) {
+        return guava.mightContain(keys.nextQuery());
+    }
+}
@@ -0,0 +1,125 @@
+package io.github.gbessonov.jhash.benchmarks.sketch;
+
+import io.github.gbessonov.jhash.JHash;
+import io.github.gbessonov.jhash.sketch.CountMinSketch;
+import io.github.gbessonov.jhash.sketch.HeavyHitters;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.charset.StandardCharsets;
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Count-Min sketch and top-k updates from 1, 4 and 16 writer threads sharing one sketch of
+ * epsilon 0.0001 and delta 0.01 (5 rows of 27 183 counters), striped over up to 16 arrays. Keys
+ * are 12-byte strings with a Zipf-like skew, so a few hot keys hit the same counters from every
+ * thread. {@code perRowHashing} is the usual alternative: one seeded Murmur3 hash per row and an
+ * {@link AtomicLongArray}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class CountMinSketchBenchmark {
+    private static final int KEYS = 1 << 16;
+    private static final int DISTINCT_KEYS = 100_000;
+
+    private CountMinSketch sketch;
+    private HeavyHitters hitters;
+    private AtomicLongArray perRowCounters;
+    private int depth;
+    private int width;
+
+    @State(Scope.Thread)
+    public static class Keys {
+        private byte[][] keys;
+        private int next;
+
+        @Setup
+        public void setup() {
+            var random = new SplittableRandom(ThreadLocalRandom.current().nextLong());
+            double logKeys = Math.log(DISTINCT_KEYS + 1);
+            keys = new byte[KEYS][];
+            for (int i = 0; i < KEYS; i++) {
+                long key = (long) Math.exp(random.nextDouble() * logKeys) - 1;
+                keys[i] = String.format("user-%07d", key).getBytes(StandardCharsets.UTF_8);
+            }
+        }
+
+        byte[] nextKey() {
+            next = next + 1 & KEYS - 1;
+            return keys[next];
+        }
+    }
+
+    @Setup
+    public void setup() {
+        sketch = CountMinSketch.create(0.0001, 0.01, 16);
+        hitters = HeavyHitters.create(100, CountMinSketch.create(0.0001, 0.01, 16));
+        depth = sketch.depth();
+        width = sketch.width();
+        perRowCounters = new AtomicLongArray(depth * width);
+    }
+
+    @Benchmark
+    public void add(Keys keys) {
+        sketch.add(keys.nextKey());
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void add4(Keys keys) {
+        sketch.add(keys.nextKey());
+    }
+
+    @Benchmark
+    @Threads(16)
+    public void add16(Keys keys) {
+        sketch.add(keys.nextKey());
+    }
+
+    @Benchmark
+    public void heavyHitters(Keys keys) {
+        hitters.add(keys.nextKey());
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void heavyHitters4(Keys keys) {
+        hitters.add(keys.nextKey());
+    }
+
+    @Benchmark
+    @Threads(16)
+    public void heavyHitters16(Keys keys) {
+        hitters.add(keys.nextKey());
+    }
+
+    @Benchmark
+    public void perRowHashing(Keys keys) {
+        addPerRow(keys.nextKey());
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void perRowHashing4(Keys keys) {
+        addPerRow(keys.nextKey());
+    }
+
+    @Benchmark
+    @Threads(16)
+    public void perRowHashing16(Keys keys) {
+        addPerRow(keys.nextKey());
+    }
+
+    private void addPerRow(byte[] key) {
+        for (int row = 0; row < depth; row++) {
+            long hash = JHash.murmur3_128_low64(key, row);
+            perRowCounters.incrementAndGet(row * width + (int) Long.remainderUnsigned(hash, width));
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package io.github.gbessonov.jhash.benchmarks.sketch;
+
+import io.github.gbessonov.jhash.sketch.HyperLogLog;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Updates and merges of a {@link HyperLogLog} of the default precision already holding
+ * {@code cardinality} distinct keys: sparse below about 3000, dense above. {@code add} and
+ * {@code addContended} hash and re-add the long keys the sketch was filled with, so it stays at
+ * its cardinality; {@code addHashed} isolates the update from hashing by feeding cheap synthetic
+ * digests. {@code merge} folds the sketch into a fresh one, the cost of a roll-up, and
+ * {@code estimate} scans the registers. Filling the largest sketches takes several seconds per
+ * trial.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class HyperLogLogBenchmark {
+    private static final long SALT = 0x5851f42d4c957f2dL;
+
+    @Param({"1000", "10000", "1000000", "100000000", "1000000000"})
+    private long cardinality;
+
+    private HyperLogLog sketch;
+
+    @State(Scope.Thread)
+    public static class Keys {
+        private long cardinality;
+        private long next;
+
+        @Setup
+        public void setup(HyperLogLogBenchmark benchmark) {
+            cardinality = benchmark.cardinality;
+            next = ThreadLocalRandom.current().nextLong(cardinality);
+        }
+
+        long nextKey() {
+            if (++next == cardinality) {
+                next = 0;
+            }
+            return next;
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class MergeTarget {
+        private HyperLogLog target;
+
+        @Setup(Level.Invocation)
+        public void setup() {
+            target = HyperLogLog.create();
+        }
+    }
+
+    @Setup
+    public void setup() {
+        sketch = HyperLogLog.create();
+        for (long key = 0; key < cardinality; key++) {
+            sketch.add(key);
+        }
+    }
+
+    @Benchmark
+    public HyperLogLog add(Keys keys) {
+        sketch.add(keys.nextKey());
+        return sketch;
+    }
+
+    @Benchmark
+    @Threads(4)
+    public HyperLogLog addContended(Keys keys) {
+        sketch.add(keys.nextKey());
+        return sketch;
+    }
+
+    @Benchmark
+    public HyperLogLog addHashed(Keys keys) {
+        long key = keys.nextKey();
+        sketch.add(mix(key), mix(key ^ SALT));
+        return sketch;
+    }
+
+    @Benchmark
+    public HyperLogLog merge(MergeTarget merge) {
+        merge.target.merge(sketch);
+        return merge.target;
+    }
+
+    @Benchmark
+    public long estimate() {
+        return sketch.estimate();
+    }
+
+    // Stafford's variant 13 of the MurmurHash3 finalizer, a cheap stand-in for a digest
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+}
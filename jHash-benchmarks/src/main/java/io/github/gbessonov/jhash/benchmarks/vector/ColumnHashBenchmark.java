@@ -0,0 +1,72 @@
+package io.github.gbessonov.jhash.benchmarks.vector;
+
+import io.github.gbessonov.jhash.implementations.murmur3f.Murmur3fOneShot;
+import io.github.gbessonov.jhash.vector.Murmur3fColumns;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hashing a column of 8-byte keys into separate low/high digest arrays, reported per key:
+ * SIMD lanes ({@link Murmur3fColumns}) against a scalar loop of fixed-width one-shots.
+ * The forks resolve {@code jdk.incubator.vector}; without SIMD support for 64-bit lanes
+ * {@link Murmur3fColumns#isVectorized()} is false and both measure scalar code.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+@OperationsPerInvocation(ColumnHashBenchmark.COUNT)
+public class ColumnHashBenchmark {
+    static final int COUNT = 4096;
+
+    private final long[] keys = new long[COUNT];
+    private final int[] intKeys = new int[COUNT];
+    private final long[] low = new long[COUNT];
+    private final long[] high = new long[COUNT];
+    private final long[] halves = new long[2];
+
+    @Setup
+    public void setup() {
+        var random = new Random(42);
+        for (int i = 0; i < COUNT; i++) {
+            keys[i] = random.nextLong();
+            intKeys[i] = random.nextInt();
+        }
+    }
+
+    @Benchmark
+    public long[] jHashVectorLongs() {
+        Murmur3fColumns.hash(keys, 0, low, high);
+        return low;
+    }
+
+    @Benchmark
+    public long[] jHashVectorInts() {
+        Murmur3fColumns.hash(intKeys, 0, low, high);
+        return low;
+    }
+
+    @Benchmark
+    public long[] jHashScalarLongs() {
+        for (int i = 0; i < COUNT; i++) {
+            Murmur3fOneShot.hash(keys[i], 0, halves, 0);
+            low[i] = halves[0];
+            high[i] = halves[1];
+        }
+        return low;
+    }
+
+    @Benchmark
+    public long[] jHashScalarInts() {
+        for (int i = 0; i < COUNT; i++) {
+            Murmur3fOneShot.hash(intKeys[i], 0, halves, 0);
+            low[i] = halves[0];
+            high[i] = halves[1];
+        }
+        return low;
+    }
+}
@@ -0,0 +1,77 @@
+package io.github.gbessonov.jhash.benchmarks.xxhash;
+
+import io.github.gbessonov.jhash.HashCode;
+import io.github.gbessonov.jhash.JHash;
+import io.github.gbessonov.jhash.implementations.murmur3f.Murmur3fFactory;
+import io.github.gbessonov.jhash.implementations.xxhash.XxHashFactory;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One-shot xxHash64, XXH3-64 and XXH3-128 against Murmur3F, on the input sizes of
+ * {@code HashBenchmark}. Run with {@code -prof gc}: every benchmark but the two returning a
+ * {@link HashCode} reports a {@code gc.alloc.rate.norm} of 0 B/op.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class XxHashBenchmark {
+    @Param({"8", "64", "1024", "8192", "65536", "1048576"})
+    private int inputSize;
+
+    private byte[] data;
+    private final long[] halves = new long[2];
+
+    @Setup
+    public void setup() {
+        data = new byte[inputSize];
+        new Random(42).nextBytes(data);
+    }
+
+    @Benchmark
+    public HashCode murmur3(Blackhole bh) {
+        var hash = Murmur3fFactory.create(0).include(data).hash();
+        bh.consume(hash);
+        return hash;
+    }
+
+    @Benchmark
+    public long murmur3Low64() {
+        return JHash.murmur3_128_low64(data);
+    }
+
+    @Benchmark
+    public long[] murmur3Into() {
+        JHash.murmur3_128_into(data, halves, 0);
+        return halves;
+    }
+
+    @Benchmark
+    public long xxHash64() {
+        return JHash.xxHash64(data);
+    }
+
+    @Benchmark
+    public long xxh3_64() {
+        return JHash.xxh3_64(data);
+    }
+
+    @Benchmark
+    public long[] xxh3_128Into() {
+        JHash.xxh3_128_into(data, halves, 0);
+        return halves;
+    }
+
+    @Benchmark
+    public HashCode xxh3_128Streaming(Blackhole bh) {
+        var hash = XxHashFactory.createXxh3_128(0).include(data).hash();
+        bh.consume(hash);
+        return hash;
+    }
+}
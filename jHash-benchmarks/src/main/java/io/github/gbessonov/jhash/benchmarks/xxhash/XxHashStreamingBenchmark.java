@@ -0,0 +1,72 @@
+package io.github.gbessonov.jhash.benchmarks.xxhash;
+
+import io.github.gbessonov.jhash.HashFunction;
+import io.github.gbessonov.jhash.implementations.murmur3f.Murmur3fFactory;
+import io.github.gbessonov.jhash.implementations.xxhash.XxHashFactory;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Streaming 64-byte chunks, as in {@code StreamingBenchmark}, through reused hashers that are
+ * reset between invocations and finalized with {@code hashInto}, so nothing is allocated.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class XxHashStreamingBenchmark {
+
+    @Param({"10", "100", "1000", "10000", "100000"})
+    private int chunkCount;
+
+    private byte[][] chunks;
+    private final HashFunction murmur3 = Murmur3fFactory.create(0);
+    private final HashFunction xxHash64 = XxHashFactory.createXxHash64(0);
+    private final HashFunction xxh3_64 = XxHashFactory.createXxh3_64(0);
+    private final HashFunction xxh3_128 = XxHashFactory.createXxh3_128(0);
+    private final long[] halves = new long[2];
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        chunks = new byte[chunkCount][];
+
+        for (int i = 0; i < chunkCount; i++) {
+            chunks[i] = new byte[64]; // 64-byte chunks
+            random.nextBytes(chunks[i]);
+        }
+    }
+
+    @Benchmark
+    public long[] murmur3() {
+        return stream(murmur3);
+    }
+
+    @Benchmark
+    public long[] xxHash64() {
+        return stream(xxHash64);
+    }
+
+    @Benchmark
+    public long[] xxh3_64() {
+        return stream(xxh3_64);
+    }
+
+    @Benchmark
+    public long[] xxh3_128() {
+        return stream(xxh3_128);
+    }
+
+    private long[] stream(HashFunction hasher) {
+        hasher.reset(0);
+        for (byte[] chunk : chunks) {
+            hasher.include(chunk);
+        }
+        hasher.hashInto(halves, 0);
+        return halves;
+    }
+}
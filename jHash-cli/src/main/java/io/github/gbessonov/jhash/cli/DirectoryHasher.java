@@ -0,0 +1,307 @@
+package io.github.gbessonov.jhash.cli;
+
+import io.github.gbessonov.jhash.HashCode;
+import io.github.gbessonov.jhash.JHash;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Hashes every regular file of one or more directory trees concurrently with Murmur3f.
+ * <p>
+ * The tree is walked on the calling thread. Each file then takes one of {@code ioConcurrency}
+ * permits, is read on the I/O executor and hashed on a separate pool of {@code hashThreads}
+ * threads, and gives its permit back once hashed; the permits bound both the reads in flight and
+ * the file contents held in memory. Files up to {@value #IN_MEMORY_LIMIT} bytes are read whole;
+ * larger ones are hashed from memory-mapped windows on the hashing pool instead, so a few huge
+ * files neither exhaust the heap nor stall the small ones behind them. They still take a permit
+ * each, so they count against {@code ioConcurrency} like any other file, but their reads run on
+ * the hashing threads, as page faults of the mapped windows, not on the I/O executor.
+ * <p>
+ * On JDK 21 and later the I/O executor runs every read on its own virtual thread, found
+ * reflectively since the library targets Java 17; older JDKs get a platform thread pool of
+ * {@code ioConcurrency} threads.
+ */
+public final class DirectoryHasher implements AutoCloseable {
+
+    /**
+     * Files up to this size (8 MiB) are read into the heap in one go.
+     */
+    public static final long IN_MEMORY_LIMIT = 8L << 20;
+
+    /**
+     * Receives the outcome of every file, in completion order. Calls are serialized, so
+     * implementations need not be thread-safe. If a call throws, the listener is not called again,
+     * no further file is started and {@link #hash(List, Listener)} rethrows the exception once the
+     * files in flight are done.
+     */
+    public interface Listener {
+
+        void onHashed(Path file, HashCode hash);
+
+        void onFailed(Path file, IOException error);
+    }
+
+    private final int seed;
+    private final int ioConcurrency;
+    private final Semaphore permits;
+    private final ExecutorService ioExecutor;
+    private final ExecutorService hashExecutor;
+    private final boolean virtualThreads;
+
+    /**
+     * @param ioConcurrency the maximum number of files being read or hashed at once
+     * @param hashThreads   the number of threads hashing file contents
+     * @param seed          the Murmur3f seed
+     * @throws IllegalArgumentException if {@code ioConcurrency} or {@code hashThreads} is not positive
+     */
+    public DirectoryHasher(int ioConcurrency, int hashThreads, int seed) {
+        if (ioConcurrency <= 0 || hashThreads <= 0) {
+            throw new IllegalArgumentException(
+                    "ioConcurrency and hashThreads must be positive: " + ioConcurrency + ", " + hashThreads);
+        }
+        this.seed = seed;
+        this.ioConcurrency = ioConcurrency;
+        this.permits = new Semaphore(ioConcurrency);
+        this.hashExecutor = Executors.newFixedThreadPool(hashThreads, daemonThreads("jhash-hash"));
+        ExecutorService virtual = newVirtualThreadExecutor();
+        this.virtualThreads = virtual != null;
+        this.ioExecutor = virtualThreads ? virtual : Executors.newFixedThreadPool(ioConcurrency, daemonThreads("jhash-io"));
+    }
+
+    /**
+     * Returns whether reads run on virtual threads.
+     */
+    public boolean usesVirtualThreads() {
+        return virtualThreads;
+    }
+
+    /**
+     * Hashes every regular file under the given paths; a path may also be a single file.
+     * Symbolic links are not followed. Returns once every file has been reported.
+     *
+     * @throws IOException if the walk itself fails or the calling thread is interrupted
+     * @throws RuntimeException the first exception thrown by the listener
+     */
+    public Summary hash(List<Path> paths, Listener listener) throws IOException {
+        long start = System.nanoTime();
+        Run run = new Run(listener);
+        try {
+            for (Path path : paths) {
+                if (run.listenerFailure != null) {
+                    break;
+                }
+                Files.walkFileTree(path, new SimpleFileVisitor<>() {
+                    @Override
+                    public FileVisitResult visitFile(Path file, BasicFileAttributes attributes) throws IOException {
+                        if (run.listenerFailure != null) {
+                            return FileVisitResult.TERMINATE;
+                        }
+                        if (attributes.isRegularFile()) {
+                            run.submit(file, attributes.size());
+                        }
+                        return FileVisitResult.CONTINUE;
+                    }
+
+                    @Override
+                    public FileVisitResult visitFileFailed(Path file, IOException error) {
+                        run.failed(file, error);
+                        return FileVisitResult.CONTINUE;
+                    }
+                });
+            }
+        } finally {
+            // Every file holds a permit until it is reported, so owning all of them means the run is over
+            acquirePermits(ioConcurrency);
+            permits.release(ioConcurrency);
+        }
+        if (run.listenerFailure != null) {
+            throw run.listenerFailure;
+        }
+        return new Summary(run.files.get(), run.bytes.get(), run.failures.get(), System.nanoTime() - start);
+    }
+
+    @Override
+    public void close() {
+        ioExecutor.shutdown();
+        hashExecutor.shutdown();
+        try {
+            ioExecutor.awaitTermination(1, TimeUnit.MINUTES);
+            hashExecutor.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // State of a single hash() call
+    private final class Run {
+        private final Listener listener;
+        private final AtomicLong files = new AtomicLong();
+        private final AtomicLong bytes = new AtomicLong();
+        private final AtomicLong failures = new AtomicLong();
+        // First exception thrown by the listener, written under the run's lock
+        private volatile RuntimeException listenerFailure;
+
+        Run(Listener listener) {
+            this.listener = listener;
+        }
+
+        void submit(Path file, long size) throws IOException {
+            acquirePermits(1);
+            try {
+                if (size > IN_MEMORY_LIMIT) {
+                    // Holds its permit while mapped and hashed, but is read on the hashing pool
+                    hashExecutor.execute(() -> {
+                        try {
+                            hashed(file, size, JHash.murmur3_128File(file, seed));
+                        } catch (IOException e) {
+                            failed(file, e);
+                        } finally {
+                            done();
+                        }
+                    });
+                } else {
+                    ioExecutor.execute(() -> read(file));
+                }
+            } catch (RuntimeException e) {
+                // Rejected: the task that would have released the permit never runs
+                done();
+                throw e;
+            }
+        }
+
+        // Reads the file and hands it to the hashing pool, which then owns the permit; any other
+        // outcome, including a rejected hand-off, releases the permit here
+        private void read(Path file) {
+            boolean handedOff = false;
+            try {
+                byte[] data = Files.readAllBytes(file);
+                hashExecutor.execute(() -> {
+                    try {
+                        hashed(file, data.length, JHash.murmur3_128(data, seed));
+                    } finally {
+                        done();
+                    }
+                });
+                handedOff = true;
+            } catch (IOException e) {
+                failed(file, e);
+            } finally {
+                if (!handedOff) {
+                    done();
+                }
+            }
+        }
+
+        private void done() {
+            permits.release();
+        }
+
+        private void hashed(Path file, long size, HashCode hash) {
+            files.incrementAndGet();
+            bytes.addAndGet(size);
+            synchronized (this) {
+                if (listenerFailure == null) {
+                    try {
+                        listener.onHashed(file, hash);
+                    } catch (RuntimeException e) {
+                        listenerFailure = e;
+                    }
+                }
+            }
+        }
+
+        void failed(Path file, IOException error) {
+            failures.incrementAndGet();
+            synchronized (this) {
+                if (listenerFailure == null) {
+                    try {
+                        listener.onFailed(file, error);
+                    } catch (RuntimeException e) {
+                        listenerFailure = e;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Totals of a {@link #hash(List, Listener)} call.
+     */
+    public static final class Summary {
+        private final long files;
+        private final long bytes;
+        private final long failures;
+        private final long nanos;
+
+        Summary(long files, long bytes, long failures, long nanos) {
+            this.files = files;
+            this.bytes = bytes;
+            this.failures = failures;
+            this.nanos = nanos;
+        }
+
+        public long getFiles() {
+            return files;
+        }
+
+        public long getBytes() {
+            return bytes;
+        }
+
+        public long getFailures() {
+            return failures;
+        }
+
+        public long getNanos() {
+            return nanos;
+        }
+
+        public double getFilesPerSecond() {
+            return files * 1e9 / Math.max(nanos, 1);
+        }
+
+        public double getMegabytesPerSecond() {
+            return bytes * 1e3 / Math.max(nanos, 1);
+        }
+    }
+
+    private void acquirePermits(int count) throws InterruptedIOException {
+        try {
+            permits.acquire(count);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for I/O permits");
+        }
+    }
+
+    // Executors.newVirtualThreadPerTaskExecutor() on JDK 21+, null otherwise
+    private static ExecutorService newVirtualThreadExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return null;
+        }
+    }
+
+    private static ThreadFactory daemonThreads(String prefix) {
+        AtomicLong counter = new AtomicLong();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,113 @@
+package io.github.gbessonov.jhash.cli;
+
+import io.github.gbessonov.jhash.HashCode;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Command-line entry point: hashes files and directory trees with Murmur3f.
+ * <pre>
+ * java -jar jhash.jar [--io-concurrency N] [--hash-threads N] [--seed N] [--quiet] PATH...
+ * </pre>
+ * Every regular file is printed as {@code <32 hex digits>  <path>}, the format of
+ * {@code md5sum}/{@code sha256sum}, in completion order; pipe through {@code sort -k2} for a stable
+ * listing. Paths containing a backslash or a newline are escaped and the line is prefixed with a
+ * backslash, as GNU coreutils does. Errors and the files/s and MB/s summary go to standard error,
+ * so standard output stays machine-readable. The exit status is 0 on success, 1 if any file could
+ * not be hashed and 2 on a usage error.
+ */
+public final class JHashCli {
+
+    static final int DEFAULT_IO_CONCURRENCY = 64;
+
+    private static final String USAGE =
+            "Usage: jhash [--io-concurrency N] [--hash-threads N] [--seed N] [--quiet] PATH...";
+
+    private JHashCli() {
+    }
+
+    public static void main(String[] args) {
+        System.exit(run(args, System.out, System.err));
+    }
+
+    static int run(String[] args, PrintStream out, PrintStream err) {
+        int ioConcurrency = DEFAULT_IO_CONCURRENCY;
+        int hashThreads = Runtime.getRuntime().availableProcessors();
+        int seed = 0;
+        boolean quiet = false;
+        List<Path> paths = new ArrayList<>();
+        try {
+            for (int i = 0; i < args.length; i++) {
+                switch (args[i]) {
+                    case "--io-concurrency": ioConcurrency = Integer.parseInt(args[++i]); break;
+                    case "--hash-threads": hashThreads = Integer.parseInt(args[++i]); break;
+                    case "--seed": seed = Integer.parseInt(args[++i]); break;
+                    case "--quiet": quiet = true; break;
+                    default:
+                        if (args[i].startsWith("--")) {
+                            throw new IllegalArgumentException("Unknown option " + args[i]);
+                        }
+                        paths.add(Path.of(args[i]));
+                }
+            }
+            if (paths.isEmpty()) {
+                throw new IllegalArgumentException("No path given");
+            }
+        } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+            err.println("jhash: " + (e instanceof ArrayIndexOutOfBoundsException ? "Missing option value" : e.getMessage()));
+            err.println(USAGE);
+            return 2;
+        }
+
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, Charset.defaultCharset()), 1 << 16);
+        DirectoryHasher.Summary summary;
+        try (var hasher = new DirectoryHasher(ioConcurrency, hashThreads, seed)) {
+            summary = hasher.hash(paths, new DirectoryHasher.Listener() {
+                @Override
+                public void onHashed(Path file, HashCode hash) {
+                    try {
+                        writer.write(formatLine(hash, file));
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }
+
+                @Override
+                public void onFailed(Path file, IOException error) {
+                    err.println("jhash: " + file + ": " + error);
+                }
+            });
+            writer.flush();
+        } catch (IOException | UncheckedIOException | IllegalArgumentException e) {
+            err.println("jhash: " + e.getMessage());
+            return 2;
+        }
+
+        if (!quiet) {
+            err.printf(Locale.ROOT, "jhash: %d files, %.1f MiB in %.3f s: %.0f files/s, %.1f MB/s%n",
+                    summary.getFiles(), summary.getBytes() / (double) (1 << 20), summary.getNanos() / 1e9,
+                    summary.getFilesPerSecond(), summary.getMegabytesPerSecond());
+        }
+        return summary.getFailures() == 0 ? 0 : 1;
+    }
+
+    // One sha-sum style line, escaped like GNU coreutils when the name needs it
+    static String formatLine(HashCode hash, Path file) {
+        String name = file.toString();
+        if (name.indexOf('\\') < 0 && name.indexOf('\n') < 0) {
+            return hash.getValueHexString() + "  " + name + "\n";
+        }
+        String escaped = name.replace("\\", "\\\\").replace("\n", "\\n");
+        return "\\" + hash.getValueHexString() + "  " + escaped + "\n";
+    }
+}
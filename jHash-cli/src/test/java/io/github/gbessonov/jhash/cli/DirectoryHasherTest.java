@@ -0,0 +1,57 @@
+package io.github.gbessonov.jhash.cli;
+
+import io.github.gbessonov.jhash.HashCode;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class DirectoryHasherTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void listenerFailureStopsRunTest() throws IOException {
+        for (int i = 0; i < 500; i++) {
+            Files.write(tempDir.resolve("f" + i), new byte[]{(byte) i});
+        }
+        var calls = new AtomicInteger();
+        var failure = new UncheckedIOException(new IOException("Broken pipe"));
+        try (var hasher = new DirectoryHasher(4, 2, 0)) {
+            var thrown = Assertions.assertThrows(UncheckedIOException.class,
+                    () -> hasher.hash(List.of(tempDir), new DirectoryHasher.Listener() {
+                        @Override
+                        public void onHashed(Path file, HashCode hash) {
+                            calls.incrementAndGet();
+                            throw failure;
+                        }
+
+                        @Override
+                        public void onFailed(Path file, IOException error) {
+                            Assertions.fail(error);
+                        }
+                    }));
+            Assertions.assertSame(failure, thrown);
+            Assertions.assertEquals(1, calls.get());
+
+            // Every permit came back: the next run completes
+            var summary = hasher.hash(List.of(tempDir.resolve("f0")), new DirectoryHasher.Listener() {
+                @Override
+                public void onHashed(Path file, HashCode hash) {
+                }
+
+                @Override
+                public void onFailed(Path file, IOException error) {
+                }
+            });
+            Assertions.assertEquals(1, summary.getFiles());
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package io.github.gbessonov.jhash.cli;
+
+import io.github.gbessonov.jhash.JHash;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.TreeMap;
+
+public class JHashCliTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void hashesTreeConcurrentlyTest() throws IOException {
+        var random = new Random(42);
+        var expected = new TreeMap<String, String>();
+        for (int i = 0; i < 200; i++) {
+            var dir = Files.createDirectories(tempDir.resolve("d" + (i % 7)).resolve("e" + (i % 3)));
+            var data = new byte[random.nextInt(5000)];
+            random.nextBytes(data);
+            var file = Files.write(dir.resolve("f" + i), data);
+            expected.put(file.toString(), JHash.murmur3_128(data, 5).getValueHexString());
+        }
+        // Above the in-memory limit, hashed from mapped windows instead
+        var huge = tempDir.resolve("huge.bin");
+        var hugeData = new byte[(int) DirectoryHasher.IN_MEMORY_LIMIT + 17];
+        random.nextBytes(hugeData);
+        Files.write(huge, hugeData);
+        expected.put(huge.toString(), JHash.murmur3_128(hugeData, 5).getValueHexString());
+
+        var result = run("--io-concurrency", "4", "--hash-threads", "3", "--seed", "5", tempDir.toString());
+
+        Assertions.assertEquals(0, result.status);
+        var actual = new TreeMap<String, String>();
+        for (String line : result.out.split("\n")) {
+            var separator = line.indexOf("  ");
+            actual.put(line.substring(separator + 2), line.substring(0, separator));
+        }
+        Assertions.assertEquals(expected, actual);
+        Assertions.assertTrue(result.err.contains("201 files"), result.err);
+        Assertions.assertTrue(result.err.contains("files/s"), result.err);
+    }
+
+    @Test
+    public void singleFileAndMissingPathTest() throws IOException {
+        var file = Files.write(tempDir.resolve("one.txt"), "hello".getBytes());
+        var missing = tempDir.resolve("missing");
+
+        var result = run("--quiet", file.toString(), missing.toString());
+
+        Assertions.assertEquals(1, result.status);
+        Assertions.assertEquals(JHash.murmur3_128("hello".getBytes()).getValueHexString() + "  " + file + "\n",
+                result.out);
+        Assertions.assertTrue(result.err.contains(missing.toString()), result.err);
+        Assertions.assertFalse(result.err.contains("files/s"), result.err);
+    }
+
+    @Test
+    public void escapedNamesTest() {
+        var hash = JHash.murmur3_128(new byte[0]);
+        Assertions.assertEquals(hash.getValueHexString() + "  a/b c\n", JHashCli.formatLine(hash, Path.of("a/b c")));
+        Assertions.assertEquals("\\" + hash.getValueHexString() + "  a\\nb\\\\c\n",
+                JHashCli.formatLine(hash, Path.of("a\nb\\c")));
+    }
+
+    @Test
+    public void usageErrorsTest() {
+        Assertions.assertEquals(2, run().status);
+        Assertions.assertEquals(2, run("--bogus", ".").status);
+        Assertions.assertEquals(2, run("--seed").status);
+        Assertions.assertEquals(2, run("--io-concurrency", "0", ".").status);
+    }
+
+    private static Result run(String... args) {
+        var out = new ByteArrayOutputStream();
+        var err = new ByteArrayOutputStream();
+        var charset = Charset.defaultCharset();
+        int status = JHashCli.run(args, new PrintStream(out, true, charset), new PrintStream(err, true, charset));
+        return new Result(status, out.toString(charset), err.toString(charset));
+    }
+
+    private static final class Result {
+        final int status;
+        final String out;
+        final String err;
+
+        Result(int status, String out, String err) {
+            this.status = status;
+            this.out = out;
+            this.err = err;
+        }
+    }
+}
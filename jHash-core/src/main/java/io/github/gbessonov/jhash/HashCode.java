@@ -1,6 +1,7 @@
 package io.github.gbessonov.jhash;
 
 import java.math.BigInteger;
+import java.util.Objects;
 
 /**
  * Represents a hash code of variable length produced by a {@link HashFunction}.
@@ -53,4 +54,75 @@ public interface HashCode {
      * @return a lowercase hexadecimal string representation of the hash
      */
     String getValueHexString();
-}
\ No newline at end of file
+
+    /**
+     * Returns the first 4 bytes of the little-endian representation as an {@code int}.
+     * <p>
+     * This and the other accessors below have default implementations on top of
+     * {@link #getValueBytesLittleEndian()}, which allocate; the built-in hash codes override them
+     * to read their fields directly.
+     *
+     * @return the least significant 32 bits of the hash
+     */
+    default int asInt() {
+        return (int) lowBits();
+    }
+
+    /**
+     * Returns the first 8 bytes of the little-endian representation as a {@code long}.
+     *
+     * @return the least significant 64 bits of the hash
+     * @throws IllegalStateException if the hash is shorter than 64 bits
+     */
+    default long asLong() {
+        if (getValueBytesLittleEndian().length < Long.BYTES) {
+            throw new IllegalStateException("Hash code is shorter than 64 bits: " + getValueHexString());
+        }
+        return lowBits();
+    }
+
+    /**
+     * Returns the least significant 64 bits of the hash. Unlike {@link #asLong()}, hashes shorter
+     * than 64 bits are zero-extended instead of rejected.
+     *
+     * @return bits 0-63 of the hash
+     */
+    default long lowBits() {
+        return littleEndianWord(getValueBytesLittleEndian(), 0);
+    }
+
+    /**
+     * Returns bits 64-127 of the hash, or 0 if the hash is no longer than 64 bits.
+     *
+     * @return bits 64-127 of the hash
+     */
+    default long highBits() {
+        return littleEndianWord(getValueBytesLittleEndian(), Long.BYTES);
+    }
+
+    /**
+     * Copies the little-endian representation of the hash into {@code dest} without allocating.
+     * <p>
+     * The default implementation copies {@link #getValueBytesLittleEndian()}, so it allocates.
+     *
+     * @param dest   the array receiving the bytes
+     * @param offset the index of the first byte to write
+     * @return the number of bytes written, i.e. the hash length in bytes
+     * @throws IndexOutOfBoundsException if the hash does not fit; nothing is written then
+     */
+    default int writeBytesTo(byte[] dest, int offset) {
+        byte[] bytes = getValueBytesLittleEndian();
+        Objects.checkFromIndexSize(offset, bytes.length, dest.length);
+        System.arraycopy(bytes, 0, dest, offset, bytes.length);
+        return bytes.length;
+    }
+
+    // Up to 8 bytes of 'bytes' from 'from' as a little-endian long, zero-extended
+    private static long littleEndianWord(byte[] bytes, int from) {
+        long word = 0;
+        for (int i = Math.min(bytes.length, from + Long.BYTES) - 1; i >= from; i--) {
+            word = word << 8 | bytes[i] & 0xff;
+        }
+        return word;
+    }
+}
@@ -1,5 +1,11 @@
 package io.github.gbessonov.jhash;
 
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Objects;
+
 /**
  * A streaming hash function interface that supports incremental input,
  * finalization, and optional reseeding.
@@ -16,6 +22,135 @@ public interface HashFunction {
      */
     HashFunction include(byte[] input);
 
+    /**
+     * Feeds a range of the array into the hash function.
+     * Produces the same digest as including a copy of the range.
+     * <p>
+     * The built-in hash functions read the range in place, without copying it. The default
+     * implementation includes a copy of the range, or the array itself if the range covers all of it.
+     *
+     * @param input  the array holding the bytes to include
+     * @param offset the index of the first byte to include
+     * @param length the number of bytes to include
+     * @return this instance for method chaining
+     * @throws IndexOutOfBoundsException if the range is out of the array's bounds
+     */
+    default HashFunction include(byte[] input, int offset, int length) {
+        Objects.checkFromIndexSize(offset, length, input.length);
+        if (offset == 0 && length == input.length) {
+            return include(input);
+        }
+        return include(Arrays.copyOfRange(input, offset, offset + length));
+    }
+
+    /**
+     * Feeds the remaining bytes of the buffer into the hash function.
+     * <p>
+     * The buffer's position, limit and byte order are left unchanged, so the caller
+     * decides whether to advance it afterwards.
+     * <p>
+     * The built-in hash functions read the bytes between the buffer's position and limit in place,
+     * for both heap and direct buffers, without copying them into an intermediate array. The default
+     * implementation copies them into an array and includes it.
+     *
+     * @param input the buffer whose remaining bytes to include in the hash computation
+     * @return this instance for method chaining
+     */
+    default HashFunction include(ByteBuffer input) {
+        byte[] bytes = new byte[input.remaining()];
+        input.duplicate().get(bytes);
+        return include(bytes);
+    }
+
+    /**
+     * Feeds the remaining bytes of each buffer, in order, into the hash function.
+     * <p>
+     * This is the gathering counterpart of {@link #include(ByteBuffer)} and produces the
+     * same digest as including the concatenation of all buffers. None of the buffers'
+     * positions or limits are changed.
+     *
+     * @param inputs the buffers to include in the hash computation
+     * @return this instance for method chaining
+     */
+    default HashFunction include(ByteBuffer[] inputs) {
+        for (ByteBuffer input : inputs) {
+            include(input);
+        }
+        return this;
+    }
+
+    /**
+     * Feeds a single byte into the hash function.
+     * <p>
+     * This and the other typed feeders below default to building the bytes in a small array and
+     * calling {@link #include(byte[])}; the built-in hash functions override them to feed the
+     * values without an intermediate array.
+     *
+     * @param value the byte to include
+     * @return this instance for method chaining
+     */
+    default HashFunction putByte(byte value) {
+        return include(new byte[]{value});
+    }
+
+    /**
+     * Feeds the 2 bytes of the value, in little-endian order, into the hash function.
+     *
+     * @param value the short to include
+     * @return this instance for method chaining
+     */
+    default HashFunction putShort(short value) {
+        return include(new byte[]{(byte) value, (byte) (value >>> 8)});
+    }
+
+    /**
+     * Feeds the 4 bytes of the value, in little-endian order, into the hash function.
+     *
+     * @param value the int to include
+     * @return this instance for method chaining
+     */
+    default HashFunction putInt(int value) {
+        return include(ByteBuffer.allocate(Integer.BYTES).order(ByteOrder.LITTLE_ENDIAN).putInt(value).array());
+    }
+
+    /**
+     * Feeds the 8 bytes of the value, in little-endian order, into the hash function.
+     *
+     * @param value the long to include
+     * @return this instance for method chaining
+     */
+    default HashFunction putLong(long value) {
+        return include(ByteBuffer.allocate(Long.BYTES).order(ByteOrder.LITTLE_ENDIAN).putLong(value).array());
+    }
+
+    /**
+     * Feeds every char of the sequence as 2 little-endian bytes, without encoding it.
+     *
+     * @param input the characters to include
+     * @return this instance for method chaining
+     */
+    default HashFunction putChars(CharSequence input) {
+        ByteBuffer bytes = ByteBuffer.allocate(input.length() * Character.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        for (int i = 0; i < input.length(); i++) {
+            bytes.putChar(input.charAt(i));
+        }
+        return include(bytes.array());
+    }
+
+    /**
+     * Encodes the sequence to UTF-8 and feeds the encoded bytes into the hash function.
+     * <p>
+     * The digest is the same as including {@code input.toString().getBytes(StandardCharsets.UTF_8)},
+     * including the replacement of unpaired surrogates with {@code '?'}. The built-in hash functions
+     * encode on the fly, without building a byte array.
+     *
+     * @param input the characters to include
+     * @return this instance for method chaining
+     */
+    default HashFunction putUtf8(CharSequence input) {
+        return include(input.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
     /**
      * Finalizes the hash computation and returns the result as a {@link HashCode}.
      * Once called, the hash function should be considered finalized for this input.
@@ -24,6 +159,98 @@ public interface HashFunction {
      */
     HashCode hash();
 
+    /**
+     * Finalizes the hash computation and writes the digest into {@code dst} without allocating.
+     * <p>
+     * The digest is written as little-endian 64-bit words, least significant word first:
+     * a 128-bit digest occupies {@code dst[offset]} and {@code dst[offset + 1]}. Digests shorter
+     * than 64 bits are zero-extended into a single word. As with {@link #hash()}, the hash function
+     * should be considered finalized afterwards until it is {@link #reset(int) reset}.
+     * <p>
+     * The default implementation goes through {@link #hash()}, so it allocates; the built-in hash
+     * functions override it.
+     *
+     * @param dst    the array receiving the digest
+     * @param offset the index of the first word to write
+     * @throws IndexOutOfBoundsException if the digest does not fit; nothing is written then
+     */
+    default void hashInto(long[] dst, int offset) {
+        byte[] bytes = hash().getValueBytesLittleEndian();
+        int words = Math.max(1, (bytes.length + Long.BYTES - 1) / Long.BYTES);
+        Objects.checkFromIndexSize(offset, words, dst.length);
+        Arrays.fill(dst, offset, offset + words, 0);
+        for (int i = 0; i < bytes.length; i++) {
+            dst[offset + i / Long.BYTES] |= (bytes[i] & 0xffL) << (i % Long.BYTES * 8);
+        }
+    }
+
+    /**
+     * Finalizes the hash computation and writes the digest bytes, in little-endian order, at the
+     * buffer's position without allocating. The position is advanced by the digest length and the
+     * buffer's byte order is ignored and left unchanged.
+     * <p>
+     * The default implementation goes through {@link #hash()}, so it allocates; the built-in hash
+     * functions override it.
+     *
+     * @param dst the buffer receiving the digest
+     * @throws java.nio.BufferOverflowException if fewer bytes than the digest length remain;
+     *                                          nothing is written then
+     */
+    default void hashInto(ByteBuffer dst) {
+        dst.put(hash().getValueBytesLittleEndian());
+    }
+
+    /**
+     * Returns an independent hash function in exactly the same state as this one.
+     * <p>
+     * This forks a shared prefix: include the prefix once, then {@code copy()} it for every
+     * suffix. Including more input into either instance does not affect the other, and the
+     * copy produces the same digest as this instance would for the same further input.
+     * The state must be copied before finalization ({@link #hash()} or {@code hashInto}).
+     * <p>
+     * This is an optional operation: all the built-in hash functions support it, and the default
+     * implementation throws {@link UnsupportedOperationException}.
+     *
+     * @return a new hash function with a copy of this state
+     * @throws UnsupportedOperationException if the hash function cannot copy its state
+     */
+    default HashFunction copy() {
+        throw new UnsupportedOperationException(getClass().getName() + " does not support copy()");
+    }
+
+    /**
+     * Encodes the in-progress state into a compact, versioned byte array.
+     * <p>
+     * The encoding is a stable format, so it can be stored next to an upload offset and
+     * {@linkplain #restoreState(byte[]) restored} later, in another process or on another machine,
+     * to continue hashing without re-reading the data already included. The resumed digest is
+     * bit-identical to the uninterrupted one. Like {@link #copy()}, the state must be saved before
+     * finalization; this instance is not modified.
+     * <p>
+     * This is an optional operation: all the built-in hash functions support it, and the default
+     * implementation throws {@link UnsupportedOperationException}.
+     *
+     * @return the encoded state
+     * @throws UnsupportedOperationException if the hash function cannot save its state
+     */
+    default byte[] saveState() {
+        throw new UnsupportedOperationException(getClass().getName() + " does not support saveState()");
+    }
+
+    /**
+     * Replaces the internal state with one produced by {@link #saveState()} of the same algorithm.
+     *
+     * @param state the encoded state
+     * @return this instance for method chaining
+     * @throws IllegalArgumentException      if the state has an unknown version, belongs to another
+     *                                       algorithm or is malformed; this instance is unchanged then
+     * @throws UnsupportedOperationException if the hash function cannot restore a state, like
+     *                                       {@link #saveState()}
+     */
+    default HashFunction restoreState(byte[] state) {
+        throw new UnsupportedOperationException(getClass().getName() + " does not support restoreState()");
+    }
+
     /**
      * Resets the internal state of the hash function using the given seed.
      * This allows the instance to be reused for hashing different inputs.
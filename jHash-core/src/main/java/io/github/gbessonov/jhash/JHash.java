@@ -1,6 +1,21 @@
 package io.github.gbessonov.jhash;
 
+import io.github.gbessonov.jhash.implementations.murmur3a.Murmur3aFactory;
+import io.github.gbessonov.jhash.implementations.murmur3a.Murmur3aOneShot;
+import io.github.gbessonov.jhash.implementations.murmur3c.Murmur3cFactory;
+import io.github.gbessonov.jhash.implementations.murmur3c.Murmur3cOneShot;
 import io.github.gbessonov.jhash.implementations.murmur3f.Murmur3fFactory;
+import io.github.gbessonov.jhash.implementations.murmur3f.Murmur3fOneShot;
+import io.github.gbessonov.jhash.implementations.murmur3f.Murmur3fTree;
+import io.github.gbessonov.jhash.implementations.xxhash.XxHash64OneShot;
+import io.github.gbessonov.jhash.implementations.xxhash.XxHashFactory;
+import io.github.gbessonov.jhash.implementations.xxhash.Xxh3OneShot;
+import io.github.gbessonov.jhash.io.FileHashing;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 
 public final class JHash {
     private static final int DEFAULT_SEED = 0;
@@ -25,10 +40,325 @@ public final class JHash {
     }
 
     public static HashCode murmur3_128(byte[] data) {
-        return Murmur3fFactory.create(DEFAULT_SEED).include(data).hash();
+        return Murmur3fOneShot.hash(data, 0, data.length, DEFAULT_SEED);
     }
 
     public static HashCode murmur3_128(byte[] data, int seed) {
-        return Murmur3fFactory.create(seed).include(data).hash();
+        return Murmur3fOneShot.hash(data, 0, data.length, seed);
+    }
+
+    /**
+     * Returns the low 64 bits of the MurmurHash3 (x64 128-bit variant) digest
+     * without allocating anything.
+     */
+    public static long murmur3_128_low64(byte[] data) {
+        return Murmur3fOneShot.hashLow64(data, 0, data.length, DEFAULT_SEED);
+    }
+
+    public static long murmur3_128_low64(byte[] data, int seed) {
+        return Murmur3fOneShot.hashLow64(data, 0, data.length, seed);
+    }
+
+    /**
+     * Hashes the 4 little-endian bytes of the key, like {@code include} of those bytes would.
+     */
+    public static HashCode murmur3_128(int key) {
+        return Murmur3fOneShot.hash(key, DEFAULT_SEED);
+    }
+
+    /**
+     * Hashes the 8 little-endian bytes of the key, like {@code include} of those bytes would.
+     */
+    public static HashCode murmur3_128(long key) {
+        return Murmur3fOneShot.hash(key, DEFAULT_SEED);
+    }
+
+    /**
+     * Hashes the 8 little-endian bytes of {@code low} followed by the 8 of {@code high},
+     * e.g. the two halves of a UUID. Seeded variants are on {@link Murmur3fOneShot}.
+     */
+    public static HashCode murmur3_128(long low, long high) {
+        return Murmur3fOneShot.hash(low, high, DEFAULT_SEED);
+    }
+
+    public static long murmur3_128_low64(int key) {
+        return Murmur3fOneShot.hashLow64(key, DEFAULT_SEED);
+    }
+
+    public static long murmur3_128_low64(long key) {
+        return Murmur3fOneShot.hashLow64(key, DEFAULT_SEED);
+    }
+
+    public static long murmur3_128_low64(long low, long high) {
+        return Murmur3fOneShot.hashLow64(low, high, DEFAULT_SEED);
+    }
+
+    /**
+     * Writes the MurmurHash3 (x64 128-bit variant) digest into {@code dst} without allocating anything:
+     * the low 64 bits go to {@code dst[offset]} and the high 64 bits to {@code dst[offset + 1]}.
+     */
+    public static void murmur3_128_into(byte[] data, long[] dst, int offset) {
+        Murmur3fOneShot.hash(data, 0, data.length, DEFAULT_SEED, dst, offset);
+    }
+
+    public static void murmur3_128_into(byte[] data, int seed, long[] dst, int offset) {
+        Murmur3fOneShot.hash(data, 0, data.length, seed, dst, offset);
+    }
+
+    /**
+     * Hashes the whole content of a file with MurmurHash3 (x64 128-bit variant).
+     * <p>
+     * The file is memory-mapped in large windows and hashed in place, so files larger than
+     * 2 GiB are supported and produce the same digest as the reference implementation
+     * with a 64-bit length.
+     *
+     * @param file the file to hash
+     * @return the hash of the file content
+     * @throws IOException if the file cannot be opened or mapped
+     */
+    public static HashCode murmur3_128File(Path file) throws IOException {
+        return murmur3_128File(file, DEFAULT_SEED);
+    }
+
+    public static HashCode murmur3_128File(Path file, int seed) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return murmur3_128File(channel, seed);
+        }
+    }
+
+    /**
+     * Hashes the whole content of the channel's file, regardless of the channel's position.
+     * The channel is neither moved nor closed.
+     */
+    public static HashCode murmur3_128File(FileChannel channel) throws IOException {
+        return murmur3_128File(channel, DEFAULT_SEED);
+    }
+
+    public static HashCode murmur3_128File(FileChannel channel, int seed) throws IOException {
+        return FileHashing.include(Murmur3fFactory.create(seed), channel).hash();
+    }
+
+    /**
+     * Tree-hashes the array with MurmurHash3 (x64 128-bit variant), hashing 1 MiB leaves in
+     * parallel on the common pool. The digest differs from {@link #murmur3_128(byte[])}; see
+     * {@link Murmur3fTree} for its definition and for pool and buffer variants.
+     */
+    public static HashCode murmur3_128Tree(byte[] data) {
+        return Murmur3fTree.hash(data, DEFAULT_SEED);
+    }
+
+    public static HashCode murmur3_128Tree(byte[] data, int seed) {
+        return Murmur3fTree.hash(data, seed);
+    }
+
+    /**
+     * Tree-hashes the whole content of a file like {@link #murmur3_128Tree(byte[])} does, mapping it
+     * in large windows.
+     */
+    public static HashCode murmur3_128TreeFile(Path file) throws IOException {
+        return murmur3_128TreeFile(file, DEFAULT_SEED);
+    }
+
+    public static HashCode murmur3_128TreeFile(Path file, int seed) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return Murmur3fTree.hash(channel, seed);
+        }
+    }
+
+    public static HashFunction newMurmur3_x86_128() {
+        return Murmur3cFactory.create(DEFAULT_SEED);
+    }
+
+    /**
+     * MurmurHash3 (x86 128-bit variant), the 128-bit digest of 32-bit platforms. It is a different
+     * function from {@link #newMurmur3_128(int)}; use it to match digests produced by
+     * {@code MurmurHash3_x86_128}.
+     *
+     *  <p><strong>Thread Safety:</strong> This class is <strong>NOT thread-safe</strong>.
+     *  Each thread must use its own instance, or external synchronization must be provided
+     *  if sharing instances across threads.
+     */
+    public static HashFunction newMurmur3_x86_128(int seed) {
+        return Murmur3cFactory.create(seed);
+    }
+
+    public static HashCode murmur3_x86_128(byte[] data) {
+        return Murmur3cOneShot.hash(data, 0, data.length, DEFAULT_SEED);
+    }
+
+    /**
+     * One-shot MurmurHash3 (x86 128-bit variant). Primitive-key overloads are on {@link Murmur3cOneShot}.
+     */
+    public static HashCode murmur3_x86_128(byte[] data, int seed) {
+        return Murmur3cOneShot.hash(data, 0, data.length, seed);
+    }
+
+    /**
+     * Returns the low 64 bits of the MurmurHash3 (x86 128-bit variant) digest
+     * without allocating anything.
+     */
+    public static long murmur3_x86_128_low64(byte[] data) {
+        return Murmur3cOneShot.hashLow64(data, 0, data.length, DEFAULT_SEED);
+    }
+
+    public static long murmur3_x86_128_low64(byte[] data, int seed) {
+        return Murmur3cOneShot.hashLow64(data, 0, data.length, seed);
+    }
+
+    /**
+     * Writes the MurmurHash3 (x86 128-bit variant) digest into {@code dst} without allocating anything:
+     * the low 64 bits go to {@code dst[offset]} and the high 64 bits to {@code dst[offset + 1]}.
+     */
+    public static void murmur3_x86_128_into(byte[] data, long[] dst, int offset) {
+        Murmur3cOneShot.hash(data, 0, data.length, DEFAULT_SEED, dst, offset);
+    }
+
+    public static void murmur3_x86_128_into(byte[] data, int seed, long[] dst, int offset) {
+        Murmur3cOneShot.hash(data, 0, data.length, seed, dst, offset);
+    }
+
+    public static HashFunction newMurmur3_32() {
+        return Murmur3aFactory.create(DEFAULT_SEED);
+    }
+
+    /**
+     * MurmurHash3 (x86 32-bit variant), for uses such as hash-table bucketing that need
+     * no more than 32 bits. The digest is 4 bytes; {@link HashCode#asInt()} returns it.
+     *
+     *  <p><strong>Thread Safety:</strong> This class is <strong>NOT thread-safe</strong>.
+     *  Each thread must use its own instance, or external synchronization must be provided
+     *  if sharing instances across threads.
+     */
+    public static HashFunction newMurmur3_32(int seed) {
+        return Murmur3aFactory.create(seed);
+    }
+
+    /**
+     * Returns the MurmurHash3 (x86 32-bit variant) digest without allocating anything.
+     * Seeded variants of the primitive and character overloads are on {@link Murmur3aOneShot}.
+     */
+    public static int murmur3_32(byte[] data) {
+        return Murmur3aOneShot.hash(data, 0, data.length, DEFAULT_SEED);
+    }
+
+    public static int murmur3_32(byte[] data, int seed) {
+        return Murmur3aOneShot.hash(data, 0, data.length, seed);
+    }
+
+    /**
+     * Hashes the 4 little-endian bytes of the key, like {@code include} of those bytes would.
+     */
+    public static int murmur3_32(int key) {
+        return Murmur3aOneShot.hash(key, DEFAULT_SEED);
+    }
+
+    /**
+     * Hashes the 8 little-endian bytes of the key, like {@code include} of those bytes would.
+     */
+    public static int murmur3_32(long key) {
+        return Murmur3aOneShot.hash(key, DEFAULT_SEED);
+    }
+
+    /**
+     * Hashes the UTF-8 encoding of the characters, like {@code putUtf8} would.
+     */
+    public static int murmur3_32_utf8(CharSequence input) {
+        return Murmur3aOneShot.hashUtf8(input, DEFAULT_SEED);
+    }
+
+    /**
+     * Hashes the UTF-16LE code units of the characters, like {@code putChars} would.
+     */
+    public static int murmur3_32_chars(CharSequence input) {
+        return Murmur3aOneShot.hashChars(input, DEFAULT_SEED);
+    }
+
+    public static HashFunction newXxHash64() {
+        return XxHashFactory.createXxHash64(DEFAULT_SEED);
+    }
+
+    /**
+     * xxHash64 with a 64-bit seed. The digest is 8 bytes; {@link HashCode#asLong()} returns it.
+     *
+     *  <p><strong>Thread Safety:</strong> This class is <strong>NOT thread-safe</strong>.
+     *  Each thread must use its own instance, or external synchronization must be provided
+     *  if sharing instances across threads.
+     */
+    public static HashFunction newXxHash64(long seed) {
+        return XxHashFactory.createXxHash64(seed);
+    }
+
+    /**
+     * Returns the xxHash64 digest without allocating anything.
+     */
+    public static long xxHash64(byte[] data) {
+        return XxHash64OneShot.hash(data, 0, data.length, DEFAULT_SEED);
+    }
+
+    public static long xxHash64(byte[] data, long seed) {
+        return XxHash64OneShot.hash(data, 0, data.length, seed);
+    }
+
+    public static HashFunction newXxh3_64() {
+        return XxHashFactory.createXxh3_64(DEFAULT_SEED);
+    }
+
+    /**
+     * XXH3-64 with the default secret and a 64-bit seed. The digest is 8 bytes;
+     * {@link HashCode#asLong()} returns it.
+     *
+     *  <p><strong>Thread Safety:</strong> This class is <strong>NOT thread-safe</strong>.
+     *  Each thread must use its own instance, or external synchronization must be provided
+     *  if sharing instances across threads.
+     */
+    public static HashFunction newXxh3_64(long seed) {
+        return XxHashFactory.createXxh3_64(seed);
+    }
+
+    /**
+     * Returns the XXH3-64 digest without allocating anything.
+     */
+    public static long xxh3_64(byte[] data) {
+        return Xxh3OneShot.hash64(data, 0, data.length, DEFAULT_SEED);
+    }
+
+    public static long xxh3_64(byte[] data, long seed) {
+        return Xxh3OneShot.hash64(data, 0, data.length, seed);
+    }
+
+    public static HashFunction newXxh3_128() {
+        return XxHashFactory.createXxh3_128(DEFAULT_SEED);
+    }
+
+    /**
+     * XXH3-128 with the default secret and a 64-bit seed. {@link HashCode#lowBits()} and
+     * {@link HashCode#highBits()} are the {@code low64} and {@code high64} halves of the digest.
+     *
+     *  <p><strong>Thread Safety:</strong> This class is <strong>NOT thread-safe</strong>.
+     *  Each thread must use its own instance, or external synchronization must be provided
+     *  if sharing instances across threads.
+     */
+    public static HashFunction newXxh3_128(long seed) {
+        return XxHashFactory.createXxh3_128(seed);
+    }
+
+    public static HashCode xxh3_128(byte[] data) {
+        return Xxh3OneShot.hash128(data, 0, data.length, DEFAULT_SEED);
+    }
+
+    public static HashCode xxh3_128(byte[] data, long seed) {
+        return Xxh3OneShot.hash128(data, 0, data.length, seed);
+    }
+
+    /**
+     * Writes the XXH3-128 digest into {@code dst} without allocating anything:
+     * {@code low64} goes to {@code dst[offset]} and {@code high64} to {@code dst[offset + 1]}.
+     */
+    public static void xxh3_128_into(byte[] data, long[] dst, int offset) {
+        Xxh3OneShot.hash128(data, 0, data.length, DEFAULT_SEED, dst, offset);
+    }
+
+    public static void xxh3_128_into(byte[] data, long seed, long[] dst, int offset) {
+        Xxh3OneShot.hash128(data, 0, data.length, seed, dst, offset);
     }
 }
@@ -0,0 +1,123 @@
+package io.github.gbessonov.jhash.collections;
+
+import io.github.gbessonov.jhash.HashCode;
+
+/**
+ * Thread-safe set of 128-bit fingerprints, striped over {@link FingerprintSet}s.
+ * <p>
+ * The low bits of a fingerprint's low half pick one of a power-of-two number of stripes, each a
+ * {@code FingerprintSet} guarded by its own monitor; the stripes place their entries by the top
+ * bits of both halves mixed by multiplies, so the two choices do not correlate. Threads adding
+ * unrelated fingerprints rarely meet on a stripe, and a stripe grows on its own, without stopping
+ * the others.
+ */
+public final class ConcurrentFingerprintSet {
+
+    /**
+     * Largest supported number of stripes.
+     */
+    public static final int MAX_STRIPES = 1 << 16;
+
+    private static final int DEFAULT_STRIPES =
+            Math.min(MAX_STRIPES, Integer.highestOneBit(Runtime.getRuntime().availableProcessors() * 8 - 1));
+
+    private final FingerprintSet[] stripes;
+
+    private ConcurrentFingerprintSet(FingerprintSet[] stripes) {
+        this.stripes = stripes;
+    }
+
+    /**
+     * Creates an empty set with a number of stripes fitted to the processor count.
+     */
+    public static ConcurrentFingerprintSet create() {
+        return create(0, DEFAULT_STRIPES);
+    }
+
+    /**
+     * Creates an empty set that holds about {@code expectedSize} fingerprints without growing,
+     * with a number of stripes fitted to the processor count.
+     *
+     * @throws IllegalArgumentException if {@code expectedSize} is negative or more than the set can
+     *                                  hold
+     */
+    public static ConcurrentFingerprintSet create(int expectedSize) {
+        return create(expectedSize, DEFAULT_STRIPES);
+    }
+
+    /**
+     * Creates an empty set of {@code stripes} stripes that holds about {@code expectedSize}
+     * fingerprints without growing.
+     *
+     * @throws IllegalArgumentException if {@code expectedSize} is negative or more than the set can
+     *                                  hold, or {@code stripes} is not a power of two in
+     *                                  [1, {@value #MAX_STRIPES}]
+     */
+    public static ConcurrentFingerprintSet create(int expectedSize, int stripes) {
+        if (stripes <= 0 || stripes > MAX_STRIPES || Integer.bitCount(stripes) != 1) {
+            throw new IllegalArgumentException("stripes must be a power of two in [1, " + MAX_STRIPES + "]: " + stripes);
+        }
+        if (expectedSize < 0) {
+            throw new IllegalArgumentException("Unsupported expected size: " + expectedSize);
+        }
+        int perStripe = (int) ((expectedSize + stripes - 1L) / stripes);
+        FingerprintSet[] sets = new FingerprintSet[stripes];
+        for (int i = 0; i < stripes; i++) {
+            sets[i] = FingerprintSet.create(perStripe);
+        }
+        return new ConcurrentFingerprintSet(sets);
+    }
+
+    /**
+     * Adds the fingerprint if the set does not contain it yet.
+     *
+     * @return {@code true} if the fingerprint was added, {@code false} if it was already present
+     * @throws IllegalStateException if the fingerprint's stripe is full
+     */
+    public boolean addIfAbsent(long lo, long hi) {
+        FingerprintSet stripe = stripes[(int) lo & stripes.length - 1];
+        synchronized (stripe) {
+            return stripe.addIfAbsent(lo, hi);
+        }
+    }
+
+    /**
+     * Adds the bits of the hash code, zero-extended to 128 if shorter, if the set does not contain
+     * them yet.
+     *
+     * @return {@code true} if the fingerprint was added, {@code false} if it was already present
+     * @throws IllegalStateException if the fingerprint's stripe is full
+     */
+    public boolean addIfAbsent(HashCode hash) {
+        return addIfAbsent(hash.lowBits(), hash.highBits());
+    }
+
+    public boolean contains(long lo, long hi) {
+        FingerprintSet stripe = stripes[(int) lo & stripes.length - 1];
+        synchronized (stripe) {
+            return stripe.contains(lo, hi);
+        }
+    }
+
+    public boolean contains(HashCode hash) {
+        return contains(hash.lowBits(), hash.highBits());
+    }
+
+    /**
+     * Returns the number of fingerprints, summed stripe by stripe: not a snapshot while other
+     * threads add fingerprints.
+     */
+    public long size() {
+        long size = 0;
+        for (FingerprintSet stripe : stripes) {
+            synchronized (stripe) {
+                size += stripe.size();
+            }
+        }
+        return size;
+    }
+
+    public int stripeCount() {
+        return stripes.length;
+    }
+}
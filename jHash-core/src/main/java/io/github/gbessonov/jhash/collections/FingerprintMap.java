@@ -0,0 +1,244 @@
+package io.github.gbessonov.jhash.collections;
+
+import io.github.gbessonov.jhash.HashCode;
+
+import java.util.Arrays;
+
+/**
+ * Map from 128-bit fingerprints, such as Murmur3f digests, to {@code long} values, stored as
+ * triples of {@code long} in one flat array.
+ * <p>
+ * The table is laid out as in {@link FingerprintSet}, with the value next to its fingerprint: an
+ * entry takes 24 bytes of a sorted linear-probing table kept at most three quarters full, home
+ * slots come from the top bits of the fingerprint's mixed halves, so that 32- and 64-bit hash
+ * codes spread too, and growing the table is one pass that probes nothing. Values suit counts,
+ * offsets or indices into a side array.
+ * <p>
+ * The map is not thread-safe.
+ */
+public final class FingerprintMap {
+
+    /**
+     * Largest supported number of home slots; the map holds up to three quarters of it.
+     */
+    public static final int MAX_CAPACITY = FingerprintSet.MAX_CAPACITY;
+
+    // Slot i holds lo at 3i, hi at 3i + 1 and the value at 3i + 2, (0, 0) marks an empty slot and
+    // the last slot is always empty
+    private long[] table;
+    private int capacity;
+    private int shift;
+    private int threshold;
+    private int size;
+    private boolean containsZero;
+    private long zeroValue;
+
+    private FingerprintMap(int capacity) {
+        resize(capacity);
+    }
+
+    /**
+     * Creates an empty map.
+     */
+    public static FingerprintMap create() {
+        return new FingerprintMap(FingerprintSet.MIN_CAPACITY);
+    }
+
+    /**
+     * Creates an empty map that holds {@code expectedSize} fingerprints without growing.
+     *
+     * @throws IllegalArgumentException if {@code expectedSize} is negative or more than the map can
+     *                                  hold
+     */
+    public static FingerprintMap create(int expectedSize) {
+        return new FingerprintMap(FingerprintSet.capacityFor(expectedSize));
+    }
+
+    /**
+     * Returns the value of the fingerprint, or {@code defaultValue} if the map does not contain it.
+     */
+    public long getOrDefault(long lo, long hi, long defaultValue) {
+        if ((lo | hi) == 0) {
+            return containsZero ? zeroValue : defaultValue;
+        }
+        int i = find(lo, hi);
+        return table[i] == lo && table[i + 1] == hi ? table[i + 2] : defaultValue;
+    }
+
+    /**
+     * Returns the value of the hash code's bits, zero-extended to 128 if shorter, or
+     * {@code defaultValue} if the map does not contain them.
+     */
+    public long getOrDefault(HashCode hash, long defaultValue) {
+        return getOrDefault(hash.lowBits(), hash.highBits(), defaultValue);
+    }
+
+    public boolean containsKey(long lo, long hi) {
+        if ((lo | hi) == 0) {
+            return containsZero;
+        }
+        int i = find(lo, hi);
+        return table[i] == lo && table[i + 1] == hi;
+    }
+
+    /**
+     * Maps the fingerprint to the value, replacing any previous value.
+     *
+     * @return {@code true} if the map did not contain the fingerprint
+     * @throws IllegalStateException if the map is full
+     */
+    public boolean put(long lo, long hi, long value) {
+        return update(lo, hi, value, true);
+    }
+
+    /**
+     * Maps the fingerprint to the value if the map does not contain it yet.
+     *
+     * @return {@code true} if the fingerprint was added, {@code false} if it was already present
+     * @throws IllegalStateException if the map is full
+     */
+    public boolean putIfAbsent(long lo, long hi, long value) {
+        return update(lo, hi, value, false);
+    }
+
+    /**
+     * Maps the hash code's bits, zero-extended to 128 if shorter, to the value if the map does not
+     * contain them yet.
+     *
+     * @return {@code true} if the fingerprint was added, {@code false} if it was already present
+     * @throws IllegalStateException if the map is full
+     */
+    public boolean putIfAbsent(HashCode hash, long value) {
+        return putIfAbsent(hash.lowBits(), hash.highBits(), value);
+    }
+
+    /**
+     * Adds {@code delta} to the value of the fingerprint, mapping it to {@code delta} if absent.
+     *
+     * @return the new value
+     * @throws IllegalStateException if the map is full
+     */
+    public long addTo(long lo, long hi, long delta) {
+        if ((lo | hi) == 0) {
+            zeroValue = containsZero ? zeroValue + delta : delta;
+            containsZero = true;
+            return zeroValue;
+        }
+        int i = find(lo, hi);
+        if (table[i] == lo && table[i + 1] == hi) {
+            return table[i + 2] += delta;
+        }
+        add(i, lo, hi, delta);
+        return delta;
+    }
+
+    public int size() {
+        return containsZero ? size + 1 : size;
+    }
+
+    /**
+     * Returns the number of home slots, a power of two.
+     */
+    public int capacity() {
+        return capacity;
+    }
+
+    /**
+     * Removes all entries, keeping the table.
+     */
+    public void clear() {
+        Arrays.fill(table, 0);
+        size = 0;
+        containsZero = false;
+        zeroValue = 0;
+    }
+
+    private boolean update(long lo, long hi, long value, boolean replace) {
+        if ((lo | hi) == 0) {
+            boolean added = !containsZero;
+            if (added || replace) {
+                zeroValue = value;
+            }
+            containsZero = true;
+            return added;
+        }
+        int i = find(lo, hi);
+        if (table[i] == lo && table[i + 1] == hi) {
+            if (replace) {
+                table[i + 2] = value;
+            }
+            return false;
+        }
+        add(i, lo, hi, value);
+        return true;
+    }
+
+    // Index of the fingerprint, or of the empty slot or later fingerprint where it belongs
+    private int find(long lo, long hi) {
+        long[] t = table;
+        long key = FingerprintSet.key(lo, hi);
+        int i = (int) (key >>> shift) * 3;
+        while (true) {
+            long slotLo = t[i];
+            long slotHi = t[i + 1];
+            if ((slotLo | slotHi) == 0 || slotLo == lo && slotHi == hi
+                    || FingerprintSet.sortsAfter(slotLo, slotHi, key, lo)) {
+                return i;
+            }
+            i += 3;
+        }
+    }
+
+    // Stores an absent fingerprint at index 'i' found for it, shifting the run of entries there
+    // one slot up
+    private void add(int i, long lo, long hi, long value) {
+        if (size == threshold) {
+            resize(capacity << 1);
+            i = find(lo, hi);
+        }
+        int empty = i;
+        while ((table[empty] | table[empty + 1]) != 0) {
+            empty += 3;
+        }
+        if (empty == table.length - 3) {
+            table = Arrays.copyOf(table, table.length + 3 * FingerprintSet.SPARE_SLOTS);
+        }
+        System.arraycopy(table, i, table, i + 3, empty - i);
+        table[i] = lo;
+        table[i + 1] = hi;
+        table[i + 2] = value;
+        size++;
+    }
+
+    // Allocates a table of the given number of home slots and moves the entries there in order,
+    // each to its new home slot or right after the previous entry
+    private void resize(int newCapacity) {
+        if (newCapacity > MAX_CAPACITY) {
+            throw new IllegalStateException("Fingerprint map is full: " + size());
+        }
+        long[] old = table;
+        int newShift = Long.numberOfLeadingZeros(newCapacity - 1L);
+        long[] t = new long[(newCapacity + FingerprintSet.SPARE_SLOTS) * 3];
+        if (old != null) {
+            int next = 0;
+            for (int i = 0; i < old.length; i += 3) {
+                long lo = old[i];
+                long hi = old[i + 1];
+                if ((lo | hi) != 0) {
+                    int j = Math.max(next, (int) (FingerprintSet.key(lo, hi) >>> newShift) * 3);
+                    if (j == t.length - 3) {
+                        t = Arrays.copyOf(t, t.length + 3 * FingerprintSet.SPARE_SLOTS);
+                    }
+                    t[j] = lo;
+                    t[j + 1] = hi;
+                    t[j + 2] = old[i + 2];
+                    next = j + 3;
+                }
+            }
+        }
+        table = t;
+        capacity = newCapacity;
+        shift = newShift;
+        threshold = newCapacity - newCapacity / 4;
+    }
+}
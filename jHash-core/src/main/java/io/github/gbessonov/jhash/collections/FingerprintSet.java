@@ -0,0 +1,220 @@
+package io.github.gbessonov.jhash.collections;
+
+import io.github.gbessonov.jhash.HashCode;
+
+import java.util.Arrays;
+
+/**
+ * Set of 128-bit fingerprints, such as Murmur3f digests, stored as pairs of {@code long} in one
+ * flat array.
+ * <p>
+ * Unlike a {@code HashSet<HashCode>}, an entry costs no object: a fingerprint takes 16 bytes of a
+ * linear-probing table kept at most three quarters full, so 21 to 43 bytes of memory per entry,
+ * and lookups read one or two adjacent cache lines. The home slot of a fingerprint is the top
+ * bits of its key, its halves mixed by two odd multiplies, so that fingerprints with a zero high
+ * half, like 32- and 64-bit hash codes, or with structured bits still spread over the whole table.
+ * <p>
+ * Probing does not wrap around: the table keeps a few spare slots past its last home slot and
+ * stays sorted by key, then low half, each entry at or after its home slot. A lookup stops at
+ * the first later fingerprint, so misses cost about as much as hits, and growing the table is one
+ * sequential pass that places each entry at its new home or right after the previous one, without
+ * probing anything.
+ * <p>
+ * The set is not thread-safe; see {@link ConcurrentFingerprintSet}.
+ */
+public final class FingerprintSet {
+
+    /**
+     * Largest supported number of home slots; the set holds up to three quarters of it.
+     */
+    public static final int MAX_CAPACITY = 1 << 29;
+
+    static final int MIN_CAPACITY = 16;
+    static final int SPARE_SLOTS = 64;
+
+    // Slot i holds lo at 2i and hi at 2i + 1, (0, 0) marks an empty slot and the last slot is
+    // always empty, so that probes end without a bounds check
+    private long[] table;
+    private int capacity;
+    private int shift;
+    private int threshold;
+    private int size;
+    private boolean containsZero;
+
+    private FingerprintSet(int capacity) {
+        resize(capacity);
+    }
+
+    /**
+     * Creates an empty set.
+     */
+    public static FingerprintSet create() {
+        return new FingerprintSet(MIN_CAPACITY);
+    }
+
+    /**
+     * Creates an empty set that holds {@code expectedSize} fingerprints without growing.
+     *
+     * @throws IllegalArgumentException if {@code expectedSize} is negative or more than the set can
+     *                                  hold
+     */
+    public static FingerprintSet create(int expectedSize) {
+        return new FingerprintSet(capacityFor(expectedSize));
+    }
+
+    /**
+     * Adds the fingerprint if the set does not contain it yet.
+     *
+     * @return {@code true} if the fingerprint was added, {@code false} if it was already present
+     * @throws IllegalStateException if the set is full
+     */
+    public boolean addIfAbsent(long lo, long hi) {
+        if ((lo | hi) == 0) {
+            if (containsZero) {
+                return false;
+            }
+            containsZero = true;
+            return true;
+        }
+        int i = find(lo, hi);
+        if (table[i] == lo && table[i + 1] == hi) {
+            return false;
+        }
+        if (size == threshold) {
+            resize(capacity << 1);
+            i = find(lo, hi);
+        }
+        insertAt(i, lo, hi);
+        size++;
+        return true;
+    }
+
+    /**
+     * Adds the bits of the hash code if the set does not contain them yet. Hash codes shorter than
+     * 128 bits are zero-extended, so for example a 64-bit one is the fingerprint {@code (bits, 0)}.
+     *
+     * @return {@code true} if the fingerprint was added, {@code false} if it was already present
+     * @throws IllegalStateException if the set is full
+     */
+    public boolean addIfAbsent(HashCode hash) {
+        return addIfAbsent(hash.lowBits(), hash.highBits());
+    }
+
+    public boolean contains(long lo, long hi) {
+        if ((lo | hi) == 0) {
+            return containsZero;
+        }
+        int i = find(lo, hi);
+        return table[i] == lo && table[i + 1] == hi;
+    }
+
+    public boolean contains(HashCode hash) {
+        return contains(hash.lowBits(), hash.highBits());
+    }
+
+    public int size() {
+        return containsZero ? size + 1 : size;
+    }
+
+    /**
+     * Returns the number of home slots, a power of two.
+     */
+    public int capacity() {
+        return capacity;
+    }
+
+    /**
+     * Removes all fingerprints, keeping the table.
+     */
+    public void clear() {
+        Arrays.fill(table, 0);
+        size = 0;
+        containsZero = false;
+    }
+
+    // Smallest power of two of at least MIN_CAPACITY slots that are at most 3/4 full with 'size' entries
+    static int capacityFor(int size) {
+        if (size < 0 || size > MAX_CAPACITY - MAX_CAPACITY / 4) {
+            throw new IllegalArgumentException("Unsupported expected size: " + size);
+        }
+        int capacity = MIN_CAPACITY;
+        while (capacity - capacity / 4 < size) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+
+    // Sort key whose top bits pick the home slot; both multiplies are bijections, so the key and
+    // the low half together still identify the fingerprint, and equal halves do not cancel out
+    static long key(long lo, long hi) {
+        return (lo ^ hi * 0xc2b2ae3d27d4eb4fL) * 0x9e3779b97f4a7c15L;
+    }
+
+    // Whether the fingerprint (slotLo, slotHi) sorts after the one with the given key and low half:
+    // by key, then by low half, both unsigned
+    static boolean sortsAfter(long slotLo, long slotHi, long key, long lo) {
+        long slotKey = key(slotLo, slotHi);
+        return slotKey != key ? Long.compareUnsigned(slotKey, key) > 0 : Long.compareUnsigned(slotLo, lo) > 0;
+    }
+
+    // Index of the fingerprint, or of the empty slot or later fingerprint where it belongs
+    private int find(long lo, long hi) {
+        long[] t = table;
+        long key = key(lo, hi);
+        int i = (int) (key >>> shift) << 1;
+        while (true) {
+            long slotLo = t[i];
+            long slotHi = t[i + 1];
+            if ((slotLo | slotHi) == 0 || slotLo == lo && slotHi == hi
+                    || sortsAfter(slotLo, slotHi, key, lo)) {
+                return i;
+            }
+            i += 2;
+        }
+    }
+
+    // Shifts the run of entries starting at index 'i' one slot up and stores the fingerprint there
+    private void insertAt(int i, long lo, long hi) {
+        int empty = i;
+        while ((table[empty] | table[empty + 1]) != 0) {
+            empty += 2;
+        }
+        if (empty == table.length - 2) {
+            table = Arrays.copyOf(table, table.length + 2 * SPARE_SLOTS);
+        }
+        System.arraycopy(table, i, table, i + 2, empty - i);
+        table[i] = lo;
+        table[i + 1] = hi;
+    }
+
+    // Allocates a table of the given number of home slots and moves the entries there in order,
+    // each to its new home slot or right after the previous entry
+    private void resize(int newCapacity) {
+        if (newCapacity > MAX_CAPACITY) {
+            throw new IllegalStateException("Fingerprint set is full: " + size());
+        }
+        long[] old = table;
+        int newShift = Long.numberOfLeadingZeros(newCapacity - 1L);
+        long[] t = new long[(newCapacity + SPARE_SLOTS) << 1];
+        if (old != null) {
+            int next = 0;
+            for (int i = 0; i < old.length; i += 2) {
+                long lo = old[i];
+                long hi = old[i + 1];
+                if ((lo | hi) != 0) {
+                    int j = Math.max(next, (int) (key(lo, hi) >>> newShift) << 1);
+                    if (j == t.length - 2) {
+                        t = Arrays.copyOf(t, t.length + 2 * SPARE_SLOTS);
+                    }
+                    t[j] = lo;
+                    t[j + 1] = hi;
+                    next = j + 2;
+                }
+            }
+        }
+        table = t;
+        capacity = newCapacity;
+        shift = newShift;
+        threshold = newCapacity - newCapacity / 4;
+    }
+}
@@ -0,0 +1,119 @@
+package io.github.gbessonov.jhash.implementations;
+
+import io.github.gbessonov.jhash.HashFunction;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Input plumbing shared by the streaming engines.
+ * <p>
+ * Heap buffers go through {@link #include(byte[], int, int)} and only direct buffers reach
+ * {@link #includeDirect(ByteBuffer)}. Every {@code put*} method, including the on-the-fly
+ * UTF-8 encoding of {@link #putUtf8(CharSequence)}, reduces to
+ * {@link #putLittleEndian(long, int)}, which each engine implements as a write into its own
+ * block buffer.
+ * <p>
+ * Internal to jHash: the package is not exported.
+ */
+public abstract class AbstractHashFunction implements HashFunction {
+
+    @Override
+    public HashFunction include(byte[] input) {
+        return include(input, 0, input.length);
+    }
+
+    @Override
+    public HashFunction include(ByteBuffer input) {
+        if (input.hasArray()) {
+            return include(input.array(), input.arrayOffset() + input.position(), input.remaining());
+        }
+        includeDirect(input);
+        return this;
+    }
+
+    @Override
+    public HashFunction putByte(byte value) {
+        putLittleEndian(value, Byte.BYTES);
+        return this;
+    }
+
+    @Override
+    public HashFunction putShort(short value) {
+        putLittleEndian(value, Short.BYTES);
+        return this;
+    }
+
+    @Override
+    public HashFunction putInt(int value) {
+        putLittleEndian(value, Integer.BYTES);
+        return this;
+    }
+
+    @Override
+    public HashFunction putLong(long value) {
+        putLittleEndian(value, Long.BYTES);
+        return this;
+    }
+
+    @Override
+    public HashFunction putChars(CharSequence input) {
+        int count = input.length();
+        int i = 0;
+        for (; i + 4 <= count; i += 4) {
+            putLittleEndian((long) input.charAt(i)
+                    | (long) input.charAt(i + 1) << 16
+                    | (long) input.charAt(i + 2) << 32
+                    | (long) input.charAt(i + 3) << 48, Long.BYTES);
+        }
+        for (; i < count; i++) {
+            putLittleEndian(input.charAt(i), Character.BYTES);
+        }
+        return this;
+    }
+
+    @Override
+    public HashFunction putUtf8(CharSequence input) {
+        int count = input.length();
+        long pending = 0;
+        int pendingBytes = 0;
+        int i = 0;
+        while (i < count) {
+            // ASCII fast path: eight characters become one 64-bit word
+            if (pendingBytes == 0 && i + 8 <= count) {
+                long word = Utf8.asciiLong(input, i);
+                if (word >= 0) {
+                    putLittleEndian(word, Long.BYTES);
+                    i += 8;
+                    continue;
+                }
+            }
+
+            long encoded = Utf8.encode(input, i, count);
+            long bytes = Utf8.bytes(encoded);
+            int encodedBytes = Utf8.count(encoded);
+            i += encodedBytes == 4 ? 2 : 1;
+            pending |= bytes << (pendingBytes << 3);
+            pendingBytes += encodedBytes;
+            if (pendingBytes >= 8) {
+                putLittleEndian(pending, Long.BYTES);
+                pendingBytes -= 8;
+                pending = pendingBytes == 0 ? 0 : bytes >>> ((encodedBytes - pendingBytes) << 3);
+            }
+        }
+        if (pendingBytes > 0) {
+            putLittleEndian(pending, pendingBytes);
+        }
+        return this;
+    }
+
+    /**
+     * Includes the remaining bytes of a direct buffer, reading them in place and leaving the
+     * buffer's position, limit and byte order unchanged.
+     */
+    protected abstract void includeDirect(ByteBuffer input);
+
+    /**
+     * Includes the low {@code count} bytes, 1 to 8, of the value in little-endian order.
+     */
+    protected abstract void putLittleEndian(long value, int count);
+}
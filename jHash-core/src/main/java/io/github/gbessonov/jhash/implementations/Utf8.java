@@ -0,0 +1,87 @@
+package io.github.gbessonov.jhash.implementations;
+
+/**
+ * On-the-fly UTF-8 encoding shared by the engines' {@code putUtf8} and one-shot UTF-8 paths,
+ * which hash the encoded bytes without building a byte array.
+ * <p>
+ * Internal to jHash: the package is not exported.
+ */
+public final class Utf8 {
+
+    private Utf8() {
+    }
+
+    /**
+     * UTF-8 encoding of the character at {@code i}: the bytes, little-endian, in the low 32 bits and
+     * their count in the top byte, see {@link #bytes(long)} and {@link #count(long)}. A count of 4
+     * means a surrogate pair, i.e. two characters consumed. Unpaired surrogates become {@code '?'},
+     * like {@link String#getBytes} does.
+     */
+    public static long encode(CharSequence input, int i, int count) {
+        char c = input.charAt(i);
+        if (c < 0x80) {
+            return c | 1L << 56;
+        } else if (c < 0x800) {
+            return (0xc0 | c >>> 6) | (0x80 | c & 0x3f) << 8 | 2L << 56;
+        } else if (!Character.isSurrogate(c)) {
+            return (0xe0 | c >>> 12) | (0x80 | c >>> 6 & 0x3f) << 8 | (0x80 | c & 0x3f) << 16 | 3L << 56;
+        } else if (Character.isHighSurrogate(c) && i + 1 < count && Character.isLowSurrogate(input.charAt(i + 1))) {
+            int codePoint = Character.toCodePoint(c, input.charAt(i + 1));
+            return (0xf0 | codePoint >>> 18)
+                    | (0x80 | codePoint >>> 12 & 0x3f) << 8
+                    | (0x80 | codePoint >>> 6 & 0x3f) << 16
+                    | (long) (0x80 | codePoint & 0x3f) << 24
+                    | 4L << 56;
+        }
+        return '?' | 1L << 56;
+    }
+
+    /**
+     * The encoded bytes of an {@link #encode} result, little-endian.
+     */
+    public static long bytes(long encoded) {
+        return encoded & 0xffffffffL;
+    }
+
+    /**
+     * The number of encoded bytes of an {@link #encode} result, from 1 to 4.
+     */
+    public static int count(long encoded) {
+        return (int) (encoded >>> 56);
+    }
+
+    /**
+     * The eight characters at {@code offset} packed as ASCII bytes, little-endian, or -1 if any of
+     * them is not ASCII.
+     */
+    public static long asciiLong(CharSequence input, int offset) {
+        char c0 = input.charAt(offset);
+        char c1 = input.charAt(offset + 1);
+        char c2 = input.charAt(offset + 2);
+        char c3 = input.charAt(offset + 3);
+        char c4 = input.charAt(offset + 4);
+        char c5 = input.charAt(offset + 5);
+        char c6 = input.charAt(offset + 6);
+        char c7 = input.charAt(offset + 7);
+        if ((c0 | c1 | c2 | c3 | c4 | c5 | c6 | c7) >= 0x80) {
+            return -1;
+        }
+        return c0 | (long) c1 << 8 | (long) c2 << 16 | (long) c3 << 24
+                | (long) c4 << 32 | (long) c5 << 40 | (long) c6 << 48 | (long) c7 << 56;
+    }
+
+    /**
+     * The four characters at {@code offset} packed as ASCII bytes, little-endian, or -1 if any of
+     * them is not ASCII.
+     */
+    public static int asciiInt(CharSequence input, int offset) {
+        char c0 = input.charAt(offset);
+        char c1 = input.charAt(offset + 1);
+        char c2 = input.charAt(offset + 2);
+        char c3 = input.charAt(offset + 3);
+        if ((c0 | c1 | c2 | c3) >= 0x80) {
+            return -1;
+        }
+        return c0 | c1 << 8 | c2 << 16 | c3 << 24;
+    }
+}
@@ -0,0 +1,266 @@
+package io.github.gbessonov.jhash.implementations.murmur3a;
+
+import io.github.gbessonov.jhash.HashCode;
+import io.github.gbessonov.jhash.HashFunction;
+import io.github.gbessonov.jhash.implementations.AbstractHashFunction;
+
+import javax.annotation.concurrent.NotThreadSafe;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Objects;
+
+/**
+ * Streaming implementation of MurmurHash3 (x86 32-bit variant).
+ * <p>
+ * The length is tracked as a long and mixed in modulo 2<sup>32</sup>, like the reference
+ * implementation's 32-bit length, so inputs of any size are supported.
+ *
+ *  <p><strong>Thread Safety:</strong> This class is <strong>NOT thread-safe</strong>.
+ *  Each thread must use its own instance, or external synchronization must be provided
+ *  if sharing instances across threads.
+ */
+@NotThreadSafe
+class Murmur3a extends AbstractHashFunction {
+
+    private static final int C1 = 0xcc9e2d51;
+    private static final int C2 = 0x1b873593;
+
+    private static final VarHandle BUFFER_INT_LE =
+            MethodHandles.byteBufferViewVarHandle(int[].class, ByteOrder.LITTLE_ENDIAN);
+    private static final VarHandle ARRAY_INT_LE =
+            MethodHandles.byteArrayViewVarHandle(int[].class, ByteOrder.LITTLE_ENDIAN);
+    private static final VarHandle ARRAY_LONG_LE =
+            MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+
+    // saveState() layout, little-endian: version, algorithm, tail length, h1, length, tail bytes
+    private static final byte STATE_VERSION = 1;
+    private static final byte STATE_ALGORITHM = 2;
+    private static final int STATE_HEADER_SIZE = 15;
+
+    private int h1;
+    private long length;
+
+    // Leftover bytes: less than one 4-byte block, plus slack for whole-word writes of typed values
+    private final byte[] tailBuffer = new byte[16];
+    private int tailLength = 0;
+
+    public Murmur3a() {
+        this(0);
+    }
+
+    public Murmur3a(int seed) {
+        reset(seed);
+    }
+
+    private Murmur3a(Murmur3a other) {
+        this.h1 = other.h1;
+        this.length = other.length;
+        this.tailLength = other.tailLength;
+        System.arraycopy(other.tailBuffer, 0, tailBuffer, 0, other.tailLength);
+    }
+
+    @Override
+    public HashFunction include(byte[] input, int offset, int inputLength) {
+        Objects.checkFromIndexSize(offset, inputLength, input.length);
+        int end = offset + inputLength;
+        length += inputLength;
+
+        // Fill leftover buffer if needed
+        if (tailLength > 0) {
+            int needed = 4 - tailLength;
+            if (inputLength < needed) {
+                System.arraycopy(input, offset, tailBuffer, tailLength, inputLength);
+                tailLength += inputLength;
+                return this;
+            }
+            System.arraycopy(input, offset, tailBuffer, tailLength, needed);
+            bmix32((int) ARRAY_INT_LE.get(tailBuffer, 0));
+            offset += needed;
+            tailLength = 0;
+        }
+
+        // Process full 4-byte blocks directly from input
+        int limit = end - ((end - offset) & 3);
+        for (; offset < limit; offset += 4) {
+            bmix32((int) ARRAY_INT_LE.get(input, offset));
+        }
+
+        // Store remaining tail bytes
+        tailLength = end - offset;
+        if (tailLength > 0) {
+            System.arraycopy(input, offset, tailBuffer, 0, tailLength);
+        }
+        return this;
+    }
+
+    @Override
+    protected void includeDirect(ByteBuffer input) {
+        int offset = input.position();
+        int limit = input.limit();
+        length += limit - offset;
+
+        if (tailLength > 0) {
+            int needed = 4 - tailLength;
+            if (limit - offset < needed) {
+                input.get(offset, tailBuffer, tailLength, limit - offset);
+                tailLength += limit - offset;
+                return;
+            }
+            input.get(offset, tailBuffer, tailLength, needed);
+            bmix32((int) ARRAY_INT_LE.get(tailBuffer, 0));
+            offset += needed;
+            tailLength = 0;
+        }
+
+        int blockLimit = limit - ((limit - offset) & 3);
+        for (; offset < blockLimit; offset += 4) {
+            bmix32((int) BUFFER_INT_LE.get(input, offset));
+        }
+
+        tailLength = limit - offset;
+        if (tailLength > 0) {
+            input.get(offset, tailBuffer, 0, tailLength);
+        }
+    }
+
+    @Override
+    public HashFunction putByte(byte value) {
+        length++;
+        tailBuffer[tailLength++] = value;
+        if (tailLength == 4) {
+            bmix32((int) ARRAY_INT_LE.get(tailBuffer, 0));
+            tailLength = 0;
+        }
+        return this;
+    }
+
+    @Override
+    public HashCode hash() {
+        return new Murmur3aHashCode(finish());
+    }
+
+    /**
+     * Writes the 32-bit digest, zero-extended, into {@code dst[offset]}.
+     */
+    @Override
+    public void hashInto(long[] dst, int offset) {
+        Objects.checkIndex(offset, dst.length);
+        dst[offset] = finish() & 0xffffffffL;
+    }
+
+    @Override
+    public void hashInto(ByteBuffer dst) {
+        int position = dst.position();
+        if (dst.remaining() < 4) {
+            throw new BufferOverflowException();
+        }
+        BUFFER_INT_LE.set(dst, position, finish());
+        dst.position(position + 4);
+    }
+
+    @Override
+    public HashFunction copy() {
+        return new Murmur3a(this);
+    }
+
+    @Override
+    public byte[] saveState() {
+        byte[] state = new byte[STATE_HEADER_SIZE + tailLength];
+        state[0] = STATE_VERSION;
+        state[1] = STATE_ALGORITHM;
+        state[2] = (byte) tailLength;
+        ARRAY_INT_LE.set(state, 3, h1);
+        ARRAY_LONG_LE.set(state, 7, length);
+        System.arraycopy(tailBuffer, 0, state, STATE_HEADER_SIZE, tailLength);
+        return state;
+    }
+
+    @Override
+    public HashFunction restoreState(byte[] state) {
+        if (state.length < STATE_HEADER_SIZE) {
+            throw new IllegalArgumentException("State too short: " + state.length + " bytes");
+        }
+        if (state[0] != STATE_VERSION) {
+            throw new IllegalArgumentException("Unsupported state version: " + state[0]);
+        }
+        if (state[1] != STATE_ALGORITHM) {
+            throw new IllegalArgumentException("State of another algorithm: " + state[1]);
+        }
+        int savedTailLength = state[2];
+        long savedLength = (long) ARRAY_LONG_LE.get(state, 7);
+        if (savedTailLength < 0 || savedTailLength > 3 || savedLength < 0
+                || (savedLength & 3) != savedTailLength
+                || state.length != STATE_HEADER_SIZE + savedTailLength) {
+            throw new IllegalArgumentException("Malformed state");
+        }
+
+        h1 = (int) ARRAY_INT_LE.get(state, 3);
+        length = savedLength;
+        tailLength = savedTailLength;
+        System.arraycopy(state, STATE_HEADER_SIZE, tailBuffer, 0, savedTailLength);
+        return this;
+    }
+
+    @Override
+    public void reset(int seed) {
+        this.h1 = seed;
+        this.length = 0;
+        this.tailLength = 0;
+    }
+
+    // Mixes the tail and the length in; the state is finalized afterwards
+    private int finish() {
+        // mixK1(0) == 0, so an empty tail needs no branch
+        h1 ^= mixK1(Murmur3aOneShot.partialInt(tailBuffer, 0, tailLength));
+        tailLength = 0;
+        h1 = fmix32(h1 ^ (int) length);
+        return h1;
+    }
+
+    // Appends the low 'count' bytes of the value; the slack absorbs the excess of the 8-byte write
+    @Override
+    protected void putLittleEndian(long value, int count) {
+        length += count;
+        ARRAY_LONG_LE.set(tailBuffer, tailLength, value);
+        tailLength += count;
+        if (tailLength >= 4) {
+            bmix32((int) ARRAY_INT_LE.get(tailBuffer, 0));
+            int consumed = 4;
+            if (tailLength >= 8) {
+                bmix32((int) ARRAY_INT_LE.get(tailBuffer, 4));
+                consumed = 8;
+            }
+            tailLength -= consumed;
+            ARRAY_INT_LE.set(tailBuffer, 0, (int) ARRAY_INT_LE.get(tailBuffer, consumed));
+        }
+    }
+
+    private void bmix32(int k1) {
+        h1 = mixH1(h1, k1);
+    }
+
+    static int mixH1(int h1, int k1) {
+        h1 ^= mixK1(k1);
+        h1 = Integer.rotateLeft(h1, 13);
+        return h1 * 5 + 0xe6546b64;
+    }
+
+    static int mixK1(int k1) {
+        k1 *= C1;
+        k1 = Integer.rotateLeft(k1, 15);
+        k1 *= C2;
+        return k1;
+    }
+
+    static int fmix32(int h) {
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        h ^= h >>> 16;
+        return h;
+    }
+}
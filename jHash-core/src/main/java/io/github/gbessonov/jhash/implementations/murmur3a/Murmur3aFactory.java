@@ -0,0 +1,20 @@
+package io.github.gbessonov.jhash.implementations.murmur3a;
+
+import io.github.gbessonov.jhash.HashCode;
+import io.github.gbessonov.jhash.HashFunction;
+
+public class Murmur3aFactory {
+    private Murmur3aFactory() {
+    }
+
+    public static HashFunction create(int seed) {
+        return new Murmur3a(seed);
+    }
+
+    /**
+     * Recreates a Murmur3A digest from its 32-bit value, e.g. when reading digests back from storage.
+     */
+    public static HashCode createHashCode(int value) {
+        return new Murmur3aHashCode(value);
+    }
+}
@@ -0,0 +1,120 @@
+package io.github.gbessonov.jhash.implementations.murmur3a;
+
+import io.github.gbessonov.jhash.HashCode;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.math.BigInteger;
+import java.nio.ByteOrder;
+import java.util.Objects;
+
+/**
+ * Represents a 32-bit hash code generated by the Murmur3A (x86 32-bit) hashing algorithm.
+ * <p>
+ * The class is immutable and thread-safe.
+ */
+class Murmur3aHashCode implements HashCode {
+    private static final VarHandle INT_LE =
+            MethodHandles.byteArrayViewVarHandle(int[].class, ByteOrder.LITTLE_ENDIAN);
+    private static final VarHandle INT_BE =
+            MethodHandles.byteArrayViewVarHandle(int[].class, ByteOrder.BIG_ENDIAN);
+
+    private final int h1;
+
+    Murmur3aHashCode(int h1) {
+        this.h1 = h1;
+    }
+
+    /**
+     * Returns the 32-bit hash code as a 4-byte array in big-endian order.
+     */
+    @Override
+    public byte[] getValueBytesBigEndian() {
+        byte[] bytes = new byte[4];
+        INT_BE.set(bytes, 0, h1);
+        return bytes;
+    }
+
+    /**
+     * Returns the 32-bit hash code as a 4-byte array in little-endian order,
+     * the byte order of the reference implementation's output.
+     */
+    @Override
+    public byte[] getValueBytesLittleEndian() {
+        byte[] bytes = new byte[4];
+        INT_LE.set(bytes, 0, h1);
+        return bytes;
+    }
+
+    /**
+     * Returns the 32-bit hash code as a positive {@link BigInteger}.
+     */
+    @Override
+    public BigInteger getValueBigInteger() {
+        return BigInteger.valueOf(h1 & 0xffffffffL);
+    }
+
+    /**
+     * Returns the little-endian bytes of the hash code as 8 hexadecimal digits.
+     */
+    @Override
+    public String getValueHexString() {
+        String hex = Integer.toHexString(Integer.reverseBytes(h1));
+        return "00000000".substring(hex.length()) + hex;
+    }
+
+    @Override
+    public int asInt() {
+        return h1;
+    }
+
+    /**
+     * Not supported: a 32-bit digest cannot fill a long.
+     *
+     * @throws IllegalStateException always
+     */
+    @Override
+    public long asLong() {
+        throw new IllegalStateException("Murmur3A hash codes are only 32 bits long");
+    }
+
+    @Override
+    public long lowBits() {
+        return h1 & 0xffffffffL;
+    }
+
+    @Override
+    public long highBits() {
+        return 0;
+    }
+
+    /**
+     * Writes the 4 bytes of {@link #getValueBytesLittleEndian()} into {@code dest} starting at {@code offset}.
+     *
+     * @return always 4
+     */
+    @Override
+    public int writeBytesTo(byte[] dest, int offset) {
+        Objects.checkFromIndexSize(offset, 4, dest.length);
+        INT_LE.set(dest, offset, h1);
+        return 4;
+    }
+
+    @Override
+    public String toString() {
+        return "jHash.HashCode.Murmur3A: " + getValueHexString();
+    }
+
+    @Override
+    public int hashCode() {
+        return h1;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (other instanceof Murmur3aHashCode otherMurmur3aHashCode) {
+            return h1 == otherMurmur3aHashCode.h1;
+        }
+        return false;
+    }
+}
@@ -0,0 +1,128 @@
+package io.github.gbessonov.jhash.implementations.murmur3a;
+
+import io.github.gbessonov.jhash.implementations.Utf8;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.util.Objects;
+
+import static io.github.gbessonov.jhash.implementations.murmur3a.Murmur3a.fmix32;
+import static io.github.gbessonov.jhash.implementations.murmur3a.Murmur3a.mixH1;
+import static io.github.gbessonov.jhash.implementations.murmur3a.Murmur3a.mixK1;
+
+/**
+ * Stateless one-shot MurmurHash3 (x86 32-bit variant), returning the digest as a plain {@code int}.
+ * <p>
+ * Meant for hash-table bucketing and other uses that need no more than 32 bits: every method
+ * allocates nothing and keeps the state in local variables. Results are identical to streaming
+ * the same bytes through {@link Murmur3a} and taking {@link io.github.gbessonov.jhash.HashCode#asInt()}.
+ * <p>
+ * The class is stateless and therefore thread-safe.
+ */
+public final class Murmur3aOneShot {
+
+    private static final VarHandle ARRAY_INT_LE =
+            MethodHandles.byteArrayViewVarHandle(int[].class, ByteOrder.LITTLE_ENDIAN);
+
+    private Murmur3aOneShot() {
+    }
+
+    /**
+     * Hashes a range of the array.
+     */
+    public static int hash(byte[] data, int offset, int length, int seed) {
+        Objects.checkFromIndexSize(offset, length, data.length);
+
+        int h1 = seed;
+        int blockEnd = offset + (length & ~3);
+        for (; offset < blockEnd; offset += 4) {
+            h1 = mixH1(h1, (int) ARRAY_INT_LE.get(data, offset));
+        }
+        // mixK1(0) == 0, so an empty tail needs no branch
+        h1 ^= mixK1(partialInt(data, offset, length & 3));
+        return fmix32(h1 ^ length);
+    }
+
+    /**
+     * Hashes the 4 little-endian bytes of the key. Same digest as {@code include} of those bytes.
+     */
+    public static int hash(int key, int seed) {
+        return fmix32(mixH1(seed, key) ^ Integer.BYTES);
+    }
+
+    /**
+     * Hashes the 8 little-endian bytes of the key. Same digest as {@code include} of those bytes.
+     */
+    public static int hash(long key, int seed) {
+        int h1 = mixH1(seed, (int) key);
+        h1 = mixH1(h1, (int) (key >>> 32));
+        return fmix32(h1 ^ Long.BYTES);
+    }
+
+    /**
+     * Hashes the UTF-16LE code units of the input, like {@code putChars} does.
+     */
+    public static int hashChars(CharSequence input, int seed) {
+        int count = input.length();
+        int h1 = seed;
+        int i = 0;
+        for (; i + 2 <= count; i += 2) {
+            h1 = mixH1(h1, input.charAt(i) | input.charAt(i + 1) << 16);
+        }
+        if (i < count) {
+            h1 ^= mixK1(input.charAt(i));
+        }
+        return fmix32(h1 ^ (count << 1));
+    }
+
+    /**
+     * Hashes the UTF-8 encoding of the input, like {@code putUtf8} does, without encoding it
+     * into an array first. Unpaired surrogates are encoded as {@code '?'}.
+     */
+    public static int hashUtf8(CharSequence input, int seed) {
+        int count = input.length();
+        int h1 = seed;
+        int length = 0;
+        long pending = 0;
+        int pendingBytes = 0;
+        int i = 0;
+        while (i < count) {
+            // ASCII fast path: four characters become one 32-bit block
+            if (pendingBytes == 0 && i + 4 <= count) {
+                int word = Utf8.asciiInt(input, i);
+                if (word >= 0) {
+                    h1 = mixH1(h1, word);
+                    length += 4;
+                    i += 4;
+                    continue;
+                }
+            }
+
+            long encoded = Utf8.encode(input, i, count);
+            int encodedBytes = Utf8.count(encoded);
+            i += encodedBytes == 4 ? 2 : 1;
+            length += encodedBytes;
+            pending |= Utf8.bytes(encoded) << (pendingBytes << 3);
+            pendingBytes += encodedBytes;
+            if (pendingBytes >= 4) {
+                h1 = mixH1(h1, (int) pending);
+                pending >>>= 32;
+                pendingBytes -= 4;
+            }
+        }
+        h1 ^= mixK1((int) pending);
+        return fmix32(h1 ^ length);
+    }
+
+    // Little-endian value of the first 'count' (< 4) bytes
+    static int partialInt(byte[] data, int offset, int count) {
+        int k = 0;
+        switch (count) {
+            case 3: k ^= (data[offset + 2] & 0xff) << 16;
+            case 2: k ^= (data[offset + 1] & 0xff) << 8;
+            case 1: k ^= (data[offset] & 0xff);
+            default: return k;
+        }
+    }
+}
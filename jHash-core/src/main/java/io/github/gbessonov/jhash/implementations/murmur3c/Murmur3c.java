@@ -0,0 +1,402 @@
+package io.github.gbessonov.jhash.implementations.murmur3c;
+
+import io.github.gbessonov.jhash.HashCode;
+import io.github.gbessonov.jhash.HashFunction;
+import io.github.gbessonov.jhash.implementations.AbstractHashFunction;
+
+import javax.annotation.concurrent.NotThreadSafe;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Objects;
+
+/**
+ * Fast implementation of MurmurHash3 (x86 128-bit variant), the 128-bit digest that 32-bit
+ * platforms produce. It is a different function from the x64 variant in
+ * {@link io.github.gbessonov.jhash.implementations.murmur3f}.
+ * <p>
+ * The length is tracked as a long and mixed in modulo 2<sup>32</sup>, like the reference
+ * implementation's 32-bit length, so inputs of any size are supported.
+ *
+ *  <p><strong>Thread Safety:</strong> This class is <strong>NOT thread-safe</strong>.
+ *  Each thread must use its own instance, or external synchronization must be provided
+ *  if sharing instances across threads.
+ */
+@NotThreadSafe
+class Murmur3c extends AbstractHashFunction {
+
+    private static final int C1 = 0x239b961b;
+    private static final int C2 = 0xab0e9789;
+    private static final int C3 = 0x38b34ae5;
+    private static final int C4 = 0xa1e38b93;
+
+    // Accesses little-endian ints in heap and direct buffers regardless of the buffer's own byte order
+    private static final VarHandle BUFFER_INT_LE =
+            MethodHandles.byteBufferViewVarHandle(int[].class, ByteOrder.LITTLE_ENDIAN);
+    private static final VarHandle BUFFER_LONG_LE =
+            MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+    static final VarHandle ARRAY_INT_LE =
+            MethodHandles.byteArrayViewVarHandle(int[].class, ByteOrder.LITTLE_ENDIAN);
+    private static final VarHandle ARRAY_LONG_LE =
+            MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+
+    // saveState() layout, little-endian: version, algorithm, tail length, h1..h4, length, tail bytes
+    private static final byte STATE_VERSION = 1;
+    private static final byte STATE_ALGORITHM = 3;
+    private static final int STATE_HEADER_SIZE = 27;
+
+    private int h1;
+    private int h2;
+    private int h3;
+    private int h4;
+    private long length;
+
+    // Leftover byte buffer: one 16-byte block plus 8 bytes of slack for whole-word writes of typed values
+    private final byte[] tailBuffer = new byte[24];
+    private int tailLength = 0;
+
+    public Murmur3c() {
+        this(0);
+    }
+
+    public Murmur3c(int seed) {
+        reset(seed);
+    }
+
+    private Murmur3c(Murmur3c other) {
+        this.h1 = other.h1;
+        this.h2 = other.h2;
+        this.h3 = other.h3;
+        this.h4 = other.h4;
+        this.length = other.length;
+        this.tailLength = other.tailLength;
+        System.arraycopy(other.tailBuffer, 0, tailBuffer, 0, other.tailLength);
+    }
+
+    @Override
+    protected void includeDirect(ByteBuffer input) {
+        int offset = input.position();
+        int limit = input.limit();
+        length += limit - offset;
+
+        // Fill leftover buffer if needed
+        if (tailLength > 0) {
+            int needed = 16 - tailLength;
+            if (limit - offset < needed) {
+                input.get(offset, tailBuffer, tailLength, limit - offset);
+                tailLength += limit - offset;
+                return;
+            }
+            input.get(offset, tailBuffer, tailLength, needed);
+            bmix32(tailBuffer, 0);
+            offset += needed;
+            tailLength = 0;
+        }
+
+        // Process full 16-byte blocks directly from the buffer
+        int blockLimit = limit - ((limit - offset) & 15);
+        for (; offset < blockLimit; offset += 16) {
+            bmix32((int) BUFFER_INT_LE.get(input, offset),
+                    (int) BUFFER_INT_LE.get(input, offset + 4),
+                    (int) BUFFER_INT_LE.get(input, offset + 8),
+                    (int) BUFFER_INT_LE.get(input, offset + 12));
+        }
+
+        // Store remaining tail bytes
+        tailLength = limit - offset;
+        if (tailLength > 0) {
+            input.get(offset, tailBuffer, 0, tailLength);
+        }
+    }
+
+    @Override
+    public HashFunction include(byte[] input, int offset, int inputLength) {
+        Objects.checkFromIndexSize(offset, inputLength, input.length);
+        int end = offset + inputLength;
+        length += inputLength;
+
+        // Fill leftover buffer if needed
+        if (tailLength > 0) {
+            int needed = 16 - tailLength;
+            if (inputLength < needed) {
+                System.arraycopy(input, offset, tailBuffer, tailLength, inputLength);
+                tailLength += inputLength;
+                return this;
+            }
+            System.arraycopy(input, offset, tailBuffer, tailLength, needed);
+            bmix32(tailBuffer, 0);
+            offset += needed;
+            tailLength = 0;
+        }
+
+        // Process full 16-byte blocks directly from input
+        int limit = end - ((end - offset) & 15);
+        for (; offset < limit; offset += 16) {
+            bmix32(input, offset);
+        }
+
+        // Store remaining tail bytes
+        tailLength = end - offset;
+        if (tailLength > 0) {
+            System.arraycopy(input, offset, tailBuffer, 0, tailLength);
+        }
+        return this;
+    }
+
+    @Override
+    public HashFunction putByte(byte value) {
+        length++;
+        tailBuffer[tailLength++] = value;
+        if (tailLength == 16) {
+            bmix32(tailBuffer, 0);
+            tailLength = 0;
+        }
+        return this;
+    }
+
+    @Override
+    public HashCode hash() {
+        long[] halves = new long[2];
+        hashInto(halves, 0);
+        return new Murmur3cHashCode(halves[0], halves[1]);
+    }
+
+    /**
+     * Writes the digest into {@code dst[offset]} (bytes 0-7, i.e. {@code h2:h1}) and
+     * {@code dst[offset + 1]} (bytes 8-15, i.e. {@code h4:h3}).
+     */
+    @Override
+    public void hashInto(long[] dst, int offset) {
+        Objects.checkFromIndexSize(offset, 2, dst.length);
+        processRemaining();
+        finish(h1, h2, h3, h4, (int) length, dst, offset);
+    }
+
+    @Override
+    public void hashInto(ByteBuffer dst) {
+        int position = dst.position();
+        if (dst.remaining() < 16) {
+            throw new BufferOverflowException();
+        }
+        long[] halves = new long[2];
+        hashInto(halves, 0);
+        BUFFER_LONG_LE.set(dst, position, halves[0]);
+        BUFFER_LONG_LE.set(dst, position + 8, halves[1]);
+        dst.position(position + 16);
+    }
+
+    @Override
+    public HashFunction copy() {
+        return new Murmur3c(this);
+    }
+
+    @Override
+    public byte[] saveState() {
+        byte[] state = new byte[STATE_HEADER_SIZE + tailLength];
+        state[0] = STATE_VERSION;
+        state[1] = STATE_ALGORITHM;
+        state[2] = (byte) tailLength;
+        ARRAY_INT_LE.set(state, 3, h1);
+        ARRAY_INT_LE.set(state, 7, h2);
+        ARRAY_INT_LE.set(state, 11, h3);
+        ARRAY_INT_LE.set(state, 15, h4);
+        ARRAY_LONG_LE.set(state, 19, length);
+        System.arraycopy(tailBuffer, 0, state, STATE_HEADER_SIZE, tailLength);
+        return state;
+    }
+
+    @Override
+    public HashFunction restoreState(byte[] state) {
+        if (state.length < STATE_HEADER_SIZE) {
+            throw new IllegalArgumentException("State too short: " + state.length + " bytes");
+        }
+        if (state[0] != STATE_VERSION) {
+            throw new IllegalArgumentException("Unsupported state version: " + state[0]);
+        }
+        if (state[1] != STATE_ALGORITHM) {
+            throw new IllegalArgumentException("State of another algorithm: " + state[1]);
+        }
+        int savedTailLength = state[2];
+        long savedLength = (long) ARRAY_LONG_LE.get(state, 19);
+        if (savedTailLength < 0 || savedTailLength > 15 || savedLength < 0
+                || (savedLength & 15) != savedTailLength
+                || state.length != STATE_HEADER_SIZE + savedTailLength) {
+            throw new IllegalArgumentException("Malformed state");
+        }
+
+        h1 = (int) ARRAY_INT_LE.get(state, 3);
+        h2 = (int) ARRAY_INT_LE.get(state, 7);
+        h3 = (int) ARRAY_INT_LE.get(state, 11);
+        h4 = (int) ARRAY_INT_LE.get(state, 15);
+        length = savedLength;
+        tailLength = savedTailLength;
+        System.arraycopy(state, STATE_HEADER_SIZE, tailBuffer, 0, savedTailLength);
+        return this;
+    }
+
+    @Override
+    public void reset(int seed) {
+        this.h1 = seed;
+        this.h2 = seed;
+        this.h3 = seed;
+        this.h4 = seed;
+        this.length = 0;
+        this.tailLength = 0;
+    }
+
+    // mixK*(0) == 0, so absent tail words need no branch
+    private void processRemaining() {
+        h1 ^= mixK1(tailInt(tailBuffer, 0, tailLength));
+        h2 ^= mixK2(tailInt(tailBuffer, 4, tailLength - 4));
+        h3 ^= mixK3(tailInt(tailBuffer, 8, tailLength - 8));
+        h4 ^= mixK4(tailInt(tailBuffer, 12, tailLength - 12));
+        tailLength = 0;
+    }
+
+    // Appends the low 'count' bytes of the value; the slack after the block absorbs the excess of the 8-byte write
+    @Override
+    protected void putLittleEndian(long value, int count) {
+        length += count;
+        ARRAY_LONG_LE.set(tailBuffer, tailLength, value);
+        tailLength += count;
+        if (tailLength >= 16) {
+            bmix32(tailBuffer, 0);
+            tailLength -= 16;
+            ARRAY_LONG_LE.set(tailBuffer, 0, (long) ARRAY_LONG_LE.get(tailBuffer, 16));
+        }
+    }
+
+    private void bmix32(byte[] block, int offset) {
+        bmix32((int) ARRAY_INT_LE.get(block, offset),
+                (int) ARRAY_INT_LE.get(block, offset + 4),
+                (int) ARRAY_INT_LE.get(block, offset + 8),
+                (int) ARRAY_INT_LE.get(block, offset + 12));
+    }
+
+    private void bmix32(int k1, int k2, int k3, int k4) {
+        h1 = round1(h1, h2, k1);
+        h2 = round2(h2, h3, k2);
+        h3 = round3(h3, h4, k3);
+        h4 = round4(h4, h1, k4);
+    }
+
+    // One lane of a block round: the new h, given the lane's key word and the next lane's h
+    static int round1(int h1, int h2, int k1) {
+        h1 ^= mixK1(k1);
+        h1 = Integer.rotateLeft(h1, 19);
+        h1 += h2;
+        return h1 * 5 + 0x561ccd1b;
+    }
+
+    static int round2(int h2, int h3, int k2) {
+        h2 ^= mixK2(k2);
+        h2 = Integer.rotateLeft(h2, 17);
+        h2 += h3;
+        return h2 * 5 + 0x0bcaa747;
+    }
+
+    static int round3(int h3, int h4, int k3) {
+        h3 ^= mixK3(k3);
+        h3 = Integer.rotateLeft(h3, 15);
+        h3 += h4;
+        return h3 * 5 + 0x96cd1c35;
+    }
+
+    static int round4(int h4, int h1, int k4) {
+        h4 ^= mixK4(k4);
+        h4 = Integer.rotateLeft(h4, 13);
+        h4 += h1;
+        return h4 * 5 + 0x32ac3b17;
+    }
+
+    static int mixK1(int k1) {
+        return Integer.rotateLeft(k1 * C1, 15) * C2;
+    }
+
+    static int mixK2(int k2) {
+        return Integer.rotateLeft(k2 * C2, 16) * C3;
+    }
+
+    static int mixK3(int k3) {
+        return Integer.rotateLeft(k3 * C3, 17) * C4;
+    }
+
+    static int mixK4(int k4) {
+        return Integer.rotateLeft(k4 * C4, 18) * C1;
+    }
+
+    static int fmix32(int h) {
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        h ^= h >>> 16;
+        return h;
+    }
+
+    /**
+     * Mixes the length in, avalanches and writes the digest as two little-endian longs:
+     * {@code h2:h1} to {@code dst[offset]} and {@code h4:h3} to {@code dst[offset + 1]}.
+     */
+    static void finish(int h1, int h2, int h3, int h4, int length, long[] dst, int offset) {
+        h1 ^= length;
+        h2 ^= length;
+        h3 ^= length;
+        h4 ^= length;
+
+        h1 += h2 + h3 + h4;
+        h2 += h1;
+        h3 += h1;
+        h4 += h1;
+
+        h1 = fmix32(h1);
+        h2 = fmix32(h2);
+        h3 = fmix32(h3);
+        h4 = fmix32(h4);
+
+        h1 += h2 + h3 + h4;
+        h2 += h1;
+        h3 += h1;
+        h4 += h1;
+
+        dst[offset] = (h1 & 0xffffffffL) | (long) h2 << 32;
+        dst[offset + 1] = (h3 & 0xffffffffL) | (long) h4 << 32;
+    }
+
+    /**
+     * Same as {@link #finish}, returning only the first long.
+     */
+    static long finishLow64(int h1, int h2, int h3, int h4, int length) {
+        h1 ^= length;
+        h2 ^= length;
+        h3 ^= length;
+        h4 ^= length;
+
+        h1 += h2 + h3 + h4;
+        h2 += h1;
+        h3 += h1;
+        h4 += h1;
+
+        h1 = fmix32(h1);
+        h2 = fmix32(h2);
+        h3 = fmix32(h3);
+        h4 = fmix32(h4);
+
+        h1 += h2 + h3 + h4;
+        h2 += h1;
+        return (h1 & 0xffffffffL) | (long) h2 << 32;
+    }
+
+    // Little-endian value of the first min(remaining, 4) bytes, 0 if remaining <= 0
+    static int tailInt(byte[] data, int offset, int remaining) {
+        int k = 0;
+        switch (remaining) {
+            case 3: k ^= (data[offset + 2] & 0xff) << 16;
+            case 2: k ^= (data[offset + 1] & 0xff) << 8;
+            case 1: k ^= (data[offset] & 0xff); return k;
+            default: return remaining <= 0 ? 0 : (int) ARRAY_INT_LE.get(data, offset);
+        }
+    }
+}
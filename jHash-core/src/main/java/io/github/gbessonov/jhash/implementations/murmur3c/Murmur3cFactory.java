@@ -0,0 +1,21 @@
+package io.github.gbessonov.jhash.implementations.murmur3c;
+
+import io.github.gbessonov.jhash.HashCode;
+import io.github.gbessonov.jhash.HashFunction;
+
+public class Murmur3cFactory {
+    private Murmur3cFactory() {
+    }
+
+    public static HashFunction create(int seed) {
+        return new Murmur3c(seed);
+    }
+
+    /**
+     * Recreates a Murmur3C digest from its {@link HashCode#lowBits() low} and
+     * {@link HashCode#highBits() high} 64 bits, e.g. when reading digests back from storage.
+     */
+    public static HashCode createHashCode(long lowBits, long highBits) {
+        return new Murmur3cHashCode(lowBits, highBits);
+    }
+}
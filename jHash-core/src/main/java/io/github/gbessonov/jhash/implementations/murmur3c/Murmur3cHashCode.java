@@ -0,0 +1,167 @@
+package io.github.gbessonov.jhash.implementations.murmur3c;
+
+
+import io.github.gbessonov.jhash.HashCode;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.math.BigInteger;
+import java.nio.ByteOrder;
+import java.util.Objects;
+
+/**
+ * Represents a 128-bit hash code generated by the Murmur3C (x86 128-bit) hashing algorithm.
+ * The four 32-bit words {@code h1..h4} of the reference output are stored as two
+ * little-endian 64-bit values, {@code h2:h1} and {@code h4:h3}, so the byte representations match
+ * the reference implementation's output.
+ * <p>
+ * The class is immutable and thread-safe.
+ */
+class Murmur3cHashCode implements HashCode {
+    private static final String[] HEX_PAIRS = new String[256];
+    private static final VarHandle LONG_LE =
+            MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+
+    static {
+        for (int i = 0; i < 256; i++) {
+            HEX_PAIRS[i] = String.format("%02x", i);
+        }
+    }
+
+    private final long low;
+    private final long high;
+
+    /**
+     * Constructs a new {@code Murmur3cHashCode} from two 64-bit parts of a 128-bit hash.
+     *
+     * @param low  the low 64 bits of the hash, {@code h2:h1} of the reference output
+     * @param high the high 64 bits of the hash, {@code h4:h3} of the reference output
+     */
+    Murmur3cHashCode(long low, long high) {
+        this.low = low;
+        this.high = high;
+    }
+
+    /**
+     * Returns the 128-bit hash code as a 16-byte array in big-endian order.
+     * The high 64 bits come first, followed by the low 64 bits.
+     *
+     * @return a 16-byte array in big-endian order
+     */
+    @Override
+    public byte[] getValueBytesBigEndian() {
+        byte[] bytes = new byte[16];
+        for (int i = 0; i < 8; i++) {
+            bytes[i] = (byte) ((high >>> (56 - i * 8)) & 0xff);
+        }
+        for (int i = 0; i < 8; i++) {
+            bytes[8 + i] = (byte) ((low >>> (56 - i * 8)) & 0xff);
+        }
+        return bytes;
+    }
+
+    /**
+     * Returns the 128-bit hash code as a 16-byte array in little-endian order.
+     * The low 64 bits come first, followed by the high 64 bits.
+     *
+     * @return a 16-byte array in little-endian order
+     */
+    public byte[] getValueBytesLittleEndian() {
+        byte[] bytes = new byte[16];
+        for (int i = 0; i < 8; i++) {
+            bytes[i] = (byte) ((low >>> (i * 8)) & 0xff);
+        }
+        for (int i = 0; i < 8; i++) {
+            bytes[8 + i] = (byte) ((high >>> (i * 8)) & 0xff);
+        }
+        return bytes;
+    }
+
+    /**
+     * Returns the 128-bit hash code as a positive {@link BigInteger}.
+     * This uses the big-endian byte representation of the hash.
+     *
+     * @return a positive BigInteger representing the hash code
+     */
+    @Override
+    public BigInteger getValueBigInteger() {
+        byte[] bytes = getValueBytesBigEndian();
+        return new BigInteger(1, bytes);
+    }
+
+    /**
+     * Returns the 128-bit hash code as a zero-padded hexadecimal string.
+     * The string consists of 32 hexadecimal digits.
+     *
+     * @return a 32-character hexadecimal string representation of the hash
+     */
+    public String getValueHexString() {
+        return HEX_PAIRS[(int)(low & 0xFF)] +
+                HEX_PAIRS[(int)((low >>> 8) & 0xFF)] +
+                HEX_PAIRS[(int)((low >>> 16) & 0xFF)] +
+                HEX_PAIRS[(int)((low >>> 24) & 0xFF)] +
+                HEX_PAIRS[(int)((low >>> 32) & 0xFF)] +
+                HEX_PAIRS[(int)((low >>> 40) & 0xFF)] +
+                HEX_PAIRS[(int)((low >>> 48) & 0xFF)] +
+                HEX_PAIRS[(int)((low >>> 56) & 0xFF)] +
+                HEX_PAIRS[(int)(high & 0xFF)] +
+                HEX_PAIRS[(int)((high >>> 8) & 0xFF)] +
+                HEX_PAIRS[(int)((high >>> 16) & 0xFF)] +
+                HEX_PAIRS[(int)((high >>> 24) & 0xFF)] +
+                HEX_PAIRS[(int)((high >>> 32) & 0xFF)] +
+                HEX_PAIRS[(int)((high >>> 40) & 0xFF)] +
+                HEX_PAIRS[(int)((high >>> 48) & 0xFF)] +
+                HEX_PAIRS[(int)((high >>> 56) & 0xFF)];
+    }
+
+    @Override
+    public int asInt() {
+        return (int) low;
+    }
+
+    @Override
+    public long asLong() {
+        return low;
+    }
+
+    @Override
+    public long lowBits() {
+        return low;
+    }
+
+    @Override
+    public long highBits() {
+        return high;
+    }
+
+    /**
+     * Writes the 16 bytes of {@link #getValueBytesLittleEndian()} into {@code dest} starting at {@code offset}.
+     *
+     * @return always 16
+     */
+    @Override
+    public int writeBytesTo(byte[] dest, int offset) {
+        Objects.checkFromIndexSize(offset, 16, dest.length);
+        LONG_LE.set(dest, offset, low);
+        LONG_LE.set(dest, offset + 8, high);
+        return 16;
+    }
+
+    @Override
+    public String toString() {
+        return "jHash.HashCode.Murmur3C: " + getValueHexString();
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(low) * 17 + Long.hashCode(high);
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (other instanceof Murmur3cHashCode otherMurmur3cHashCode) {
+            return low == otherMurmur3cHashCode.low && high == otherMurmur3cHashCode.high;
+        }
+        return false;
+    }
+}
@@ -0,0 +1,193 @@
+package io.github.gbessonov.jhash.implementations.murmur3c;
+
+import io.github.gbessonov.jhash.HashCode;
+
+import java.util.Objects;
+
+import static io.github.gbessonov.jhash.implementations.murmur3c.Murmur3c.ARRAY_INT_LE;
+import static io.github.gbessonov.jhash.implementations.murmur3c.Murmur3c.finish;
+import static io.github.gbessonov.jhash.implementations.murmur3c.Murmur3c.finishLow64;
+import static io.github.gbessonov.jhash.implementations.murmur3c.Murmur3c.mixK1;
+import static io.github.gbessonov.jhash.implementations.murmur3c.Murmur3c.mixK2;
+import static io.github.gbessonov.jhash.implementations.murmur3c.Murmur3c.mixK3;
+import static io.github.gbessonov.jhash.implementations.murmur3c.Murmur3c.mixK4;
+import static io.github.gbessonov.jhash.implementations.murmur3c.Murmur3c.round1;
+import static io.github.gbessonov.jhash.implementations.murmur3c.Murmur3c.round2;
+import static io.github.gbessonov.jhash.implementations.murmur3c.Murmur3c.round3;
+import static io.github.gbessonov.jhash.implementations.murmur3c.Murmur3c.round4;
+import static io.github.gbessonov.jhash.implementations.murmur3c.Murmur3c.tailInt;
+
+/**
+ * Stateless one-shot MurmurHash3 (x86 128-bit variant).
+ * <p>
+ * Unlike {@link Murmur3c}, nothing is buffered: full blocks and the trailing partial block are
+ * read straight from the input array and the state lives in local variables only. The primitive
+ * variants ({@code hashLow64} and the {@code long[]} destination overloads) allocate nothing at all.
+ * Results are identical to streaming the same bytes through {@link Murmur3c}.
+ * <p>
+ * Keys of exactly 4, 8 or 16 bytes have dedicated overloads taking {@code int}, {@code long} and
+ * {@code (long, long)}, which skip the block loop and the tail handling.
+ * <p>
+ * The class is stateless and therefore thread-safe.
+ */
+public final class Murmur3cOneShot {
+
+    private Murmur3cOneShot() {
+    }
+
+    /**
+     * Hashes a range of the array and returns the digest as a {@link HashCode}.
+     */
+    public static HashCode hash(byte[] data, int offset, int length, int seed) {
+        long[] halves = new long[2];
+        hash(data, offset, length, seed, halves, 0);
+        return new Murmur3cHashCode(halves[0], halves[1]);
+    }
+
+    /**
+     * Hashes a range of the array and writes the low 64 bits to {@code dst[dstOffset]}
+     * and the high 64 bits to {@code dst[dstOffset + 1]}.
+     *
+     * @throws IndexOutOfBoundsException if either range is out of bounds; nothing is written then
+     */
+    public static void hash(byte[] data, int offset, int length, int seed, long[] dst, int dstOffset) {
+        Objects.checkFromIndexSize(offset, length, data.length);
+        Objects.checkFromIndexSize(dstOffset, 2, dst.length);
+
+        int h1 = seed;
+        int h2 = seed;
+        int h3 = seed;
+        int h4 = seed;
+
+        int blockEnd = offset + (length & ~15);
+        for (; offset < blockEnd; offset += 16) {
+            h1 = round1(h1, h2, (int) ARRAY_INT_LE.get(data, offset));
+            h2 = round2(h2, h3, (int) ARRAY_INT_LE.get(data, offset + 4));
+            h3 = round3(h3, h4, (int) ARRAY_INT_LE.get(data, offset + 8));
+            h4 = round4(h4, h1, (int) ARRAY_INT_LE.get(data, offset + 12));
+        }
+
+        // mixK*(0) == 0, so absent tail words need no branch
+        int remaining = length & 15;
+        h1 ^= mixK1(tailInt(data, offset, remaining));
+        h2 ^= mixK2(tailInt(data, offset + 4, remaining - 4));
+        h3 ^= mixK3(tailInt(data, offset + 8, remaining - 8));
+        h4 ^= mixK4(tailInt(data, offset + 12, remaining - 12));
+
+        finish(h1, h2, h3, h4, length, dst, dstOffset);
+    }
+
+    /**
+     * Hashes a range of the array and returns only the low 64 bits of the digest,
+     * i.e. the first 8 bytes of its little-endian representation.
+     */
+    public static long hashLow64(byte[] data, int offset, int length, int seed) {
+        Objects.checkFromIndexSize(offset, length, data.length);
+
+        int h1 = seed;
+        int h2 = seed;
+        int h3 = seed;
+        int h4 = seed;
+
+        int blockEnd = offset + (length & ~15);
+        for (; offset < blockEnd; offset += 16) {
+            h1 = round1(h1, h2, (int) ARRAY_INT_LE.get(data, offset));
+            h2 = round2(h2, h3, (int) ARRAY_INT_LE.get(data, offset + 4));
+            h3 = round3(h3, h4, (int) ARRAY_INT_LE.get(data, offset + 8));
+            h4 = round4(h4, h1, (int) ARRAY_INT_LE.get(data, offset + 12));
+        }
+
+        int remaining = length & 15;
+        h1 ^= mixK1(tailInt(data, offset, remaining));
+        h2 ^= mixK2(tailInt(data, offset + 4, remaining - 4));
+        h3 ^= mixK3(tailInt(data, offset + 8, remaining - 8));
+        h4 ^= mixK4(tailInt(data, offset + 12, remaining - 12));
+
+        return finishLow64(h1, h2, h3, h4, length);
+    }
+
+    /**
+     * Hashes the 4 little-endian bytes of the key. Same digest as {@code include} of those bytes.
+     */
+    public static HashCode hash(int key, int seed) {
+        long[] halves = new long[2];
+        hash(key, seed, halves, 0);
+        return new Murmur3cHashCode(halves[0], halves[1]);
+    }
+
+    /**
+     * Hashes the 8 little-endian bytes of the key. Same digest as {@code include} of those bytes.
+     */
+    public static HashCode hash(long key, int seed) {
+        long[] halves = new long[2];
+        hash(key, seed, halves, 0);
+        return new Murmur3cHashCode(halves[0], halves[1]);
+    }
+
+    /**
+     * Hashes 16 bytes, the little-endian bytes of {@code low} followed by those of {@code high},
+     * e.g. a UUID as {@code (uuid.getLeastSignificantBits(), uuid.getMostSignificantBits())}.
+     * Same digest as {@code include} of those bytes.
+     */
+    public static HashCode hash(long low, long high, int seed) {
+        long[] halves = new long[2];
+        hash(low, high, seed, halves, 0);
+        return new Murmur3cHashCode(halves[0], halves[1]);
+    }
+
+    /**
+     * Writes the digest of {@link #hash(int, int)} into {@code dst[dstOffset]} (low 64 bits)
+     * and {@code dst[dstOffset + 1]} (high 64 bits) without allocating.
+     */
+    public static void hash(int key, int seed, long[] dst, int dstOffset) {
+        Objects.checkFromIndexSize(dstOffset, 2, dst.length);
+        finish(seed ^ mixK1(key), seed, seed, seed, Integer.BYTES, dst, dstOffset);
+    }
+
+    /**
+     * Writes the digest of {@link #hash(long, int)} into {@code dst[dstOffset]} (low 64 bits)
+     * and {@code dst[dstOffset + 1]} (high 64 bits) without allocating.
+     */
+    public static void hash(long key, int seed, long[] dst, int dstOffset) {
+        Objects.checkFromIndexSize(dstOffset, 2, dst.length);
+        finish(seed ^ mixK1((int) key), seed ^ mixK2((int) (key >>> 32)), seed, seed, Long.BYTES, dst, dstOffset);
+    }
+
+    /**
+     * Writes the digest of {@link #hash(long, long, int)} into {@code dst[dstOffset]} (low 64 bits)
+     * and {@code dst[dstOffset + 1]} (high 64 bits) without allocating.
+     */
+    public static void hash(long low, long high, int seed, long[] dst, int dstOffset) {
+        Objects.checkFromIndexSize(dstOffset, 2, dst.length);
+        int h1 = round1(seed, seed, (int) low);
+        int h2 = round2(seed, seed, (int) (low >>> 32));
+        int h3 = round3(seed, seed, (int) high);
+        int h4 = round4(seed, h1, (int) (high >>> 32));
+        finish(h1, h2, h3, h4, 16, dst, dstOffset);
+    }
+
+    /**
+     * Returns the low 64 bits of {@link #hash(int, int)}.
+     */
+    public static long hashLow64(int key, int seed) {
+        return finishLow64(seed ^ mixK1(key), seed, seed, seed, Integer.BYTES);
+    }
+
+    /**
+     * Returns the low 64 bits of {@link #hash(long, int)}.
+     */
+    public static long hashLow64(long key, int seed) {
+        return finishLow64(seed ^ mixK1((int) key), seed ^ mixK2((int) (key >>> 32)), seed, seed, Long.BYTES);
+    }
+
+    /**
+     * Returns the low 64 bits of {@link #hash(long, long, int)}.
+     */
+    public static long hashLow64(long low, long high, int seed) {
+        int h1 = round1(seed, seed, (int) low);
+        int h2 = round2(seed, seed, (int) (low >>> 32));
+        int h3 = round3(seed, seed, (int) high);
+        int h4 = round4(seed, h1, (int) (high >>> 32));
+        return finishLow64(h1, h2, h3, h4, 16);
+    }
+}
@@ -0,0 +1,85 @@
+package io.github.gbessonov.jhash.implementations.murmur3f;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.util.Locale;
+
+/**
+ * Kernels reading the little-endian 64-bit words of a Murmur3 block from a byte array.
+ * <p>
+ * The kernel used by default is picked once, at class-initialization time. It can be forced
+ * by setting the {@value #PROPERTY} system property to a constant name, matched ignoring case,
+ * {@code '_'} and {@code '-'}, e.g. {@code -Djhash.murmur3f.blockReader=varhandle}. Unknown values
+ * are logged and ignored.
+ */
+public enum BlockReader {
+
+    /**
+     * Portable kernel assembling every word from eight masked byte loads and shifts.
+     */
+    SCALAR {
+        @Override
+        long getLong(byte[] data, int offset) {
+            return ((long) data[offset] & 0xff) |
+                    (((long) data[offset + 1] & 0xff) << 8) |
+                    (((long) data[offset + 2] & 0xff) << 16) |
+                    (((long) data[offset + 3] & 0xff) << 24) |
+                    (((long) data[offset + 4] & 0xff) << 32) |
+                    (((long) data[offset + 5] & 0xff) << 40) |
+                    (((long) data[offset + 6] & 0xff) << 48) |
+                    (((long) data[offset + 7] & 0xff) << 56);
+        }
+    },
+
+    /**
+     * Kernel reading whole words through a {@code byteArrayViewVarHandle},
+     * which the JIT compiles to a single (possibly unaligned) load.
+     */
+    VAR_HANDLE {
+        @Override
+        long getLong(byte[] data, int offset) {
+            return (long) LONG_LE.get(data, offset);
+        }
+    };
+
+    /**
+     * System property forcing the default kernel.
+     */
+    public static final String PROPERTY = "jhash.murmur3f.blockReader";
+
+    private static final VarHandle LONG_LE =
+            MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+
+    static final BlockReader DEFAULT = select(System.getProperty(PROPERTY));
+
+    abstract long getLong(byte[] data, int offset);
+
+    /**
+     * Returns the kernel used by {@link Murmur3fFactory#create(int)}.
+     */
+    public static BlockReader defaultReader() {
+        return DEFAULT;
+    }
+
+    // Matches constant names ignoring case, '_' and '-', so that e.g. "varhandle" picks VAR_HANDLE.
+    // An unknown value must not break class initialization, so it falls back to the default.
+    static BlockReader select(String forced) {
+        if (forced == null || forced.isEmpty()) {
+            return VAR_HANDLE;
+        }
+        String normalized = normalize(forced);
+        for (BlockReader reader : values()) {
+            if (normalize(reader.name()).equals(normalized)) {
+                return reader;
+            }
+        }
+        System.getLogger(BlockReader.class.getName()).log(System.Logger.Level.WARNING,
+                "Unknown " + PROPERTY + " value: " + forced + ", using " + VAR_HANDLE);
+        return VAR_HANDLE;
+    }
+
+    private static String normalize(String name) {
+        return name.replace("_", "").replace("-", "").toLowerCase(Locale.ROOT);
+    }
+}
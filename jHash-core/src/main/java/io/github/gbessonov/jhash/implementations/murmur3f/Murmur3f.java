@@ -2,8 +2,15 @@ package io.github.gbessonov.jhash.implementations.murmur3f;
 
 import io.github.gbessonov.jhash.HashCode;
 import io.github.gbessonov.jhash.HashFunction;
+import io.github.gbessonov.jhash.implementations.AbstractHashFunction;
 
 import javax.annotation.concurrent.NotThreadSafe;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Objects;
 
 /**
  * Fast implementation of MurmurHash3 (x64 128-bit variant),
@@ -14,17 +21,35 @@ import javax.annotation.concurrent.NotThreadSafe;
  *  if sharing instances across threads.
  */
 @NotThreadSafe
-class Murmur3f implements HashFunction {
+class Murmur3f extends AbstractHashFunction {
 
     private static final long C1 = 0x87c37b91114253d5L;
     private static final long C2 = 0x4cf5ad432745937fL;
 
+    // Accesses little-endian longs in heap and direct buffers regardless of the buffer's own byte order
+    private static final VarHandle BUFFER_LONG_LE =
+            MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+    private static final VarHandle ARRAY_LONG_LE =
+            MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+    private static final VarHandle ARRAY_INT_LE =
+            MethodHandles.byteArrayViewVarHandle(int[].class, ByteOrder.LITTLE_ENDIAN);
+
+    // saveState() layout, little-endian: version, algorithm, tail length, h1, h2, length, tail bytes
+    private static final byte STATE_VERSION = 1;
+    private static final byte STATE_ALGORITHM = 1;
+    private static final int STATE_HEADER_SIZE = 27;
+
+    // Writes are staged in whole blocks before being mixed, so tiny includes only copy a few bytes
+    private static final int STAGING_SIZE = 128;
+
+    private final BlockReader reader;
+
     private long h1;
     private long h2;
-    private int length;
+    private long length;
 
-    // Leftover byte buffer
-    private final byte[] tailBuffer = new byte[16]; // up to 15 + 1 extra
+    // Staged bytes not mixed yet, plus 8 bytes of slack for whole-word writes of typed values
+    private final byte[] tailBuffer = new byte[STAGING_SIZE + 8];
     private int tailLength = 0;
 
     public Murmur3f() {
@@ -32,52 +57,206 @@ class Murmur3f implements HashFunction {
     }
 
     public Murmur3f(int seed) {
+        this(seed, BlockReader.DEFAULT);
+    }
+
+    Murmur3f(int seed, BlockReader reader) {
+        this.reader = reader;
         reset(seed);
     }
 
+    private Murmur3f(Murmur3f other) {
+        this.reader = other.reader;
+        this.h1 = other.h1;
+        this.h2 = other.h2;
+        this.length = other.length;
+        this.tailLength = other.tailLength;
+        System.arraycopy(other.tailBuffer, 0, tailBuffer, 0, other.tailLength);
+    }
+
     @Override
-    public HashFunction include(byte[] input) {
-        int offset = 0;
-        int inputLength = input.length;
+    protected void includeDirect(ByteBuffer input) {
+        int offset = input.position();
+        int limit = input.limit();
+        int inputLength = limit - offset;
         length += inputLength;
 
-        // Fill leftover buffer if needed
+        // Short writes are staged without mixing
+        int tail = tailLength;
+        if (inputLength <= 32 && inputLength <= STAGING_SIZE - tail) {
+            input.get(offset, tailBuffer, tail, inputLength);
+            tailLength = tail + inputLength;
+            return;
+        }
+        // Complete the staged partial block, which the input is long enough to do, and mix everything staged
+        if (tail > 0) {
+            int needed = -tail & 15;
+            input.get(offset, tailBuffer, tail, needed);
+            offset += needed;
+            mixStaged(tail + needed);
+        }
+
+        // Process full 16-byte blocks directly from the buffer
+        int blockLimit = limit - ((limit - offset) & 15);
+        while (offset < blockLimit) {
+            long k1 = (long) BUFFER_LONG_LE.get(input, offset);
+            long k2 = (long) BUFFER_LONG_LE.get(input, offset + 8);
+            bmix64(k1, k2);
+            offset += 16;
+        }
+
+        // Store remaining tail bytes
+        tailLength = limit - offset;
         if (tailLength > 0) {
-            int needed = 16 - tailLength;
-            if (inputLength < needed) {
-                System.arraycopy(input, 0, tailBuffer, tailLength, inputLength);
-                tailLength += inputLength;
-                return this;
-            } else {
-                System.arraycopy(input, 0, tailBuffer, tailLength, needed);
-                bmix64(getLittleEndianLong(tailBuffer, 0), getLittleEndianLong(tailBuffer, 8));
-                offset += needed;
-                tailLength = 0;
+            input.get(offset, tailBuffer, 0, tailLength);
+        }
+    }
+
+    @Override
+    public HashFunction include(byte[] input, int offset, int inputLength) {
+        Objects.checkFromIndexSize(offset, inputLength, input.length);
+        length += inputLength;
+
+        // Fast path for writes of up to two blocks: stage them without mixing
+        int tail = tailLength;
+        if (inputLength <= 32 && inputLength <= STAGING_SIZE - tail) {
+            stageShort(input, offset, inputLength, tailBuffer, tail);
+            tailLength = tail + inputLength;
+            return this;
+        }
+        includeBlocks(input, offset, inputLength);
+        return this;
+    }
+
+    // Copies up to 32 bytes without a loop or a System.arraycopy call: overlapping moves from both ends
+    // of pairs of words, words or ints, or single bytes
+    private static void stageShort(byte[] src, int offset, int count, byte[] dst, int at) {
+        int last = count - 1;
+        if (count >= 16) {
+            ARRAY_LONG_LE.set(dst, at, (long) ARRAY_LONG_LE.get(src, offset));
+            ARRAY_LONG_LE.set(dst, at + 8, (long) ARRAY_LONG_LE.get(src, offset + 8));
+            ARRAY_LONG_LE.set(dst, at + last - 15, (long) ARRAY_LONG_LE.get(src, offset + last - 15));
+            ARRAY_LONG_LE.set(dst, at + last - 7, (long) ARRAY_LONG_LE.get(src, offset + last - 7));
+        } else if (count >= 8) {
+            ARRAY_LONG_LE.set(dst, at, (long) ARRAY_LONG_LE.get(src, offset));
+            ARRAY_LONG_LE.set(dst, at + last - 7, (long) ARRAY_LONG_LE.get(src, offset + last - 7));
+        } else if (count >= 4) {
+            ARRAY_INT_LE.set(dst, at, (int) ARRAY_INT_LE.get(src, offset));
+            ARRAY_INT_LE.set(dst, at + last - 3, (int) ARRAY_INT_LE.get(src, offset + last - 3));
+        } else if (count > 0) {
+            dst[at] = src[offset];
+            if (count > 1) {
+                dst[at + 1] = src[offset + 1];
+                if (count > 2) {
+                    dst[at + 2] = src[offset + 2];
+                }
             }
         }
+    }
+
+    private void includeBlocks(byte[] input, int offset, int inputLength) {
+        int end = offset + inputLength;
+        // Complete the staged partial block, which the input is long enough to do, and mix everything staged
+        int tail = tailLength;
+        if (tail > 0) {
+            int needed = -tail & 15;
+            System.arraycopy(input, offset, tailBuffer, tail, needed);
+            offset += needed;
+            mixStaged(tail + needed);
+        }
 
         // Process full 16-byte blocks directly from input
-        int limit = inputLength - ((inputLength - offset) % 16);
+        int limit = end - ((end - offset) & 15);
         while (offset < limit) {
-            long k1 = getLittleEndianLong(input, offset);
-            long k2 = getLittleEndianLong(input, offset + 8);
+            long k1 = reader.getLong(input, offset);
+            long k2 = reader.getLong(input, offset + 8);
             bmix64(k1, k2);
             offset += 16;
         }
 
         // Store remaining tail bytes
-        tailLength = inputLength - offset;
+        tailLength = end - offset;
         if (tailLength > 0) {
             System.arraycopy(input, offset, tailBuffer, 0, tailLength);
         }
-
-        return this;
     }
 
     @Override
     public HashCode hash() {
-        processRemaining();
-        return prepareHashCode(h1, h2, length);
+        finish();
+        return new Murmur3fHashCode(h1, h2);
+    }
+
+    @Override
+    public void hashInto(long[] dst, int offset) {
+        Objects.checkFromIndexSize(offset, 2, dst.length);
+        finish();
+        dst[offset] = h1;
+        dst[offset + 1] = h2;
+    }
+
+    @Override
+    public void hashInto(ByteBuffer dst) {
+        int position = dst.position();
+        if (dst.remaining() < 16) {
+            throw new BufferOverflowException();
+        }
+        finish();
+        BUFFER_LONG_LE.set(dst, position, h1);
+        BUFFER_LONG_LE.set(dst, position + 8, h2);
+        dst.position(position + 16);
+    }
+
+    @Override
+    public HashFunction copy() {
+        return new Murmur3f(this);
+    }
+
+    @Override
+    public byte[] saveState() {
+        // The state format keeps at most one partial block, so whole staged blocks are mixed on a
+        // copy, leaving this instance as it is
+        if (tailLength >= 16) {
+            Murmur3f compacted = new Murmur3f(this);
+            compacted.compactStaged();
+            return compacted.saveState();
+        }
+        byte[] state = new byte[STATE_HEADER_SIZE + tailLength];
+        state[0] = STATE_VERSION;
+        state[1] = STATE_ALGORITHM;
+        state[2] = (byte) tailLength;
+        ARRAY_LONG_LE.set(state, 3, h1);
+        ARRAY_LONG_LE.set(state, 11, h2);
+        ARRAY_LONG_LE.set(state, 19, length);
+        System.arraycopy(tailBuffer, 0, state, STATE_HEADER_SIZE, tailLength);
+        return state;
+    }
+
+    @Override
+    public HashFunction restoreState(byte[] state) {
+        if (state.length < STATE_HEADER_SIZE) {
+            throw new IllegalArgumentException("State too short: " + state.length + " bytes");
+        }
+        if (state[0] != STATE_VERSION) {
+            throw new IllegalArgumentException("Unsupported state version: " + state[0]);
+        }
+        if (state[1] != STATE_ALGORITHM) {
+            throw new IllegalArgumentException("State of another algorithm: " + state[1]);
+        }
+        int savedTailLength = state[2];
+        long savedLength = (long) ARRAY_LONG_LE.get(state, 19);
+        if (savedTailLength < 0 || savedTailLength > 15 || savedLength < 0
+                || (savedLength & 15) != savedTailLength
+                || state.length != STATE_HEADER_SIZE + savedTailLength) {
+            throw new IllegalArgumentException("Malformed state");
+        }
+
+        h1 = (long) ARRAY_LONG_LE.get(state, 3);
+        h2 = (long) ARRAY_LONG_LE.get(state, 11);
+        length = savedLength;
+        tailLength = savedTailLength;
+        System.arraycopy(state, STATE_HEADER_SIZE, tailBuffer, 0, savedTailLength);
+        return this;
     }
 
     @Override
@@ -88,6 +267,23 @@ class Murmur3f implements HashFunction {
         this.tailLength = 0;
     }
 
+    // Mixes all staged full blocks, leaving tailLength below 16
+    private void compactStaged() {
+        int blocks = tailLength & ~15;
+        if (blocks > 0) {
+            mixStaged(blocks);
+            tailLength -= blocks;
+            System.arraycopy(tailBuffer, blocks, tailBuffer, 0, tailLength);
+        }
+    }
+
+    // Mixes the first 'count' staged bytes, a multiple of 16
+    private void mixStaged(int count) {
+        for (int offset = 0; offset < count; offset += 16) {
+            bmix64(reader.getLong(tailBuffer, offset), reader.getLong(tailBuffer, offset + 8));
+        }
+    }
+
     private void processRemaining() {
         long k1 = 0, k2 = 0;
 
@@ -99,7 +295,7 @@ class Murmur3f implements HashFunction {
             case 11: k2 ^= (tailBuffer[10] & 0xffL) << 16;
             case 10: k2 ^= (tailBuffer[9]  & 0xffL) << 8;
             case 9:  k2 ^= (tailBuffer[8]  & 0xffL);
-            case 8:  k1 ^= getLittleEndianLong(tailBuffer, 0); break;
+            case 8:  k1 ^= reader.getLong(tailBuffer, 0); break;
             case 7:  k1 ^= (tailBuffer[6]  & 0xffL) << 48;
             case 6:  k1 ^= (tailBuffer[5]  & 0xffL) << 40;
             case 5:  k1 ^= (tailBuffer[4]  & 0xffL) << 32;
@@ -114,15 +310,17 @@ class Murmur3f implements HashFunction {
         h2 ^= mixK2(k2);
     }
 
-    private static long getLittleEndianLong(byte[] data, int offset) {
-        return ((long) data[offset] & 0xff) |
-                (((long) data[offset + 1] & 0xff) << 8) |
-                (((long) data[offset + 2] & 0xff) << 16) |
-                (((long) data[offset + 3] & 0xff) << 24) |
-                (((long) data[offset + 4] & 0xff) << 32) |
-                (((long) data[offset + 5] & 0xff) << 40) |
-                (((long) data[offset + 6] & 0xff) << 48) |
-                (((long) data[offset + 7] & 0xff) << 56);
+    // Appends the low 'count' bytes of the value; the slack after the staging buffer absorbs the excess of the 8-byte write
+    @Override
+    protected void putLittleEndian(long value, int count) {
+        length += count;
+        ARRAY_LONG_LE.set(tailBuffer, tailLength, value);
+        tailLength += count;
+        if (tailLength >= STAGING_SIZE) {
+            mixStaged(STAGING_SIZE);
+            tailLength -= STAGING_SIZE;
+            ARRAY_LONG_LE.set(tailBuffer, 0, (long) ARRAY_LONG_LE.get(tailBuffer, STAGING_SIZE));
+        }
     }
 
     private void bmix64(long k1, long k2) {
@@ -137,21 +335,21 @@ class Murmur3f implements HashFunction {
         h2 = h2 * 5 + 0x38495ab5;
     }
 
-    private static long mixK1(long k1) {
+    static long mixK1(long k1) {
         k1 *= C1;
         k1 = Long.rotateLeft(k1, 31);
         k1 *= C2;
         return k1;
     }
 
-    private static long mixK2(long k2) {
+    static long mixK2(long k2) {
         k2 *= C2;
         k2 = Long.rotateLeft(k2, 33);
         k2 *= C1;
         return k2;
     }
 
-    private static long fmix64(long k) {
+    static long fmix64(long k) {
         k ^= k >>> 33;
         k *= 0xff51afd7ed558ccdL;
         k ^= k >>> 33;
@@ -160,7 +358,11 @@ class Murmur3f implements HashFunction {
         return k;
     }
 
-    private static HashCode prepareHashCode(long h1, long h2, int length) {
+    // Mixes in the tail and leaves the final digest in h1 and h2
+    private void finish() {
+        compactStaged();
+        processRemaining();
+
         h1 ^= length;
         h2 ^= length;
 
@@ -172,7 +374,5 @@ class Murmur3f implements HashFunction {
 
         h1 += h2;
         h2 += h1;
-
-        return new Murmur3fHashCode(h1, h2);
     }
 }
@@ -0,0 +1,249 @@
+package io.github.gbessonov.jhash.implementations.murmur3f;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Objects;
+
+import static io.github.gbessonov.jhash.implementations.murmur3f.Murmur3f.fmix64;
+import static io.github.gbessonov.jhash.implementations.murmur3f.Murmur3f.mixK1;
+import static io.github.gbessonov.jhash.implementations.murmur3f.Murmur3f.mixK2;
+
+/**
+ * Batch MurmurHash3 (x64 128-bit variant) over a column of variable-length values.
+ * <p>
+ * Values are laid out the Arrow way: one contiguous data region plus an offsets array of
+ * {@code count + 1} entries, value {@code i} spanning {@code [offsets[i], offsets[i + 1])}.
+ * Every value is hashed in place, with no per-value object or copy, and its digest is written to
+ * {@code out[2 * i]} (low 64 bits) and {@code out[2 * i + 1]} (high 64 bits). Each digest is
+ * identical to {@link Murmur3fOneShot#hash(byte[], int, int, int, long[], int)} of the value.
+ * <p>
+ * Values are processed two at a time with interleaved block loops: the two dependency chains
+ * are independent, so the CPU overlaps their multiply latencies.
+ * <p>
+ * The class is stateless and therefore thread-safe.
+ */
+public final class Murmur3fBatch {
+
+    private static final BlockReader READER = BlockReader.DEFAULT;
+    private static final VarHandle BUFFER_LONG_LE =
+            MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+
+    private Murmur3fBatch() {
+    }
+
+    /**
+     * Hashes {@code count} values of a byte[] column.
+     *
+     * @param data    the data region
+     * @param offsets {@code count + 1} non-decreasing offsets into {@code data}
+     * @param count   the number of values
+     * @param seed    the seed for every value
+     * @param out     receives {@code 2 * count} longs, the low and high halves of each digest
+     * @throws IndexOutOfBoundsException if an array is too small or a value lies outside {@code data}
+     */
+    public static void hash(byte[] data, int[] offsets, int count, int seed, long[] out) {
+        hash(data, 0, offsets, count, seed, out);
+    }
+
+    /**
+     * Hashes {@code count} values of a buffer column. Offsets are absolute indices into the buffer;
+     * its position, limit and byte order are ignored and left unchanged.
+     *
+     * @see #hash(byte[], int[], int, int, long[])
+     */
+    public static void hash(ByteBuffer data, int[] offsets, int count, int seed, long[] out) {
+        if (data.hasArray()) {
+            Objects.checkFromIndexSize(0, count + 1, offsets.length);
+            for (int i = 0; i <= count; i++) {
+                Objects.checkIndex(offsets[i], data.capacity() + 1);
+            }
+            hash(data.array(), data.arrayOffset(), offsets, count, seed, out);
+            return;
+        }
+
+        checkSizes(offsets, count, out);
+        int i = 0;
+        for (; i + 2 <= count; i += 2) {
+            hashPair(data, offsets[i], offsets[i + 1], offsets[i + 1], offsets[i + 2], seed, out, 2 * i, true);
+        }
+        if (i < count) {
+            hashPair(data, offsets[i], offsets[i + 1], 0, 0, seed, out, 2 * i, false);
+        }
+    }
+
+    private static void hash(byte[] data, int base, int[] offsets, int count, int seed, long[] out) {
+        checkSizes(offsets, count, out);
+        int i = 0;
+        for (; i + 2 <= count; i += 2) {
+            hashPair(data, base + offsets[i], base + offsets[i + 1],
+                    base + offsets[i + 1], base + offsets[i + 2], seed, out, 2 * i);
+        }
+        if (i < count) {
+            Murmur3fOneShot.hash(data, base + offsets[i], offsets[i + 1] - offsets[i], seed, out, 2 * i);
+        }
+    }
+
+    private static void checkSizes(int[] offsets, int count, long[] out) {
+        Objects.checkFromIndexSize(0, count + 1, offsets.length);
+        Objects.checkFromIndexSize(0, 2 * count, out.length);
+    }
+
+    private static void hashPair(byte[] data, int a, int aEnd, int b, int bEnd, int seed, long[] out, int outOffset) {
+        Objects.checkFromToIndex(a, aEnd, data.length);
+        Objects.checkFromToIndex(b, bEnd, data.length);
+        int aLength = aEnd - a;
+        int bLength = bEnd - b;
+
+        long a1 = seed;
+        long a2 = seed;
+        long b1 = seed;
+        long b2 = seed;
+
+        // Interleaved blocks while both values have some left
+        int common = Math.min(aLength, bLength) & ~15;
+        for (int n = 0; n < common; n += 16) {
+            long ak1 = READER.getLong(data, a + n);
+            long bk1 = READER.getLong(data, b + n);
+            long ak2 = READER.getLong(data, a + n + 8);
+            long bk2 = READER.getLong(data, b + n + 8);
+
+            a1 ^= mixK1(ak1);
+            b1 ^= mixK1(bk1);
+            a1 = Long.rotateLeft(a1, 27) + a2;
+            b1 = Long.rotateLeft(b1, 27) + b2;
+            a1 = a1 * 5 + 0x52dce729;
+            b1 = b1 * 5 + 0x52dce729;
+
+            a2 ^= mixK2(ak2);
+            b2 ^= mixK2(bk2);
+            a2 = Long.rotateLeft(a2, 31) + a1;
+            b2 = Long.rotateLeft(b2, 31) + b1;
+            a2 = a2 * 5 + 0x38495ab5;
+            b2 = b2 * 5 + 0x38495ab5;
+        }
+
+        // Remaining blocks of the longer value, at most one of these loops runs
+        int aBlockEnd = a + (aLength & ~15);
+        for (a += common; a < aBlockEnd; a += 16) {
+            a1 ^= mixK1(READER.getLong(data, a));
+            a1 = Long.rotateLeft(a1, 27) + a2;
+            a1 = a1 * 5 + 0x52dce729;
+            a2 ^= mixK2(READER.getLong(data, a + 8));
+            a2 = Long.rotateLeft(a2, 31) + a1;
+            a2 = a2 * 5 + 0x38495ab5;
+        }
+        int bBlockEnd = b + (bLength & ~15);
+        for (b += common; b < bBlockEnd; b += 16) {
+            b1 ^= mixK1(READER.getLong(data, b));
+            b1 = Long.rotateLeft(b1, 27) + b2;
+            b1 = b1 * 5 + 0x52dce729;
+            b2 ^= mixK2(READER.getLong(data, b + 8));
+            b2 = Long.rotateLeft(b2, 31) + b1;
+            b2 = b2 * 5 + 0x38495ab5;
+        }
+
+        a1 ^= mixK1(Murmur3fOneShot.tailK1(data, a, aLength & 15));
+        a2 ^= mixK2(Murmur3fOneShot.tailK2(data, a, aLength & 15));
+        b1 ^= mixK1(Murmur3fOneShot.tailK1(data, b, bLength & 15));
+        b2 ^= mixK2(Murmur3fOneShot.tailK2(data, b, bLength & 15));
+
+        finish(a1, a2, aLength, out, outOffset);
+        finish(b1, b2, bLength, out, outOffset + 2);
+    }
+
+    // Same as the byte[] variant, reading through a little-endian buffer view.
+    // For the last value of an odd count the second value is empty and its digest is not written.
+    private static void hashPair(ByteBuffer data, int a, int aEnd, int b, int bEnd, int seed,
+                                 long[] out, int outOffset, boolean writeSecond) {
+        Objects.checkFromToIndex(a, aEnd, data.capacity());
+        Objects.checkFromToIndex(b, bEnd, data.capacity());
+        int aLength = aEnd - a;
+        int bLength = bEnd - b;
+
+        long a1 = seed;
+        long a2 = seed;
+        long b1 = seed;
+        long b2 = seed;
+
+        int common = Math.min(aLength, bLength) & ~15;
+        for (int n = 0; n < common; n += 16) {
+            long ak1 = (long) BUFFER_LONG_LE.get(data, a + n);
+            long bk1 = (long) BUFFER_LONG_LE.get(data, b + n);
+            long ak2 = (long) BUFFER_LONG_LE.get(data, a + n + 8);
+            long bk2 = (long) BUFFER_LONG_LE.get(data, b + n + 8);
+
+            a1 ^= mixK1(ak1);
+            b1 ^= mixK1(bk1);
+            a1 = Long.rotateLeft(a1, 27) + a2;
+            b1 = Long.rotateLeft(b1, 27) + b2;
+            a1 = a1 * 5 + 0x52dce729;
+            b1 = b1 * 5 + 0x52dce729;
+
+            a2 ^= mixK2(ak2);
+            b2 ^= mixK2(bk2);
+            a2 = Long.rotateLeft(a2, 31) + a1;
+            b2 = Long.rotateLeft(b2, 31) + b1;
+            a2 = a2 * 5 + 0x38495ab5;
+            b2 = b2 * 5 + 0x38495ab5;
+        }
+
+        int aBlockEnd = a + (aLength & ~15);
+        for (a += common; a < aBlockEnd; a += 16) {
+            a1 ^= mixK1((long) BUFFER_LONG_LE.get(data, a));
+            a1 = Long.rotateLeft(a1, 27) + a2;
+            a1 = a1 * 5 + 0x52dce729;
+            a2 ^= mixK2((long) BUFFER_LONG_LE.get(data, a + 8));
+            a2 = Long.rotateLeft(a2, 31) + a1;
+            a2 = a2 * 5 + 0x38495ab5;
+        }
+        int bBlockEnd = b + (bLength & ~15);
+        for (b += common; b < bBlockEnd; b += 16) {
+            b1 ^= mixK1((long) BUFFER_LONG_LE.get(data, b));
+            b1 = Long.rotateLeft(b1, 27) + b2;
+            b1 = b1 * 5 + 0x52dce729;
+            b2 ^= mixK2((long) BUFFER_LONG_LE.get(data, b + 8));
+            b2 = Long.rotateLeft(b2, 31) + b1;
+            b2 = b2 * 5 + 0x38495ab5;
+        }
+
+        int aRemaining = aLength & 15;
+        a1 ^= mixK1(partialLong(data, a, Math.min(aRemaining, 8)));
+        a2 ^= mixK2(partialLong(data, a + 8, Math.max(aRemaining - 8, 0)));
+        finish(a1, a2, aLength, out, outOffset);
+
+        if (writeSecond) {
+            int bRemaining = bLength & 15;
+            b1 ^= mixK1(partialLong(data, b, Math.min(bRemaining, 8)));
+            b2 ^= mixK2(partialLong(data, b + 8, Math.max(bRemaining - 8, 0)));
+            finish(b1, b2, bLength, out, outOffset + 2);
+        }
+    }
+
+    // Little-endian value of the first 'count' (<= 8) bytes at the absolute index
+    private static long partialLong(ByteBuffer data, int index, int count) {
+        long k = 0;
+        for (int i = count - 1; i >= 0; i--) {
+            k = k << 8 | (data.get(index + i) & 0xffL);
+        }
+        return k;
+    }
+
+    private static void finish(long h1, long h2, int length, long[] out, int outOffset) {
+        h1 ^= length;
+        h2 ^= length;
+
+        h1 += h2;
+        h2 += h1;
+
+        h1 = fmix64(h1);
+        h2 = fmix64(h2);
+
+        h1 += h2;
+        h2 += h1;
+
+        out[outOffset] = h1;
+        out[outOffset + 1] = h2;
+    }
+}
@@ -1,7 +1,10 @@
 package io.github.gbessonov.jhash.implementations.murmur3f;
 
+import io.github.gbessonov.jhash.HashCode;
 import io.github.gbessonov.jhash.HashFunction;
 
+import java.util.Objects;
+
 public class Murmur3fFactory {
     private Murmur3fFactory() {
     }
@@ -9,4 +12,20 @@ public class Murmur3fFactory {
     public static HashFunction create(int seed) {
         return new Murmur3f(seed);
     }
+
+    /**
+     * Creates a hash function reading blocks with the given kernel instead of
+     * {@link BlockReader#defaultReader()}. Digests are identical for every kernel.
+     */
+    public static HashFunction create(int seed, BlockReader reader) {
+        return new Murmur3f(seed, Objects.requireNonNull(reader, "reader"));
+    }
+
+    /**
+     * Recreates a Murmur3f digest from its {@link HashCode#lowBits() low} and
+     * {@link HashCode#highBits() high} 64 bits, e.g. when reading digests back from storage.
+     */
+    public static HashCode createHashCode(long lowBits, long highBits) {
+        return new Murmur3fHashCode(lowBits, highBits);
+    }
 }
@@ -3,7 +3,11 @@ package io.github.gbessonov.jhash.implementations.murmur3f;
 
 import io.github.gbessonov.jhash.HashCode;
 
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
 import java.math.BigInteger;
+import java.nio.ByteOrder;
+import java.util.Objects;
 
 /**
  * Represents a 128-bit hash code generated by the Murmur3F hashing algorithm.
@@ -14,6 +18,8 @@ import java.math.BigInteger;
  */
 class Murmur3fHashCode implements HashCode {
     private static final String[] HEX_PAIRS = new String[256];
+    private static final VarHandle LONG_LE =
+            MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
 
     static {
         for (int i = 0; i < 256; i++) {
@@ -107,6 +113,39 @@ class Murmur3fHashCode implements HashCode {
                 HEX_PAIRS[(int)((h2 >>> 56) & 0xFF)];
     }
 
+    @Override
+    public int asInt() {
+        return (int) h1;
+    }
+
+    @Override
+    public long asLong() {
+        return h1;
+    }
+
+    @Override
+    public long lowBits() {
+        return h1;
+    }
+
+    @Override
+    public long highBits() {
+        return h2;
+    }
+
+    /**
+     * Writes the 16 bytes of {@link #getValueBytesLittleEndian()} into {@code dest} starting at {@code offset}.
+     *
+     * @return always 16
+     */
+    @Override
+    public int writeBytesTo(byte[] dest, int offset) {
+        Objects.checkFromIndexSize(offset, 16, dest.length);
+        LONG_LE.set(dest, offset, h1);
+        LONG_LE.set(dest, offset + 8, h2);
+        return 16;
+    }
+
     @Override
     public String toString() {
         return "jHash.HashCode.Murmur3F: " + getValueHexString();
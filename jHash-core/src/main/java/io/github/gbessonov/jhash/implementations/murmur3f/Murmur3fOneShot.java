@@ -0,0 +1,362 @@
+package io.github.gbessonov.jhash.implementations.murmur3f;
+
+import io.github.gbessonov.jhash.HashCode;
+import io.github.gbessonov.jhash.implementations.Utf8;
+
+import java.util.Objects;
+
+import static io.github.gbessonov.jhash.implementations.murmur3f.Murmur3f.fmix64;
+import static io.github.gbessonov.jhash.implementations.murmur3f.Murmur3f.mixK1;
+import static io.github.gbessonov.jhash.implementations.murmur3f.Murmur3f.mixK2;
+
+/**
+ * Stateless one-shot MurmurHash3 (x64 128-bit variant).
+ * <p>
+ * Unlike {@link Murmur3f}, nothing is buffered: full blocks and the trailing partial block are
+ * read straight from the input array and the state lives in local variables only, so the
+ * {@link HashCode} variants allocate only the returned digest and the primitive variants
+ * ({@link #hashLow64} and {@link #hash(byte[], int, int, int, long[], int)}) nothing at all.
+ * Results are identical to streaming the same bytes through {@link Murmur3f}.
+ * <p>
+ * Keys of exactly 4, 8 or 16 bytes have dedicated overloads taking {@code int}, {@code long} and
+ * {@code (long, long)}: they skip the block loop, the tail and the length bookkeeping and reduce
+ * to straight-line, branch-free code that inlines into the caller.
+ * <p>
+ * The class is stateless and therefore thread-safe.
+ */
+public final class Murmur3fOneShot {
+
+    private static final BlockReader READER = BlockReader.DEFAULT;
+
+    private Murmur3fOneShot() {
+    }
+
+    /**
+     * Hashes a range of the array and returns the digest as a {@link HashCode}.
+     */
+    public static HashCode hash(byte[] data, int offset, int length, int seed) {
+        Objects.checkFromIndexSize(offset, length, data.length);
+
+        long h1 = seed;
+        long h2 = seed;
+
+        int blockEnd = offset + (length & ~15);
+        for (; offset < blockEnd; offset += 16) {
+            h1 = block1(h1, h2, READER.getLong(data, offset));
+            h2 = block2(h1, h2, READER.getLong(data, offset + 8));
+        }
+
+        int remaining = length & 15;
+        h1 ^= mixK1(tailK1(data, offset, remaining));
+        h2 ^= mixK2(tailK2(data, offset, remaining));
+
+        h1 ^= length;
+        h2 ^= length;
+
+        h1 += h2;
+        h2 += h1;
+
+        return finish(h1, h2);
+    }
+
+    /**
+     * Hashes a range of the array and writes the low 64 bits ({@code h1}) to {@code dst[dstOffset]}
+     * and the high 64 bits ({@code h2}) to {@code dst[dstOffset + 1]}.
+     *
+     * @throws IndexOutOfBoundsException if either range is out of bounds; nothing is written then
+     */
+    public static void hash(byte[] data, int offset, int length, int seed, long[] dst, int dstOffset) {
+        Objects.checkFromIndexSize(offset, length, data.length);
+        Objects.checkFromIndexSize(dstOffset, 2, dst.length);
+
+        long h1 = seed;
+        long h2 = seed;
+
+        int blockEnd = offset + (length & ~15);
+        for (; offset < blockEnd; offset += 16) {
+            h1 = block1(h1, h2, READER.getLong(data, offset));
+            h2 = block2(h1, h2, READER.getLong(data, offset + 8));
+        }
+
+        int remaining = length & 15;
+        h1 ^= mixK1(tailK1(data, offset, remaining));
+        h2 ^= mixK2(tailK2(data, offset, remaining));
+
+        h1 ^= length;
+        h2 ^= length;
+
+        h1 += h2;
+        h2 += h1;
+
+        finish(h1, h2, dst, dstOffset);
+    }
+
+    /**
+     * Hashes a range of the array and returns only the low 64 bits ({@code h1}) of the digest,
+     * i.e. the first 8 bytes of its little-endian representation.
+     */
+    public static long hashLow64(byte[] data, int offset, int length, int seed) {
+        Objects.checkFromIndexSize(offset, length, data.length);
+
+        long h1 = seed;
+        long h2 = seed;
+
+        int blockEnd = offset + (length & ~15);
+        for (; offset < blockEnd; offset += 16) {
+            h1 = block1(h1, h2, READER.getLong(data, offset));
+            h2 = block2(h1, h2, READER.getLong(data, offset + 8));
+        }
+
+        int remaining = length & 15;
+        h1 ^= mixK1(tailK1(data, offset, remaining));
+        h2 ^= mixK2(tailK2(data, offset, remaining));
+
+        h1 ^= length;
+        h2 ^= length;
+
+        h1 += h2;
+        h2 += h1;
+
+        return fmix64(h1) + fmix64(h2);
+    }
+
+    /**
+     * Writes the digest of the UTF-8 encoding of the input, like {@code putUtf8} produces, into
+     * {@code dst[dstOffset]} (low 64 bits) and {@code dst[dstOffset + 1]} (high 64 bits) without
+     * encoding it into an array first. Unpaired surrogates are encoded as {@code '?'}.
+     */
+    public static void hashUtf8(CharSequence input, int seed, long[] dst, int dstOffset) {
+        Objects.checkFromIndexSize(dstOffset, 2, dst.length);
+        int count = input.length();
+        long h1 = seed;
+        long h2 = seed;
+        long k1 = 0;
+        long k2 = 0;
+        int blockBytes = 0;
+        long length = 0;
+        int i = 0;
+        while (i < count) {
+            // ASCII fast path: eight characters fill one half of the block
+            if ((blockBytes & 7) == 0 && i + 8 <= count) {
+                long word = Utf8.asciiLong(input, i);
+                if (word >= 0) {
+                    i += 8;
+                    length += 8;
+                    if (blockBytes == 0) {
+                        k1 = word;
+                        blockBytes = 8;
+                    } else {
+                        h1 = block1(h1, h2, k1);
+                        h2 = block2(h1, h2, word);
+                        k1 = 0;
+                        blockBytes = 0;
+                    }
+                    continue;
+                }
+            }
+
+            long encoded = Utf8.encode(input, i, count);
+            int encodedBytes = Utf8.count(encoded);
+            encoded = Utf8.bytes(encoded);
+            i += encodedBytes == 4 ? 2 : 1;
+            length += encodedBytes;
+            if (blockBytes < 8) {
+                k1 |= encoded << (blockBytes << 3);
+                if (blockBytes + encodedBytes > 8) {
+                    k2 = encoded >>> ((8 - blockBytes) << 3);
+                }
+            } else {
+                k2 |= encoded << ((blockBytes - 8) << 3);
+            }
+            blockBytes += encodedBytes;
+            if (blockBytes >= 16) {
+                h1 = block1(h1, h2, k1);
+                h2 = block2(h1, h2, k2);
+                blockBytes -= 16;
+                k1 = blockBytes == 0 ? 0 : encoded >>> ((encodedBytes - blockBytes) << 3);
+                k2 = 0;
+            }
+        }
+
+        h1 ^= mixK1(k1);
+        h2 ^= mixK2(k2);
+
+        h1 ^= length;
+        h2 ^= length;
+
+        h1 += h2;
+        h2 += h1;
+        finish(h1, h2, dst, dstOffset);
+    }
+
+    /**
+     * Hashes the 4 little-endian bytes of the key. Same digest as {@code include} of those bytes.
+     */
+    public static HashCode hash(int key, int seed) {
+        long h1 = seed ^ mixK1(key & 0xffffffffL) ^ Integer.BYTES;
+        long h2 = seed ^ Integer.BYTES;
+        h1 += h2;
+        h2 += h1;
+        return finish(h1, h2);
+    }
+
+    /**
+     * Hashes the 8 little-endian bytes of the key. Same digest as {@code include} of those bytes.
+     */
+    public static HashCode hash(long key, int seed) {
+        long h1 = seed ^ mixK1(key) ^ Long.BYTES;
+        long h2 = seed ^ Long.BYTES;
+        h1 += h2;
+        h2 += h1;
+        return finish(h1, h2);
+    }
+
+    /**
+     * Hashes 16 bytes, the little-endian bytes of {@code low} followed by those of {@code high},
+     * e.g. a UUID as {@code (uuid.getLeastSignificantBits(), uuid.getMostSignificantBits())}.
+     * Same digest as {@code include} of those bytes.
+     */
+    public static HashCode hash(long low, long high, int seed) {
+        long h1 = block1(seed, seed, low);
+        long h2 = block2(h1, seed, high) ^ 16;
+        h1 ^= 16;
+        h1 += h2;
+        h2 += h1;
+        return finish(h1, h2);
+    }
+
+    /**
+     * Writes the digest of {@link #hash(int, int)} into {@code dst[dstOffset]} (low 64 bits)
+     * and {@code dst[dstOffset + 1]} (high 64 bits) without allocating.
+     */
+    public static void hash(int key, int seed, long[] dst, int dstOffset) {
+        Objects.checkFromIndexSize(dstOffset, 2, dst.length);
+        long h1 = seed ^ mixK1(key & 0xffffffffL) ^ Integer.BYTES;
+        long h2 = seed ^ Integer.BYTES;
+        h1 += h2;
+        h2 += h1;
+        finish(h1, h2, dst, dstOffset);
+    }
+
+    /**
+     * Writes the digest of {@link #hash(long, int)} into {@code dst[dstOffset]} (low 64 bits)
+     * and {@code dst[dstOffset + 1]} (high 64 bits) without allocating.
+     */
+    public static void hash(long key, int seed, long[] dst, int dstOffset) {
+        Objects.checkFromIndexSize(dstOffset, 2, dst.length);
+        long h1 = seed ^ mixK1(key) ^ Long.BYTES;
+        long h2 = seed ^ Long.BYTES;
+        h1 += h2;
+        h2 += h1;
+        finish(h1, h2, dst, dstOffset);
+    }
+
+    /**
+     * Writes the digest of {@link #hash(long, long, int)} into {@code dst[dstOffset]} (low 64 bits)
+     * and {@code dst[dstOffset + 1]} (high 64 bits) without allocating.
+     */
+    public static void hash(long low, long high, int seed, long[] dst, int dstOffset) {
+        Objects.checkFromIndexSize(dstOffset, 2, dst.length);
+        long h1 = block1(seed, seed, low);
+        long h2 = block2(h1, seed, high) ^ 16;
+        h1 ^= 16;
+        h1 += h2;
+        h2 += h1;
+        finish(h1, h2, dst, dstOffset);
+    }
+
+    /**
+     * Returns the low 64 bits of {@link #hash(int, int)}.
+     */
+    public static long hashLow64(int key, int seed) {
+        long h1 = seed ^ mixK1(key & 0xffffffffL) ^ Integer.BYTES;
+        long h2 = seed ^ Integer.BYTES;
+        h1 += h2;
+        h2 += h1;
+        return fmix64(h1) + fmix64(h2);
+    }
+
+    /**
+     * Returns the low 64 bits of {@link #hash(long, int)}.
+     */
+    public static long hashLow64(long key, int seed) {
+        long h1 = seed ^ mixK1(key) ^ Long.BYTES;
+        long h2 = seed ^ Long.BYTES;
+        h1 += h2;
+        h2 += h1;
+        return fmix64(h1) + fmix64(h2);
+    }
+
+    /**
+     * Returns the low 64 bits of {@link #hash(long, long, int)}.
+     */
+    public static long hashLow64(long low, long high, int seed) {
+        long h1 = block1(seed, seed, low);
+        long h2 = block2(h1, seed, high) ^ 16;
+        h1 ^= 16;
+        h1 += h2;
+        h2 += h1;
+        return fmix64(h1) + fmix64(h2);
+    }
+
+    // First half of a block round: the new h1
+    private static long block1(long h1, long h2, long k1) {
+        h1 ^= mixK1(k1);
+        h1 = Long.rotateLeft(h1, 27);
+        h1 += h2;
+        return h1 * 5 + 0x52dce729;
+    }
+
+    // Second half of a block round: the new h2, given the already updated h1
+    private static long block2(long h1, long h2, long k2) {
+        h2 ^= mixK2(k2);
+        h2 = Long.rotateLeft(h2, 31);
+        h2 += h1;
+        return h2 * 5 + 0x38495ab5;
+    }
+
+    // Final avalanche, after the length has been mixed in and the halves added once
+    private static HashCode finish(long h1, long h2) {
+        h1 = fmix64(h1);
+        h2 = fmix64(h2);
+        h1 += h2;
+        h2 += h1;
+        return new Murmur3fHashCode(h1, h2);
+    }
+
+    private static void finish(long h1, long h2, long[] dst, int dstOffset) {
+        h1 = fmix64(h1);
+        h2 = fmix64(h2);
+        h1 += h2;
+        h2 += h1;
+        dst[dstOffset] = h1;
+        dst[dstOffset + 1] = h2;
+    }
+
+    // First half of the trailing partial block; mixK1(0) == 0, so an empty tail needs no branch.
+    static long tailK1(byte[] data, int offset, int remaining) {
+        if (remaining >= 8) {
+            return READER.getLong(data, offset);
+        }
+        return partialLong(data, offset, remaining);
+    }
+
+    static long tailK2(byte[] data, int offset, int remaining) {
+        return remaining > 8 ? partialLong(data, offset + 8, remaining - 8) : 0;
+    }
+
+    // Little-endian value of the first 'count' (< 8) bytes
+    private static long partialLong(byte[] data, int offset, int count) {
+        long k = 0;
+        switch (count) {
+            case 7: k ^= (data[offset + 6] & 0xffL) << 48;
+            case 6: k ^= (data[offset + 5] & 0xffL) << 40;
+            case 5: k ^= (data[offset + 4] & 0xffL) << 32;
+            case 4: k ^= (data[offset + 3] & 0xffL) << 24;
+            case 3: k ^= (data[offset + 2] & 0xffL) << 16;
+            case 2: k ^= (data[offset + 1] & 0xffL) << 8;
+            case 1: k ^= (data[offset] & 0xffL);
+            default: return k;
+        }
+    }
+}
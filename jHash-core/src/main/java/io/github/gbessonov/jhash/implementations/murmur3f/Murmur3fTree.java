@@ -0,0 +1,190 @@
+package io.github.gbessonov.jhash.implementations.murmur3f;
+
+import io.github.gbessonov.jhash.HashCode;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Parallel tree hash built on MurmurHash3 (x64 128-bit variant).
+ * <p>
+ * The input is split into {@value #LEAF_SIZE}-byte leaves (the last one may be shorter) and the
+ * tree is two levels deep:
+ * <ol>
+ *     <li>every leaf is hashed with Murmur3f and the seed, giving a 16-byte digest {@code (h1, h2)};</li>
+ *     <li>the root is Murmur3f, with the same seed, of the little-endian concatenation
+ *     {@code h1(leaf 0) h2(leaf 0) h1(leaf 1) h2(leaf 1) ... total length}, where the total
+ *     length is an 8-byte little-endian integer. An empty input has no leaves.</li>
+ * </ol>
+ * Leaves are independent, so they are hashed in parallel on a {@link ForkJoinPool}; the root pass
+ * is sequential but only reads 16 bytes per MiB of input. The digest depends on nothing but the
+ * bytes and the seed, in particular it is identical for every pool and parallelism level.
+ * <p>
+ * This is a different function from plain Murmur3f: even an input of a single leaf does not hash
+ * to {@link io.github.gbessonov.jhash.JHash#murmur3_128(byte[], int)} of the same bytes.
+ * <p>
+ * The class is stateless and therefore thread-safe.
+ */
+public final class Murmur3fTree {
+
+    /**
+     * Size of a leaf: 1 MiB. Part of the digest definition, so it is not configurable.
+     */
+    public static final int LEAF_SIZE = 1 << 20;
+
+    // Mapped file window, a multiple of the leaf size
+    private static final long WINDOW_SIZE = 1L << 30;
+
+    private Murmur3fTree() {
+    }
+
+    /**
+     * Tree-hashes the array on the {@linkplain ForkJoinPool#commonPool() common pool}.
+     */
+    public static HashCode hash(byte[] data, int seed) {
+        return hash(data, seed, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Tree-hashes the array, hashing leaves on the given pool.
+     */
+    public static HashCode hash(byte[] data, int seed, ForkJoinPool pool) {
+        return hash(data, seed, pool, LEAF_SIZE);
+    }
+
+    /**
+     * Tree-hashes the remaining bytes of the buffer on the {@linkplain ForkJoinPool#commonPool() common pool}.
+     * The buffer's position and limit are not changed.
+     */
+    public static HashCode hash(ByteBuffer data, int seed) {
+        return hash(data, seed, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Tree-hashes the remaining bytes of the buffer, hashing leaves on the given pool.
+     * The buffer's position and limit are not changed.
+     */
+    public static HashCode hash(ByteBuffer data, int seed, ForkJoinPool pool) {
+        return hash(data, seed, pool, LEAF_SIZE);
+    }
+
+    /**
+     * Tree-hashes the whole file, from offset 0 to its current size, on the
+     * {@linkplain ForkJoinPool#commonPool() common pool}. The channel's position is not used and not changed.
+     *
+     * @throws IOException if the file cannot be mapped
+     */
+    public static HashCode hash(FileChannel channel, int seed) throws IOException {
+        return hash(channel, seed, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Tree-hashes the whole file, hashing leaves on the given pool. The file is mapped read-only
+     * window by window, so files larger than 2 GiB are supported.
+     *
+     * @throws IOException if the file cannot be mapped
+     */
+    public static HashCode hash(FileChannel channel, int seed, ForkJoinPool pool) throws IOException {
+        return hash(channel, seed, pool, LEAF_SIZE, WINDOW_SIZE);
+    }
+
+    static HashCode hash(byte[] data, int seed, ForkJoinPool pool, int leafSize) {
+        return hash(data, 0, data.length, seed, pool, leafSize);
+    }
+
+    static HashCode hash(ByteBuffer data, int seed, ForkJoinPool pool, int leafSize) {
+        if (data.hasArray()) {
+            int start = data.arrayOffset() + data.position();
+            return hash(data.array(), start, data.remaining(), seed, pool, leafSize);
+        }
+        int position = data.position();
+        int length = data.remaining();
+        Murmur3f root = new Murmur3f(seed);
+        includeLeaves(root, data, position, length, seed, pool, leafSize);
+        return root.putLong(length).hash();
+    }
+
+    static HashCode hash(FileChannel channel, int seed, ForkJoinPool pool, int leafSize, long windowSize)
+            throws IOException {
+        long size = channel.size();
+        Murmur3f root = new Murmur3f(seed);
+        for (long position = 0; position < size; position += windowSize) {
+            MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, position,
+                    Math.min(windowSize, size - position));
+            includeLeaves(root, window, 0, window.capacity(), seed, pool, leafSize);
+        }
+        return root.putLong(size).hash();
+    }
+
+    private static HashCode hash(byte[] data, int start, int length, int seed, ForkJoinPool pool, int leafSize) {
+        int leaves = leafCount(length, leafSize);
+        long[] digests = new long[2 * leaves];
+        pool.invoke(new LeafTask(0, leaves, leaf -> {
+            int offset = leaf * leafSize;
+            Murmur3fOneShot.hash(data, start + offset, Math.min(leafSize, length - offset), seed,
+                    digests, 2 * leaf);
+        }));
+        Murmur3f root = new Murmur3f(seed);
+        includeDigests(root, digests);
+        return root.putLong(length).hash();
+    }
+
+    // Hashes the leaves of [start, start + length) of a direct buffer and feeds their digests to the root
+    private static void includeLeaves(Murmur3f root, ByteBuffer data, int start, int length, int seed,
+                                      ForkJoinPool pool, int leafSize) {
+        int leaves = leafCount(length, leafSize);
+        long[] digests = new long[2 * leaves];
+        pool.invoke(new LeafTask(0, leaves, leaf -> {
+            int offset = leaf * leafSize;
+            ByteBuffer slice = data.slice(start + offset, Math.min(leafSize, length - offset));
+            new Murmur3f(seed).include(slice).hashInto(digests, 2 * leaf);
+        }));
+        includeDigests(root, digests);
+    }
+
+    private static void includeDigests(Murmur3f root, long[] digests) {
+        for (long digest : digests) {
+            root.putLong(digest);
+        }
+    }
+
+    private static int leafCount(int length, int leafSize) {
+        return (int) (((long) length + leafSize - 1) / leafSize);
+    }
+
+    @FunctionalInterface
+    private interface LeafHasher {
+        void hashLeaf(int leaf);
+    }
+
+    // Splits the leaf range in halves down to single leaves
+    private static final class LeafTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final int from;
+        private final int to;
+        private final LeafHasher hasher;
+
+        LeafTask(int from, int to, LeafHasher hasher) {
+            this.from = from;
+            this.to = to;
+            this.hasher = hasher;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= 1) {
+                for (int leaf = from; leaf < to; leaf++) {
+                    hasher.hashLeaf(leaf);
+                }
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new LeafTask(from, middle, hasher), new LeafTask(middle, to, hasher));
+        }
+    }
+}
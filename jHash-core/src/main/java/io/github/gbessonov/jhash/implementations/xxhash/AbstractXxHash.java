@@ -0,0 +1,33 @@
+package io.github.gbessonov.jhash.implementations.xxhash;
+
+import io.github.gbessonov.jhash.implementations.AbstractHashFunction;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+
+/**
+ * Base of the xxHash engines: the byte views they share and a {@link #putLittleEndian(long, int)}
+ * that feeds the bytes through {@link #include(byte[], int, int)}, which the engines override
+ * with a fast path into their own buffer.
+ */
+abstract class AbstractXxHash extends AbstractHashFunction {
+
+    static final VarHandle ARRAY_LONG_LE =
+            MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+    static final VarHandle ARRAY_INT_LE =
+            MethodHandles.byteArrayViewVarHandle(int[].class, ByteOrder.LITTLE_ENDIAN);
+    // Accesses little-endian words in heap and direct buffers regardless of the buffer's own byte order
+    static final VarHandle BUFFER_LONG_LE =
+            MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+    static final VarHandle BUFFER_INT_LE =
+            MethodHandles.byteBufferViewVarHandle(int[].class, ByteOrder.LITTLE_ENDIAN);
+
+    private final byte[] scratch = new byte[8];
+
+    @Override
+    protected void putLittleEndian(long value, int count) {
+        ARRAY_LONG_LE.set(scratch, 0, value);
+        include(scratch, 0, count);
+    }
+}
@@ -0,0 +1,120 @@
+package io.github.gbessonov.jhash.implementations.xxhash;
+
+import io.github.gbessonov.jhash.HashCode;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.math.BigInteger;
+import java.nio.ByteOrder;
+import java.util.Objects;
+
+/**
+ * Represents a 128-bit hash code generated by XXH3-128, stored as its {@code low64} and
+ * {@code high64} halves.
+ * <p>
+ * The hexadecimal string is xxHash's canonical form, the big-endian digest ({@code high64} first)
+ * as printed by {@code xxhsum -H2}; the byte arrays are plain big- and little-endian encodings
+ * of the 128-bit value.
+ * <p>
+ * The class is immutable and thread-safe.
+ */
+class XxHash128HashCode implements HashCode {
+    private static final VarHandle LONG_LE =
+            MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+    private static final VarHandle LONG_BE =
+            MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.BIG_ENDIAN);
+
+    private final long low;
+    private final long high;
+
+    XxHash128HashCode(long low, long high) {
+        this.low = low;
+        this.high = high;
+    }
+
+    @Override
+    public byte[] getValueBytesBigEndian() {
+        byte[] bytes = new byte[16];
+        LONG_BE.set(bytes, 0, high);
+        LONG_BE.set(bytes, 8, low);
+        return bytes;
+    }
+
+    @Override
+    public byte[] getValueBytesLittleEndian() {
+        byte[] bytes = new byte[16];
+        LONG_LE.set(bytes, 0, low);
+        LONG_LE.set(bytes, 8, high);
+        return bytes;
+    }
+
+    /**
+     * Returns the 128-bit hash code as a positive {@link BigInteger}.
+     */
+    @Override
+    public BigInteger getValueBigInteger() {
+        return new BigInteger(1, getValueBytesBigEndian());
+    }
+
+    /**
+     * Returns the canonical (big-endian) form as 32 hexadecimal digits.
+     */
+    @Override
+    public String getValueHexString() {
+        String highHex = Long.toHexString(high);
+        String lowHex = Long.toHexString(low);
+        return "0000000000000000".substring(highHex.length()) + highHex
+                + "0000000000000000".substring(lowHex.length()) + lowHex;
+    }
+
+    @Override
+    public int asInt() {
+        return (int) low;
+    }
+
+    @Override
+    public long asLong() {
+        return low;
+    }
+
+    @Override
+    public long lowBits() {
+        return low;
+    }
+
+    @Override
+    public long highBits() {
+        return high;
+    }
+
+    /**
+     * Writes the 16 bytes of {@link #getValueBytesLittleEndian()} into {@code dest} starting at {@code offset}.
+     *
+     * @return always 16
+     */
+    @Override
+    public int writeBytesTo(byte[] dest, int offset) {
+        Objects.checkFromIndexSize(offset, 16, dest.length);
+        LONG_LE.set(dest, offset, low);
+        LONG_LE.set(dest, offset + 8, high);
+        return 16;
+    }
+
+    @Override
+    public String toString() {
+        return "jHash.HashCode.XxHash: " + getValueHexString();
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(low) * 17 + Long.hashCode(high);
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (other instanceof XxHash128HashCode otherXxHash128HashCode) {
+            return low == otherXxHash128HashCode.low && high == otherXxHash128HashCode.high;
+        }
+        return false;
+    }
+}
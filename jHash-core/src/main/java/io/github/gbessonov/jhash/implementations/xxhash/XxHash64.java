@@ -0,0 +1,288 @@
+package io.github.gbessonov.jhash.implementations.xxhash;
+
+import io.github.gbessonov.jhash.HashCode;
+import io.github.gbessonov.jhash.HashFunction;
+
+import javax.annotation.concurrent.NotThreadSafe;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.util.Objects;
+
+/**
+ * Streaming implementation of xxHash64.
+ * <p>
+ * Seeds are 64-bit; {@link #reset(int)} widens an {@code int} seed like Java's implicit
+ * conversion does.
+ *
+ *  <p><strong>Thread Safety:</strong> This class is <strong>NOT thread-safe</strong>.
+ *  Each thread must use its own instance, or external synchronization must be provided
+ *  if sharing instances across threads.
+ */
+@NotThreadSafe
+class XxHash64 extends AbstractXxHash {
+
+    static final long PRIME64_1 = 0x9E3779B185EBCA87L;
+    static final long PRIME64_2 = 0xC2B2AE3D27D4EB4FL;
+    static final long PRIME64_3 = 0x165667B19E3779F9L;
+    static final long PRIME64_4 = 0x85EBCA77C2B2AE63L;
+    static final long PRIME64_5 = 0x27D4EB2F165667C5L;
+
+    // saveState() layout, little-endian: version, algorithm, buffered length, seed, v1..v4, length, buffered bytes
+    private static final byte STATE_VERSION = 1;
+    private static final byte STATE_ALGORITHM = 4;
+    private static final int STATE_HEADER_SIZE = 51;
+
+    private long seed;
+    private long v1;
+    private long v2;
+    private long v3;
+    private long v4;
+    private long length;
+
+    // Leftover bytes: less than one 32-byte stripe, plus slack for whole-word writes of typed values
+    private final byte[] buffer = new byte[40];
+    private int bufferedLength = 0;
+
+    XxHash64(long seed) {
+        reset(seed);
+    }
+
+    private XxHash64(XxHash64 other) {
+        this.seed = other.seed;
+        this.v1 = other.v1;
+        this.v2 = other.v2;
+        this.v3 = other.v3;
+        this.v4 = other.v4;
+        this.length = other.length;
+        this.bufferedLength = other.bufferedLength;
+        System.arraycopy(other.buffer, 0, buffer, 0, other.bufferedLength);
+    }
+
+    @Override
+    public HashFunction include(byte[] input, int offset, int inputLength) {
+        Objects.checkFromIndexSize(offset, inputLength, input.length);
+        int end = offset + inputLength;
+        length += inputLength;
+
+        // Fill leftover buffer if needed
+        if (bufferedLength + inputLength < 32) {
+            System.arraycopy(input, offset, buffer, bufferedLength, inputLength);
+            bufferedLength += inputLength;
+            return this;
+        }
+        if (bufferedLength > 0) {
+            int needed = 32 - bufferedLength;
+            System.arraycopy(input, offset, buffer, bufferedLength, needed);
+            stripe(buffer, 0);
+            offset += needed;
+            bufferedLength = 0;
+        }
+
+        // Process full 32-byte stripes directly from input
+        int limit = end - ((end - offset) & 31);
+        for (; offset < limit; offset += 32) {
+            stripe(input, offset);
+        }
+
+        // Store remaining bytes
+        bufferedLength = end - offset;
+        System.arraycopy(input, offset, buffer, 0, bufferedLength);
+        return this;
+    }
+
+    @Override
+    protected void includeDirect(ByteBuffer input) {
+        int offset = input.position();
+        int limit = input.limit();
+        length += limit - offset;
+
+        if (bufferedLength + limit - offset < 32) {
+            input.get(offset, buffer, bufferedLength, limit - offset);
+            bufferedLength += limit - offset;
+            return;
+        }
+        if (bufferedLength > 0) {
+            int needed = 32 - bufferedLength;
+            input.get(offset, buffer, bufferedLength, needed);
+            stripe(buffer, 0);
+            offset += needed;
+            bufferedLength = 0;
+        }
+
+        int stripeLimit = limit - ((limit - offset) & 31);
+        for (; offset < stripeLimit; offset += 32) {
+            v1 = round(v1, (long) BUFFER_LONG_LE.get(input, offset));
+            v2 = round(v2, (long) BUFFER_LONG_LE.get(input, offset + 8));
+            v3 = round(v3, (long) BUFFER_LONG_LE.get(input, offset + 16));
+            v4 = round(v4, (long) BUFFER_LONG_LE.get(input, offset + 24));
+        }
+
+        bufferedLength = limit - offset;
+        input.get(offset, buffer, 0, bufferedLength);
+    }
+
+    @Override
+    protected void putLittleEndian(long value, int count) {
+        if (bufferedLength + count >= 32) {
+            super.putLittleEndian(value, count);
+            return;
+        }
+        // The slack after the stripe absorbs the excess of the 8-byte write
+        ARRAY_LONG_LE.set(buffer, bufferedLength, value);
+        bufferedLength += count;
+        length += count;
+    }
+
+    @Override
+    public HashCode hash() {
+        return new XxHash64HashCode(finish());
+    }
+
+    /**
+     * Writes the 64-bit digest into {@code dst[offset]}.
+     */
+    @Override
+    public void hashInto(long[] dst, int offset) {
+        Objects.checkIndex(offset, dst.length);
+        dst[offset] = finish();
+    }
+
+    @Override
+    public void hashInto(ByteBuffer dst) {
+        int position = dst.position();
+        if (dst.remaining() < 8) {
+            throw new BufferOverflowException();
+        }
+        BUFFER_LONG_LE.set(dst, position, finish());
+        dst.position(position + 8);
+    }
+
+    @Override
+    public HashFunction copy() {
+        return new XxHash64(this);
+    }
+
+    @Override
+    public byte[] saveState() {
+        byte[] state = new byte[STATE_HEADER_SIZE + bufferedLength];
+        state[0] = STATE_VERSION;
+        state[1] = STATE_ALGORITHM;
+        state[2] = (byte) bufferedLength;
+        ARRAY_LONG_LE.set(state, 3, seed);
+        ARRAY_LONG_LE.set(state, 11, v1);
+        ARRAY_LONG_LE.set(state, 19, v2);
+        ARRAY_LONG_LE.set(state, 27, v3);
+        ARRAY_LONG_LE.set(state, 35, v4);
+        ARRAY_LONG_LE.set(state, 43, length);
+        System.arraycopy(buffer, 0, state, STATE_HEADER_SIZE, bufferedLength);
+        return state;
+    }
+
+    @Override
+    public HashFunction restoreState(byte[] state) {
+        if (state.length < STATE_HEADER_SIZE) {
+            throw new IllegalArgumentException("State too short: " + state.length + " bytes");
+        }
+        if (state[0] != STATE_VERSION) {
+            throw new IllegalArgumentException("Unsupported state version: " + state[0]);
+        }
+        if (state[1] != STATE_ALGORITHM) {
+            throw new IllegalArgumentException("State of another algorithm: " + state[1]);
+        }
+        int savedBufferedLength = state[2];
+        long savedLength = (long) ARRAY_LONG_LE.get(state, 43);
+        if (savedBufferedLength < 0 || savedBufferedLength > 31 || savedLength < 0
+                || (savedLength & 31) != savedBufferedLength
+                || state.length != STATE_HEADER_SIZE + savedBufferedLength) {
+            throw new IllegalArgumentException("Malformed state");
+        }
+
+        seed = (long) ARRAY_LONG_LE.get(state, 3);
+        v1 = (long) ARRAY_LONG_LE.get(state, 11);
+        v2 = (long) ARRAY_LONG_LE.get(state, 19);
+        v3 = (long) ARRAY_LONG_LE.get(state, 27);
+        v4 = (long) ARRAY_LONG_LE.get(state, 35);
+        length = savedLength;
+        bufferedLength = savedBufferedLength;
+        System.arraycopy(state, STATE_HEADER_SIZE, buffer, 0, savedBufferedLength);
+        return this;
+    }
+
+    @Override
+    public void reset(int seed) {
+        reset((long) seed);
+    }
+
+    private void reset(long seed) {
+        this.seed = seed;
+        this.v1 = seed + PRIME64_1 + PRIME64_2;
+        this.v2 = seed + PRIME64_2;
+        this.v3 = seed;
+        this.v4 = seed - PRIME64_1;
+        this.length = 0;
+        this.bufferedLength = 0;
+    }
+
+    private void stripe(byte[] input, int offset) {
+        v1 = round(v1, (long) ARRAY_LONG_LE.get(input, offset));
+        v2 = round(v2, (long) ARRAY_LONG_LE.get(input, offset + 8));
+        v3 = round(v3, (long) ARRAY_LONG_LE.get(input, offset + 16));
+        v4 = round(v4, (long) ARRAY_LONG_LE.get(input, offset + 24));
+    }
+
+    private long finish() {
+        long h = length >= 32 ? converge(v1, v2, v3, v4) : seed + PRIME64_5;
+        h += length;
+        int remaining = bufferedLength;
+        bufferedLength = 0;
+        return avalanche(finishTail(h, buffer, 0, remaining));
+    }
+
+    static long round(long acc, long input) {
+        acc += input * PRIME64_2;
+        acc = Long.rotateLeft(acc, 31);
+        return acc * PRIME64_1;
+    }
+
+    // Folds the four lanes into one after at least one full stripe
+    static long converge(long v1, long v2, long v3, long v4) {
+        long h = Long.rotateLeft(v1, 1) + Long.rotateLeft(v2, 7) + Long.rotateLeft(v3, 12) + Long.rotateLeft(v4, 18);
+        h = mergeRound(h, v1);
+        h = mergeRound(h, v2);
+        h = mergeRound(h, v3);
+        return mergeRound(h, v4);
+    }
+
+    private static long mergeRound(long acc, long value) {
+        acc ^= round(0, value);
+        return acc * PRIME64_1 + PRIME64_4;
+    }
+
+    // Mixes in the last (< 32) bytes
+    static long finishTail(long h, byte[] data, int offset, int remaining) {
+        for (; remaining >= 8; offset += 8, remaining -= 8) {
+            h ^= round(0, (long) ARRAY_LONG_LE.get(data, offset));
+            h = Long.rotateLeft(h, 27) * PRIME64_1 + PRIME64_4;
+        }
+        if (remaining >= 4) {
+            h ^= ((int) ARRAY_INT_LE.get(data, offset) & 0xffffffffL) * PRIME64_1;
+            h = Long.rotateLeft(h, 23) * PRIME64_2 + PRIME64_3;
+            offset += 4;
+            remaining -= 4;
+        }
+        for (; remaining > 0; offset++, remaining--) {
+            h ^= (data[offset] & 0xffL) * PRIME64_5;
+            h = Long.rotateLeft(h, 11) * PRIME64_1;
+        }
+        return h;
+    }
+
+    static long avalanche(long h) {
+        h ^= h >>> 33;
+        h *= PRIME64_2;
+        h ^= h >>> 29;
+        h *= PRIME64_3;
+        h ^= h >>> 32;
+        return h;
+    }
+}
@@ -0,0 +1,111 @@
+package io.github.gbessonov.jhash.implementations.xxhash;
+
+import io.github.gbessonov.jhash.HashCode;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.math.BigInteger;
+import java.nio.ByteOrder;
+import java.util.Objects;
+
+/**
+ * Represents a 64-bit hash code generated by xxHash64 or XXH3-64.
+ * <p>
+ * The hexadecimal string is xxHash's canonical form, the big-endian digest as printed by
+ * {@code xxhsum}; the byte arrays are plain big- and little-endian encodings of the value.
+ * <p>
+ * The class is immutable and thread-safe.
+ */
+class XxHash64HashCode implements HashCode {
+    private static final VarHandle LONG_LE =
+            MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+    private static final VarHandle LONG_BE =
+            MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.BIG_ENDIAN);
+
+    private final long value;
+
+    XxHash64HashCode(long value) {
+        this.value = value;
+    }
+
+    @Override
+    public byte[] getValueBytesBigEndian() {
+        byte[] bytes = new byte[8];
+        LONG_BE.set(bytes, 0, value);
+        return bytes;
+    }
+
+    @Override
+    public byte[] getValueBytesLittleEndian() {
+        byte[] bytes = new byte[8];
+        LONG_LE.set(bytes, 0, value);
+        return bytes;
+    }
+
+    /**
+     * Returns the 64-bit hash code as a positive {@link BigInteger}.
+     */
+    @Override
+    public BigInteger getValueBigInteger() {
+        return new BigInteger(1, getValueBytesBigEndian());
+    }
+
+    /**
+     * Returns the canonical (big-endian) form as 16 hexadecimal digits.
+     */
+    @Override
+    public String getValueHexString() {
+        String hex = Long.toHexString(value);
+        return "0000000000000000".substring(hex.length()) + hex;
+    }
+
+    @Override
+    public int asInt() {
+        return (int) value;
+    }
+
+    @Override
+    public long asLong() {
+        return value;
+    }
+
+    @Override
+    public long lowBits() {
+        return value;
+    }
+
+    @Override
+    public long highBits() {
+        return 0;
+    }
+
+    /**
+     * Writes the 8 bytes of {@link #getValueBytesLittleEndian()} into {@code dest} starting at {@code offset}.
+     *
+     * @return always 8
+     */
+    @Override
+    public int writeBytesTo(byte[] dest, int offset) {
+        Objects.checkFromIndexSize(offset, 8, dest.length);
+        LONG_LE.set(dest, offset, value);
+        return 8;
+    }
+
+    @Override
+    public String toString() {
+        return "jHash.HashCode.XxHash: " + getValueHexString();
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(value);
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (other instanceof XxHash64HashCode otherXxHash64HashCode) {
+            return value == otherXxHash64HashCode.value;
+        }
+        return false;
+    }
+}
@@ -0,0 +1,52 @@
+package io.github.gbessonov.jhash.implementations.xxhash;
+
+import java.util.Objects;
+
+import static io.github.gbessonov.jhash.implementations.xxhash.AbstractXxHash.ARRAY_LONG_LE;
+import static io.github.gbessonov.jhash.implementations.xxhash.XxHash64.PRIME64_1;
+import static io.github.gbessonov.jhash.implementations.xxhash.XxHash64.PRIME64_2;
+import static io.github.gbessonov.jhash.implementations.xxhash.XxHash64.PRIME64_5;
+import static io.github.gbessonov.jhash.implementations.xxhash.XxHash64.avalanche;
+import static io.github.gbessonov.jhash.implementations.xxhash.XxHash64.converge;
+import static io.github.gbessonov.jhash.implementations.xxhash.XxHash64.finishTail;
+import static io.github.gbessonov.jhash.implementations.xxhash.XxHash64.round;
+
+/**
+ * Stateless one-shot xxHash64, returning the digest as a plain {@code long} without allocating.
+ * Results are identical to streaming the same bytes through {@link XxHash64}.
+ * <p>
+ * The class is stateless and therefore thread-safe.
+ */
+public final class XxHash64OneShot {
+
+    private XxHash64OneShot() {
+    }
+
+    /**
+     * Hashes a range of the array.
+     */
+    public static long hash(byte[] data, int offset, int length, long seed) {
+        Objects.checkFromIndexSize(offset, length, data.length);
+
+        long h;
+        int end = offset + length;
+        if (length >= 32) {
+            long v1 = seed + PRIME64_1 + PRIME64_2;
+            long v2 = seed + PRIME64_2;
+            long v3 = seed;
+            long v4 = seed - PRIME64_1;
+            int limit = end - 32;
+            for (; offset <= limit; offset += 32) {
+                v1 = round(v1, (long) ARRAY_LONG_LE.get(data, offset));
+                v2 = round(v2, (long) ARRAY_LONG_LE.get(data, offset + 8));
+                v3 = round(v3, (long) ARRAY_LONG_LE.get(data, offset + 16));
+                v4 = round(v4, (long) ARRAY_LONG_LE.get(data, offset + 24));
+            }
+            h = converge(v1, v2, v3, v4);
+        } else {
+            h = seed + PRIME64_5;
+        }
+        h += length;
+        return avalanche(finishTail(h, data, offset, end - offset));
+    }
+}
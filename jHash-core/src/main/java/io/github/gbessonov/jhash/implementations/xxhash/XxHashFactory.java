@@ -0,0 +1,35 @@
+package io.github.gbessonov.jhash.implementations.xxhash;
+
+import io.github.gbessonov.jhash.HashCode;
+import io.github.gbessonov.jhash.HashFunction;
+
+public class XxHashFactory {
+    private XxHashFactory() {
+    }
+
+    public static HashFunction createXxHash64(long seed) {
+        return new XxHash64(seed);
+    }
+
+    public static HashFunction createXxh3_64(long seed) {
+        return new Xxh3(seed, false);
+    }
+
+    public static HashFunction createXxh3_128(long seed) {
+        return new Xxh3(seed, true);
+    }
+
+    /**
+     * Recreates an xxHash64 or XXH3-64 digest from its value, e.g. when reading digests back from storage.
+     */
+    public static HashCode createHashCode64(long value) {
+        return new XxHash64HashCode(value);
+    }
+
+    /**
+     * Recreates an XXH3-128 digest from its {@code low64} and {@code high64} halves.
+     */
+    public static HashCode createHashCode128(long low64, long high64) {
+        return new XxHash128HashCode(low64, high64);
+    }
+}
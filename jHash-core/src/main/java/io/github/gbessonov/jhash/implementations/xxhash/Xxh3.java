@@ -0,0 +1,456 @@
+package io.github.gbessonov.jhash.implementations.xxhash;
+
+import io.github.gbessonov.jhash.HashCode;
+import io.github.gbessonov.jhash.HashFunction;
+
+import javax.annotation.concurrent.NotThreadSafe;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.util.Objects;
+
+import static io.github.gbessonov.jhash.implementations.xxhash.XxHash64.PRIME64_1;
+import static io.github.gbessonov.jhash.implementations.xxhash.XxHash64.PRIME64_2;
+import static io.github.gbessonov.jhash.implementations.xxhash.XxHash64.PRIME64_3;
+import static io.github.gbessonov.jhash.implementations.xxhash.XxHash64.PRIME64_4;
+import static io.github.gbessonov.jhash.implementations.xxhash.XxHash64.PRIME64_5;
+
+/**
+ * Streaming implementation of XXH3, producing either the 64-bit or the 128-bit digest.
+ * <p>
+ * Up to 256 bytes are buffered; inputs of up to 240 bytes in total are hashed in one go on
+ * finalization, exactly like the one-shot functions in {@link Xxh3OneShot}. Longer inputs are
+ * consumed 64-byte stripe by stripe into eight accumulators, which are scrambled after every
+ * 1 KiB block. Seeds are 64-bit and applied to the default secret on the fly, so no custom
+ * secret is ever materialized; {@link #reset(int)} widens an {@code int} seed like Java's
+ * implicit conversion does.
+ *
+ *  <p><strong>Thread Safety:</strong> This class is <strong>NOT thread-safe</strong>.
+ *  Each thread must use its own instance, or external synchronization must be provided
+ *  if sharing instances across threads.
+ */
+@NotThreadSafe
+class Xxh3 extends AbstractXxHash {
+
+    static final long PRIME32_1 = 0x9E3779B1L;
+    static final long PRIME32_2 = 0x85EBCA77L;
+    static final long PRIME32_3 = 0xC2B2AE3DL;
+
+    // The default 192-byte secret, as little-endian words
+    static final long[] SECRET_WORDS = {
+        0xbe4ba423396cfeb8L, 0x1cad21f72c81017cL, 0xdb979083e96dd4deL, 0x1f67b3b7a4a44072L,
+        0x78e5c0cc4ee679cbL, 0x2172ffcc7dd05a82L, 0x8e2443f7744608b8L, 0x4c263a81e69035e0L,
+        0xcb00c391bb52283cL, 0xa32e531b8b65d088L, 0x4ef90da297486471L, 0xd8acdea946ef1938L,
+        0x3f349ce33f76faa8L, 0x1d4f0bc7c7bbdcf9L, 0x3159b4cd4be0518aL, 0x647378d9c97e9fc8L,
+        0xc3ebd33483acc5eaL, 0xeb6313faffa081c5L, 0x49daf0b751dd0d17L, 0x9e68d429265516d3L,
+        0xfca1477d58be162bL, 0xce31d07ad1b8f88fL, 0x280416958f3acb45L, 0x7e404bbbcafbd7afL,
+    };
+
+    // The same secret as bytes, for the unaligned reads of the short-input paths
+    static final byte[] SECRET = new byte[SECRET_WORDS.length * 8];
+
+    static {
+        for (int i = 0; i < SECRET_WORDS.length; i++) {
+            ARRAY_LONG_LE.set(SECRET, i * 8, SECRET_WORDS[i]);
+        }
+    }
+
+    static final int STRIPE_LENGTH = 64;
+    static final int STRIPES_PER_BLOCK = 16;
+    static final int MID_SIZE_MAX = 240;
+    // Secret offsets of the long-input path
+    static final int SCRAMBLE_OFFSET = 128;
+    static final int LAST_STRIPE_OFFSET = 121;
+    static final int MERGE_OFFSET = 11;
+    static final int MERGE_HIGH_OFFSET = 117;
+
+    private static final int BUFFER_SIZE = 256;
+
+    // saveState() layout, little-endian: version, algorithm, stripes in block, buffered length,
+    // seed, length, 8 accumulators, the whole buffer
+    private static final byte STATE_VERSION = 1;
+    private static final byte STATE_ALGORITHM_64 = 5;
+    private static final byte STATE_ALGORITHM_128 = 6;
+    private static final int STATE_HEADER_SIZE = 87;
+
+    private final boolean wide;
+
+    private long seed;
+    private long length;
+    private final long[] acc = new long[8];
+    private int stripesInBlock;
+
+    // Pending input, plus slack for whole-word writes of typed values. Once stripes have been
+    // consumed, the last 64 bytes hold the latest consumed stripe for a short final stripe to borrow from.
+    private final byte[] buffer = new byte[BUFFER_SIZE + 8];
+    private int bufferedLength;
+
+    // Finalization scratch, so that hashInto allocates nothing
+    private final long[] digestAcc = new long[8];
+    private final byte[] lastStripe = new byte[STRIPE_LENGTH];
+
+    Xxh3(long seed, boolean wide) {
+        this.wide = wide;
+        reset(seed);
+    }
+
+    private Xxh3(Xxh3 other) {
+        this.wide = other.wide;
+        this.seed = other.seed;
+        this.length = other.length;
+        this.stripesInBlock = other.stripesInBlock;
+        this.bufferedLength = other.bufferedLength;
+        System.arraycopy(other.acc, 0, acc, 0, acc.length);
+        System.arraycopy(other.buffer, 0, buffer, 0, BUFFER_SIZE);
+    }
+
+    @Override
+    public HashFunction include(byte[] input, int offset, int inputLength) {
+        Objects.checkFromIndexSize(offset, inputLength, input.length);
+        length += inputLength;
+
+        if (bufferedLength + inputLength <= BUFFER_SIZE) {
+            System.arraycopy(input, offset, buffer, bufferedLength, inputLength);
+            bufferedLength += inputLength;
+            return this;
+        }
+        // At least one byte always stays buffered: the final stripe is handled on finalization
+        if (bufferedLength > 0) {
+            int needed = BUFFER_SIZE - bufferedLength;
+            System.arraycopy(input, offset, buffer, bufferedLength, needed);
+            consumeStripes(buffer, 0, BUFFER_SIZE / STRIPE_LENGTH);
+            offset += needed;
+            inputLength -= needed;
+        }
+        if (inputLength > BUFFER_SIZE) {
+            do {
+                consumeStripes(input, offset, BUFFER_SIZE / STRIPE_LENGTH);
+                offset += BUFFER_SIZE;
+                inputLength -= BUFFER_SIZE;
+            } while (inputLength > BUFFER_SIZE);
+            System.arraycopy(input, offset - STRIPE_LENGTH, buffer, BUFFER_SIZE - STRIPE_LENGTH, STRIPE_LENGTH);
+        }
+        System.arraycopy(input, offset, buffer, 0, inputLength);
+        bufferedLength = inputLength;
+        return this;
+    }
+
+    @Override
+    protected void includeDirect(ByteBuffer input) {
+        int offset = input.position();
+        int inputLength = input.remaining();
+        length += inputLength;
+
+        if (bufferedLength + inputLength <= BUFFER_SIZE) {
+            input.get(offset, buffer, bufferedLength, inputLength);
+            bufferedLength += inputLength;
+            return;
+        }
+        if (bufferedLength > 0) {
+            int needed = BUFFER_SIZE - bufferedLength;
+            input.get(offset, buffer, bufferedLength, needed);
+            consumeStripes(buffer, 0, BUFFER_SIZE / STRIPE_LENGTH);
+            offset += needed;
+            inputLength -= needed;
+        }
+        if (inputLength > BUFFER_SIZE) {
+            do {
+                for (int stripe = 0; stripe < BUFFER_SIZE / STRIPE_LENGTH; stripe++) {
+                    accumulate(acc, input, offset + stripe * STRIPE_LENGTH, stripesInBlock, seed);
+                    nextStripe(acc);
+                }
+                offset += BUFFER_SIZE;
+                inputLength -= BUFFER_SIZE;
+            } while (inputLength > BUFFER_SIZE);
+            input.get(offset - STRIPE_LENGTH, buffer, BUFFER_SIZE - STRIPE_LENGTH, STRIPE_LENGTH);
+        }
+        input.get(offset, buffer, 0, inputLength);
+        bufferedLength = inputLength;
+    }
+
+    @Override
+    protected void putLittleEndian(long value, int count) {
+        if (bufferedLength + count > BUFFER_SIZE) {
+            super.putLittleEndian(value, count);
+            return;
+        }
+        // The slack after the buffer absorbs the excess of the 8-byte write
+        ARRAY_LONG_LE.set(buffer, bufferedLength, value);
+        bufferedLength += count;
+        length += count;
+    }
+
+    @Override
+    public HashCode hash() {
+        if (!wide) {
+            return new XxHash64HashCode(finish64());
+        }
+        long[] halves = new long[2];
+        finish128(halves, 0);
+        return new XxHash128HashCode(halves[0], halves[1]);
+    }
+
+    /**
+     * Writes the digest into {@code dst[offset]}, and for XXH3-128 its {@code high64} half
+     * into {@code dst[offset + 1]}.
+     */
+    @Override
+    public void hashInto(long[] dst, int offset) {
+        if (!wide) {
+            Objects.checkIndex(offset, dst.length);
+            dst[offset] = finish64();
+            return;
+        }
+        Objects.checkFromIndexSize(offset, 2, dst.length);
+        finish128(dst, offset);
+    }
+
+    @Override
+    public void hashInto(ByteBuffer dst) {
+        int position = dst.position();
+        if (dst.remaining() < (wide ? 16 : 8)) {
+            throw new BufferOverflowException();
+        }
+        if (!wide) {
+            BUFFER_LONG_LE.set(dst, position, finish64());
+            dst.position(position + 8);
+            return;
+        }
+        long low = finish128(digestAcc, 0);
+        BUFFER_LONG_LE.set(dst, position, low);
+        BUFFER_LONG_LE.set(dst, position + 8, digestAcc[1]);
+        dst.position(position + 16);
+    }
+
+    @Override
+    public HashFunction copy() {
+        return new Xxh3(this);
+    }
+
+    @Override
+    public byte[] saveState() {
+        byte[] state = new byte[STATE_HEADER_SIZE + BUFFER_SIZE];
+        state[0] = STATE_VERSION;
+        state[1] = wide ? STATE_ALGORITHM_128 : STATE_ALGORITHM_64;
+        state[2] = (byte) stripesInBlock;
+        ARRAY_INT_LE.set(state, 3, bufferedLength);
+        ARRAY_LONG_LE.set(state, 7, seed);
+        ARRAY_LONG_LE.set(state, 15, length);
+        for (int i = 0; i < 8; i++) {
+            ARRAY_LONG_LE.set(state, 23 + 8 * i, acc[i]);
+        }
+        System.arraycopy(buffer, 0, state, STATE_HEADER_SIZE, BUFFER_SIZE);
+        return state;
+    }
+
+    @Override
+    public HashFunction restoreState(byte[] state) {
+        if (state.length < STATE_HEADER_SIZE) {
+            throw new IllegalArgumentException("State too short: " + state.length + " bytes");
+        }
+        if (state[0] != STATE_VERSION) {
+            throw new IllegalArgumentException("Unsupported state version: " + state[0]);
+        }
+        if (state[1] != (wide ? STATE_ALGORITHM_128 : STATE_ALGORITHM_64)) {
+            throw new IllegalArgumentException("State of another algorithm: " + state[1]);
+        }
+        int savedStripes = state[2];
+        int savedBufferedLength = (int) ARRAY_INT_LE.get(state, 3);
+        long savedLength = (long) ARRAY_LONG_LE.get(state, 15);
+        long consumed = savedLength - savedBufferedLength;
+        if (state.length != STATE_HEADER_SIZE + BUFFER_SIZE
+                || savedBufferedLength < 0 || savedBufferedLength > BUFFER_SIZE
+                || consumed < 0 || consumed % BUFFER_SIZE != 0
+                || (consumed > 0 && savedBufferedLength == 0)
+                || savedStripes != (consumed / STRIPE_LENGTH) % STRIPES_PER_BLOCK) {
+            throw new IllegalArgumentException("Malformed state");
+        }
+
+        seed = (long) ARRAY_LONG_LE.get(state, 7);
+        length = savedLength;
+        stripesInBlock = savedStripes;
+        bufferedLength = savedBufferedLength;
+        for (int i = 0; i < 8; i++) {
+            acc[i] = (long) ARRAY_LONG_LE.get(state, 23 + 8 * i);
+        }
+        System.arraycopy(state, STATE_HEADER_SIZE, buffer, 0, BUFFER_SIZE);
+        return this;
+    }
+
+    @Override
+    public void reset(int seed) {
+        reset((long) seed);
+    }
+
+    private void reset(long seed) {
+        this.seed = seed;
+        this.length = 0;
+        this.bufferedLength = 0;
+        this.stripesInBlock = 0;
+        initAccumulators(acc);
+    }
+
+    private void consumeStripes(byte[] data, int offset, int stripes) {
+        for (int stripe = 0; stripe < stripes; stripe++) {
+            accumulate(acc, data, offset + stripe * STRIPE_LENGTH, stripesInBlock, seed);
+            nextStripe(acc);
+        }
+    }
+
+    // Advances the stripe counter, scrambling the accumulators at the end of a block
+    private void nextStripe(long[] accumulators) {
+        if (++stripesInBlock == STRIPES_PER_BLOCK) {
+            scramble(accumulators, seed);
+            stripesInBlock = 0;
+        }
+    }
+
+    private long finish64() {
+        if (length <= MID_SIZE_MAX) {
+            return Xxh3OneShot.hashShort64(buffer, 0, (int) length, seed);
+        }
+        finishStripes();
+        return merge(digestAcc, MERGE_OFFSET, length * PRIME64_1, seed);
+    }
+
+    // Writes low64 and high64 and returns low64
+    private long finish128(long[] dst, int offset) {
+        if (length <= MID_SIZE_MAX) {
+            Xxh3OneShot.hashShort128(buffer, 0, (int) length, seed, dst, offset);
+            return dst[offset];
+        }
+        finishStripes();
+        long low = merge(digestAcc, MERGE_OFFSET, length * PRIME64_1, seed);
+        long high = merge(digestAcc, MERGE_HIGH_OFFSET, ~(length * PRIME64_2), seed);
+        dst[offset] = low;
+        dst[offset + 1] = high;
+        return low;
+    }
+
+    // Accumulates the buffered stripes and the final stripe into digestAcc, leaving the state untouched
+    private void finishStripes() {
+        System.arraycopy(acc, 0, digestAcc, 0, 8);
+        int savedStripes = stripesInBlock;
+        if (bufferedLength >= STRIPE_LENGTH) {
+            int stripes = (bufferedLength - 1) / STRIPE_LENGTH;
+            for (int stripe = 0; stripe < stripes; stripe++) {
+                accumulate(digestAcc, buffer, stripe * STRIPE_LENGTH, stripesInBlock, seed);
+                nextStripe(digestAcc);
+            }
+            accumulateAt(digestAcc, buffer, bufferedLength - STRIPE_LENGTH, LAST_STRIPE_OFFSET, seed);
+        } else {
+            // The final stripe starts in the last consumed one
+            int borrowed = STRIPE_LENGTH - bufferedLength;
+            System.arraycopy(buffer, BUFFER_SIZE - borrowed, lastStripe, 0, borrowed);
+            System.arraycopy(buffer, 0, lastStripe, borrowed, bufferedLength);
+            accumulateAt(digestAcc, lastStripe, 0, LAST_STRIPE_OFFSET, seed);
+        }
+        stripesInBlock = savedStripes;
+    }
+
+    static void initAccumulators(long[] acc) {
+        acc[0] = PRIME32_3;
+        acc[1] = PRIME64_1;
+        acc[2] = PRIME64_2;
+        acc[3] = PRIME64_3;
+        acc[4] = PRIME64_4;
+        acc[5] = PRIME32_2;
+        acc[6] = PRIME64_5;
+        acc[7] = PRIME32_1;
+    }
+
+    /**
+     * Word {@code index} of the secret derived from the seed: the default secret with the seed
+     * added to even words and subtracted from odd ones.
+     */
+    static long secretWord(int index, long seed) {
+        return SECRET_WORDS[index] + ((index & 1) == 0 ? seed : -seed);
+    }
+
+    // Little-endian long at any byte offset of the derived secret
+    static long secretAt(int offset, long seed) {
+        int index = offset >>> 3;
+        int shift = (offset & 7) << 3;
+        if (shift == 0) {
+            return secretWord(index, seed);
+        }
+        return secretWord(index, seed) >>> shift | secretWord(index + 1, seed) << (64 - shift);
+    }
+
+    // Accumulates one stripe with the secret words starting at 'stripe', the stripe's index in its block
+    static void accumulate(long[] acc, byte[] data, int offset, int stripe, long seed) {
+        long even = (stripe & 1) == 0 ? seed : -seed;
+        for (int i = 0; i < 8; i += 2) {
+            long d0 = (long) ARRAY_LONG_LE.get(data, offset + 8 * i);
+            long d1 = (long) ARRAY_LONG_LE.get(data, offset + 8 * i + 8);
+            acc[i] += d1 + mixLane(d0, SECRET_WORDS[stripe + i] + even);
+            acc[i + 1] += d0 + mixLane(d1, SECRET_WORDS[stripe + i + 1] - even);
+        }
+    }
+
+    static void accumulate(long[] acc, ByteBuffer data, int offset, int stripe, long seed) {
+        long even = (stripe & 1) == 0 ? seed : -seed;
+        for (int i = 0; i < 8; i += 2) {
+            long d0 = (long) BUFFER_LONG_LE.get(data, offset + 8 * i);
+            long d1 = (long) BUFFER_LONG_LE.get(data, offset + 8 * i + 8);
+            acc[i] += d1 + mixLane(d0, SECRET_WORDS[stripe + i] + even);
+            acc[i + 1] += d0 + mixLane(d1, SECRET_WORDS[stripe + i + 1] - even);
+        }
+    }
+
+    // Accumulates one stripe with the secret at an arbitrary byte offset
+    private static void accumulateAt(long[] acc, byte[] data, int offset, int secretOffset, long seed) {
+        for (int i = 0; i < 8; i += 2) {
+            long d0 = (long) ARRAY_LONG_LE.get(data, offset + 8 * i);
+            long d1 = (long) ARRAY_LONG_LE.get(data, offset + 8 * i + 8);
+            acc[i] += d1 + mixLane(d0, secretAt(secretOffset + 8 * i, seed));
+            acc[i + 1] += d0 + mixLane(d1, secretAt(secretOffset + 8 * i + 8, seed));
+        }
+    }
+
+    static void scramble(long[] acc, long seed) {
+        for (int i = 0; i < 8; i++) {
+            acc[i] = scrambleLane(acc[i], secretWord(SCRAMBLE_OFFSET / 8 + i, seed));
+        }
+    }
+
+    private static long merge(long[] acc, int secretOffset, long start, long seed) {
+        return merge(acc[0], acc[1], acc[2], acc[3], acc[4], acc[5], acc[6], acc[7], secretOffset, start, seed);
+    }
+
+    static long merge(long a0, long a1, long a2, long a3, long a4, long a5, long a6, long a7,
+                      int secretOffset, long start, long seed) {
+        long result = start;
+        result += mul128Fold64(a0 ^ secretAt(secretOffset, seed), a1 ^ secretAt(secretOffset + 8, seed));
+        result += mul128Fold64(a2 ^ secretAt(secretOffset + 16, seed), a3 ^ secretAt(secretOffset + 24, seed));
+        result += mul128Fold64(a4 ^ secretAt(secretOffset + 32, seed), a5 ^ secretAt(secretOffset + 40, seed));
+        result += mul128Fold64(a6 ^ secretAt(secretOffset + 48, seed), a7 ^ secretAt(secretOffset + 56, seed));
+        return avalanche(result);
+    }
+
+    static long mixLane(long data, long key) {
+        long keyed = data ^ key;
+        return (keyed & 0xffffffffL) * (keyed >>> 32);
+    }
+
+    static long scrambleLane(long acc, long key) {
+        acc ^= acc >>> 47;
+        acc ^= key;
+        return acc * PRIME32_1;
+    }
+
+    // Low and high halves of the full 128-bit product, xor-ed
+    static long mul128Fold64(long a, long b) {
+        return a * b ^ unsignedMultiplyHigh(a, b);
+    }
+
+    // Math.unsignedMultiplyHigh is Java 18+
+    static long unsignedMultiplyHigh(long a, long b) {
+        return Math.multiplyHigh(a, b) + ((a >> 63) & b) + ((b >> 63) & a);
+    }
+
+    static long avalanche(long h) {
+        h ^= h >>> 37;
+        h *= 0x165667919E3779F9L;
+        return h ^ h >>> 32;
+    }
+}
@@ -0,0 +1,328 @@
+package io.github.gbessonov.jhash.implementations.xxhash;
+
+import io.github.gbessonov.jhash.HashCode;
+
+import java.util.Objects;
+
+import static io.github.gbessonov.jhash.implementations.xxhash.AbstractXxHash.ARRAY_INT_LE;
+import static io.github.gbessonov.jhash.implementations.xxhash.AbstractXxHash.ARRAY_LONG_LE;
+import static io.github.gbessonov.jhash.implementations.xxhash.XxHash64.PRIME64_1;
+import static io.github.gbessonov.jhash.implementations.xxhash.XxHash64.PRIME64_2;
+import static io.github.gbessonov.jhash.implementations.xxhash.XxHash64.PRIME64_3;
+import static io.github.gbessonov.jhash.implementations.xxhash.XxHash64.PRIME64_4;
+import static io.github.gbessonov.jhash.implementations.xxhash.XxHash64.PRIME64_5;
+import static io.github.gbessonov.jhash.implementations.xxhash.Xxh3.LAST_STRIPE_OFFSET;
+import static io.github.gbessonov.jhash.implementations.xxhash.Xxh3.MERGE_HIGH_OFFSET;
+import static io.github.gbessonov.jhash.implementations.xxhash.Xxh3.MERGE_OFFSET;
+import static io.github.gbessonov.jhash.implementations.xxhash.Xxh3.MID_SIZE_MAX;
+import static io.github.gbessonov.jhash.implementations.xxhash.Xxh3.PRIME32_1;
+import static io.github.gbessonov.jhash.implementations.xxhash.Xxh3.PRIME32_2;
+import static io.github.gbessonov.jhash.implementations.xxhash.Xxh3.PRIME32_3;
+import static io.github.gbessonov.jhash.implementations.xxhash.Xxh3.SCRAMBLE_OFFSET;
+import static io.github.gbessonov.jhash.implementations.xxhash.Xxh3.SECRET;
+import static io.github.gbessonov.jhash.implementations.xxhash.Xxh3.STRIPES_PER_BLOCK;
+import static io.github.gbessonov.jhash.implementations.xxhash.Xxh3.STRIPE_LENGTH;
+import static io.github.gbessonov.jhash.implementations.xxhash.Xxh3.avalanche;
+import static io.github.gbessonov.jhash.implementations.xxhash.Xxh3.merge;
+import static io.github.gbessonov.jhash.implementations.xxhash.Xxh3.mixLane;
+import static io.github.gbessonov.jhash.implementations.xxhash.Xxh3.mul128Fold64;
+import static io.github.gbessonov.jhash.implementations.xxhash.Xxh3.scrambleLane;
+import static io.github.gbessonov.jhash.implementations.xxhash.Xxh3.secretAt;
+import static io.github.gbessonov.jhash.implementations.xxhash.Xxh3.secretWord;
+import static io.github.gbessonov.jhash.implementations.xxhash.Xxh3.unsignedMultiplyHigh;
+
+/**
+ * Stateless one-shot XXH3, 64-bit and 128-bit, with the default secret and a 64-bit seed.
+ * <p>
+ * Inputs of up to 240 bytes take the dedicated short paths of the algorithm; longer ones are
+ * read stripe by stripe straight from the array into accumulators held in local variables.
+ * {@code hash64} and the {@code long[]} destination overload of {@code hash128} allocate nothing.
+ * Results are identical to streaming the same bytes through {@link Xxh3}.
+ * <p>
+ * The class is stateless and therefore thread-safe.
+ */
+public final class Xxh3OneShot {
+
+    private Xxh3OneShot() {
+    }
+
+    /**
+     * Hashes a range of the array with XXH3-64.
+     */
+    public static long hash64(byte[] data, int offset, int length, long seed) {
+        Objects.checkFromIndexSize(offset, length, data.length);
+        if (length <= MID_SIZE_MAX) {
+            return hashShort64(data, offset, length, seed);
+        }
+        return hashLong(data, offset, length, seed, null, 0);
+    }
+
+    /**
+     * Hashes a range of the array with XXH3-128 and returns the digest as a {@link HashCode}.
+     */
+    public static HashCode hash128(byte[] data, int offset, int length, long seed) {
+        long[] halves = new long[2];
+        hash128(data, offset, length, seed, halves, 0);
+        return new XxHash128HashCode(halves[0], halves[1]);
+    }
+
+    /**
+     * Hashes a range of the array with XXH3-128 and writes the {@code low64} half to
+     * {@code dst[dstOffset]} and the {@code high64} half to {@code dst[dstOffset + 1]}.
+     *
+     * @throws IndexOutOfBoundsException if either range is out of bounds; nothing is written then
+     */
+    public static void hash128(byte[] data, int offset, int length, long seed, long[] dst, int dstOffset) {
+        Objects.checkFromIndexSize(offset, length, data.length);
+        Objects.checkFromIndexSize(dstOffset, 2, dst.length);
+        if (length <= MID_SIZE_MAX) {
+            hashShort128(data, offset, length, seed, dst, dstOffset);
+        } else {
+            hashLong(data, offset, length, seed, dst, dstOffset);
+        }
+    }
+
+    // XXH3-64 of up to 240 bytes; the range is not checked
+    static long hashShort64(byte[] data, int offset, int length, long seed) {
+        if (length > 128) {
+            long acc = length * PRIME64_1;
+            int rounds = length / 16;
+            for (int i = 0; i < 8; i++) {
+                acc += mix16B(data, offset + 16 * i, 16 * i, seed);
+            }
+            acc = avalanche(acc);
+            for (int i = 8; i < rounds; i++) {
+                acc += mix16B(data, offset + 16 * i, 16 * (i - 8) + 3, seed);
+            }
+            acc += mix16B(data, offset + length - 16, 136 - 17, seed);
+            return avalanche(acc);
+        }
+        if (length > 16) {
+            long acc = length * PRIME64_1;
+            for (int i = (length - 1) / 32; i >= 0; i--) {
+                acc += mix16B(data, offset + 16 * i, 32 * i, seed);
+                acc += mix16B(data, offset + length - 16 * (i + 1), 32 * i + 16, seed);
+            }
+            return avalanche(acc);
+        }
+        if (length > 8) {
+            long bitflip1 = (secret64(24) ^ secret64(32)) + seed;
+            long bitflip2 = (secret64(40) ^ secret64(48)) - seed;
+            long low = (long) ARRAY_LONG_LE.get(data, offset) ^ bitflip1;
+            long high = (long) ARRAY_LONG_LE.get(data, offset + length - 8) ^ bitflip2;
+            return avalanche(length + Long.reverseBytes(low) + high + mul128Fold64(low, high));
+        }
+        if (length >= 4) {
+            seed ^= (long) Integer.reverseBytes((int) seed) << 32;
+            long input1 = (int) ARRAY_INT_LE.get(data, offset) & 0xffffffffL;
+            long input2 = (int) ARRAY_INT_LE.get(data, offset + length - 4) & 0xffffffffL;
+            long bitflip = (secret64(8) ^ secret64(16)) - seed;
+            return rrmxmx((input2 + (input1 << 32)) ^ bitflip, length);
+        }
+        if (length > 0) {
+            long bitflip = ((secret32(0) ^ secret32(4)) & 0xffffffffL) + seed;
+            return XxHash64.avalanche((combined(data, offset, length) & 0xffffffffL) ^ bitflip);
+        }
+        return XxHash64.avalanche(seed ^ secret64(56) ^ secret64(64));
+    }
+
+    // XXH3-128 of up to 240 bytes; the ranges are not checked
+    static void hashShort128(byte[] data, int offset, int length, long seed, long[] dst, int dstOffset) {
+        if (length > 16) {
+            long low = length * PRIME64_1;
+            long high = 0;
+            if (length > 128) {
+                int rounds = length / 32;
+                for (int i = 0; i < rounds; i++) {
+                    int in1 = offset + 32 * i;
+                    int secretOffset = i < 4 ? 32 * i : 3 + 32 * (i - 4);
+                    low += mix16B(data, in1, secretOffset, seed);
+                    low ^= sumOfWords(data, in1 + 16);
+                    high += mix16B(data, in1 + 16, secretOffset + 16, seed);
+                    high ^= sumOfWords(data, in1);
+                    if (i == 3) {
+                        low = avalanche(low);
+                        high = avalanche(high);
+                    }
+                }
+                int in1 = offset + length - 16;
+                int in2 = offset + length - 32;
+                low += mix16B(data, in1, 136 - 17 - 16, -seed);
+                low ^= sumOfWords(data, in2);
+                high += mix16B(data, in2, 136 - 17, -seed);
+                high ^= sumOfWords(data, in1);
+            } else {
+                for (int i = (length - 1) / 32; i >= 0; i--) {
+                    int in1 = offset + 16 * i;
+                    int in2 = offset + length - 16 * (i + 1);
+                    low += mix16B(data, in1, 32 * i, seed);
+                    low ^= sumOfWords(data, in2);
+                    high += mix16B(data, in2, 32 * i + 16, seed);
+                    high ^= sumOfWords(data, in1);
+                }
+            }
+            dst[dstOffset] = avalanche(low + high);
+            dst[dstOffset + 1] = -avalanche(low * PRIME64_1 + high * PRIME64_4 + (length - seed) * PRIME64_2);
+            return;
+        }
+        if (length > 8) {
+            long bitflipLow = (secret64(32) ^ secret64(40)) - seed;
+            long bitflipHigh = (secret64(48) ^ secret64(56)) + seed;
+            long inputLow = (long) ARRAY_LONG_LE.get(data, offset);
+            long inputHigh = (long) ARRAY_LONG_LE.get(data, offset + length - 8);
+            long keyed = inputLow ^ inputHigh ^ bitflipLow;
+            long mLow = keyed * PRIME64_1;
+            long mHigh = unsignedMultiplyHigh(keyed, PRIME64_1);
+            mLow += (long) (length - 1) << 54;
+            inputHigh ^= bitflipHigh;
+            mHigh += inputHigh + (inputHigh & 0xffffffffL) * (PRIME32_2 - 1);
+            mLow ^= Long.reverseBytes(mHigh);
+            long hLow = mLow * PRIME64_2;
+            long hHigh = unsignedMultiplyHigh(mLow, PRIME64_2) + mHigh * PRIME64_2;
+            dst[dstOffset] = avalanche(hLow);
+            dst[dstOffset + 1] = avalanche(hHigh);
+            return;
+        }
+        if (length >= 4) {
+            seed ^= (long) Integer.reverseBytes((int) seed) << 32;
+            long inputLow = (int) ARRAY_INT_LE.get(data, offset) & 0xffffffffL;
+            long inputHigh = (int) ARRAY_INT_LE.get(data, offset + length - 4) & 0xffffffffL;
+            long bitflip = (secret64(16) ^ secret64(24)) + seed;
+            long keyed = (inputLow + (inputHigh << 32)) ^ bitflip;
+            long multiplier = PRIME64_1 + ((long) length << 2);
+            long mLow = keyed * multiplier;
+            long mHigh = unsignedMultiplyHigh(keyed, multiplier);
+            mHigh += mLow << 1;
+            mLow ^= mHigh >>> 3;
+            mLow ^= mLow >>> 35;
+            mLow *= 0x9FB21C651E98DF25L;
+            mLow ^= mLow >>> 28;
+            dst[dstOffset] = mLow;
+            dst[dstOffset + 1] = avalanche(mHigh);
+            return;
+        }
+        if (length > 0) {
+            int combinedLow = combined(data, offset, length);
+            int combinedHigh = Integer.rotateLeft(Integer.reverseBytes(combinedLow), 13);
+            long bitflipLow = ((secret32(0) ^ secret32(4)) & 0xffffffffL) + seed;
+            long bitflipHigh = ((secret32(8) ^ secret32(12)) & 0xffffffffL) - seed;
+            dst[dstOffset] = XxHash64.avalanche((combinedLow & 0xffffffffL) ^ bitflipLow);
+            dst[dstOffset + 1] = XxHash64.avalanche((combinedHigh & 0xffffffffL) ^ bitflipHigh);
+            return;
+        }
+        dst[dstOffset] = XxHash64.avalanche(seed ^ secret64(64) ^ secret64(72));
+        dst[dstOffset + 1] = XxHash64.avalanche(seed ^ secret64(80) ^ secret64(88));
+    }
+
+    /**
+     * XXH3 of more than 240 bytes. Returns the 64-bit digest when {@code dst} is null;
+     * otherwise writes both halves of the 128-bit digest and returns {@code low64}.
+     */
+    private static long hashLong(byte[] data, int offset, int length, long seed, long[] dst, int dstOffset) {
+        long a0 = PRIME32_3;
+        long a1 = PRIME64_1;
+        long a2 = PRIME64_2;
+        long a3 = PRIME64_3;
+        long a4 = PRIME64_4;
+        long a5 = PRIME32_2;
+        long a6 = PRIME64_5;
+        long a7 = PRIME32_1;
+
+        // Every stripe but the last; the block structure only shows in where the scrambles happen
+        int stripes = (length - 1) / STRIPE_LENGTH;
+        int position = offset;
+        for (int n = 0; n < stripes; n++, position += STRIPE_LENGTH) {
+            int s = n & (STRIPES_PER_BLOCK - 1);
+            long even = (s & 1) == 0 ? seed : -seed;
+            long d0 = (long) ARRAY_LONG_LE.get(data, position);
+            long d1 = (long) ARRAY_LONG_LE.get(data, position + 8);
+            long d2 = (long) ARRAY_LONG_LE.get(data, position + 16);
+            long d3 = (long) ARRAY_LONG_LE.get(data, position + 24);
+            long d4 = (long) ARRAY_LONG_LE.get(data, position + 32);
+            long d5 = (long) ARRAY_LONG_LE.get(data, position + 40);
+            long d6 = (long) ARRAY_LONG_LE.get(data, position + 48);
+            long d7 = (long) ARRAY_LONG_LE.get(data, position + 56);
+            a0 += d1 + mixLane(d0, Xxh3.SECRET_WORDS[s] + even);
+            a1 += d0 + mixLane(d1, Xxh3.SECRET_WORDS[s + 1] - even);
+            a2 += d3 + mixLane(d2, Xxh3.SECRET_WORDS[s + 2] + even);
+            a3 += d2 + mixLane(d3, Xxh3.SECRET_WORDS[s + 3] - even);
+            a4 += d5 + mixLane(d4, Xxh3.SECRET_WORDS[s + 4] + even);
+            a5 += d4 + mixLane(d5, Xxh3.SECRET_WORDS[s + 5] - even);
+            a6 += d7 + mixLane(d6, Xxh3.SECRET_WORDS[s + 6] + even);
+            a7 += d6 + mixLane(d7, Xxh3.SECRET_WORDS[s + 7] - even);
+            if (s == STRIPES_PER_BLOCK - 1) {
+                int k = SCRAMBLE_OFFSET / 8;
+                a0 = scrambleLane(a0, secretWord(k, seed));
+                a1 = scrambleLane(a1, secretWord(k + 1, seed));
+                a2 = scrambleLane(a2, secretWord(k + 2, seed));
+                a3 = scrambleLane(a3, secretWord(k + 3, seed));
+                a4 = scrambleLane(a4, secretWord(k + 4, seed));
+                a5 = scrambleLane(a5, secretWord(k + 5, seed));
+                a6 = scrambleLane(a6, secretWord(k + 6, seed));
+                a7 = scrambleLane(a7, secretWord(k + 7, seed));
+            }
+        }
+
+        // The last stripe ends with the input, overlapping the previous one
+        position = offset + length - STRIPE_LENGTH;
+        long d0 = (long) ARRAY_LONG_LE.get(data, position);
+        long d1 = (long) ARRAY_LONG_LE.get(data, position + 8);
+        long d2 = (long) ARRAY_LONG_LE.get(data, position + 16);
+        long d3 = (long) ARRAY_LONG_LE.get(data, position + 24);
+        long d4 = (long) ARRAY_LONG_LE.get(data, position + 32);
+        long d5 = (long) ARRAY_LONG_LE.get(data, position + 40);
+        long d6 = (long) ARRAY_LONG_LE.get(data, position + 48);
+        long d7 = (long) ARRAY_LONG_LE.get(data, position + 56);
+        a0 += d1 + mixLane(d0, secretAt(LAST_STRIPE_OFFSET, seed));
+        a1 += d0 + mixLane(d1, secretAt(LAST_STRIPE_OFFSET + 8, seed));
+        a2 += d3 + mixLane(d2, secretAt(LAST_STRIPE_OFFSET + 16, seed));
+        a3 += d2 + mixLane(d3, secretAt(LAST_STRIPE_OFFSET + 24, seed));
+        a4 += d5 + mixLane(d4, secretAt(LAST_STRIPE_OFFSET + 32, seed));
+        a5 += d4 + mixLane(d5, secretAt(LAST_STRIPE_OFFSET + 40, seed));
+        a6 += d7 + mixLane(d6, secretAt(LAST_STRIPE_OFFSET + 48, seed));
+        a7 += d6 + mixLane(d7, secretAt(LAST_STRIPE_OFFSET + 56, seed));
+
+        long low = merge(a0, a1, a2, a3, a4, a5, a6, a7, MERGE_OFFSET, length * PRIME64_1, seed);
+        if (dst == null) {
+            return low;
+        }
+        dst[dstOffset] = low;
+        dst[dstOffset + 1] = merge(a0, a1, a2, a3, a4, a5, a6, a7, MERGE_HIGH_OFFSET, ~(length * PRIME64_2), seed);
+        return low;
+    }
+
+    private static long mix16B(byte[] data, int offset, int secretOffset, long seed) {
+        long inputLow = (long) ARRAY_LONG_LE.get(data, offset);
+        long inputHigh = (long) ARRAY_LONG_LE.get(data, offset + 8);
+        return mul128Fold64(inputLow ^ (secret64(secretOffset) + seed),
+                inputHigh ^ (secret64(secretOffset + 8) - seed));
+    }
+
+    private static long sumOfWords(byte[] data, int offset) {
+        return (long) ARRAY_LONG_LE.get(data, offset) + (long) ARRAY_LONG_LE.get(data, offset + 8);
+    }
+
+    // First, middle and last byte of a 1 to 3 byte input, with the length
+    private static int combined(byte[] data, int offset, int length) {
+        int c1 = data[offset] & 0xff;
+        int c2 = data[offset + (length >> 1)] & 0xff;
+        int c3 = data[offset + length - 1] & 0xff;
+        return c1 << 16 | c2 << 24 | c3 | length << 8;
+    }
+
+    private static long rrmxmx(long h, int length) {
+        h ^= Long.rotateLeft(h, 49) ^ Long.rotateLeft(h, 24);
+        h *= 0x9FB21C651E98DF25L;
+        h ^= (h >>> 35) + length;
+        h *= 0x9FB21C651E98DF25L;
+        return h ^ h >>> 28;
+    }
+
+    private static long secret64(int offset) {
+        return (long) ARRAY_LONG_LE.get(SECRET, offset);
+    }
+
+    private static int secret32(int offset) {
+        return (int) ARRAY_INT_LE.get(SECRET, offset);
+    }
+}
@@ -0,0 +1,402 @@
+package io.github.gbessonov.jhash.io;
+
+import io.github.gbessonov.jhash.HashCode;
+import io.github.gbessonov.jhash.JHash;
+import io.github.gbessonov.jhash.implementations.murmur3f.Murmur3fFactory;
+import io.github.gbessonov.jhash.implementations.murmur3f.Murmur3fOneShot;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Persistent cache of file content digests, so unchanged files are not hashed again.
+ * <p>
+ * Entries map a file to its Murmur3f digest (seed 0, same as {@link JHash#murmur3_128File(Path)})
+ * together with the size, modification time and, where the file system has one, the file key
+ * (device and inode) observed when it was hashed. A lookup costs one {@code stat}: the entry is
+ * used only if all three still match, otherwise the file is hashed again and the entry replaced.
+ * Files modified less than {@value #RACY_WINDOW_MILLIS} ms before they were hashed are not cached,
+ * since a change within the file system's timestamp granularity would go unnoticed.
+ * <p>
+ * The index is a memory-mapped, open-addressing hash table of fixed 64-byte slots, keyed by the
+ * 128-bit Murmur3f hash of the absolute, normalized path:
+ * <pre>
+ * header (64 bytes): magic, version, slot count, capacity, entry count, access clock
+ * slot   (64 bytes): path hash (16), size (8), mtime nanos (8), file key hash (8),
+ *                    digest h1 (8), digest h2 (8), last access (8, 0 = empty)
+ * </pre>
+ * At most {@code capacity} entries are kept; the table has at least twice as many slots. Once
+ * full, inserting evicts the least recently used entry among a window of
+ * {@value #EVICTION_WINDOW} slots at a random position, an approximation of LRU that keeps
+ * eviction O(1). An index that is unreadable or was created with another capacity is discarded
+ * and rebuilt, as is every cache entry that turns out to be stale.
+ * <p>
+ * The cache is thread-safe: lookups share a read lock and run concurrently, inserts take the
+ * write lock. Hashing a missed file happens outside any lock. The index file must not be opened
+ * by two processes at once.
+ */
+public final class FileHashCache implements Closeable {
+
+    /**
+     * Largest supported capacity, for an index file of 1 GiB.
+     */
+    public static final int MAX_CAPACITY = 1 << 22;
+
+    static final long RACY_WINDOW_MILLIS = 2000;
+    static final int EVICTION_WINDOW = 64;
+
+    private static final int MAGIC = 0x4A484643; // "JHFC"
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 64;
+    private static final int SLOT_SIZE = 64;
+
+    private static final int HEADER_SLOTS = 8;
+    private static final int HEADER_CAPACITY = 12;
+    private static final int HEADER_COUNT = 16;
+    private static final int HEADER_CLOCK = 24;
+
+    private static final int KEY_LOW = 0;
+    private static final int KEY_HIGH = 8;
+    private static final int SIZE = 16;
+    private static final int MTIME = 24;
+    private static final int FILE_KEY = 32;
+    private static final int DIGEST_LOW = 40;
+    private static final int DIGEST_HIGH = 48;
+    private static final int ACCESS = 56;
+
+    private static final VarHandle LONG_LE = MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+    private static final VarHandle INT_LE = MethodHandles.byteBufferViewVarHandle(int[].class, ByteOrder.LITTLE_ENDIAN);
+
+    private final FileChannel channel;
+    private final MappedByteBuffer index;
+    private final int capacity;
+    private final int mask;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final AtomicLong clock;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private int count;
+
+    private FileHashCache(FileChannel channel, MappedByteBuffer index, int capacity, int slots) {
+        this.channel = channel;
+        this.index = index;
+        this.capacity = capacity;
+        this.mask = slots - 1;
+        if (readInt(0) != MAGIC || readInt(4) != VERSION || readInt(HEADER_SLOTS) != slots
+                || readInt(HEADER_CAPACITY) != capacity) {
+            initialize(slots);
+        }
+        this.count = readInt(HEADER_COUNT);
+        this.clock = new AtomicLong(readLong(HEADER_CLOCK));
+    }
+
+    /**
+     * Opens the cache stored in {@code indexFile}, creating it if needed.
+     *
+     * @param indexFile the index file
+     * @param capacity  the maximum number of cached files, at most {@link #MAX_CAPACITY}
+     * @throws IOException if the index file cannot be created or mapped
+     */
+    public static FileHashCache open(Path indexFile, int capacity) throws IOException {
+        if (capacity <= 0 || capacity > MAX_CAPACITY) {
+            throw new IllegalArgumentException("capacity must be in [1, " + MAX_CAPACITY + "]: " + capacity);
+        }
+        int slots = Integer.highestOneBit(capacity) << 2;
+        long fileSize = HEADER_SIZE + (long) slots * SLOT_SIZE;
+        FileChannel channel = FileChannel.open(indexFile,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            if (channel.size() != fileSize) {
+                channel.truncate(0);
+            }
+            MappedByteBuffer index = channel.map(FileChannel.MapMode.READ_WRITE, 0, fileSize);
+            return new FileHashCache(channel, index, capacity, slots);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Returns the digest of the file's content, from the cache if the file is unchanged since it
+     * was cached, otherwise by hashing the file and caching the result.
+     *
+     * @throws IOException if the file cannot be read
+     */
+    public HashCode hash(Path file) throws IOException {
+        Path path = file.toAbsolutePath().normalize();
+        byte[] pathBytes = path.toString().getBytes(StandardCharsets.UTF_8);
+        long[] key = new long[2];
+        Murmur3fOneShot.hash(pathBytes, 0, pathBytes.length, 0, key, 0);
+
+        BasicFileAttributes before = Files.readAttributes(path, BasicFileAttributes.class);
+        long size = before.size();
+        long mtime = before.lastModifiedTime().to(TimeUnit.NANOSECONDS);
+        long fileKey = fileKeyHash(before);
+
+        HashCode cached = lookup(key[0], key[1], size, mtime, fileKey);
+        if (cached != null) {
+            hits.increment();
+            return cached;
+        }
+        misses.increment();
+
+        long started = System.currentTimeMillis();
+        HashCode digest = JHash.murmur3_128File(path);
+        BasicFileAttributes after = Files.readAttributes(path, BasicFileAttributes.class);
+        boolean unchanged = after.size() == size
+                && after.lastModifiedTime().to(TimeUnit.NANOSECONDS) == mtime
+                && fileKeyHash(after) == fileKey;
+        if (unchanged && before.lastModifiedTime().toMillis() < started - RACY_WINDOW_MILLIS) {
+            store(key[0], key[1], size, mtime, fileKey, digest);
+        }
+        return digest;
+    }
+
+    /**
+     * Returns the number of {@link #hash(Path)} calls answered from the cache.
+     */
+    public long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * Returns the number of {@link #hash(Path)} calls that had to hash the file.
+     */
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * Returns the number of entries evicted to stay within the capacity.
+     */
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    /**
+     * Returns the number of cached files.
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return count;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Writes the index back to its file and closes it.
+     */
+    @Override
+    public void close() throws IOException {
+        lock.writeLock().lock();
+        try {
+            writeLong(HEADER_CLOCK, clock.get());
+            index.force();
+            channel.close();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private HashCode lookup(long keyLow, long keyHigh, long size, long mtime, long fileKey) {
+        lock.readLock().lock();
+        try {
+            int slot = find(keyLow, keyHigh);
+            if (slot < 0) {
+                return null;
+            }
+            int base = offset(slot);
+            if (readLong(base + SIZE) != size || readLong(base + MTIME) != mtime
+                    || readLong(base + FILE_KEY) != fileKey) {
+                return null;
+            }
+            // Racing readers may both stamp the slot; either value is recent enough for LRU
+            writeLong(base + ACCESS, clock.incrementAndGet());
+            return Murmur3fFactory.createHashCode(readLong(base + DIGEST_LOW), readLong(base + DIGEST_HIGH));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void store(long keyLow, long keyHigh, long size, long mtime, long fileKey, HashCode digest) {
+        lock.writeLock().lock();
+        try {
+            int slot = find(keyLow, keyHigh);
+            if (slot < 0) {
+                if (count >= capacity) {
+                    evict();
+                }
+                slot = findEmpty(keyLow);
+                if (slot < 0) {
+                    // More entries than the header counts: discard the index, as on open
+                    initialize(mask + 1);
+                    count = 0;
+                    slot = (int) keyLow & mask;
+                }
+                writeInt(HEADER_COUNT, ++count);
+            }
+            int base = offset(slot);
+            writeLong(base + KEY_LOW, keyLow);
+            writeLong(base + KEY_HIGH, keyHigh);
+            writeLong(base + SIZE, size);
+            writeLong(base + MTIME, mtime);
+            writeLong(base + FILE_KEY, fileKey);
+            writeLong(base + DIGEST_LOW, digest.lowBits());
+            writeLong(base + DIGEST_HIGH, digest.highBits());
+            writeLong(base + ACCESS, clock.incrementAndGet());
+            writeLong(HEADER_CLOCK, clock.get());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Number of entries that a lookup of their own key finds, i.e. all of them if the table is consistent
+    int reachableEntries() {
+        lock.readLock().lock();
+        try {
+            int reachable = 0;
+            for (int slot = 0; slot <= mask; slot++) {
+                int base = offset(slot);
+                if (readLong(base + ACCESS) != 0 && find(readLong(base + KEY_LOW), readLong(base + KEY_HIGH)) == slot) {
+                    reachable++;
+                }
+            }
+            return reachable;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Linear probing; returns the slot holding the key or -1. A corrupt index may have no empty
+    // slot, so the probe stops after visiting every slot once
+    private int find(long keyLow, long keyHigh) {
+        int slot = (int) keyLow & mask;
+        for (int i = 0; i <= mask; i++, slot = (slot + 1) & mask) {
+            int base = offset(slot);
+            if (readLong(base + ACCESS) == 0) {
+                return -1;
+            }
+            if (readLong(base + KEY_LOW) == keyLow && readLong(base + KEY_HIGH) == keyHigh) {
+                return slot;
+            }
+        }
+        return -1;
+    }
+
+    // First empty slot of the key's probe sequence, or -1 if the index is corrupt and full
+    private int findEmpty(long keyLow) {
+        int slot = (int) keyLow & mask;
+        for (int i = 0; i <= mask; i++, slot = (slot + 1) & mask) {
+            if (readLong(offset(slot) + ACCESS) == 0) {
+                return slot;
+            }
+        }
+        return -1;
+    }
+
+    // Removes the least recently used entry of a random window of slots
+    private void evict() {
+        int start = ThreadLocalRandom.current().nextInt(mask + 1);
+        int victim = -1;
+        long oldest = Long.MAX_VALUE;
+        // The table is at most half full, so a window almost always holds entries; keep going if not
+        for (int i = 0; i <= mask && (i < EVICTION_WINDOW || victim < 0); i++) {
+            int slot = (start + i) & mask;
+            long access = readLong(offset(slot) + ACCESS);
+            if (access != 0 && access < oldest) {
+                oldest = access;
+                victim = slot;
+            }
+        }
+        if (victim < 0) {
+            // Nothing to evict: the header overcounted the entries
+            count = 0;
+            writeInt(HEADER_COUNT, count);
+            return;
+        }
+        delete(victim);
+        writeInt(HEADER_COUNT, --count);
+        evictions.increment();
+    }
+
+    // Backward-shift deletion: moves later entries of the probe sequence up so lookups never stop early
+    private void delete(int hole) {
+        int slot = (hole + 1) & mask;
+        for (int i = 0; i < mask && readLong(offset(slot) + ACCESS) != 0; i++, slot = (slot + 1) & mask) {
+            int home = (int) readLong(offset(slot) + KEY_LOW) & mask;
+            // The entry may fill the hole unless its home lies cyclically in (hole, slot]
+            boolean homeAfterHole = ((slot - home) & mask) < ((slot - hole) & mask);
+            if (!homeAfterHole) {
+                copySlot(slot, hole);
+                hole = slot;
+            }
+        }
+        int base = offset(hole);
+        for (int i = 0; i < SLOT_SIZE; i += Long.BYTES) {
+            writeLong(base + i, 0);
+        }
+    }
+
+    private void copySlot(int from, int to) {
+        int source = offset(from);
+        int target = offset(to);
+        for (int i = 0; i < SLOT_SIZE; i += Long.BYTES) {
+            writeLong(target + i, readLong(source + i));
+        }
+    }
+
+    private void initialize(int slots) {
+        for (int i = 0; i < index.capacity(); i += Long.BYTES) {
+            writeLong(i, 0);
+        }
+        writeInt(0, MAGIC);
+        writeInt(4, VERSION);
+        writeInt(HEADER_SLOTS, slots);
+        writeInt(HEADER_CAPACITY, capacity);
+    }
+
+    private static long fileKeyHash(BasicFileAttributes attributes) {
+        Object fileKey = attributes.fileKey();
+        return fileKey == null ? 0 : JHash.murmur3_128_low64(fileKey.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static int offset(int slot) {
+        return HEADER_SIZE + slot * SLOT_SIZE;
+    }
+
+    private long readLong(int offset) {
+        return (long) LONG_LE.get(index, offset);
+    }
+
+    private void writeLong(int offset, long value) {
+        LONG_LE.set(index, offset, value);
+    }
+
+    private int readInt(int offset) {
+        return (int) INT_LE.get(index, offset);
+    }
+
+    private void writeInt(int offset, int value) {
+        INT_LE.set(index, offset, value);
+    }
+}
@@ -0,0 +1,49 @@
+package io.github.gbessonov.jhash.io;
+
+import io.github.gbessonov.jhash.HashFunction;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * Feeds file contents into a {@link HashFunction} straight from memory-mapped windows.
+ * <p>
+ * The file is mapped read-only in windows of up to {@link #DEFAULT_WINDOW_SIZE} bytes and every
+ * window is passed to {@link HashFunction#include(java.nio.ByteBuffer)}, so the block loop reads
+ * the page cache directly and no heap copy of the file is ever made. Files of any size are
+ * supported, including those larger than 2 GiB.
+ */
+public final class FileHashing {
+
+    /**
+     * Size of a single mapped window: 1 GiB, a multiple of the 16-byte Murmur3 block size.
+     */
+    public static final long DEFAULT_WINDOW_SIZE = 1L << 30;
+
+    private FileHashing() {
+    }
+
+    /**
+     * Includes the whole content of the channel's file, from offset 0 to its current size.
+     * The channel's position is not used and not changed.
+     *
+     * @param hasher  the hash function to feed
+     * @param channel an open channel readable in {@link FileChannel.MapMode#READ_ONLY} mode
+     * @return the given hash function for method chaining
+     * @throws IOException if the file cannot be mapped
+     */
+    public static HashFunction include(HashFunction hasher, FileChannel channel) throws IOException {
+        return include(hasher, channel, DEFAULT_WINDOW_SIZE);
+    }
+
+    static HashFunction include(HashFunction hasher, FileChannel channel, long windowSize) throws IOException {
+        long size = channel.size();
+        for (long position = 0; position < size; position += windowSize) {
+            MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, position,
+                    Math.min(windowSize, size - position));
+            hasher.include(window);
+        }
+        return hasher;
+    }
+}
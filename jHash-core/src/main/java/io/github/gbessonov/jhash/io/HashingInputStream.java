@@ -0,0 +1,94 @@
+package io.github.gbessonov.jhash.io;
+
+import io.github.gbessonov.jhash.HashCode;
+import io.github.gbessonov.jhash.HashFunction;
+
+import javax.annotation.concurrent.NotThreadSafe;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Objects;
+
+/**
+ * An {@link InputStream} that feeds every byte read from the underlying stream into a {@link HashFunction}.
+ * <p>
+ * Bytes are included straight from the caller's array, so no copy is made and nothing is allocated
+ * per read. Skipped bytes are read through a small scratch array, allocated once, so that they are
+ * hashed as well. {@link #transferTo(java.io.OutputStream)} reads through this stream and is hashed
+ * like any other read. Marking is not supported.
+ */
+@NotThreadSafe
+public final class HashingInputStream extends FilterInputStream {
+
+    private static final int SKIP_BUFFER_SIZE = 2048;
+
+    private final HashFunction hasher;
+    private byte[] skipBuffer;
+
+    /**
+     * @param hasher the hash function receiving the bytes read
+     * @param in     the stream to read from
+     */
+    public HashingInputStream(HashFunction hasher, InputStream in) {
+        super(Objects.requireNonNull(in, "in"));
+        this.hasher = Objects.requireNonNull(hasher, "hasher");
+    }
+
+    @Override
+    public int read() throws IOException {
+        int b = in.read();
+        if (b >= 0) {
+            hasher.putByte((byte) b);
+        }
+        return b;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        int n = in.read(b, off, len);
+        if (n > 0) {
+            hasher.include(b, off, n);
+        }
+        return n;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        if (n <= 0) {
+            return 0;
+        }
+        if (skipBuffer == null) {
+            skipBuffer = new byte[SKIP_BUFFER_SIZE];
+        }
+        long remaining = n;
+        while (remaining > 0) {
+            int read = read(skipBuffer, 0, (int) Math.min(SKIP_BUFFER_SIZE, remaining));
+            if (read < 0) {
+                break;
+            }
+            remaining -= read;
+        }
+        return n - remaining;
+    }
+
+    @Override
+    public boolean markSupported() {
+        return false;
+    }
+
+    @Override
+    public void mark(int readlimit) {
+    }
+
+    @Override
+    public void reset() throws IOException {
+        throw new IOException("mark/reset not supported");
+    }
+
+    /**
+     * Finalizes the hash function and returns the digest of all bytes read so far.
+     */
+    public HashCode hash() {
+        return hasher.hash();
+    }
+}
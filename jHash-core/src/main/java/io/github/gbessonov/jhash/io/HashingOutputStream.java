@@ -0,0 +1,51 @@
+package io.github.gbessonov.jhash.io;
+
+import io.github.gbessonov.jhash.HashCode;
+import io.github.gbessonov.jhash.HashFunction;
+
+import javax.annotation.concurrent.NotThreadSafe;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Objects;
+
+/**
+ * An {@link OutputStream} that feeds every byte written to the underlying stream into a {@link HashFunction}.
+ * <p>
+ * Array writes are passed through to the underlying stream as a whole (unlike {@link FilterOutputStream},
+ * which writes byte by byte) and are included straight from the caller's array, so no copy is made
+ * and nothing is allocated per write. Bytes are hashed only after the underlying write succeeded.
+ */
+@NotThreadSafe
+public final class HashingOutputStream extends FilterOutputStream {
+
+    private final HashFunction hasher;
+
+    /**
+     * @param hasher the hash function receiving the bytes written
+     * @param out    the stream to write to
+     */
+    public HashingOutputStream(HashFunction hasher, OutputStream out) {
+        super(Objects.requireNonNull(out, "out"));
+        this.hasher = Objects.requireNonNull(hasher, "hasher");
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        out.write(b);
+        hasher.putByte((byte) b);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        out.write(b, off, len);
+        hasher.include(b, off, len);
+    }
+
+    /**
+     * Finalizes the hash function and returns the digest of all bytes written so far.
+     */
+    public HashCode hash() {
+        return hasher.hash();
+    }
+}
@@ -0,0 +1,64 @@
+package io.github.gbessonov.jhash.io;
+
+import io.github.gbessonov.jhash.HashCode;
+import io.github.gbessonov.jhash.HashFunction;
+
+import javax.annotation.concurrent.NotThreadSafe;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.util.Objects;
+
+/**
+ * A {@link ReadableByteChannel} that feeds every byte read from the underlying channel into a {@link HashFunction}.
+ * <p>
+ * The bytes just read are included in place from the caller's buffer, heap or direct, by narrowing
+ * its position and limit around them and restoring both afterwards; no buffer is copied, duplicated
+ * or allocated per read. The channel can be used as the source of
+ * {@link java.nio.channels.FileChannel#transferFrom(ReadableByteChannel, long, long)}.
+ */
+@NotThreadSafe
+public final class HashingReadableByteChannel implements ReadableByteChannel {
+
+    private final HashFunction hasher;
+    private final ReadableByteChannel channel;
+
+    /**
+     * @param hasher  the hash function receiving the bytes read
+     * @param channel the channel to read from
+     */
+    public HashingReadableByteChannel(HashFunction hasher, ReadableByteChannel channel) {
+        this.hasher = Objects.requireNonNull(hasher, "hasher");
+        this.channel = Objects.requireNonNull(channel, "channel");
+    }
+
+    @Override
+    public int read(ByteBuffer dst) throws IOException {
+        int start = dst.position();
+        int n = channel.read(dst);
+        if (n > 0) {
+            int end = dst.position();
+            int limit = dst.limit();
+            hasher.include(dst.position(start).limit(end));
+            dst.limit(limit).position(end);
+        }
+        return n;
+    }
+
+    @Override
+    public boolean isOpen() {
+        return channel.isOpen();
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    /**
+     * Finalizes the hash function and returns the digest of all bytes read so far.
+     */
+    public HashCode hash() {
+        return hasher.hash();
+    }
+}
@@ -0,0 +1,111 @@
+package io.github.gbessonov.jhash.io;
+
+import io.github.gbessonov.jhash.HashCode;
+import io.github.gbessonov.jhash.HashFunction;
+
+import java.nio.ByteBuffer;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
+
+/**
+ * A {@link Flow.Subscriber} that hashes a stream of {@link ByteBuffer} chunks as they arrive.
+ * <p>
+ * Each chunk's remaining bytes are fed to the {@link HashFunction} in place on the publisher's
+ * thread; the chunk's position and limit are left unchanged. Backpressure is respected: at most
+ * {@code batchSize} chunks are outstanding, and demand is topped up again once half a batch has
+ * been consumed. {@link #result()} completes with the digest as soon as {@code onComplete} is
+ * signalled, or exceptionally with the publisher's error or the hash function's, the latter also
+ * cancelling the subscription. Completing or cancelling the result future early cancels the
+ * subscription at the next chunk.
+ * <p>
+ * A subscriber hashes a single stream; a second subscription is cancelled immediately.
+ * Signals are serialized by the {@link Flow} contract, so no synchronization is needed.
+ */
+public final class HashingSubscriber implements Flow.Subscriber<ByteBuffer> {
+
+    /**
+     * Default maximum number of chunks requested at once.
+     */
+    public static final int DEFAULT_BATCH_SIZE = 16;
+
+    private final HashFunction hasher;
+    private final int batchSize;
+    private final CompletableFuture<HashCode> result = new CompletableFuture<>();
+
+    private Flow.Subscription subscription;
+    private int outstanding;
+
+    /**
+     * Creates a subscriber requesting {@value #DEFAULT_BATCH_SIZE} chunks at a time.
+     */
+    public HashingSubscriber(HashFunction hasher) {
+        this(hasher, DEFAULT_BATCH_SIZE);
+    }
+
+    /**
+     * @param hasher    the hash function receiving the chunks
+     * @param batchSize the maximum number of chunks requested from the publisher at once
+     * @throws IllegalArgumentException if {@code batchSize} is not positive
+     */
+    public HashingSubscriber(HashFunction hasher, int batchSize) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("batchSize must be positive: " + batchSize);
+        }
+        this.hasher = Objects.requireNonNull(hasher, "hasher");
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Returns the future completed with the digest of all chunks once the stream completes.
+     */
+    public CompletableFuture<HashCode> result() {
+        return result;
+    }
+
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+        Objects.requireNonNull(subscription, "subscription");
+        if (this.subscription != null || result.isDone()) {
+            subscription.cancel();
+            return;
+        }
+        this.subscription = subscription;
+        outstanding = batchSize;
+        subscription.request(batchSize);
+    }
+
+    @Override
+    public void onNext(ByteBuffer item) {
+        Objects.requireNonNull(item, "item");
+        if (result.isDone()) {
+            subscription.cancel();
+            return;
+        }
+        try {
+            hasher.include(item);
+        } catch (RuntimeException e) {
+            // onNext must not throw (Reactive Streams rule 2.13): fail the result instead
+            subscription.cancel();
+            result.completeExceptionally(e);
+            return;
+        }
+        // Replenish in bulk rather than one chunk at a time to keep request() calls rare
+        if (--outstanding <= batchSize / 2) {
+            subscription.request(batchSize - outstanding);
+            outstanding = batchSize;
+        }
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        result.completeExceptionally(Objects.requireNonNull(throwable, "throwable"));
+    }
+
+    @Override
+    public void onComplete() {
+        if (!result.isDone()) {
+            result.complete(hasher.hash());
+        }
+    }
+}
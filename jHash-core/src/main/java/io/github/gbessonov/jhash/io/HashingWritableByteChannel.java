@@ -0,0 +1,65 @@
+package io.github.gbessonov.jhash.io;
+
+import io.github.gbessonov.jhash.HashCode;
+import io.github.gbessonov.jhash.HashFunction;
+
+import javax.annotation.concurrent.NotThreadSafe;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.util.Objects;
+
+/**
+ * A {@link WritableByteChannel} that feeds every byte written to the underlying channel into a {@link HashFunction}.
+ * <p>
+ * Only the bytes the underlying channel actually consumed are hashed, so partial writes of
+ * non-blocking channels are handled. They are included in place from the caller's buffer, heap or
+ * direct, by narrowing its position and limit around them and restoring both afterwards; no buffer
+ * is copied, duplicated or allocated per write. The channel can be used as the target of
+ * {@link java.nio.channels.FileChannel#transferTo(long, long, WritableByteChannel)}.
+ */
+@NotThreadSafe
+public final class HashingWritableByteChannel implements WritableByteChannel {
+
+    private final HashFunction hasher;
+    private final WritableByteChannel channel;
+
+    /**
+     * @param hasher  the hash function receiving the bytes written
+     * @param channel the channel to write to
+     */
+    public HashingWritableByteChannel(HashFunction hasher, WritableByteChannel channel) {
+        this.hasher = Objects.requireNonNull(hasher, "hasher");
+        this.channel = Objects.requireNonNull(channel, "channel");
+    }
+
+    @Override
+    public int write(ByteBuffer src) throws IOException {
+        int start = src.position();
+        int n = channel.write(src);
+        if (n > 0) {
+            int end = src.position();
+            int limit = src.limit();
+            hasher.include(src.position(start).limit(end));
+            src.limit(limit).position(end);
+        }
+        return n;
+    }
+
+    @Override
+    public boolean isOpen() {
+        return channel.isOpen();
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    /**
+     * Finalizes the hash function and returns the digest of all bytes written so far.
+     */
+    public HashCode hash() {
+        return hasher.hash();
+    }
+}
@@ -0,0 +1,61 @@
+package io.github.gbessonov.jhash.routing;
+
+/**
+ * Jump consistent hash (Lamping and Veach): routes keys onto numbered buckets with no state but
+ * the bucket count.
+ * <p>
+ * Keys spread evenly, and growing from {@code n} to {@code n + 1} buckets moves only the
+ * {@code 1 / (n + 1)} of the keys that land on the new bucket. Buckets can only be added or removed
+ * at the end, so it suits numbered shards rather than a set of named nodes that come and go; use a
+ * {@link RingRouter} or {@link RendezvousRouter} for those. A lookup takes {@code O(log n)} steps
+ * and no memory.
+ */
+public final class JumpRouter implements Router {
+
+    private final int buckets;
+
+    private JumpRouter(int buckets) {
+        this.buckets = buckets;
+    }
+
+    /**
+     * Creates a router onto {@code buckets} buckets.
+     *
+     * @throws IllegalArgumentException if {@code buckets} is not positive
+     */
+    public static JumpRouter create(int buckets) {
+        if (buckets <= 0) {
+            throw new IllegalArgumentException("buckets must be positive: " + buckets);
+        }
+        return new JumpRouter(buckets);
+    }
+
+    /**
+     * Returns the bucket in [0, {@code buckets}) of the 64-bit key hash.
+     *
+     * @throws IllegalArgumentException if {@code buckets} is not positive
+     */
+    public static int bucket(long hash, int buckets) {
+        if (buckets <= 0) {
+            throw new IllegalArgumentException("buckets must be positive: " + buckets);
+        }
+        long bucket = -1;
+        long next = 0;
+        while (next < buckets) {
+            bucket = next;
+            hash = hash * 2862933555777941757L + 1;
+            next = (long) ((bucket + 1) * ((double) (1L << 31) / (double) ((hash >>> 33) + 1)));
+        }
+        return (int) bucket;
+    }
+
+    @Override
+    public int routeHash(long hash) {
+        return bucket(hash, buckets);
+    }
+
+    @Override
+    public int nodeCount() {
+        return buckets;
+    }
+}
@@ -0,0 +1,24 @@
+package io.github.gbessonov.jhash.routing;
+
+import java.util.Arrays;
+
+final class NodeIds {
+
+    private NodeIds() {
+    }
+
+    // Copies the ids, so that routers stay immutable, after checking that they are distinct
+    static long[] check(long[] nodeIds, int maxNodes) {
+        if (nodeIds.length == 0 || nodeIds.length > maxNodes) {
+            throw new IllegalArgumentException("Number of nodes must be in [1, " + maxNodes + "]: " + nodeIds.length);
+        }
+        long[] sorted = nodeIds.clone();
+        Arrays.sort(sorted);
+        for (int i = 1; i < sorted.length; i++) {
+            if (sorted[i] == sorted[i - 1]) {
+                throw new IllegalArgumentException("Duplicate node id: " + sorted[i]);
+            }
+        }
+        return nodeIds.clone();
+    }
+}
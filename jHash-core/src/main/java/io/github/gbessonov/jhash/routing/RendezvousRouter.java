@@ -0,0 +1,69 @@
+package io.github.gbessonov.jhash.routing;
+
+import io.github.gbessonov.jhash.implementations.murmur3f.Murmur3fOneShot;
+
+/**
+ * Rendezvous (highest random weight) hashing: every node scores the key, and the key goes to the
+ * node with the highest score.
+ * <p>
+ * Nodes are identified by 64-bit ids, such as {@code JHash.murmur3_128_low64} of their names. The
+ * score of a key for a node depends on nothing else, so removing a node only moves its own keys,
+ * each to its runner-up, and adding one only takes the keys it now wins. Keys spread evenly without
+ * virtual nodes and the router holds one {@code long} per node, but a lookup scores every node, so
+ * it fits tens to hundreds of nodes; a {@link RingRouter} scales further.
+ * <p>
+ * The score is the Murmur3f hash of the key hash XOR a per-node seed, itself the hash of the id.
+ */
+public final class RendezvousRouter implements Router {
+
+    private final long[] nodeIds;
+    private final long[] seeds;
+
+    private RendezvousRouter(long[] nodeIds, long[] seeds) {
+        this.nodeIds = nodeIds;
+        this.seeds = seeds;
+    }
+
+    /**
+     * Creates a router onto the nodes. Node {@code i} is the node with id {@code nodeIds[i]}.
+     *
+     * @throws IllegalArgumentException if there are no nodes or duplicate ids
+     */
+    public static RendezvousRouter create(long[] nodeIds) {
+        long[] ids = NodeIds.check(nodeIds, Integer.MAX_VALUE);
+        long[] seeds = new long[ids.length];
+        for (int node = 0; node < ids.length; node++) {
+            seeds[node] = Murmur3fOneShot.hashLow64(ids[node], 0);
+        }
+        return new RendezvousRouter(ids, seeds);
+    }
+
+    @Override
+    public int routeHash(long hash) {
+        int best = 0;
+        // Sign-flipped so that signed comparisons order the scores as unsigned
+        long bestScore = Long.MIN_VALUE;
+        for (int node = 0; node < seeds.length; node++) {
+            long score = Murmur3fOneShot.hashLow64(hash ^ seeds[node], 0) ^ Long.MIN_VALUE;
+            if (score > bestScore) {
+                bestScore = score;
+                best = node;
+            }
+        }
+        return best;
+    }
+
+    @Override
+    public int nodeCount() {
+        return nodeIds.length;
+    }
+
+    /**
+     * Returns the id of the node.
+     *
+     * @throws IndexOutOfBoundsException if {@code node} is not in [0, {@link #nodeCount()})
+     */
+    public long nodeId(int node) {
+        return nodeIds[node];
+    }
+}
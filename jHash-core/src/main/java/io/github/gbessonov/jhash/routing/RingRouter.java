@@ -0,0 +1,112 @@
+package io.github.gbessonov.jhash.routing;
+
+import io.github.gbessonov.jhash.implementations.murmur3f.Murmur3fOneShot;
+
+import java.util.Arrays;
+
+/**
+ * Ketama-style consistent hash ring: every node owns a number of virtual-node points on a 64-bit
+ * ring, and a key goes to the owner of the first point at or after its hash.
+ * <p>
+ * Nodes are identified by 64-bit ids, such as {@code JHash.murmur3_128_low64} of their names; the
+ * points of node {@code id} are the Murmur3f hashes of {@code (id, 0)}, {@code (id, 1)} and so on,
+ * so a node keeps its points whatever the other nodes, and adding or removing a node only moves
+ * the keys it gains or loses. More virtual nodes spread keys more evenly at the cost of memory.
+ * <p>
+ * The ring is one sorted {@code long[]}: each entry keeps the top 44 bits of a point and the index
+ * of its owner in the low 20 bits, so a lookup is a single binary search over a primitive array.
+ */
+public final class RingRouter implements Router {
+
+    /**
+     * Largest supported number of nodes.
+     */
+    public static final int MAX_NODES = 1 << 20;
+
+    /**
+     * Largest supported number of points, nodes times virtual nodes.
+     */
+    public static final int MAX_POINTS = 1 << 24;
+
+    /**
+     * Virtual nodes per node of {@link #create(long[])}, as in ketama.
+     */
+    public static final int DEFAULT_VIRTUAL_NODES = 160;
+
+    private static final int OWNER_BITS = 20;
+    private static final long OWNER_MASK = (1L << OWNER_BITS) - 1;
+
+    private final long[] nodeIds;
+    // Points with their owner in the low bits, sign-flipped so that signed order is ring order
+    private final long[] ring;
+
+    private RingRouter(long[] nodeIds, long[] ring) {
+        this.nodeIds = nodeIds;
+        this.ring = ring;
+    }
+
+    /**
+     * Creates a ring of the nodes with {@value #DEFAULT_VIRTUAL_NODES} virtual nodes each. Node
+     * {@code i} is the node with id {@code nodeIds[i]}.
+     *
+     * @throws IllegalArgumentException if there are no nodes, more than {@link #MAX_NODES}, or
+     *                                  duplicate ids
+     */
+    public static RingRouter create(long[] nodeIds) {
+        return create(nodeIds, DEFAULT_VIRTUAL_NODES);
+    }
+
+    /**
+     * Creates a ring of the nodes with {@code virtualNodes} points each. Node {@code i} is the node
+     * with id {@code nodeIds[i]}.
+     *
+     * @throws IllegalArgumentException if there are no nodes, more than {@link #MAX_NODES}, or
+     *                                  duplicate ids, or if {@code virtualNodes} is not positive or
+     *                                  the ring would exceed {@link #MAX_POINTS} points
+     */
+    public static RingRouter create(long[] nodeIds, int virtualNodes) {
+        long[] ids = NodeIds.check(nodeIds, MAX_NODES);
+        if (virtualNodes <= 0 || (long) ids.length * virtualNodes > MAX_POINTS) {
+            throw new IllegalArgumentException("Unsupported number of points: " + ids.length + " x " + virtualNodes);
+        }
+        long[] ring = new long[ids.length * virtualNodes];
+        for (int node = 0, i = 0; node < ids.length; node++) {
+            for (int replica = 0; replica < virtualNodes; replica++) {
+                long point = Murmur3fOneShot.hashLow64(ids[node], replica, 0);
+                ring[i++] = (point & ~OWNER_MASK | node) ^ Long.MIN_VALUE;
+            }
+        }
+        Arrays.sort(ring);
+        return new RingRouter(ids, ring);
+    }
+
+    @Override
+    public int routeHash(long hash) {
+        int i = Arrays.binarySearch(ring, (hash & ~OWNER_MASK) ^ Long.MIN_VALUE);
+        if (i < 0) {
+            i = -i - 1;
+            if (i == ring.length) {
+                i = 0;
+            }
+        }
+        return (int) (ring[i] & OWNER_MASK);
+    }
+
+    @Override
+    public int nodeCount() {
+        return nodeIds.length;
+    }
+
+    /**
+     * Returns the id of the node.
+     *
+     * @throws IndexOutOfBoundsException if {@code node} is not in [0, {@link #nodeCount()})
+     */
+    public long nodeId(int node) {
+        return nodeIds[node];
+    }
+
+    public int virtualNodes() {
+        return ring.length / nodeIds.length;
+    }
+}
@@ -0,0 +1,39 @@
+package io.github.gbessonov.jhash.routing;
+
+import io.github.gbessonov.jhash.JHash;
+import io.github.gbessonov.jhash.implementations.murmur3f.Murmur3fOneShot;
+
+/**
+ * Maps keys onto a fixed set of nodes, numbered from 0 to {@link #nodeCount()} - 1.
+ * <p>
+ * Keys are hashed with Murmur3f (seed 0) and routed by the low 64 bits of the digest, the value of
+ * {@link JHash#murmur3_128_low64(byte[])}, so callers that already hold a digest can route it with
+ * {@link #routeHash(long)} instead of hashing the key again. Routing never allocates, and routers
+ * are immutable and thread-safe.
+ */
+public interface Router {
+
+    /**
+     * Returns the node of the key.
+     */
+    default int route(byte[] key) {
+        return routeHash(Murmur3fOneShot.hashLow64(key, 0, key.length, 0));
+    }
+
+    /**
+     * Returns the node of the 8 little-endian bytes of the key.
+     */
+    default int route(long key) {
+        return routeHash(Murmur3fOneShot.hashLow64(key, 0));
+    }
+
+    /**
+     * Returns the node of the key whose Murmur3f digest has the given low 64 bits.
+     */
+    int routeHash(long hash);
+
+    /**
+     * Returns the number of nodes keys are routed to.
+     */
+    int nodeCount();
+}
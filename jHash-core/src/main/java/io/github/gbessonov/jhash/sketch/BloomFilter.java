@@ -0,0 +1,445 @@
+package io.github.gbessonov.jhash.sketch;
+
+import io.github.gbessonov.jhash.HashCode;
+import io.github.gbessonov.jhash.JHash;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bloom filter over an off-heap bitset, probed with the two halves of a single Murmur3f digest.
+ * <p>
+ * Keys are hashed once with Murmur3f (seed 0, same as {@link JHash#murmur3_128(byte[])}) and the
+ * k probe positions are derived from the low and high 64 bits {@code h1} and {@code h2} of the
+ * digest as {@code h1 + i * h2} (Kirsch and Mitzenmacher), each mapped onto the m bits by a
+ * multiply-high range reduction rather than a division. Keys that are already hashed go in
+ * through {@link #put(long, long)} without hashing again; digests shorter than 128 bits, whose
+ * high half is zero, are remixed into two halves first.
+ * <p>
+ * The bits live outside the heap, in direct or memory-mapped buffers of up to
+ * {@value #SEGMENT_BYTES} bytes each, so m is not bound by the size of a Java array. The filter
+ * is thread-safe and lock-free: {@code put} sets each probed bit with an atomic OR of its 64-bit
+ * word, skipped if the bit is already set, and queries read the words without synchronization.
+ * A query racing with a {@code put} of the same key may miss some of its bits.
+ * <p>
+ * {@link #writeTo(Path)} and {@link #createMapped} use the same file layout, so a written filter
+ * can be mapped back with {@link #map(Path)}:
+ * <pre>
+ * header (64 bytes): magic, version, hash functions, bit count m
+ * words  (8 bytes):  ceil(m / 64) little-endian words, bit i at word i / 64, bit i % 64
+ * </pre>
+ */
+public final class BloomFilter implements Closeable {
+
+    /**
+     * Largest supported number of bits, for a bitset of 128 GiB.
+     */
+    public static final long MAX_BITS = 1L << 40;
+
+    /**
+     * Largest supported number of hash functions.
+     */
+    public static final int MAX_HASH_FUNCTIONS = 64;
+
+    static final int SEGMENT_BYTES = 1 << 30;
+
+    private static final int MAGIC = 0x4A484246; // "JHBF"
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 64;
+
+    private static final int HEADER_HASH_FUNCTIONS = 8;
+    private static final int HEADER_BITS = 16;
+
+    private static final VarHandle LONG_LE = MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+
+    private final ByteBuffer[] segments;
+    private final int segmentShift;
+    private final long segmentMask;
+    private final long bitSize;
+    private final long wordCount;
+    private final int hashFunctions;
+    private final FileChannel channel;
+    private final LongAdder bitCount = new LongAdder();
+
+    private BloomFilter(ByteBuffer[] segments, int segmentShift, long bitSize, int hashFunctions, FileChannel channel) {
+        this.segments = segments;
+        this.segmentShift = segmentShift;
+        this.segmentMask = (1L << segmentShift) - 1;
+        this.bitSize = bitSize;
+        this.wordCount = words(bitSize);
+        this.hashFunctions = hashFunctions;
+        this.channel = channel;
+    }
+
+    /**
+     * Creates an empty filter in direct memory, sized for {@code expectedInsertions} keys at a
+     * false positive probability of {@code fpp}.
+     *
+     * @throws IllegalArgumentException if {@code expectedInsertions} is not positive, {@code fpp}
+     *                                  is not in (0, 1), or the filter would exceed {@link #MAX_BITS}
+     */
+    public static BloomFilter create(long expectedInsertions, double fpp) {
+        long bits = optimalBits(expectedInsertions, fpp);
+        return createWithBits(bits, optimalHashFunctions(expectedInsertions, bits));
+    }
+
+    /**
+     * Creates an empty filter in direct memory with the given geometry.
+     *
+     * @param bits          the number of bits m, at most {@link #MAX_BITS}
+     * @param hashFunctions the number of probes k per key, at most {@link #MAX_HASH_FUNCTIONS}
+     */
+    public static BloomFilter createWithBits(long bits, int hashFunctions) {
+        return allocate(bits, hashFunctions, words(SEGMENT_BYTES * 8L));
+    }
+
+    // Tests shrink the segments to cover the addressing across them with little memory
+    static BloomFilter allocate(long bits, int hashFunctions, long wordsPerSegment) {
+        checkGeometry(bits, hashFunctions);
+        int shift = Long.numberOfTrailingZeros(wordsPerSegment);
+        long words = words(bits);
+        ByteBuffer[] segments = new ByteBuffer[(int) ((words + wordsPerSegment - 1) >>> shift)];
+        for (int i = 0; i < segments.length; i++) {
+            int size = (int) (Math.min(wordsPerSegment, words - ((long) i << shift)) * Long.BYTES);
+            segments[i] = ByteBuffer.allocateDirect(size + Long.BYTES - 1).alignedSlice(Long.BYTES);
+        }
+        return new BloomFilter(segments, shift, bits, hashFunctions, null);
+    }
+
+    /**
+     * Creates an empty filter in a new memory-mapped file, sized like {@link #create(long, double)}.
+     * Every {@code put} is visible in the file, which is complete once the filter is closed.
+     *
+     * @throws IOException if the file already exists or cannot be created or mapped
+     */
+    public static BloomFilter createMapped(Path file, long expectedInsertions, double fpp) throws IOException {
+        long bits = optimalBits(expectedInsertions, fpp);
+        int hashFunctions = optimalHashFunctions(expectedInsertions, bits);
+        checkGeometry(bits, hashFunctions);
+        FileChannel channel = FileChannel.open(file,
+                StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            channel.write(header(bits, hashFunctions), 0);
+            return mapWords(channel, bits, hashFunctions);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Maps a filter written by {@link #writeTo(Path)} or {@link #createMapped}. Puts into the
+     * returned filter go to the file.
+     *
+     * @throws IOException if the file cannot be mapped or does not hold a filter
+     */
+    public static BloomFilter map(Path file) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+            if (channel.size() >= HEADER_SIZE) {
+                channel.read(header, 0);
+            }
+            int hashFunctions = header.getInt(HEADER_HASH_FUNCTIONS);
+            long bits = header.getLong(HEADER_BITS);
+            if (header.hasRemaining() || header.getInt(0) != MAGIC || header.getInt(4) != VERSION
+                    || hashFunctions <= 0 || hashFunctions > MAX_HASH_FUNCTIONS || bits <= 0 || bits > MAX_BITS
+                    || channel.size() != HEADER_SIZE + words(bits) * Long.BYTES) {
+                throw new IOException("Not a Bloom filter: " + file);
+            }
+            BloomFilter filter = mapWords(channel, bits, hashFunctions);
+            filter.bitCount.add(filter.countBits());
+            return filter;
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    private static BloomFilter mapWords(FileChannel channel, long bits, int hashFunctions) throws IOException {
+        long wordsPerSegment = SEGMENT_BYTES / Long.BYTES;
+        int shift = Long.numberOfTrailingZeros(wordsPerSegment);
+        long words = words(bits);
+        ByteBuffer[] segments = new ByteBuffer[(int) ((words + wordsPerSegment - 1) >>> shift)];
+        for (int i = 0; i < segments.length; i++) {
+            long first = (long) i << shift;
+            long size = Math.min(wordsPerSegment, words - first) * Long.BYTES;
+            segments[i] = channel.map(FileChannel.MapMode.READ_WRITE, HEADER_SIZE + first * Long.BYTES, size)
+                    .order(ByteOrder.LITTLE_ENDIAN);
+        }
+        return new BloomFilter(segments, shift, bits, hashFunctions, channel);
+    }
+
+    /**
+     * Adds the key hashed with Murmur3f.
+     *
+     * @return whether any bit changed, i.e. the key was definitely not present before
+     */
+    public boolean put(byte[] data) {
+        long[] digest = KeyDigest.of(data);
+        return put(digest[0], digest[1]);
+    }
+
+    /**
+     * Adds the 8 little-endian bytes of the key hashed with Murmur3f.
+     *
+     * @return whether any bit changed, i.e. the key was definitely not present before
+     */
+    public boolean put(long key) {
+        long[] digest = KeyDigest.of(key);
+        return put(digest[0], digest[1]);
+    }
+
+    /**
+     * Adds a key by its 128-bit Murmur3f digest.
+     *
+     * @return whether any bit changed, i.e. the key was definitely not present before
+     */
+    public boolean put(HashCode digest) {
+        return put(digest.lowBits(), digest.highBits());
+    }
+
+    /**
+     * Adds a key by the low and high 64 bits of its 128-bit digest.
+     *
+     * @return whether any bit changed, i.e. the key was definitely not present before
+     */
+    public boolean put(long low, long high) {
+        if (high == 0) {
+            // 32- or 64-bit digest: a zero h2 would put every probe on the same bit
+            high = KeyDigest.remix(low);
+            low = KeyDigest.remix(high);
+        }
+        boolean changed = false;
+        long combined = low;
+        for (int i = 0; i < hashFunctions; i++) {
+            changed |= setBit(index(combined));
+            combined += high;
+        }
+        return changed;
+    }
+
+    /**
+     * Returns whether the key hashed with Murmur3f may have been added; {@code false} is certain.
+     */
+    public boolean mightContain(byte[] data) {
+        long[] digest = KeyDigest.of(data);
+        return mightContain(digest[0], digest[1]);
+    }
+
+    /**
+     * Returns whether the 8 little-endian bytes of the key may have been added; {@code false} is certain.
+     */
+    public boolean mightContain(long key) {
+        long[] digest = KeyDigest.of(key);
+        return mightContain(digest[0], digest[1]);
+    }
+
+    /**
+     * Returns whether the key of the digest may have been added; {@code false} is certain.
+     */
+    public boolean mightContain(HashCode digest) {
+        return mightContain(digest.lowBits(), digest.highBits());
+    }
+
+    /**
+     * Returns whether the key with the given digest halves may have been added; {@code false} is certain.
+     */
+    public boolean mightContain(long low, long high) {
+        if (high == 0) {
+            // 32- or 64-bit digest: a zero h2 would put every probe on the same bit
+            high = KeyDigest.remix(low);
+            low = KeyDigest.remix(high);
+        }
+        long combined = low;
+        for (int i = 0; i < hashFunctions; i++) {
+            long bit = index(combined);
+            if (((long) LONG_LE.get(segment(bit >>> 6), offset(bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+            combined += high;
+        }
+        return true;
+    }
+
+    /**
+     * Adds every key of {@code other} to this filter. Puts into either filter may run meanwhile.
+     *
+     * @throws IllegalArgumentException if the filters differ in bits or hash functions
+     */
+    public void merge(BloomFilter other) {
+        if (other.bitSize != bitSize || other.hashFunctions != hashFunctions) {
+            throw new IllegalArgumentException("Incompatible Bloom filters: " + bitSize + " bits, " + hashFunctions
+                    + " hash functions vs " + other.bitSize + " bits, " + other.hashFunctions + " hash functions");
+        }
+        for (long word = 0; word < wordCount; word++) {
+            long bits = (long) LONG_LE.getVolatile(other.segment(word), other.offset(word));
+            if (bits != 0) {
+                long previous = (long) LONG_LE.getAndBitwiseOr(segment(word), offset(word), bits);
+                bitCount.add(Long.bitCount(bits & ~previous));
+            }
+        }
+    }
+
+    /**
+     * Writes the filter to {@code file}, replacing it, in the layout {@link #map(Path)} reads.
+     * Puts running meanwhile may or may not be included.
+     *
+     * @throws IOException if the file cannot be written
+     */
+    public void writeTo(Path file) throws IOException {
+        try (FileChannel out = FileChannel.open(file,
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ByteBuffer header = header(bitSize, hashFunctions);
+            while (header.hasRemaining()) {
+                out.write(header);
+            }
+            for (ByteBuffer segment : segments) {
+                ByteBuffer words = segment.duplicate().clear();
+                while (words.hasRemaining()) {
+                    out.write(words);
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the number of bits m.
+     */
+    public long bitSize() {
+        return bitSize;
+    }
+
+    /**
+     * Returns the number of probes k per key.
+     */
+    public int hashFunctions() {
+        return hashFunctions;
+    }
+
+    /**
+     * Returns the number of bits set.
+     */
+    public long bitCount() {
+        return bitCount.sum();
+    }
+
+    /**
+     * Estimates the number of distinct keys added from the number of bits set (Swamidass and Baldi).
+     */
+    public long approximateElementCount() {
+        double fractionSet = (double) bitCount.sum() / bitSize;
+        return Math.round(-Math.log1p(-fractionSet) * bitSize / hashFunctions);
+    }
+
+    /**
+     * Returns the probability that {@code mightContain} of a key never added is {@code true},
+     * given the bits set so far.
+     */
+    public double expectedFpp() {
+        return Math.pow((double) bitCount.sum() / bitSize, hashFunctions);
+    }
+
+    /**
+     * Flushes a memory-mapped filter to its file and closes the file; does nothing for a filter
+     * in direct memory.
+     */
+    @Override
+    public void close() throws IOException {
+        if (channel != null) {
+            for (ByteBuffer segment : segments) {
+                ((MappedByteBuffer) segment).force();
+            }
+            channel.close();
+        }
+    }
+
+    // Maps the 64-bit probe onto [0, bitSize) as floor(unsigned(probe) * bitSize / 2^64)
+    private long index(long probe) {
+        return Math.multiplyHigh(probe, bitSize) + ((probe >> 63) & bitSize);
+    }
+
+    private boolean setBit(long bit) {
+        ByteBuffer segment = segment(bit >>> 6);
+        int offset = offset(bit >>> 6);
+        long mask = 1L << bit;
+        if (((long) LONG_LE.get(segment, offset) & mask) != 0) {
+            return false;
+        }
+        if (((long) LONG_LE.getAndBitwiseOr(segment, offset, mask) & mask) != 0) {
+            return false;
+        }
+        bitCount.increment();
+        return true;
+    }
+
+    private ByteBuffer segment(long word) {
+        return segments[(int) (word >>> segmentShift)];
+    }
+
+    private int offset(long word) {
+        return (int) (word & segmentMask) << 3;
+    }
+
+    private long countBits() {
+        long count = 0;
+        for (long word = 0; word < wordCount; word++) {
+            count += Long.bitCount((long) LONG_LE.get(segment(word), offset(word)));
+        }
+        return count;
+    }
+
+    private static ByteBuffer header(long bits, int hashFunctions) {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        header.putInt(0, MAGIC);
+        header.putInt(4, VERSION);
+        header.putInt(HEADER_HASH_FUNCTIONS, hashFunctions);
+        header.putLong(HEADER_BITS, bits);
+        return header;
+    }
+
+    private static long words(long bits) {
+        return (bits + 63) >>> 6;
+    }
+
+    private static void checkGeometry(long bits, int hashFunctions) {
+        if (bits <= 0 || bits > MAX_BITS) {
+            throw new IllegalArgumentException("bits must be in [1, " + MAX_BITS + "]: " + bits);
+        }
+        if (hashFunctions <= 0 || hashFunctions > MAX_HASH_FUNCTIONS) {
+            throw new IllegalArgumentException(
+                    "hashFunctions must be in [1, " + MAX_HASH_FUNCTIONS + "]: " + hashFunctions);
+        }
+    }
+
+    // m = -n ln p / (ln 2)^2
+    static long optimalBits(long expectedInsertions, double fpp) {
+        if (expectedInsertions <= 0) {
+            throw new IllegalArgumentException("expectedInsertions must be positive: " + expectedInsertions);
+        }
+        if (!(fpp > 0 && fpp < 1)) {
+            throw new IllegalArgumentException("fpp must be in (0, 1): " + fpp);
+        }
+        double bits = -expectedInsertions * Math.log(fpp) / (Math.log(2) * Math.log(2));
+        if (bits > MAX_BITS) {
+            throw new IllegalArgumentException("Filter of " + expectedInsertions + " keys at fpp " + fpp
+                    + " exceeds " + MAX_BITS + " bits");
+        }
+        return Math.max(64, (long) Math.ceil(bits));
+    }
+
+    // k = m / n ln 2
+    static int optimalHashFunctions(long expectedInsertions, long bits) {
+        long k = Math.round((double) bits / expectedInsertions * Math.log(2));
+        return (int) Math.max(1, Math.min(MAX_HASH_FUNCTIONS, k));
+    }
+}
@@ -0,0 +1,319 @@
+package io.github.gbessonov.jhash.sketch;
+
+import io.github.gbessonov.jhash.HashCode;
+import io.github.gbessonov.jhash.JHash;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Count-Min sketch whose row indices all come from a single 128-bit Murmur3f digest.
+ * <p>
+ * Keys are hashed once with Murmur3f (seed 0, same as {@link JHash#murmur3_128(byte[])}); row
+ * {@code i} takes the counter at {@code h1 + i * h2} (Kirsch and Mitzenmacher), reduced onto the
+ * width by a multiply-high rather than a division, so an event costs one hash whatever the depth.
+ * Digests shorter than 128 bits, whose high half is zero, are remixed into two halves first.
+ * An estimate is never below the true count and, with probability {@code 1 - delta}, exceeds it by
+ * at most {@code epsilon} times the total count.
+ * <p>
+ * The counters of all rows live in one flat {@code long[]} of {@code 8 * depth * width} bytes.
+ * Increments are atomic and lock-free. By default the sketch keeps that single array; given a
+ * stripe limit above one, it is striped the way {@link LongAdder} is: once increments from
+ * different threads collide, it doubles the number of arrays up to the limit, each thread then
+ * incrementing the array its thread id maps to. Every stripe is a full copy of the counters, so
+ * a limit of {@code n} can take up to {@code n} times the memory; for example epsilon 1e-5 and
+ * delta 0.01 take about 11 MB per stripe. Estimates add up the arrays, so striping trades memory
+ * and estimate cost for increments that do not contend on hot keys.
+ */
+public final class CountMinSketch {
+
+    /**
+     * Largest supported depth.
+     */
+    public static final int MAX_DEPTH = 32;
+
+    /**
+     * Largest supported stripe limit.
+     */
+    public static final int MAX_STRIPES = 64;
+
+    private static final VarHandle COUNTERS = MethodHandles.arrayElementVarHandle(long[].class);
+    private static final VarHandle GROWING;
+
+    static {
+        try {
+            GROWING = MethodHandles.lookup().findVarHandle(CountMinSketch.class, "growing", boolean.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private final int depth;
+    private final int width;
+    private final int maxStripes;
+    private final LongAdder totalCount = new LongAdder();
+    private volatile long[][] stripes;
+    // Set by the one thread allocating new stripes, so that the others do not allocate in vain
+    private volatile boolean growing;
+
+    private CountMinSketch(int depth, int width, int maxStripes) {
+        this.depth = depth;
+        this.width = width;
+        this.maxStripes = maxStripes;
+        this.stripes = new long[][]{new long[depth * width]};
+    }
+
+    /**
+     * Creates a sketch whose estimates exceed the true count by at most {@code epsilon} times the
+     * total count with probability {@code 1 - delta}: {@code ceil(e / epsilon)} counters wide and
+     * {@code ceil(ln(1 / delta))} rows deep, with a single, unstriped counter array.
+     *
+     * @throws IllegalArgumentException if {@code epsilon} or {@code delta} is not in (0, 1), or the
+     *                                  counters would not fit in an array
+     */
+    public static CountMinSketch create(double epsilon, double delta) {
+        return create(epsilon, delta, 1);
+    }
+
+    /**
+     * Creates a sketch as {@link #create(double, double)} does, whose counters are striped over up
+     * to {@code maxStripes} arrays under contention.
+     *
+     * @throws IllegalArgumentException if {@code epsilon} or {@code delta} is not in (0, 1), the
+     *                                  counters would not fit in an array, or {@code maxStripes} is
+     *                                  not a power of two in [1, {@value #MAX_STRIPES}]
+     */
+    public static CountMinSketch create(double epsilon, double delta, int maxStripes) {
+        if (!(epsilon > 0 && epsilon < 1)) {
+            throw new IllegalArgumentException("epsilon must be in (0, 1): " + epsilon);
+        }
+        if (!(delta > 0 && delta < 1)) {
+            throw new IllegalArgumentException("delta must be in (0, 1): " + delta);
+        }
+        double width = Math.ceil(Math.E / epsilon);
+        int depth = (int) Math.ceil(-Math.log(delta));
+        return createWithDimensions(
+                depth, width > Integer.MAX_VALUE ? Integer.MAX_VALUE : (int) width, maxStripes);
+    }
+
+    /**
+     * Creates a sketch of {@code depth} rows of {@code width} counters, with a single, unstriped
+     * counter array.
+     *
+     * @throws IllegalArgumentException if {@code depth} is not in [1, {@value #MAX_DEPTH}],
+     *                                  {@code width} is not positive, or the counters would not fit
+     *                                  in an array
+     */
+    public static CountMinSketch createWithDimensions(int depth, int width) {
+        return createWithDimensions(depth, width, 1);
+    }
+
+    /**
+     * Creates a sketch of {@code depth} rows of {@code width} counters, striped over up to
+     * {@code maxStripes} arrays under contention.
+     *
+     * @throws IllegalArgumentException if {@code depth} is not in [1, {@value #MAX_DEPTH}],
+     *                                  {@code width} is not positive, the counters would not fit in
+     *                                  an array, or {@code maxStripes} is not a power of two in
+     *                                  [1, {@value #MAX_STRIPES}]
+     */
+    public static CountMinSketch createWithDimensions(int depth, int width, int maxStripes) {
+        if (depth <= 0 || depth > MAX_DEPTH) {
+            throw new IllegalArgumentException("depth must be in [1, " + MAX_DEPTH + "]: " + depth);
+        }
+        if (width <= 0 || (long) depth * width > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Unsupported dimensions: " + depth + " x " + width);
+        }
+        if (maxStripes <= 0 || maxStripes > MAX_STRIPES || Integer.bitCount(maxStripes) != 1) {
+            throw new IllegalArgumentException(
+                    "maxStripes must be a power of two in [1, " + MAX_STRIPES + "]: " + maxStripes);
+        }
+        return new CountMinSketch(depth, width, maxStripes);
+    }
+
+    /**
+     * Counts one occurrence of the key hashed with Murmur3f.
+     */
+    public void add(byte[] data) {
+        long[] digest = KeyDigest.of(data);
+        add(digest[0], digest[1], 1);
+    }
+
+    /**
+     * Counts one occurrence of the 8 little-endian bytes of the key hashed with Murmur3f.
+     */
+    public void add(long key) {
+        long[] digest = KeyDigest.of(key);
+        add(digest[0], digest[1], 1);
+    }
+
+    /**
+     * Counts one occurrence of the UTF-8 encoding of the characters hashed with Murmur3f.
+     */
+    public void add(CharSequence chars) {
+        long[] digest = KeyDigest.ofUtf8(chars);
+        add(digest[0], digest[1], 1);
+    }
+
+    /**
+     * Counts one occurrence of the key with the given 128-bit Murmur3f digest.
+     */
+    public void add(HashCode digest) {
+        add(digest.lowBits(), digest.highBits(), 1);
+    }
+
+    /**
+     * Counts {@code count} occurrences of the key with the given digest halves.
+     *
+     * @throws IllegalArgumentException if {@code count} is negative
+     */
+    public void add(long low, long high, long count) {
+        if (count < 0) {
+            throw new IllegalArgumentException("count must not be negative: " + count);
+        }
+        long[][] current = stripes;
+        long[] counters = current[stripe(current.length)];
+        if (high == 0) {
+            // 32- or 64-bit digest: a zero h2 would put every row on the same column
+            high = KeyDigest.remix(low);
+            low = KeyDigest.remix(high);
+        }
+        boolean contended = false;
+        long combined = low;
+        for (int row = 0, base = 0; row < depth; row++, base += width) {
+            int index = base + index(combined);
+            long value = counters[index];
+            while (!COUNTERS.compareAndSet(counters, index, value, value + count)) {
+                contended = true;
+                value = (long) COUNTERS.getVolatile(counters, index);
+            }
+            combined += high;
+        }
+        totalCount.add(count);
+        if (contended) {
+            grow(current);
+        }
+    }
+
+    /**
+     * Counts {@code count} occurrences of the key with the given digest halves and returns its
+     * estimated count, including them.
+     */
+    public long addAndEstimate(long low, long high, long count) {
+        add(low, high, count);
+        return estimate(low, high);
+    }
+
+    /**
+     * Returns the estimated count of the key hashed with Murmur3f.
+     */
+    public long estimate(byte[] data) {
+        long[] digest = KeyDigest.of(data);
+        return estimate(digest[0], digest[1]);
+    }
+
+    /**
+     * Returns the estimated count of the 8 little-endian bytes of the key hashed with Murmur3f.
+     */
+    public long estimate(long key) {
+        long[] digest = KeyDigest.of(key);
+        return estimate(digest[0], digest[1]);
+    }
+
+    /**
+     * Returns the estimated count of the UTF-8 encoding of the characters hashed with Murmur3f.
+     */
+    public long estimate(CharSequence chars) {
+        long[] digest = KeyDigest.ofUtf8(chars);
+        return estimate(digest[0], digest[1]);
+    }
+
+    /**
+     * Returns the estimated count of the key with the given 128-bit Murmur3f digest.
+     */
+    public long estimate(HashCode digest) {
+        return estimate(digest.lowBits(), digest.highBits());
+    }
+
+    /**
+     * Returns the estimated count of the key with the given digest halves: the smallest of its
+     * counters, never below the true count.
+     */
+    public long estimate(long low, long high) {
+        long[][] current = stripes;
+        if (high == 0) {
+            // 32- or 64-bit digest: a zero h2 would put every row on the same column
+            high = KeyDigest.remix(low);
+            low = KeyDigest.remix(high);
+        }
+        long min = Long.MAX_VALUE;
+        long combined = low;
+        for (int row = 0, base = 0; row < depth; row++, base += width) {
+            int index = base + index(combined);
+            long sum = 0;
+            for (long[] counters : current) {
+                sum += (long) COUNTERS.getOpaque(counters, index);
+            }
+            min = Math.min(min, sum);
+            combined += high;
+        }
+        return min;
+    }
+
+    /**
+     * Returns the sum of all counts added.
+     */
+    public long totalCount() {
+        return totalCount.sum();
+    }
+
+    public int depth() {
+        return depth;
+    }
+
+    public int width() {
+        return width;
+    }
+
+    int stripeCount() {
+        return stripes.length;
+    }
+
+    // Maps the 64-bit probe onto [0, width) as floor(unsigned(probe) * width / 2^64)
+    private int index(long probe) {
+        return (int) (Math.multiplyHigh(probe, width) + ((probe >> 63) & width));
+    }
+
+    private static int stripe(int count) {
+        if (count == 1) {
+            return 0;
+        }
+        long id = Thread.currentThread().getId() * 0x9e3779b97f4a7c15L;
+        return (int) (id >>> 32) & (count - 1);
+    }
+
+    // Tests stripe the counters without relying on contention
+    void grow() {
+        grow(stripes);
+    }
+
+    private void grow(long[][] current) {
+        // Losing the race means another thread grows the stripes already
+        if (current.length >= maxStripes || growing || !GROWING.compareAndSet(this, false, true)) {
+            return;
+        }
+        try {
+            if (stripes == current) {
+                long[][] grown = Arrays.copyOf(current, current.length * 2);
+                for (int i = current.length; i < grown.length; i++) {
+                    grown[i] = new long[depth * width];
+                }
+                stripes = grown;
+            }
+        } finally {
+            growing = false;
+        }
+    }
+}
@@ -0,0 +1,286 @@
+package io.github.gbessonov.jhash.sketch;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Tracks the {@code k} most frequent keys of a stream, with counts from a {@link CountMinSketch}.
+ * <p>
+ * Every key is hashed once with Murmur3f, counted in the sketch and, if its estimated count beats
+ * the smallest tracked count, offered to a bounded min-heap of tracked keys. The common cases take
+ * no lock: keys whose estimate is too low to enter, and keys already tracked, found in a lock-free
+ * table of tracked digests. Only keys about to enter the heap synchronize on it. Tracked counts
+ * are not refreshed on every occurrence; the heap re-estimates its smallest entry before evicting
+ * it, and {@link #topK()} re-estimates all of them, so a frequent key is not evicted for a stale
+ * count.
+ * <p>
+ * The tracker is thread-safe. Keys are reported as given: {@code byte[]} keys as a copy,
+ * {@code long} keys boxed and character sequences as {@code String}s, taken when the key enters.
+ */
+public final class HeavyHitters {
+
+    /**
+     * Largest supported number of tracked keys.
+     */
+    public static final int MAX_CAPACITY = 1 << 20;
+
+    private static final VarHandle TRACKED = MethodHandles.arrayElementVarHandle(long[].class);
+
+    private final CountMinSketch sketch;
+    private final int capacity;
+
+    // Min-heap of the tracked keys by their last known count
+    private final long[] counts;
+    private final long[] lows;
+    private final long[] highs;
+    private final Object[] keys;
+    private int size;
+
+    // Linear-probing set of the low digest halves of tracked keys, 0 = empty, read without the lock
+    private final long[] tracked;
+    private volatile long admission;
+
+    private HeavyHitters(CountMinSketch sketch, int capacity) {
+        this.sketch = sketch;
+        this.capacity = capacity;
+        this.counts = new long[capacity];
+        this.lows = new long[capacity];
+        this.highs = new long[capacity];
+        this.keys = new Object[capacity];
+        this.tracked = new long[Integer.highestOneBit(capacity) << 2];
+    }
+
+    /**
+     * Creates a tracker of the {@code k} most frequent keys counted in {@code sketch}. The sketch
+     * should not be fed other than through the tracker.
+     *
+     * @throws IllegalArgumentException if {@code k} is not in [1, {@link #MAX_CAPACITY}]
+     */
+    public static HeavyHitters create(int k, CountMinSketch sketch) {
+        if (k <= 0 || k > MAX_CAPACITY) {
+            throw new IllegalArgumentException("k must be in [1, " + MAX_CAPACITY + "]: " + k);
+        }
+        return new HeavyHitters(sketch, k);
+    }
+
+    /**
+     * Counts one occurrence of the key hashed with Murmur3f.
+     */
+    public void add(byte[] key) {
+        long[] digest = KeyDigest.of(key);
+        add(digest[0], digest[1], key);
+    }
+
+    /**
+     * Counts one occurrence of the 8 little-endian bytes of the key hashed with Murmur3f.
+     */
+    public void add(long key) {
+        long[] digest = KeyDigest.of(key);
+        add(digest[0], digest[1], key);
+    }
+
+    /**
+     * Counts one occurrence of the UTF-8 encoding of the characters hashed with Murmur3f.
+     */
+    public void add(CharSequence key) {
+        long[] digest = KeyDigest.ofUtf8(key);
+        add(digest[0], digest[1], key);
+    }
+
+    private void add(long low, long high, Object key) {
+        long estimate = sketch.addAndEstimate(low, high, 1);
+        if (estimate > admission && !isTracked(low)) {
+            offer(low, high, key, estimate);
+        }
+    }
+
+    /**
+     * Returns the tracked keys with their current estimated counts, most frequent first.
+     */
+    public synchronized List<Entry> topK() {
+        List<Entry> entries = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            entries.add(new Entry(keys[i], sketch.estimate(lows[i], highs[i])));
+        }
+        entries.sort(Comparator.comparingLong(Entry::getCount).reversed());
+        return entries;
+    }
+
+    public CountMinSketch getSketch() {
+        return sketch;
+    }
+
+    /**
+     * A tracked key and its estimated count.
+     */
+    public static final class Entry {
+        private final Object key;
+        private final long count;
+
+        Entry(Object key, long count) {
+            this.key = key;
+            this.count = count;
+        }
+
+        /**
+         * Returns the key: a {@code byte[]}, {@code Long} or {@code String}, by how it was added.
+         */
+        public Object getKey() {
+            return key;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        @Override
+        public String toString() {
+            return key + "=" + count;
+        }
+    }
+
+    private synchronized void offer(long low, long high, Object key, long estimate) {
+        if (find(low) >= 0) {
+            return;
+        }
+        if (size < capacity) {
+            counts[size] = estimate;
+            lows[size] = low;
+            highs[size] = high;
+            keys[size] = copyOf(key);
+            siftUp(size++);
+            track(low);
+        } else {
+            // Refresh the smallest entry before evicting it: its count may be stale
+            long fresh;
+            while ((fresh = sketch.estimate(lows[0], highs[0])) > counts[0]) {
+                counts[0] = fresh;
+                siftDown(0);
+            }
+            if (estimate <= counts[0]) {
+                admission = counts[0];
+                return;
+            }
+            untrack(lows[0]);
+            counts[0] = estimate;
+            lows[0] = low;
+            highs[0] = high;
+            keys[0] = copyOf(key);
+            siftDown(0);
+            track(low);
+        }
+        if (size == capacity) {
+            admission = counts[0];
+        }
+    }
+
+    private static Object copyOf(Object key) {
+        if (key instanceof byte[]) {
+            return ((byte[]) key).clone();
+        }
+        return key instanceof CharSequence ? key.toString() : key;
+    }
+
+    private void siftUp(int i) {
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (counts[parent] <= counts[i]) {
+                return;
+            }
+            swap(i, parent);
+            i = parent;
+        }
+    }
+
+    private void siftDown(int i) {
+        while (true) {
+            int child = 2 * i + 1;
+            if (child >= size) {
+                return;
+            }
+            if (child + 1 < size && counts[child + 1] < counts[child]) {
+                child++;
+            }
+            if (counts[i] <= counts[child]) {
+                return;
+            }
+            swap(i, child);
+            i = child;
+        }
+    }
+
+    private void swap(int i, int j) {
+        long count = counts[i];
+        counts[i] = counts[j];
+        counts[j] = count;
+        long low = lows[i];
+        lows[i] = lows[j];
+        lows[j] = low;
+        long high = highs[i];
+        highs[i] = highs[j];
+        highs[j] = high;
+        Object key = keys[i];
+        keys[i] = keys[j];
+        keys[j] = key;
+    }
+
+    // 0 marks an empty slot, so a low half of 0 is stored as 1; a collision only skips an offer
+    private static long slotValue(long low) {
+        return low == 0 ? 1 : low;
+    }
+
+    private boolean isTracked(long low) {
+        long value = slotValue(low);
+        int mask = tracked.length - 1;
+        for (int slot = (int) value & mask; ; slot = slot + 1 & mask) {
+            long current = (long) TRACKED.getAcquire(tracked, slot);
+            if (current == value) {
+                return true;
+            }
+            if (current == 0) {
+                return false;
+            }
+        }
+    }
+
+    // Slot of the low half in the tracked set, or -1; callers hold the lock
+    private int find(long low) {
+        long value = slotValue(low);
+        int mask = tracked.length - 1;
+        for (int slot = (int) value & mask; ; slot = slot + 1 & mask) {
+            if (tracked[slot] == value) {
+                return slot;
+            }
+            if (tracked[slot] == 0) {
+                return -1;
+            }
+        }
+    }
+
+    private void track(long low) {
+        long value = slotValue(low);
+        int mask = tracked.length - 1;
+        int slot = (int) value & mask;
+        while (tracked[slot] != 0) {
+            slot = slot + 1 & mask;
+        }
+        TRACKED.setRelease(tracked, slot, value);
+    }
+
+    // Backward-shift deletion; a concurrent reader may miss a shifted entry and take the lock
+    private void untrack(long low) {
+        int mask = tracked.length - 1;
+        int hole = find(low);
+        for (int slot = hole + 1 & mask; tracked[slot] != 0; slot = slot + 1 & mask) {
+            int home = (int) tracked[slot] & mask;
+            if ((slot - home & mask) >= (slot - hole & mask)) {
+                TRACKED.setRelease(tracked, hole, tracked[slot]);
+                hole = slot;
+            }
+        }
+        TRACKED.setRelease(tracked, hole, 0L);
+    }
+}
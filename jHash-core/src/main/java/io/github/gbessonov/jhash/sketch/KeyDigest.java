@@ -0,0 +1,53 @@
+package io.github.gbessonov.jhash.sketch;
+
+import io.github.gbessonov.jhash.implementations.murmur3f.Murmur3fOneShot;
+
+/**
+ * Murmur3f digests (seed 0) of the key types the sketches accept, written into a per-thread
+ * two-word array: {@code [0]} holds the low 64 bits and {@code [1]} the high 64 bits.
+ * <p>
+ * A local {@code new long[2]} is only free when escape analysis removes it, which takes inlining
+ * the whole one-shot; {@code hashUtf8} is too large for that and the array then costs 32 bytes a
+ * key. The returned array is overwritten by the next call on the same thread, so callers read
+ * both words before hashing anything else.
+ */
+final class KeyDigest {
+
+    private static final int SEED = 0;
+
+    private static final ThreadLocal<long[]> DIGEST = ThreadLocal.withInitial(() -> new long[2]);
+
+    private KeyDigest() {
+    }
+
+    static long[] of(byte[] data) {
+        long[] digest = DIGEST.get();
+        Murmur3fOneShot.hash(data, 0, data.length, SEED, digest, 0);
+        return digest;
+    }
+
+    static long[] of(long key) {
+        long[] digest = DIGEST.get();
+        Murmur3fOneShot.hash(key, SEED, digest, 0);
+        return digest;
+    }
+
+    static long[] ofUtf8(CharSequence chars) {
+        long[] digest = DIGEST.get();
+        Murmur3fOneShot.hashUtf8(chars, SEED, digest, 0);
+        return digest;
+    }
+
+    /**
+     * Murmur3's 64-bit finalizer. The sketches spread the low half of a digest whose high half is
+     * zero, as 32- and 64-bit {@code HashCode}s have, over both halves with it.
+     */
+    static long remix(long half) {
+        half ^= half >>> 33;
+        half *= 0xff51afd7ed558ccdL;
+        half ^= half >>> 33;
+        half *= 0xc4ceb9fe1a85ec53L;
+        half ^= half >>> 33;
+        return half;
+    }
+}
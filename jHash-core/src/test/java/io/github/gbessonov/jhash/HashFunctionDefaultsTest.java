@@ -0,0 +1,154 @@
+package io.github.gbessonov.jhash;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Random;
+
+public class HashFunctionDefaultsTest {
+
+    // Implements only the methods of the original interface, as an external hash function would
+    private static final class MinimalHashFunction implements HashFunction {
+        private final ByteArrayOutputStream input = new ByteArrayOutputStream();
+        private int seed;
+
+        @Override
+        public HashFunction include(byte[] bytes) {
+            input.writeBytes(bytes);
+            return this;
+        }
+
+        @Override
+        public HashCode hash() {
+            return JHash.murmur3_128(input.toByteArray(), seed);
+        }
+
+        @Override
+        public void reset(int seed) {
+            this.seed = seed;
+            input.reset();
+        }
+    }
+
+    private static byte[] randomBytes(int length) {
+        byte[] data = new byte[length];
+        new Random(length).nextBytes(data);
+        return data;
+    }
+
+    @Test
+    public void includeRangeTest() {
+        byte[] data = randomBytes(100);
+        for (int offset : new int[]{0, 1, 37}) {
+            for (int length : new int[]{0, 5, 100 - offset}) {
+                var expected = JHash.murmur3_128(Arrays.copyOfRange(data, offset, offset + length));
+                Assertions.assertEquals(expected.getValueHexString(),
+                        new MinimalHashFunction().include(data, offset, length).hash().getValueHexString());
+            }
+        }
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> new MinimalHashFunction().include(data, 90, 11));
+    }
+
+    @Test
+    public void includeByteBufferTest() {
+        byte[] data = randomBytes(100);
+        var expected = JHash.murmur3_128(Arrays.copyOfRange(data, 10, 90));
+        ByteBuffer direct = ByteBuffer.allocateDirect(100).put(data).position(10).limit(90);
+        var hasher = new MinimalHashFunction();
+        Assertions.assertEquals(expected.getValueHexString(), hasher.include(direct).hash().getValueHexString());
+        Assertions.assertEquals(10, direct.position());
+        Assertions.assertEquals(90, direct.limit());
+        hasher.reset(0);
+        Assertions.assertEquals(expected.getValueHexString(),
+                hasher.include(ByteBuffer.wrap(data, 10, 80)).hash().getValueHexString());
+    }
+
+    @Test
+    public void typedFeedersTest() {
+        String text = "caf\u00e9 \ud83d\ude00 \ud800 end";
+        var expected = JHash.newMurmur3_128()
+                .putByte((byte) 7).putShort((short) -2).putInt(0x12345678).putLong(-3L)
+                .putChars(text).putUtf8(text).hash();
+        var actual = new MinimalHashFunction()
+                .putByte((byte) 7).putShort((short) -2).putInt(0x12345678).putLong(-3L)
+                .putChars(text).putUtf8(text).hash();
+        Assertions.assertEquals(expected.getValueHexString(), actual.getValueHexString());
+    }
+
+    @Test
+    public void hashIntoTest() {
+        byte[] data = randomBytes(33);
+        var expected = JHash.murmur3_128(data);
+        long[] words = {-1, -1, -1};
+        new MinimalHashFunction().include(data).hashInto(words, 1);
+        Assertions.assertArrayEquals(new long[]{-1, expected.lowBits(), expected.highBits()}, words);
+        Assertions.assertThrows(IndexOutOfBoundsException.class,
+                () -> new MinimalHashFunction().include(data).hashInto(new long[2], 1));
+
+        ByteBuffer buffer = ByteBuffer.allocate(20).position(2);
+        new MinimalHashFunction().include(data).hashInto(buffer);
+        Assertions.assertEquals(18, buffer.position());
+        Assertions.assertArrayEquals(expected.getValueBytesLittleEndian(), Arrays.copyOfRange(buffer.array(), 2, 18));
+    }
+
+    @Test
+    public void hashCodeAccessorsTest() {
+        HashCode murmur = JHash.murmur3_128(randomBytes(10));
+        HashCode bytesOnly = bytesOnly(murmur.getValueBytesLittleEndian());
+        Assertions.assertEquals(murmur.asInt(), bytesOnly.asInt());
+        Assertions.assertEquals(murmur.asLong(), bytesOnly.asLong());
+        Assertions.assertEquals(murmur.lowBits(), bytesOnly.lowBits());
+        Assertions.assertEquals(murmur.highBits(), bytesOnly.highBits());
+        byte[] dest = new byte[17];
+        Assertions.assertEquals(16, bytesOnly.writeBytesTo(dest, 1));
+        Assertions.assertArrayEquals(murmur.getValueBytesLittleEndian(), Arrays.copyOfRange(dest, 1, 17));
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> bytesOnly.writeBytesTo(dest, 2));
+
+        HashCode short32 = bytesOnly(new byte[]{(byte) 0x80, 2, 3, 4});
+        Assertions.assertEquals(0x04030280, short32.asInt());
+        Assertions.assertEquals(0x04030280L, short32.lowBits());
+        Assertions.assertEquals(0, short32.highBits());
+        Assertions.assertThrows(IllegalStateException.class, short32::asLong);
+    }
+
+    @Test
+    public void optionalOperationsTest() {
+        var hasher = new MinimalHashFunction();
+        Assertions.assertThrows(UnsupportedOperationException.class, hasher::copy);
+        Assertions.assertThrows(UnsupportedOperationException.class, hasher::saveState);
+        Assertions.assertThrows(UnsupportedOperationException.class, () -> hasher.restoreState(new byte[0]));
+    }
+
+    // A hash code that implements only the methods of the original interface
+    private static HashCode bytesOnly(byte[] littleEndian) {
+        return new HashCode() {
+            @Override
+            public byte[] getValueBytesBigEndian() {
+                byte[] bytes = new byte[littleEndian.length];
+                for (int i = 0; i < bytes.length; i++) {
+                    bytes[i] = littleEndian[bytes.length - 1 - i];
+                }
+                return bytes;
+            }
+
+            @Override
+            public byte[] getValueBytesLittleEndian() {
+                return littleEndian.clone();
+            }
+
+            @Override
+            public BigInteger getValueBigInteger() {
+                return new BigInteger(1, getValueBytesBigEndian());
+            }
+
+            @Override
+            public String getValueHexString() {
+                return String.format("%0" + littleEndian.length * 2 + "x", getValueBigInteger());
+            }
+        };
+    }
+}
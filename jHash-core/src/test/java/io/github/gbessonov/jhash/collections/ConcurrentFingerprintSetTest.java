@@ -0,0 +1,57 @@
+package io.github.gbessonov.jhash.collections;
+
+import io.github.gbessonov.jhash.JHash;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+public class ConcurrentFingerprintSetTest {
+
+    @Test
+    public void concurrentAddsTest() throws Exception {
+        var set = ConcurrentFingerprintSet.create(0, 8);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            // Every thread adds the same overlapping ranges; each fingerprint is added exactly once
+            var futures = new ArrayList<Future<Integer>>();
+            for (int t = 0; t < 4; t++) {
+                long first = t * 25_000L;
+                futures.add(executor.submit(() -> {
+                    int added = 0;
+                    for (long key = first; key < first + 100_000; key++) {
+                        if (set.addIfAbsent(JHash.murmur3_128(key))) {
+                            added++;
+                        }
+                    }
+                    return added;
+                }));
+            }
+            int added = 0;
+            for (var future : futures) {
+                added += future.get();
+            }
+            Assertions.assertEquals(175_000, added);
+        } finally {
+            executor.shutdown();
+        }
+        Assertions.assertEquals(175_000, set.size());
+        for (long key = 0; key < 200_000; key++) {
+            Assertions.assertEquals(key < 175_000, set.contains(JHash.murmur3_128(key)));
+        }
+    }
+
+    @Test
+    public void argumentsTest() {
+        Assertions.assertTrue(ConcurrentFingerprintSet.create().stripeCount() >= 1);
+        Assertions.assertEquals(4, ConcurrentFingerprintSet.create(100, 4).stripeCount());
+        Assertions.assertThrows(IllegalArgumentException.class, () -> ConcurrentFingerprintSet.create(100, 3));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> ConcurrentFingerprintSet.create(100, 0));
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> ConcurrentFingerprintSet.create(100, ConcurrentFingerprintSet.MAX_STRIPES * 2));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> ConcurrentFingerprintSet.create(-1, 4));
+    }
+}
@@ -0,0 +1,103 @@
+package io.github.gbessonov.jhash.collections;
+
+import io.github.gbessonov.jhash.HashCode;
+import io.github.gbessonov.jhash.JHash;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.SplittableRandom;
+
+public class FingerprintMapTest {
+
+    @Test
+    public void matchesHashMapTest() {
+        var map = FingerprintMap.create();
+        var reference = new HashMap<HashCode, Long>();
+        var random = new SplittableRandom(1);
+        for (int i = 0; i < 200_000; i++) {
+            HashCode hash = JHash.murmur3_128((long) random.nextInt(100_000));
+            long value = random.nextLong();
+            switch (random.nextInt(3)) {
+                case 0:
+                    Assertions.assertEquals(reference.put(hash, value) == null,
+                            map.put(hash.lowBits(), hash.highBits(), value));
+                    break;
+                case 1:
+                    Assertions.assertEquals(reference.putIfAbsent(hash, value) == null, map.putIfAbsent(hash, value));
+                    break;
+                default:
+                    Assertions.assertEquals((long) reference.merge(hash, 7L, Long::sum),
+                            map.addTo(hash.lowBits(), hash.highBits(), 7));
+                    break;
+            }
+        }
+        Assertions.assertEquals(reference.size(), map.size());
+        for (long key = 0; key < 100_000; key++) {
+            HashCode hash = JHash.murmur3_128(key);
+            Assertions.assertEquals(reference.containsKey(hash), map.containsKey(hash.lowBits(), hash.highBits()));
+            Assertions.assertEquals((long) reference.getOrDefault(hash, -1L), map.getOrDefault(hash, -1));
+        }
+    }
+
+    @Test
+    public void zeroFingerprintTest() {
+        var map = FingerprintMap.create();
+        Assertions.assertEquals(-1, map.getOrDefault(0, 0, -1));
+        Assertions.assertTrue(map.putIfAbsent(0, 0, 5));
+        Assertions.assertFalse(map.putIfAbsent(0, 0, 6));
+        Assertions.assertEquals(5, map.getOrDefault(0, 0, -1));
+        Assertions.assertFalse(map.put(0, 0, 7));
+        Assertions.assertEquals(10, map.addTo(0, 0, 3));
+        Assertions.assertTrue(map.containsKey(0, 0));
+        Assertions.assertEquals(1, map.size());
+        map.clear();
+        Assertions.assertEquals(0, map.size());
+        Assertions.assertEquals(2, map.addTo(0, 0, 2));
+    }
+
+    @Test
+    public void growthTest() {
+        var map = FingerprintMap.create();
+        for (long key = 0; key < 100_000; key++) {
+            HashCode hash = JHash.murmur3_128(key);
+            Assertions.assertTrue(map.put(hash.lowBits(), hash.highBits(), key));
+        }
+        Assertions.assertEquals(1 << 18, map.capacity());
+        for (long key = 0; key < 100_000; key++) {
+            Assertions.assertEquals(key, map.getOrDefault(JHash.murmur3_128(key), -1));
+        }
+        Assertions.assertEquals(1 << 18, FingerprintMap.create(100_000).capacity());
+    }
+
+    @Test
+    public void sharedTopBitsTest() {
+        // Fingerprints sharing the first or the last home slot
+        var map = FingerprintMap.create();
+        for (long lo = 1; lo <= 1000; lo++) {
+            Assertions.assertTrue(map.put(lo, FingerprintSetTest.highForKey(-lo, lo), lo));
+            Assertions.assertTrue(map.put(lo, FingerprintSetTest.highForKey(lo, lo), -lo));
+        }
+        for (long lo = 1; lo <= 1000; lo++) {
+            Assertions.assertEquals(lo, map.getOrDefault(lo, FingerprintSetTest.highForKey(-lo, lo), 0));
+            Assertions.assertEquals(-lo, map.getOrDefault(lo, FingerprintSetTest.highForKey(lo, lo), 0));
+            Assertions.assertFalse(map.containsKey(lo, FingerprintSetTest.highForKey(lo + 1, lo)));
+        }
+        Assertions.assertEquals(2000, map.size());
+    }
+
+    @Test
+    public void zeroHighHalvesTest() {
+        Assertions.assertTimeoutPreemptively(Duration.ofSeconds(10), () -> {
+            var map = FingerprintMap.create();
+            for (long lo = 1; lo <= 200_000; lo++) {
+                Assertions.assertEquals(1, map.addTo(lo, 0, 1));
+            }
+            for (long lo = 1; lo <= 200_000; lo++) {
+                Assertions.assertEquals(2, map.addTo(lo, 0, 1));
+            }
+            Assertions.assertEquals(200_000, map.size());
+        });
+    }
+}
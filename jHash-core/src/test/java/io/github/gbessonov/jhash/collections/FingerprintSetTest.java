@@ -0,0 +1,130 @@
+package io.github.gbessonov.jhash.collections;
+
+import io.github.gbessonov.jhash.HashCode;
+import io.github.gbessonov.jhash.JHash;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.SplittableRandom;
+
+public class FingerprintSetTest {
+
+    @Test
+    public void matchesHashSetTest() {
+        var set = FingerprintSet.create();
+        var reference = new HashSet<HashCode>();
+        var random = new SplittableRandom(1);
+        for (int i = 0; i < 200_000; i++) {
+            // About one key in three repeats
+            HashCode hash = JHash.murmur3_128((long) random.nextInt(150_000));
+            Assertions.assertEquals(reference.add(hash), set.addIfAbsent(hash));
+        }
+        Assertions.assertEquals(reference.size(), set.size());
+        for (long key = 0; key < 200_000; key++) {
+            HashCode hash = JHash.murmur3_128(key);
+            Assertions.assertEquals(reference.contains(hash), set.contains(hash));
+            Assertions.assertEquals(reference.contains(hash), set.contains(hash.lowBits(), hash.highBits()));
+        }
+    }
+
+    @Test
+    public void zeroFingerprintTest() {
+        var set = FingerprintSet.create();
+        Assertions.assertFalse(set.contains(0, 0));
+        Assertions.assertTrue(set.addIfAbsent(0, 0));
+        Assertions.assertFalse(set.addIfAbsent(0, 0));
+        Assertions.assertTrue(set.contains(0, 0));
+        Assertions.assertTrue(set.addIfAbsent(0, 1));
+        Assertions.assertTrue(set.addIfAbsent(1, 0));
+        Assertions.assertEquals(3, set.size());
+        set.clear();
+        Assertions.assertEquals(0, set.size());
+        Assertions.assertFalse(set.contains(0, 0));
+        Assertions.assertFalse(set.contains(0, 1));
+    }
+
+    @Test
+    public void growthTest() {
+        var set = FingerprintSet.create();
+        Assertions.assertEquals(16, set.capacity());
+        for (long key = 0; key < 12; key++) {
+            set.addIfAbsent(JHash.murmur3_128(key));
+        }
+        Assertions.assertEquals(16, set.capacity());
+        set.addIfAbsent(JHash.murmur3_128(12L));
+        Assertions.assertEquals(32, set.capacity());
+        for (long key = 13; key < 100_000; key++) {
+            Assertions.assertTrue(set.addIfAbsent(JHash.murmur3_128(key)));
+        }
+        for (long key = 0; key < 100_000; key++) {
+            Assertions.assertTrue(set.contains(JHash.murmur3_128(key)));
+        }
+        Assertions.assertEquals(1 << 18, set.capacity());
+
+        var presized = FingerprintSet.create(100_000);
+        Assertions.assertEquals(1 << 18, presized.capacity());
+        Assertions.assertEquals(16, FingerprintSet.create(0).capacity());
+    }
+
+    @Test
+    public void sharedTopBitsTest() {
+        // Fingerprints sharing the first or the last home slot, the latter running into spare slots
+        var set = FingerprintSet.create();
+        for (long lo = 1; lo <= 1000; lo++) {
+            Assertions.assertTrue(set.addIfAbsent(lo, highForKey(lo, lo)));
+            Assertions.assertTrue(set.addIfAbsent(lo, highForKey(-lo, lo)));
+        }
+        for (long lo = 1; lo <= 1000; lo++) {
+            Assertions.assertFalse(set.addIfAbsent(lo, highForKey(lo, lo)));
+            Assertions.assertTrue(set.contains(lo, highForKey(-lo, lo)));
+            Assertions.assertFalse(set.contains(lo, highForKey(lo + 1, lo)));
+        }
+        Assertions.assertEquals(2000, set.size());
+    }
+
+    @Test
+    public void shortAndStructuredFingerprintsTest() {
+        // Zero high halves, as 64-bit hash codes have, and small sequential or equal halves must
+        // spread too
+        var xxHash64 = JHash.newXxHash64();
+        Assertions.assertTimeoutPreemptively(Duration.ofSeconds(10), () -> {
+            var set = FingerprintSet.create();
+            for (long key = 0; key < 200_000; key++) {
+                xxHash64.reset(0);
+                Assertions.assertTrue(set.addIfAbsent(xxHash64.putLong(key).hash()));
+                Assertions.assertTrue(set.addIfAbsent(key + 1, 0));
+                Assertions.assertTrue(set.addIfAbsent(0, key + 1));
+                Assertions.assertTrue(set.addIfAbsent(key + 1, key + 1));
+            }
+            Assertions.assertEquals(800_000, set.size());
+            for (long key = 0; key < 200_000; key++) {
+                xxHash64.reset(0);
+                Assertions.assertTrue(set.contains(xxHash64.putLong(key).hash()));
+                Assertions.assertTrue(set.contains(key + 1, 0));
+                Assertions.assertFalse(set.contains(key + 1, -1));
+            }
+        });
+    }
+
+    // High half that gives the fingerprint with the given low half the given key, undoing the multiplies
+    static long highForKey(long key, long lo) {
+        return (key * inverse(0x9e3779b97f4a7c15L) ^ lo) * inverse(0xc2b2ae3d27d4eb4fL);
+    }
+
+    // Multiplicative inverse of an odd number modulo 2^64, by Newton's iteration
+    private static long inverse(long odd) {
+        long inverse = odd;
+        for (int i = 0; i < 5; i++) {
+            inverse *= 2 - odd * inverse;
+        }
+        return inverse;
+    }
+
+    @Test
+    public void argumentsTest() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> FingerprintSet.create(-1));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> FingerprintSet.create(Integer.MAX_VALUE));
+    }
+}
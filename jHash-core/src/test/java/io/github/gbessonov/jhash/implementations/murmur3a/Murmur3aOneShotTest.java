@@ -0,0 +1,84 @@
+package io.github.gbessonov.jhash.implementations.murmur3a;
+
+import io.github.gbessonov.jhash.JHash;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+public class Murmur3aOneShotTest {
+
+    @ParameterizedTest(name = "Seed {0}")
+    @ValueSource(ints = {0, 1, -1, 0x9747b28c})
+    public void primitivesMatchLittleEndianBytesTest(int seed) {
+        var random = new Random(seed);
+        for (int i = 0; i < 200; i++) {
+            int intKey = random.nextInt();
+            long longKey = random.nextLong();
+            var intBytes = ByteBuffer.allocate(4).order(ByteOrder.LITTLE_ENDIAN).putInt(intKey).array();
+            var longBytes = ByteBuffer.allocate(8).order(ByteOrder.LITTLE_ENDIAN).putLong(longKey).array();
+
+            Assertions.assertEquals(Murmur3aOneShot.hash(intBytes, 0, 4, seed), Murmur3aOneShot.hash(intKey, seed));
+            Assertions.assertEquals(Murmur3aOneShot.hash(longBytes, 0, 8, seed), Murmur3aOneShot.hash(longKey, seed));
+            Assertions.assertEquals(Murmur3aOneShot.hash(intKey, seed),
+                    Murmur3aFactory.create(seed).putInt(intKey).hash().asInt());
+            Assertions.assertEquals(Murmur3aOneShot.hash(longKey, seed),
+                    Murmur3aFactory.create(seed).putLong(longKey).hash().asInt());
+        }
+    }
+
+    @ParameterizedTest(name = "Seed {0}")
+    @ValueSource(ints = {0, 1, 2, 3, 4, 5})
+    public void charactersMatchEncodedBytesTest(int seed) {
+        var random = new Random(seed);
+        char[] alphabet = {'a', 'Z', '7', ' ', 'é', 'ß', 'π', '€', '中', '\uD83D', '\uDE00', '\uDFFF'};
+        for (int i = 0; i < 200; i++) {
+            var builder = new StringBuilder();
+            int length = random.nextInt(40);
+            for (int j = 0; j < length; j++) {
+                // Mostly ASCII runs, so both the fast path and the pending bytes get exercised
+                builder.append(random.nextInt(3) == 0
+                        ? alphabet[random.nextInt(alphabet.length)]
+                        : (char) ('a' + random.nextInt(26)));
+            }
+            var input = builder.toString();
+            var utf8 = input.getBytes(StandardCharsets.UTF_8);
+            // Raw code units: the charset would replace unpaired surrogates
+            var utf16 = ByteBuffer.allocate(2 * input.length()).order(ByteOrder.LITTLE_ENDIAN);
+            input.chars().forEach(c -> utf16.putChar((char) c));
+
+            int expectedUtf8 = Murmur3aOneShot.hash(utf8, 0, utf8.length, seed);
+            Assertions.assertEquals(expectedUtf8, Murmur3aOneShot.hashUtf8(input, seed), input);
+            Assertions.assertEquals(expectedUtf8, Murmur3aFactory.create(seed).putUtf8(input).hash().asInt(), input);
+
+            int expectedUtf16 = Murmur3aOneShot.hash(utf16.array(), 0, utf16.capacity(), seed);
+            Assertions.assertEquals(expectedUtf16, Murmur3aOneShot.hashChars(input, seed), input);
+            Assertions.assertEquals(expectedUtf16, Murmur3aFactory.create(seed).putChars(input).hash().asInt(), input);
+        }
+    }
+
+    @Test
+    public void jHashDefaultsTest() {
+        var bytes = "The quick brown fox jumps over the lazy dog".getBytes(StandardCharsets.UTF_8);
+
+        Assertions.assertEquals(0x2e4ff723, JHash.murmur3_32(bytes));
+        Assertions.assertEquals(0x2e4ff723, JHash.murmur3_32_utf8("The quick brown fox jumps over the lazy dog"));
+        Assertions.assertEquals(0x2e4ff723, JHash.newMurmur3_32().include(bytes).hash().asInt());
+        Assertions.assertEquals(0x24884cba, JHash.murmur3_32("Hello, world!".getBytes(StandardCharsets.UTF_8), 0x9747b28c));
+        Assertions.assertEquals(0x2362f9de, JHash.murmur3_32(0));
+        Assertions.assertEquals(JHash.murmur3_32(new byte[8]), JHash.murmur3_32(0L));
+        Assertions.assertEquals(JHash.murmur3_32("ab".getBytes(StandardCharsets.UTF_16LE)), JHash.murmur3_32_chars("ab"));
+    }
+
+    @Test
+    public void rangeIsCheckedTest() {
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> Murmur3aOneShot.hash(new byte[4], 2, 3, 0));
+        Assertions.assertThrows(IndexOutOfBoundsException.class,
+                () -> Murmur3aFactory.create(0).include(new byte[4], -1, 2));
+    }
+}
@@ -0,0 +1,184 @@
+package io.github.gbessonov.jhash.implementations.murmur3a;
+
+import io.github.gbessonov.jhash.HashFunction;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.stream.Stream;
+
+public class Murmur3aTest {
+
+    private static Stream<Arguments> hashingTestDataProvider() {
+        // Published MurmurHash3_x86_32 vectors, cross-checked against the reference C implementation
+        return Stream.of(
+                Arguments.of(0, 0x00000000, ""),
+                Arguments.of(1, 0x514e28b7, ""),
+                Arguments.of(0xffffffff, 0x81f16f39, ""),
+                Arguments.of(0x9747b28c, 0x7fa09ea6, "a"),
+                Arguments.of(0x9747b28c, 0xc84a62dd, "abc"),
+                Arguments.of(0x9747b28c, 0x5a97808a, "aaaa"),
+                Arguments.of(0x9747b28c, 0x24884cba, "Hello, world!"),
+                Arguments.of(0x9747b28c, 0xd58063c1, "ππππππππ"),
+                Arguments.of(0, 0xb3dd93fa, "abc"),
+                Arguments.of(1234, 0xfaf6cdb3, "Hello, world!"),
+                Arguments.of(0, 0x2e4ff723, "The quick brown fox jumps over the lazy dog")
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource("hashingTestDataProvider")
+    public void hashingTest(int seed, int expected, String input) {
+        var bytes = input.getBytes(StandardCharsets.UTF_8);
+
+        Assertions.assertEquals(expected, Murmur3aFactory.create(seed).include(bytes).hash().asInt());
+        Assertions.assertEquals(expected, Murmur3aFactory.create(seed).putUtf8(input).hash().asInt());
+        Assertions.assertEquals(expected, Murmur3aOneShot.hash(bytes, 0, bytes.length, seed));
+        Assertions.assertEquals(expected, Murmur3aOneShot.hashUtf8(input, seed));
+    }
+
+    @Test
+    public void zeroBlockTest() {
+        Assertions.assertEquals(0x2362f9de, Murmur3aFactory.create(0).putInt(0).hash().asInt());
+        Assertions.assertEquals(0x2362f9de, Murmur3aOneShot.hash(0, 0));
+    }
+
+    private static Stream<Arguments> patternTestDataProvider() {
+        // MurmurHash3_x86_32 of the bytes i & 0xff for i in [0, length), seeds 0 and 42
+        return Stream.of(
+                Arguments.of(0, 0x00000000, 0x087fcd5c),
+                Arguments.of(1, 0x514e28b7, 0xdd4449c2),
+                Arguments.of(2, 0x70e1a2c0, 0xf66803bf),
+                Arguments.of(3, 0x51d4d0d7, 0x55339868),
+                Arguments.of(4, 0xf4c0ec39, 0xc07061b1),
+                Arguments.of(5, 0xcca4dccb, 0x78036f61),
+                Arguments.of(7, 0x8d7e4914, 0x9f13d60e),
+                Arguments.of(8, 0xd161d673, 0x0843e47c),
+                Arguments.of(15, 0x5bd6952d, 0xe7226d27),
+                Arguments.of(16, 0x191573dd, 0xda27e4eb),
+                Arguments.of(17, 0xcbe58dc6, 0x8ddb6fb5),
+                Arguments.of(31, 0x64426ad6, 0x6e7d6121),
+                Arguments.of(32, 0xcac37638, 0x068eef47),
+                Arguments.of(33, 0x5460867a, 0xceba6008),
+                Arguments.of(255, 0x6334b600, 0x8e33a8a3),
+                Arguments.of(256, 0xe40a0e56, 0xa89526f3),
+                Arguments.of(1000, 0x2abef0df, 0xd0fad366)
+        );
+    }
+
+    @ParameterizedTest(name = "Length {0}")
+    @MethodSource("patternTestDataProvider")
+    public void patternTest(int length, int expectedSeed0, int expectedSeed42) {
+        var data = pattern(length);
+
+        Assertions.assertEquals(expectedSeed0, Murmur3aOneShot.hash(data, 0, length, 0));
+        Assertions.assertEquals(expectedSeed42, Murmur3aOneShot.hash(data, 0, length, 42));
+        Assertions.assertEquals(expectedSeed0, Murmur3aFactory.create(0).include(data).hash().asInt());
+        Assertions.assertEquals(expectedSeed42, Murmur3aFactory.create(42).include(data).hash().asInt());
+
+        var direct = ByteBuffer.allocateDirect(length).put(data).flip();
+        Assertions.assertEquals(expectedSeed42, Murmur3aFactory.create(42).include(direct).hash().asInt());
+        Assertions.assertEquals(0, direct.position());
+    }
+
+    @ParameterizedTest(name = "Seed {0}")
+    @ValueSource(ints = {0, 1, 2, 3})
+    public void randomChunksTest(int seed) {
+        var random = new Random(seed);
+        var data = new byte[1 + random.nextInt(600)];
+        random.nextBytes(data);
+        int expected = Murmur3aOneShot.hash(data, 0, data.length, seed);
+
+        var hasher = Murmur3aFactory.create(seed);
+        var direct = ByteBuffer.allocateDirect(data.length).put(data).flip();
+        for (int offset = 0; offset < data.length; ) {
+            int chunk = Math.min(random.nextInt(9), data.length - offset);
+            if (random.nextBoolean()) {
+                hasher.include(data, offset, chunk);
+            } else {
+                hasher.include(direct.slice(offset, chunk));
+            }
+            offset += chunk;
+        }
+        Assertions.assertEquals(expected, hasher.hash().asInt());
+    }
+
+    @Test
+    public void hashCodeTest() {
+        var hash = Murmur3aFactory.create(0).include("abc".getBytes(StandardCharsets.UTF_8)).hash();
+
+        Assertions.assertArrayEquals(new byte[]{(byte) 0xfa, (byte) 0x93, (byte) 0xdd, (byte) 0xb3},
+                hash.getValueBytesLittleEndian());
+        Assertions.assertArrayEquals(new byte[]{(byte) 0xb3, (byte) 0xdd, (byte) 0x93, (byte) 0xfa},
+                hash.getValueBytesBigEndian());
+        Assertions.assertEquals("fa93ddb3", hash.getValueHexString());
+        Assertions.assertEquals(0xb3dd93faL, hash.lowBits());
+        Assertions.assertEquals(0L, hash.highBits());
+        Assertions.assertEquals(0xb3dd93faL, hash.getValueBigInteger().longValueExact());
+        Assertions.assertThrows(IllegalStateException.class, hash::asLong);
+        Assertions.assertEquals(hash, Murmur3aFactory.createHashCode(0xb3dd93fa));
+    }
+
+    @Test
+    public void hashIntoTest() {
+        var dst = new long[]{-1, -1};
+        Murmur3aFactory.create(0).include("abc".getBytes(StandardCharsets.UTF_8)).hashInto(dst, 1);
+        Assertions.assertArrayEquals(new long[]{-1, 0xb3dd93faL}, dst);
+
+        var buffer = ByteBuffer.allocate(6);
+        Murmur3aFactory.create(0).include("abc".getBytes(StandardCharsets.UTF_8)).hashInto(buffer);
+        Assertions.assertEquals(4, buffer.position());
+        Assertions.assertEquals(0xb3dd93fa, buffer.order(ByteOrder.LITTLE_ENDIAN).getInt(0));
+    }
+
+    @Test
+    public void copyAndStateTest() {
+        var data = pattern(1000);
+        int expected = Murmur3aOneShot.hash(data, 0, data.length, 7);
+
+        for (int split = 0; split < 12; split++) {
+            HashFunction hasher = Murmur3aFactory.create(7).include(data, 0, split);
+            var copy = hasher.copy();
+            var restored = Murmur3aFactory.create(99).restoreState(hasher.saveState());
+
+            Assertions.assertEquals(expected, hasher.include(data, split, data.length - split).hash().asInt());
+            Assertions.assertEquals(expected, copy.include(data, split, data.length - split).hash().asInt());
+            Assertions.assertEquals(expected, restored.include(data, split, data.length - split).hash().asInt());
+        }
+    }
+
+    @Test
+    public void malformedStateTest() {
+        var hasher = Murmur3aFactory.create(0).include(pattern(6));
+        var state = hasher.saveState();
+
+        var truncated = Arrays.copyOf(state, state.length - 1);
+        Assertions.assertThrows(IllegalArgumentException.class, () -> hasher.restoreState(truncated));
+
+        var otherAlgorithm = state.clone();
+        otherAlgorithm[1] = 1;
+        Assertions.assertThrows(IllegalArgumentException.class, () -> hasher.restoreState(otherAlgorithm));
+
+        var wrongTail = state.clone();
+        wrongTail[2] = 3;
+        Assertions.assertThrows(IllegalArgumentException.class, () -> hasher.restoreState(wrongTail));
+
+        Assertions.assertEquals(Murmur3aOneShot.hash(pattern(6), 0, 6, 0), hasher.hash().asInt());
+    }
+
+    private static byte[] pattern(int length) {
+        var data = new byte[length];
+        for (int i = 0; i < length; i++) {
+            data[i] = (byte) i;
+        }
+        return data;
+    }
+}
@@ -0,0 +1,232 @@
+package io.github.gbessonov.jhash.implementations.murmur3c;
+
+import io.github.gbessonov.jhash.HashFunction;
+import io.github.gbessonov.jhash.JHash;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.stream.Stream;
+
+public class Murmur3cTest {
+
+    private static Stream<Arguments> hashingTestDataProvider() {
+        // Reference values from MurmurHash3_x86_128 (C); low = h2:h1, high = h4:h3
+        return Stream.of(
+                Arguments.of(0, 0x0000000000000000L, 0x0000000000000000L, ""),
+                Arguments.of(1, 0x54d201b988c4adecL, 0x54d201b954d201b9L, ""),
+                Arguments.of(0, 0x5556b01ba794933cL, 0x5556b01b5556b01bL, "a"),
+                Arguments.of(0, 0xa2b006a575cdc6d1L, 0xa2b006a5a2b006a5L, "abc"),
+                Arguments.of(1, 0xff6b5b012c021e18L, 0xff6b5b01ff6b5b01L, "aaaa"),
+                Arguments.of(0, 0xf0638dfc26acdba7L, 0x0afdd4c3402b4263L, "Hello, world!"),
+                Arguments.of(1, 0xd8b061d317e7f784L, 0x92b0b92caa180c8bL, "Hello, world!"),
+                Arguments.of(0x9747b28c, 0xbb872216756d5460L, 0x53c8c636b7d48b7cL, "Hello, world!"),
+                Arguments.of(0, 0xecee2c672f1583c3L, 0xe5e91d2c5d7bf66cL, "The quick brown fox jumps over the lazy dog"),
+                Arguments.of(0x9747b28c, 0x4cb861718ad4d55eL, 0xcdb6793e8ea73a9cL,
+                        "The quick brown fox jumps over the lazy dog")
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource("hashingTestDataProvider")
+    public void hashingTest(int seed, long expectedLow, long expectedHigh, String input) {
+        var bytes = input.getBytes(StandardCharsets.UTF_8);
+
+        var streamed = Murmur3cFactory.create(seed).include(bytes).hash();
+        Assertions.assertEquals(expectedLow, streamed.lowBits());
+        Assertions.assertEquals(expectedHigh, streamed.highBits());
+        Assertions.assertEquals(streamed, Murmur3cFactory.create(seed).putUtf8(input).hash());
+        Assertions.assertEquals(streamed, Murmur3cOneShot.hash(bytes, 0, bytes.length, seed));
+        Assertions.assertEquals(expectedLow, Murmur3cOneShot.hashLow64(bytes, 0, bytes.length, seed));
+    }
+
+    private static Stream<Arguments> patternTestDataProvider() {
+        // MurmurHash3_x86_128 of the bytes i & 0xff for i in [0, length), seeds 0 and 42
+        return Stream.of(
+                Arguments.of(0, 0x0000000000000000L, 0x0000000000000000L, 0x95c80cbaaf6d2cb6L, 0x95c80cba95c80cbaL),
+                Arguments.of(1, 0x54d201b988c4adecL, 0x54d201b954d201b9L, 0x69f7b9519b2e6796L, 0x69f7b95169f7b951L),
+                Arguments.of(3, 0x33c18cef37095e0dL, 0x33c18cef33c18cefL, 0x01c97b675b4a0b96L, 0x01c97b6701c97b67L),
+                Arguments.of(4, 0x4e343ce2c72c99e7L, 0x4e343ce24e343ce2L, 0x65ae6a4e6bf547eeL, 0x65ae6a4e65ae6a4eL),
+                Arguments.of(5, 0x4e7ccbd190f84e5eL, 0x9275e7659275e765L, 0xdf8edffda8ffe92bL, 0x91e9b3b291e9b3b2L),
+                Arguments.of(8, 0xb18cd5bc91f4928aL, 0x867244ac867244acL, 0x526c99b7c81c938aL, 0x748dcfb4748dcfb4L),
+                Arguments.of(12, 0xefbbacdb3f7e3ab4L, 0x566fef0e43f77828L, 0xa88a3398aa9bd3c9L, 0xa95ba6e00f899455L),
+                Arguments.of(13, 0xc1565a553fcb34d0L, 0xd05851bd313cb9b2L, 0xfab19ff863c60d32L, 0x6064bc43619e7f9aL),
+                Arguments.of(15, 0x62a6e4ca757b9c59L, 0xca77556661e2db4eL, 0x9aeb1fa1d596aa0aL, 0x5a87ab7290427e54L),
+                Arguments.of(16, 0x559180ee6c25c825L, 0x89a55befea538074L, 0x72e3926e5fadebc1L, 0xd6c0419b25fe063cL),
+                Arguments.of(17, 0x359c940b6ac99cdbL, 0xa275ab51ae1673adL, 0x5a54a37cc392e19aL, 0x3429af6bc0a195bfL),
+                Arguments.of(31, 0xac1d89ca24ab92eeL, 0x9ad5dda345f5bc18L, 0x724814a32a0301fbL, 0x026beefc906b12faL),
+                Arguments.of(32, 0xa4795780d6b16afdL, 0x97df89ceb7bd7575L, 0x1890573c244ad31bL, 0x5c55f7aef02523a4L),
+                Arguments.of(33, 0x76f9913650de15baL, 0x220dc78120e7b670L, 0xa6b421aa504909ffL, 0x6d63b0de53337749L),
+                Arguments.of(255, 0x6cb45a87ea84c820L, 0xf8dd9307a8748b05L, 0xeaff1c42db20d1dbL, 0x275170329c757eedL),
+                Arguments.of(256, 0xdb4503df2c56c88fL, 0x494ca2c0d352b21aL, 0xb96e7a3422af5f92L, 0xb880c7d736d481edL),
+                Arguments.of(1000, 0xf39e5942756cf0c4L, 0x2ddcfbc10dec3f01L, 0xf14cfce5a541f295L, 0x2f4292422c5f9e7fL)
+        );
+    }
+
+    @ParameterizedTest(name = "Length {0}")
+    @MethodSource("patternTestDataProvider")
+    public void patternTest(int length, long low0, long high0, long low42, long high42) {
+        var data = pattern(length);
+        var dst = new long[2];
+
+        Murmur3cOneShot.hash(data, 0, length, 0, dst, 0);
+        Assertions.assertArrayEquals(new long[]{low0, high0}, dst);
+        Murmur3cOneShot.hash(data, 0, length, 42, dst, 0);
+        Assertions.assertArrayEquals(new long[]{low42, high42}, dst);
+
+        Murmur3cFactory.create(42).include(data).hashInto(dst, 0);
+        Assertions.assertArrayEquals(new long[]{low42, high42}, dst);
+
+        var direct = ByteBuffer.allocateDirect(length).put(data).flip();
+        Murmur3cFactory.create(0).include(direct).hashInto(dst, 0);
+        Assertions.assertArrayEquals(new long[]{low0, high0}, dst);
+        Assertions.assertEquals(0, direct.position());
+    }
+
+    @ParameterizedTest(name = "Seed {0}")
+    @ValueSource(ints = {0, 1, 2, 3})
+    public void randomChunksTest(int seed) {
+        var random = new Random(seed);
+        var data = new byte[1 + random.nextInt(1000)];
+        random.nextBytes(data);
+        var expected = Murmur3cOneShot.hash(data, 0, data.length, seed);
+
+        var hasher = Murmur3cFactory.create(seed);
+        var direct = ByteBuffer.allocateDirect(data.length).put(data).flip();
+        for (int offset = 0; offset < data.length; ) {
+            int chunk = Math.min(random.nextInt(40), data.length - offset);
+            if (random.nextBoolean()) {
+                hasher.include(data, offset, chunk);
+            } else {
+                hasher.include(direct.slice(offset, chunk));
+            }
+            offset += chunk;
+        }
+        Assertions.assertEquals(expected, hasher.hash());
+    }
+
+    @Test
+    public void typedValuesMatchLittleEndianBytesTest() {
+        var random = new Random(7);
+        var hasher = Murmur3cFactory.create(7);
+        var expected = ByteBuffer.allocate(4096).order(ByteOrder.LITTLE_ENDIAN);
+        for (int i = 0; i < 300; i++) {
+            switch (random.nextInt(5)) {
+                case 0 -> {
+                    byte value = (byte) random.nextInt();
+                    hasher.putByte(value);
+                    expected.put(value);
+                }
+                case 1 -> {
+                    short value = (short) random.nextInt();
+                    hasher.putShort(value);
+                    expected.putShort(value);
+                }
+                case 2 -> {
+                    int value = random.nextInt();
+                    hasher.putInt(value);
+                    expected.putInt(value);
+                }
+                case 3 -> {
+                    long value = random.nextLong();
+                    hasher.putLong(value);
+                    expected.putLong(value);
+                }
+                default -> {
+                    var text = Long.toString(random.nextLong(), 36) + "π€";
+                    hasher.putChars(text);
+                    text.chars().forEach(c -> expected.putChar((char) c));
+                }
+            }
+        }
+        Assertions.assertEquals(Murmur3cOneShot.hash(expected.array(), 0, expected.position(), 7), hasher.hash());
+    }
+
+    @ParameterizedTest(name = "Seed {0}")
+    @ValueSource(ints = {0, 1, -1, 0x9747b28c})
+    public void fixedWidthKeysTest(int seed) {
+        var random = new Random(seed);
+        var dst = new long[2];
+        for (int i = 0; i < 100; i++) {
+            int intKey = random.nextInt();
+            long low = random.nextLong();
+            long high = random.nextLong();
+            var bytes = ByteBuffer.allocate(16).order(ByteOrder.LITTLE_ENDIAN).putLong(low).putLong(high).array();
+            var intBytes = ByteBuffer.allocate(4).order(ByteOrder.LITTLE_ENDIAN).putInt(intKey).array();
+
+            var intExpected = Murmur3cOneShot.hash(intBytes, 0, 4, seed);
+            Assertions.assertEquals(intExpected, Murmur3cOneShot.hash(intKey, seed));
+            Assertions.assertEquals(intExpected.lowBits(), Murmur3cOneShot.hashLow64(intKey, seed));
+
+            var longExpected = Murmur3cOneShot.hash(bytes, 0, 8, seed);
+            Assertions.assertEquals(longExpected, Murmur3cOneShot.hash(low, seed));
+            Assertions.assertEquals(longExpected.lowBits(), Murmur3cOneShot.hashLow64(low, seed));
+            Murmur3cOneShot.hash(low, seed, dst, 0);
+            Assertions.assertArrayEquals(new long[]{longExpected.lowBits(), longExpected.highBits()}, dst);
+
+            var pairExpected = Murmur3cOneShot.hash(bytes, 0, 16, seed);
+            Assertions.assertEquals(pairExpected, Murmur3cOneShot.hash(low, high, seed));
+            Assertions.assertEquals(pairExpected.lowBits(), Murmur3cOneShot.hashLow64(low, high, seed));
+            Murmur3cOneShot.hash(intKey, seed, dst, 0);
+            Assertions.assertArrayEquals(new long[]{intExpected.lowBits(), intExpected.highBits()}, dst);
+        }
+    }
+
+    @Test
+    public void hashCodeBytesMatchReferenceOutputTest() {
+        var hash = JHash.murmur3_x86_128("abc".getBytes(StandardCharsets.UTF_8));
+
+        // The reference writes h1..h4 as little-endian 32-bit words
+        var expected = ByteBuffer.allocate(16).order(ByteOrder.LITTLE_ENDIAN)
+                .putInt(0x75cdc6d1).putInt(0xa2b006a5).putInt(0xa2b006a5).putInt(0xa2b006a5).array();
+        Assertions.assertArrayEquals(expected, hash.getValueBytesLittleEndian());
+        Assertions.assertEquals("d1c6cd75a506b0a2a506b0a2a506b0a2", hash.getValueHexString());
+        Assertions.assertEquals(0x75cdc6d1, hash.asInt());
+        Assertions.assertEquals(hash, Murmur3cFactory.createHashCode(hash.lowBits(), hash.highBits()));
+
+        var buffer = ByteBuffer.allocate(20);
+        JHash.newMurmur3_x86_128().include("abc".getBytes(StandardCharsets.UTF_8)).hashInto(buffer);
+        Assertions.assertEquals(16, buffer.position());
+        Assertions.assertArrayEquals(expected, Arrays.copyOf(buffer.array(), 16));
+    }
+
+    @Test
+    public void copyAndStateTest() {
+        var data = pattern(1000);
+        var expected = Murmur3cOneShot.hash(data, 0, data.length, 7);
+
+        for (int split = 0; split < 40; split++) {
+            HashFunction hasher = Murmur3cFactory.create(7).include(data, 0, split);
+            var copy = hasher.copy();
+            var restored = Murmur3cFactory.create(99).restoreState(hasher.saveState());
+
+            Assertions.assertEquals(expected, hasher.include(data, split, data.length - split).hash());
+            Assertions.assertEquals(expected, copy.include(data, split, data.length - split).hash());
+            Assertions.assertEquals(expected, restored.include(data, split, data.length - split).hash());
+        }
+
+        var state = Murmur3cFactory.create(0).include(pattern(5)).saveState();
+        var otherAlgorithm = state.clone();
+        otherAlgorithm[1] = 1;
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> Murmur3cFactory.create(0).restoreState(otherAlgorithm));
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> Murmur3cFactory.create(0).restoreState(Arrays.copyOf(state, state.length - 1)));
+    }
+
+    private static byte[] pattern(int length) {
+        var data = new byte[length];
+        for (int i = 0; i < length; i++) {
+            data[i] = (byte) i;
+        }
+        return data;
+    }
+}
@@ -0,0 +1,38 @@
+package io.github.gbessonov.jhash.implementations.murmur3f;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+public class BlockReaderTest {
+
+    @Test
+    public void selectTest() {
+        Assertions.assertEquals(BlockReader.VAR_HANDLE, BlockReader.select(null));
+        Assertions.assertEquals(BlockReader.VAR_HANDLE, BlockReader.select(""));
+        Assertions.assertEquals(BlockReader.SCALAR, BlockReader.select("scalar"));
+        Assertions.assertEquals(BlockReader.VAR_HANDLE, BlockReader.select("VAR_HANDLE"));
+        Assertions.assertEquals(BlockReader.VAR_HANDLE, BlockReader.select("varhandle"));
+        Assertions.assertEquals(BlockReader.VAR_HANDLE, BlockReader.select("Var-Handle"));
+    }
+
+    @Test
+    public void unknownValueFallsBackTest() {
+        Assertions.assertEquals(BlockReader.VAR_HANDLE, BlockReader.select("simd"));
+        Assertions.assertEquals(BlockReader.VAR_HANDLE, BlockReader.select("var handle"));
+    }
+
+    @Test
+    public void kernelsAgreeTest() {
+        var data = new byte[64];
+        new Random(42).nextBytes(data);
+        for (int offset = 0; offset <= data.length - Long.BYTES; offset++) {
+            Assertions.assertEquals(
+                    BlockReader.SCALAR.getLong(data, offset),
+                    BlockReader.VAR_HANDLE.getLong(data, offset),
+                    "Failed at offset " + offset
+            );
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package io.github.gbessonov.jhash.implementations.murmur3f;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Random;
+
+public class Murmur3fBatchTest {
+
+    @ParameterizedTest(name = "{0} values")
+    @ValueSource(ints = {0, 1, 2, 3, 10, 101})
+    public void batchMatchesOneShotTest(int count) {
+        var random = new Random(count);
+        var offsets = new int[count + 1];
+        for (int i = 0; i < count; i++) {
+            offsets[i + 1] = offsets[i] + random.nextInt(i % 3 == 0 ? 8 : 80);
+        }
+        var data = new byte[offsets[count]];
+        random.nextBytes(data);
+
+        var expected = new long[2 * count + 2];
+        Arrays.fill(expected, 7);
+        for (int i = 0; i < count; i++) {
+            Murmur3fOneShot.hash(data, offsets[i], offsets[i + 1] - offsets[i], 42, expected, 2 * i);
+        }
+
+        var fromArray = new long[2 * count + 2];
+        Arrays.fill(fromArray, 7);
+        Murmur3fBatch.hash(data, offsets, count, 42, fromArray);
+        Assertions.assertArrayEquals(expected, fromArray);
+
+        var padded = new byte[data.length + 5];
+        System.arraycopy(data, 0, padded, 5, data.length);
+        var fromHeapSlice = new long[2 * count + 2];
+        Arrays.fill(fromHeapSlice, 7);
+        Murmur3fBatch.hash(ByteBuffer.wrap(padded, 5, data.length).slice(), offsets, count, 42, fromHeapSlice);
+        Assertions.assertArrayEquals(expected, fromHeapSlice);
+
+        var direct = ByteBuffer.allocateDirect(data.length).put(data);
+        var fromDirect = new long[2 * count + 2];
+        Arrays.fill(fromDirect, 7);
+        Murmur3fBatch.hash(direct, offsets, count, 42, fromDirect);
+        Assertions.assertArrayEquals(expected, fromDirect);
+        Assertions.assertEquals(data.length, direct.position());
+    }
+
+    @Test
+    public void boundsTest() {
+        var data = new byte[10];
+        Assertions.assertThrows(IndexOutOfBoundsException.class,
+                () -> Murmur3fBatch.hash(data, new int[]{0, 5}, 2, 0, new long[4]));
+        Assertions.assertThrows(IndexOutOfBoundsException.class,
+                () -> Murmur3fBatch.hash(data, new int[]{0, 5, 10}, 2, 0, new long[3]));
+        Assertions.assertThrows(IndexOutOfBoundsException.class,
+                () -> Murmur3fBatch.hash(data, new int[]{0, 5, 11}, 2, 0, new long[4]));
+        Assertions.assertThrows(IndexOutOfBoundsException.class,
+                () -> Murmur3fBatch.hash(ByteBuffer.wrap(data, 0, 8).slice(), new int[]{0, 9}, 1, 0, new long[2]));
+        Assertions.assertThrows(IndexOutOfBoundsException.class,
+                () -> Murmur3fBatch.hash(ByteBuffer.allocateDirect(10), new int[]{6, 4}, 1, 0, new long[2]));
+    }
+}
@@ -0,0 +1,123 @@
+package io.github.gbessonov.jhash.implementations.murmur3f;
+
+import io.github.gbessonov.jhash.HashCode;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Random;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+public class Murmur3fByteBufferTest {
+
+    private static Stream<Arguments> bufferKindsProvider() {
+        Function<byte[], ByteBuffer> heap = ByteBuffer::wrap;
+        Function<byte[], ByteBuffer> direct = data -> ByteBuffer.allocateDirect(data.length).put(data).flip();
+        Function<byte[], ByteBuffer> readOnly = data -> ByteBuffer.wrap(data).asReadOnlyBuffer();
+        Function<byte[], ByteBuffer> directLittleEndian = data ->
+                ByteBuffer.allocateDirect(data.length).order(ByteOrder.LITTLE_ENDIAN).put(data).flip();
+        Function<byte[], ByteBuffer> heapSlice = data -> {
+            byte[] padded = new byte[data.length + 7];
+            System.arraycopy(data, 0, padded, 3, data.length);
+            return ByteBuffer.wrap(padded, 3, data.length).slice();
+        };
+        return Stream.of(
+                Arguments.of("heap", heap),
+                Arguments.of("direct", direct),
+                Arguments.of("read-only heap", readOnly),
+                Arguments.of("direct little-endian", directLittleEndian),
+                Arguments.of("heap slice", heapSlice)
+        );
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("bufferKindsProvider")
+    public void singleBufferMatchesByteArrayTest(String kind, Function<byte[], ByteBuffer> toBuffer) {
+        var random = new Random(42);
+        for (int size = 0; size <= 100; size++) {
+            var data = new byte[size];
+            random.nextBytes(data);
+            var expected = Murmur3fFactory.create(7).include(data).hash();
+            var actual = Murmur3fFactory.create(7).include(toBuffer.apply(data)).hash();
+            Assertions.assertEquals(expected, actual, "Failed for " + kind + " buffer of size " + size);
+        }
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("bufferKindsProvider")
+    public void mixedChunksMatchByteArrayTest(String kind, Function<byte[], ByteBuffer> toBuffer) {
+        var data = new byte[1000];
+        new Random(42).nextBytes(data);
+        var expected = Murmur3fFactory.create(0).include(data).hash();
+
+        var hasher = Murmur3fFactory.create(0);
+        int offset = 0;
+        int step = 1;
+        while (offset < data.length) {
+            var chunk = new byte[Math.min(step, data.length - offset)];
+            System.arraycopy(data, offset, chunk, 0, chunk.length);
+            if (step % 2 == 0) {
+                hasher.include(chunk);
+            } else {
+                hasher.include(toBuffer.apply(chunk));
+            }
+            offset += chunk.length;
+            step++;
+        }
+
+        Assertions.assertEquals(expected, hasher.hash());
+    }
+
+    @Test
+    public void positionAndLimitAreRespectedAndPreservedTest() {
+        var data = new byte[64];
+        new Random(42).nextBytes(data);
+        var expected = Murmur3fFactory.create(0).include(slice(data, 5, 50)).hash();
+
+        var direct = ByteBuffer.allocateDirect(data.length).put(data).position(5).limit(55);
+        var heap = ByteBuffer.wrap(data).position(5).limit(55);
+
+        Assertions.assertEquals(expected, Murmur3fFactory.create(0).include(direct).hash());
+        Assertions.assertEquals(expected, Murmur3fFactory.create(0).include(heap).hash());
+        Assertions.assertEquals(5, direct.position());
+        Assertions.assertEquals(55, direct.limit());
+        Assertions.assertEquals(ByteOrder.BIG_ENDIAN, direct.order());
+        Assertions.assertEquals(5, heap.position());
+        Assertions.assertEquals(55, heap.limit());
+    }
+
+    @Test
+    public void gatheringIncludeMatchesByteArrayTest() {
+        var data = new byte[777];
+        new Random(42).nextBytes(data);
+        var expected = Murmur3fFactory.create(3).include(data).hash();
+
+        int[] sizes = {0, 1, 15, 16, 17, 100, 3, 0, 200, 425};
+        Assertions.assertEquals(data.length, IntStream.of(sizes).sum());
+        var buffers = new ByteBuffer[sizes.length];
+        int offset = 0;
+        for (int i = 0; i < sizes.length; i++) {
+            var chunk = slice(data, offset, sizes[i]);
+            buffers[i] = i % 2 == 0 ? ByteBuffer.wrap(chunk) : ByteBuffer.allocateDirect(chunk.length).put(chunk).flip();
+            offset += sizes[i];
+        }
+
+        HashCode actual = Murmur3fFactory.create(3).include(buffers).hash();
+        Assertions.assertEquals(expected, actual);
+        for (var buffer : buffers) {
+            Assertions.assertEquals(0, buffer.position());
+        }
+    }
+
+    private static byte[] slice(byte[] data, int offset, int length) {
+        var result = new byte[length];
+        System.arraycopy(data, offset, result, 0, length);
+        return result;
+    }
+}
@@ -0,0 +1,52 @@
+package io.github.gbessonov.jhash.implementations.murmur3f;
+
+import io.github.gbessonov.jhash.JHash;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.Random;
+
+public class Murmur3fCopyTest {
+
+    @ParameterizedTest(name = "Prefix of {0} bytes")
+    @ValueSource(ints = {0, 1, 7, 8, 15, 16, 17, 31, 100})
+    public void forkedSuffixesTest(int prefixLength) {
+        var random = new Random(prefixLength);
+        var prefix = new byte[prefixLength];
+        random.nextBytes(prefix);
+
+        var base = JHash.newMurmur3_128(42).include(prefix);
+        for (int suffixLength : new int[]{0, 1, 9, 16, 33}) {
+            var suffix = new byte[suffixLength];
+            random.nextBytes(suffix);
+            var whole = new byte[prefixLength + suffixLength];
+            System.arraycopy(prefix, 0, whole, 0, prefixLength);
+            System.arraycopy(suffix, 0, whole, prefixLength, suffixLength);
+
+            Assertions.assertEquals(JHash.murmur3_128(whole, 42), base.copy().include(suffix).hash());
+        }
+        Assertions.assertEquals(JHash.murmur3_128(prefix, 42), base.hash());
+    }
+
+    @Test
+    public void copiesAreIndependentTest() {
+        var base = JHash.newMurmur3_128().putLong(1).putByte((byte) 2);
+        var first = base.copy().putInt(3);
+        var second = base.copy().putUtf8("suffix");
+        base.putShort((short) 4);
+
+        Assertions.assertEquals(JHash.newMurmur3_128().putLong(1).putByte((byte) 2).putInt(3).hash(), first.hash());
+        Assertions.assertEquals(JHash.newMurmur3_128().putLong(1).putByte((byte) 2).putUtf8("suffix").hash(),
+                second.hash());
+        Assertions.assertEquals(JHash.newMurmur3_128().putLong(1).putByte((byte) 2).putShort((short) 4).hash(),
+                base.hash());
+    }
+
+    @Test
+    public void copyKeepsKernelTest() {
+        var base = Murmur3fFactory.create(7, BlockReader.SCALAR).include(new byte[40]);
+        Assertions.assertEquals(JHash.murmur3_128(new byte[50], 7), base.copy().include(new byte[10]).hash());
+    }
+}
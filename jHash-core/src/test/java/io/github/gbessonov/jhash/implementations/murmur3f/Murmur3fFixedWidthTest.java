@@ -0,0 +1,58 @@
+package io.github.gbessonov.jhash.implementations.murmur3f;
+
+import io.github.gbessonov.jhash.JHash;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Random;
+
+public class Murmur3fFixedWidthTest {
+
+    @ParameterizedTest(name = "Seed {0}")
+    @ValueSource(ints = {0, 1, 42, -1, Integer.MAX_VALUE, Integer.MIN_VALUE})
+    public void fixedWidthMatchesIncludeTest(int seed) {
+        var random = new Random(seed);
+        var halves = new long[2];
+        for (int i = 0; i < 200; i++) {
+            int intKey = i < 2 ? i - 1 : random.nextInt();
+            long longKey = i < 2 ? i - 1 : random.nextLong();
+            long highKey = random.nextLong();
+
+            var intExpected = Murmur3fFactory.create(seed).include(littleEndian(4).putInt(intKey).array()).hash();
+            Assertions.assertEquals(intExpected, Murmur3fOneShot.hash(intKey, seed));
+            Assertions.assertEquals(intExpected.lowBits(), Murmur3fOneShot.hashLow64(intKey, seed));
+            Murmur3fOneShot.hash(intKey, seed, halves, 0);
+            Assertions.assertArrayEquals(new long[]{intExpected.lowBits(), intExpected.highBits()}, halves);
+
+            var longExpected = Murmur3fFactory.create(seed).include(littleEndian(8).putLong(longKey).array()).hash();
+            Assertions.assertEquals(longExpected, Murmur3fOneShot.hash(longKey, seed));
+            Assertions.assertEquals(longExpected.lowBits(), Murmur3fOneShot.hashLow64(longKey, seed));
+            Murmur3fOneShot.hash(longKey, seed, halves, 0);
+            Assertions.assertArrayEquals(new long[]{longExpected.lowBits(), longExpected.highBits()}, halves);
+
+            var pairExpected = Murmur3fFactory.create(seed)
+                    .include(littleEndian(16).putLong(longKey).putLong(highKey).array())
+                    .hash();
+            Assertions.assertEquals(pairExpected, Murmur3fOneShot.hash(longKey, highKey, seed));
+            Assertions.assertEquals(pairExpected.lowBits(), Murmur3fOneShot.hashLow64(longKey, highKey, seed));
+            Murmur3fOneShot.hash(longKey, highKey, seed, halves, 0);
+            Assertions.assertArrayEquals(new long[]{pairExpected.lowBits(), pairExpected.highBits()}, halves);
+
+            if (seed == 0) {
+                Assertions.assertEquals(intExpected, JHash.murmur3_128(intKey));
+                Assertions.assertEquals(longExpected, JHash.murmur3_128(longKey));
+                Assertions.assertEquals(pairExpected, JHash.murmur3_128(longKey, highKey));
+                Assertions.assertEquals(intExpected.lowBits(), JHash.murmur3_128_low64(intKey));
+                Assertions.assertEquals(longExpected.lowBits(), JHash.murmur3_128_low64(longKey));
+                Assertions.assertEquals(pairExpected.lowBits(), JHash.murmur3_128_low64(longKey, highKey));
+            }
+        }
+    }
+
+    private static ByteBuffer littleEndian(int size) {
+        return ByteBuffer.allocate(size).order(ByteOrder.LITTLE_ENDIAN);
+    }
+}
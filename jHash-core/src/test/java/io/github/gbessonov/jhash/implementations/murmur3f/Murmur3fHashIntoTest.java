@@ -0,0 +1,72 @@
+package io.github.gbessonov.jhash.implementations.murmur3f;
+
+import io.github.gbessonov.jhash.HashCode;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+import java.util.Random;
+
+public class Murmur3fHashIntoTest {
+
+    @Test
+    public void hashCodeAccessorsTest() {
+        // "The quick brown fox jumps over the lazy dog", values from Murmur3fTest
+        HashCode hash = Murmur3fFactory.create(0)
+                .include(Murmur3fTest.ascii("The quick brown fox jumps over the lazy dog"))
+                .hash();
+
+        Assertions.assertEquals(0xe34bbc7bbc071b6cL, hash.lowBits());
+        Assertions.assertEquals(0x7a433ca9c49a9347L, hash.highBits());
+        Assertions.assertEquals(0xe34bbc7bbc071b6cL, hash.asLong());
+        Assertions.assertEquals(0xbc071b6c, hash.asInt());
+
+        var bytes = new byte[20];
+        Assertions.assertEquals(16, hash.writeBytesTo(bytes, 2));
+        Assertions.assertArrayEquals(hash.getValueBytesLittleEndian(), Arrays.copyOfRange(bytes, 2, 18));
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> hash.writeBytesTo(bytes, 5));
+    }
+
+    @Test
+    public void reusedHasherTest() {
+        var random = new Random(42);
+        var hasher = Murmur3fFactory.create(0);
+        var halves = new long[4];
+        var buffer = ByteBuffer.allocateDirect(40).order(ByteOrder.BIG_ENDIAN);
+
+        for (int size = 0; size <= 64; size++) {
+            var data = new byte[size];
+            random.nextBytes(data);
+            var expected = Murmur3fFactory.create(size).include(data).hash();
+
+            hasher.reset(size);
+            hasher.include(data).hashInto(halves, 2);
+            Assertions.assertEquals(expected.lowBits(), halves[2], "Failed for size " + size);
+            Assertions.assertEquals(expected.highBits(), halves[3], "Failed for size " + size);
+
+            hasher.reset(size);
+            buffer.clear().position(3);
+            hasher.include(data).hashInto(buffer);
+            Assertions.assertEquals(19, buffer.position());
+            Assertions.assertEquals(ByteOrder.BIG_ENDIAN, buffer.order());
+            var written = new byte[16];
+            buffer.get(3, written);
+            Assertions.assertArrayEquals(expected.getValueBytesLittleEndian(), written, "Failed for size " + size);
+        }
+    }
+
+    @Test
+    public void hashIntoBoundsTest() {
+        var hasher = Murmur3fFactory.create(0);
+        var halves = new long[]{7, 7};
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> hasher.hashInto(halves, 1));
+        Assertions.assertArrayEquals(new long[]{7, 7}, halves);
+
+        var buffer = ByteBuffer.allocate(16).position(1);
+        Assertions.assertThrows(BufferOverflowException.class, () -> hasher.hashInto(buffer));
+        Assertions.assertEquals(1, buffer.position());
+    }
+}
@@ -0,0 +1,69 @@
+package io.github.gbessonov.jhash.implementations.murmur3f;
+
+import io.github.gbessonov.jhash.JHash;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Random;
+
+public class Murmur3fOneShotPrimitiveTest {
+
+    @ParameterizedTest(name = "Seed {0}")
+    @ValueSource(ints = {0, 1, 42, Integer.MAX_VALUE, Integer.MIN_VALUE})
+    public void matchesStreamingTest(int seed) {
+        var random = new Random(seed);
+        for (int size = 0; size <= 100; size++) {
+            var data = new byte[size];
+            random.nextBytes(data);
+            var expected = Murmur3fFactory.create(seed).include(data).hash().getValueBytesLittleEndian();
+            var expectedBuffer = ByteBuffer.wrap(expected).order(ByteOrder.LITTLE_ENDIAN);
+            long expectedLow = expectedBuffer.getLong(0);
+            long expectedHigh = expectedBuffer.getLong(8);
+
+            var halves = new long[]{-1, -1, -1, -1};
+            JHash.murmur3_128_into(data, seed, halves, 1);
+
+            Assertions.assertEquals(expectedLow, JHash.murmur3_128_low64(data, seed), "Failed for size " + size);
+            Assertions.assertArrayEquals(new long[]{-1, expectedLow, expectedHigh, -1}, halves, "Failed for size " + size);
+            Assertions.assertEquals(
+                    Murmur3fFactory.create(seed).include(data).hash(),
+                    JHash.murmur3_128(data, seed),
+                    "Failed for size " + size
+            );
+        }
+    }
+
+    @Test
+    public void rangeTest() {
+        var data = new byte[300];
+        new Random(42).nextBytes(data);
+        for (int offset = 0; offset < 20; offset++) {
+            var slice = new byte[257];
+            System.arraycopy(data, offset, slice, 0, slice.length);
+            Assertions.assertEquals(
+                    JHash.murmur3_128(slice, 5),
+                    Murmur3fOneShot.hash(data, offset, slice.length, 5),
+                    "Failed for offset " + offset
+            );
+            Assertions.assertEquals(
+                    JHash.murmur3_128_low64(slice, 5),
+                    Murmur3fOneShot.hashLow64(data, offset, slice.length, 5),
+                    "Failed for offset " + offset
+            );
+        }
+    }
+
+    @Test
+    public void boundsTest() {
+        var data = new byte[16];
+        var halves = new long[]{7, 7};
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> Murmur3fOneShot.hashLow64(data, 8, 9, 0));
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> JHash.murmur3_128_into(data, halves, 1));
+        Assertions.assertArrayEquals(new long[]{7, 7}, halves);
+        Assertions.assertThrows(NullPointerException.class, () -> JHash.murmur3_128_low64(null));
+    }
+}
@@ -25,6 +25,7 @@ public class Murmur3fOneShotTest {
         byte[] data = input.getBytes(StandardCharsets.UTF_8);
         var hash = JHash.murmur3_128(data);
         validateHash(expectedResult, hash);
+        validateKernels(expectedResult, data);
     }
 
     @ParameterizedTest(name = "Edge case {index}: {0}")
@@ -32,6 +33,7 @@ public class Murmur3fOneShotTest {
     public void edgeCaseTest(String description, byte[] input, String expectedResult) {
         var hash = JHash.murmur3_128(input);
         validateHash(expectedResult, hash);
+        validateKernels(expectedResult, input);
     }
 
     @ParameterizedTest(name = "Boundary test {index}: size {1}")
@@ -44,6 +46,7 @@ public class Murmur3fOneShotTest {
         }
         var hash = JHash.murmur3_128(data);
         validateHash(expectedResult, hash);
+        validateKernels(expectedResult, data);
     }
 
     @ParameterizedTest(name = "Character encoding {index}: {0}")
@@ -52,6 +55,7 @@ public class Murmur3fOneShotTest {
         byte[] data = input.getBytes(encoding);
         var hash = JHash.murmur3_128(data);
         validateHash(expectedResult, hash);
+        validateKernels(expectedResult, data);
     }
 
     @ParameterizedTest(name = "Binary data {index}: {0}")
@@ -59,6 +63,7 @@ public class Murmur3fOneShotTest {
     public void binaryDataTest(String description, byte[] input, String expectedResult) {
         var hash = JHash.murmur3_128(input);
         validateHash(expectedResult, hash);
+        validateKernels(expectedResult, input);
     }
 
     private static void validateHash(String expectedHex, HashCode actualHash) {
@@ -69,6 +74,13 @@ public class Murmur3fOneShotTest {
         );
     }
 
+    private static void validateKernels(String expectedHex, byte[] input) {
+        for (var reader : BlockReader.values()) {
+            var hash = Murmur3fFactory.create(0, reader).include(input).hash();
+            Assertions.assertEquals(expectedHex, hash.getValueHexString(), "Failed for kernel " + reader);
+        }
+    }
+
     // Test data providers
     private static Stream<Arguments> basicHashingTestData() {
         return Stream.of(
@@ -0,0 +1,136 @@
+package io.github.gbessonov.jhash.implementations.murmur3f;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+public class Murmur3fPutTest {
+
+    @ParameterizedTest(name = "Seed {0}")
+    @ValueSource(ints = {0, 1, 2, 3, 4, 5, 6, 7})
+    public void typedValuesMatchLittleEndianBytesTest(int seed) {
+        var random = new Random(seed);
+        var hasher = Murmur3fFactory.create(seed);
+        var expected = new ByteArrayOutputStream();
+        var scratch = ByteBuffer.allocate(8).order(ByteOrder.LITTLE_ENDIAN);
+
+        for (int i = 0; i < 500; i++) {
+            scratch.clear();
+            switch (random.nextInt(6)) {
+                case 0 -> {
+                    byte value = (byte) random.nextInt();
+                    hasher.putByte(value);
+                    scratch.put(value);
+                }
+                case 1 -> {
+                    short value = (short) random.nextInt();
+                    hasher.putShort(value);
+                    scratch.putShort(value);
+                }
+                case 2 -> {
+                    int value = random.nextInt();
+                    hasher.putInt(value);
+                    scratch.putInt(value);
+                }
+                case 3 -> {
+                    long value = random.nextLong();
+                    hasher.putLong(value);
+                    scratch.putLong(value);
+                }
+                case 4 -> {
+                    var chunk = new byte[random.nextInt(20)];
+                    random.nextBytes(chunk);
+                    hasher.include(chunk);
+                    expected.writeBytes(chunk);
+                }
+                default -> {
+                    var chars = randomString(random, random.nextInt(10));
+                    hasher.putChars(chars);
+                    for (int c = 0; c < chars.length(); c++) {
+                        expected.write(chars.charAt(c));
+                        expected.write(chars.charAt(c) >>> 8);
+                    }
+                }
+            }
+            expected.write(scratch.array(), 0, scratch.position());
+        }
+
+        Assertions.assertEquals(Murmur3fFactory.create(seed).include(expected.toByteArray()).hash(), hasher.hash());
+    }
+
+    @ParameterizedTest(name = "String: {0}")
+    @ValueSource(strings = {
+            "",
+            "a",
+            "The quick brown fox jumps over the lazy dog",
+            "Größenmaßstäbe à la française",
+            "日本語のテキストと ASCII の混在",
+            "Emoji 😀🎉 and 𝄞 music",
+            "\uD83D",
+            "x\uDE00y",
+            "high then high \uD83D😀 end",
+            "ends with high surrogate \uD83D"
+    })
+    public void utf8MatchesGetBytesTest(String input) {
+        for (int prefix = 0; prefix < 16; prefix++) {
+            var prefixBytes = new byte[prefix];
+            var expected = Murmur3fFactory.create(0)
+                    .include(prefixBytes)
+                    .include(input.getBytes(StandardCharsets.UTF_8))
+                    .hash();
+            var actual = Murmur3fFactory.create(0)
+                    .include(prefixBytes)
+                    .putUtf8(input)
+                    .hash();
+            Assertions.assertEquals(expected, actual, "Failed with prefix " + prefix);
+        }
+    }
+
+    @Test
+    public void utf8RandomStringsTest() {
+        var random = new Random(42);
+        for (int i = 0; i < 1000; i++) {
+            var input = randomString(random, random.nextInt(64));
+            var expected = Murmur3fFactory.create(i).include(input.getBytes(StandardCharsets.UTF_8)).hash();
+            var actual = Murmur3fFactory.create(i).putUtf8(new StringBuilder(input)).hash();
+            Assertions.assertEquals(expected, actual, "Failed for string #" + i);
+        }
+    }
+
+    @Test
+    public void utf8OneShotTest() {
+        var random = new Random(7);
+        var halves = new long[2];
+        for (int i = 0; i < 2000; i++) {
+            // Runs of ASCII take the eight-character fast path at every block offset
+            var input = "abcdefghijklmnopqrstuvwxyz".substring(random.nextInt(26))
+                    + randomString(random, random.nextInt(80)) + "0123456789ABCDEF".substring(random.nextInt(16));
+            var expected = Murmur3fFactory.create(i).include(input.getBytes(StandardCharsets.UTF_8)).hash();
+            Murmur3fOneShot.hashUtf8(new StringBuilder(input), i, halves, 0);
+            Assertions.assertEquals(expected, Murmur3fFactory.createHashCode(halves[0], halves[1]),
+                    "Failed for string #" + i);
+        }
+    }
+
+    // Mostly ASCII with Latin-1, BMP, surrogate pairs and lone surrogates mixed in
+    private static String randomString(Random random, int length) {
+        var builder = new StringBuilder();
+        for (int i = 0; i < length; i++) {
+            switch (random.nextInt(8)) {
+                case 0 -> builder.append((char) (0x80 + random.nextInt(0x780)));
+                case 1 -> builder.append((char) (0x800 + random.nextInt(0xD000)));
+                case 2 -> builder.appendCodePoint(0x10000 + random.nextInt(0x100000));
+                case 3 -> builder.append((char) (0xD800 + random.nextInt(0x800)));
+                default -> builder.append((char) random.nextInt(0x80));
+            }
+        }
+        return builder.toString();
+    }
+}
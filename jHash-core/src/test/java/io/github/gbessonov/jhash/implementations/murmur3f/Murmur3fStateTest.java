@@ -0,0 +1,64 @@
+package io.github.gbessonov.jhash.implementations.murmur3f;
+
+import io.github.gbessonov.jhash.JHash;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.Arrays;
+import java.util.Random;
+
+public class Murmur3fStateTest {
+
+    @ParameterizedTest(name = "Checkpoint after {0} bytes")
+    @ValueSource(ints = {0, 1, 8, 15, 16, 17, 100, 1000})
+    public void resumedHashIsIdenticalTest(int checkpoint) {
+        var data = new byte[1000 + 13];
+        new Random(checkpoint).nextBytes(data);
+
+        var state = JHash.newMurmur3_128(42).include(Arrays.copyOf(data, checkpoint)).saveState();
+        Assertions.assertEquals(27 + (checkpoint & 15), state.length);
+
+        var resumed = JHash.newMurmur3_128().restoreState(state)
+                .include(Arrays.copyOfRange(data, checkpoint, data.length));
+        Assertions.assertEquals(JHash.murmur3_128(data, 42), resumed.hash());
+    }
+
+    @Test
+    public void saveDoesNotModifyTest() {
+        var hasher = JHash.newMurmur3_128().putUtf8("abc");
+        var state = hasher.saveState();
+        Assertions.assertArrayEquals(state, hasher.saveState());
+        Assertions.assertEquals(JHash.murmur3_128("abc".getBytes()), hasher.hash());
+
+        // Tiny writes stage several blocks before mixing them
+        var staged = JHash.newMurmur3_128();
+        var data = new byte[40];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = (byte) i;
+            staged.putByte(data[i]);
+        }
+        Assertions.assertArrayEquals(staged.saveState(), staged.saveState());
+        Assertions.assertEquals(JHash.murmur3_128(data), staged.hash());
+    }
+
+    @Test
+    public void malformedStateTest() {
+        var valid = JHash.newMurmur3_128().include(new byte[21]).saveState();
+        var hasher = JHash.newMurmur3_128().include(new byte[3]);
+
+        Assertions.assertThrows(IllegalArgumentException.class, () -> hasher.restoreState(new byte[0]));
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> hasher.restoreState(Arrays.copyOf(valid, valid.length - 1)));
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> hasher.restoreState(Arrays.copyOf(valid, valid.length + 1)));
+        for (int index : new int[]{0, 1, 2, 19}) {
+            var corrupted = valid.clone();
+            corrupted[index]++;
+            Assertions.assertThrows(IllegalArgumentException.class, () -> hasher.restoreState(corrupted));
+        }
+
+        Assertions.assertEquals(JHash.murmur3_128(new byte[3]), hasher.hash());
+    }
+}
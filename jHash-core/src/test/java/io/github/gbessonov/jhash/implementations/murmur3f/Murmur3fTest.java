@@ -1,13 +1,18 @@
 package io.github.gbessonov.jhash.implementations.murmur3f;
 
+import io.github.gbessonov.jhash.HashFunction;
+import io.github.gbessonov.jhash.JHash;
 import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
+import org.junit.jupiter.params.provider.ValueSource;
 
 import java.nio.ByteBuffer;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Random;
 import java.util.stream.Stream;
 
 public class Murmur3fTest {
@@ -71,6 +76,59 @@ public class Murmur3fTest {
         Assertions.assertArrayEquals(expectedHash, actualBEValue);
     }
 
+    @Test
+    public void lengthBeyondIntRangeTest() {
+        // Reference value from MurmurHash3_x64_128 with a 64-bit length: 2^31 + 17 zero bytes
+        var expectedHash = longsToBytes(new long[]{0x6e80437b01df75e9L, 0xb9cff77c71570971L});
+
+        var hasher = Murmur3fFactory.create(0);
+        var chunk = new byte[1 << 20];
+        for (int i = 0; i < 2048; i++) {
+            hasher.include(chunk);
+        }
+        hasher.include(new byte[17]);
+
+        Assertions.assertArrayEquals(expectedHash, hasher.hash().getValueBytesBigEndian());
+    }
+
+    @ParameterizedTest(name = "Seed {0}")
+    @ValueSource(ints = {0, 1, 2, 3})
+    public void tinyFragmentsTest(int seed) {
+        var random = new Random(seed);
+        var data = new byte[5000];
+        random.nextBytes(data);
+        var direct = ByteBuffer.allocateDirect(data.length).put(data).flip();
+
+        HashFunction hasher = Murmur3fFactory.create(seed);
+        HashFunction checkpoint = null;
+        int checkpointOffset = 0;
+        for (int offset = 0; offset < data.length; ) {
+            // Mostly fragments below two blocks, as serializers write them, now and then a longer one
+            int length = Math.min(random.nextInt(10) == 0 ? random.nextInt(300) : random.nextInt(34),
+                    data.length - offset);
+            switch (random.nextInt(4)) {
+                case 0 -> hasher.include(data, offset, length);
+                case 1 -> hasher.include(Arrays.copyOfRange(data, offset, offset + length));
+                case 2 -> hasher.include(direct.slice(offset, length));
+                default -> {
+                    for (int i = 0; i < length; i++) {
+                        hasher.putByte(data[offset + i]);
+                    }
+                }
+            }
+            offset += length;
+            if (checkpoint == null && offset > data.length / 2) {
+                checkpoint = Murmur3fFactory.create(0).restoreState(hasher.saveState());
+                checkpointOffset = offset;
+            }
+        }
+
+        var expected = JHash.murmur3_128(data, seed);
+        Assertions.assertEquals(expected, hasher.hash());
+        Assertions.assertNotNull(checkpoint);
+        checkpoint.include(data, checkpointOffset, data.length - checkpointOffset);
+        Assertions.assertEquals(expected, checkpoint.hash());
+    }
 
     static byte[] ascii(String string) {
         byte[] bytes = new byte[string.length()];
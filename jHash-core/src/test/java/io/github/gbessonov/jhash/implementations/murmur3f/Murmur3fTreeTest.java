@@ -0,0 +1,93 @@
+package io.github.gbessonov.jhash.implementations.murmur3f;
+
+import io.github.gbessonov.jhash.HashCode;
+import io.github.gbessonov.jhash.JHash;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+public class Murmur3fTreeTest {
+
+    private static final int LEAF = 64;
+    private static final ForkJoinPool[] POOLS = {new ForkJoinPool(1), new ForkJoinPool(3), ForkJoinPool.commonPool()};
+
+    @TempDir
+    Path tempDir;
+
+    @AfterAll
+    public static void shutdownPools() {
+        POOLS[0].shutdown();
+        POOLS[1].shutdown();
+    }
+
+    @ParameterizedTest(name = "{0} bytes")
+    @ValueSource(ints = {0, 1, 63, 64, 65, 128, 1000, 4096, 10007})
+    public void matchesDocumentedTreeTest(int size) throws IOException {
+        var data = randomBytes(size);
+        var expected = reference(data, 42, LEAF);
+
+        var padded = new byte[size + 3];
+        System.arraycopy(data, 0, padded, 3, size);
+        var direct = ByteBuffer.allocateDirect(size + 3).position(3).put(data).position(3);
+        var file = Files.write(tempDir.resolve("data.bin"), data);
+
+        for (ForkJoinPool pool : POOLS) {
+            Assertions.assertEquals(expected, Murmur3fTree.hash(data, 42, pool, LEAF));
+            Assertions.assertEquals(expected, Murmur3fTree.hash(ByteBuffer.wrap(padded, 3, size), 42, pool, LEAF));
+            Assertions.assertEquals(expected, Murmur3fTree.hash(direct, 42, pool, LEAF));
+            Assertions.assertEquals(3, direct.position());
+            try (var channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                Assertions.assertEquals(expected, Murmur3fTree.hash(channel, 42, pool, LEAF, 4 * LEAF));
+                Assertions.assertEquals(0, channel.position());
+            }
+        }
+    }
+
+    @Test
+    public void defaultLeafSizeTest() throws IOException {
+        var data = randomBytes(3 * Murmur3fTree.LEAF_SIZE + 5);
+        var expected = reference(data, 0, Murmur3fTree.LEAF_SIZE);
+        var file = Files.write(tempDir.resolve("data.bin"), data);
+
+        Assertions.assertEquals(expected, Murmur3fTree.hash(data, 0));
+        Assertions.assertEquals(expected, Murmur3fTree.hash(ByteBuffer.allocateDirect(data.length).put(data).flip(), 0));
+        try (var channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            Assertions.assertEquals(expected, Murmur3fTree.hash(channel, 0));
+        }
+        Assertions.assertEquals(expected, JHash.murmur3_128Tree(data));
+        Assertions.assertEquals(expected, JHash.murmur3_128TreeFile(file));
+        Assertions.assertEquals(reference(data, 42, Murmur3fTree.LEAF_SIZE), JHash.murmur3_128Tree(data, 42));
+        Assertions.assertEquals(reference(data, 42, Murmur3fTree.LEAF_SIZE), JHash.murmur3_128TreeFile(file, 42));
+        Assertions.assertNotEquals(Murmur3fOneShot.hash(data, 0, data.length, 0), expected);
+    }
+
+    // Straightforward sequential evaluation of the tree described in the class documentation
+    private static HashCode reference(byte[] data, int seed, int leafSize) {
+        var root = new Murmur3f(seed);
+        for (int offset = 0; offset < data.length; offset += leafSize) {
+            var leaf = Arrays.copyOfRange(data, offset, Math.min(offset + leafSize, data.length));
+            var digest = new Murmur3f(seed).include(leaf).hash();
+            root.include(digest.getValueBytesLittleEndian());
+        }
+        return root.putLong(data.length).hash();
+    }
+
+    private static byte[] randomBytes(int size) {
+        var data = new byte[size];
+        new Random(size).nextBytes(data);
+        return data;
+    }
+}
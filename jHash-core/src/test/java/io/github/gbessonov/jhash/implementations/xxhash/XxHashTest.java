@@ -0,0 +1,284 @@
+package io.github.gbessonov.jhash.implementations.xxhash;
+
+import io.github.gbessonov.jhash.HashCode;
+import io.github.gbessonov.jhash.HashFunction;
+import io.github.gbessonov.jhash.JHash;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.function.LongFunction;
+import java.util.stream.Stream;
+
+public class XxHashTest {
+
+    private static final long SEED = 0x0123456789abcdefL;
+
+    private static Stream<Arguments> hashingTestDataProvider() {
+        // Reference values from libxxhash 0.8.1: XXH64, XXH3_64bits, XXH3_128bits low64 and high64
+        return Stream.of(
+                Arguments.of(0L, 0xef46db3751d8e999L, 0x2d06800538d394c2L, 0x6001c324468d497fL, 0x99aa06d3014798d8L, ""),
+                Arguments.of(0L, 0xd24ec4f1a98c6e5bL, 0xe6c632b61e964e1fL, 0xe6c632b61e964e1fL, 0xa96faf705af16834L, "a"),
+                Arguments.of(0L, 0x44bc2cf5ad770999L, 0x78af5f94892f3950L, 0x78af5f94892f3950L, 0x06b05ab6733a6185L, "abc"),
+                Arguments.of(0L, 0xf58336a78b6f9476L, 0xf3c34bf11915e869L, 0xbb5ca743b534f2faL, 0xade2b2886b80787bL,
+                        "Hello, world!"),
+                Arguments.of(42L, 0xaa9f288a8baa3d3fL, 0xb4a3f3c36b3c7d26L, 0x72c665da6e6d93b8L, 0x97fdbc584d4c6984L,
+                        "The quick brown fox jumps over the lazy dog")
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource("hashingTestDataProvider")
+    public void hashingTest(long seed, long xxh64, long xxh3, long xxh3Low, long xxh3High, String input) {
+        var bytes = input.getBytes(StandardCharsets.UTF_8);
+
+        Assertions.assertEquals(xxh64, XxHash64OneShot.hash(bytes, 0, bytes.length, seed));
+        Assertions.assertEquals(xxh64, XxHashFactory.createXxHash64(seed).putUtf8(input).hash().asLong());
+        Assertions.assertEquals(xxh3, Xxh3OneShot.hash64(bytes, 0, bytes.length, seed));
+        Assertions.assertEquals(xxh3, XxHashFactory.createXxh3_64(seed).putUtf8(input).hash().asLong());
+
+        var wide = XxHashFactory.createXxh3_128(seed).putUtf8(input).hash();
+        Assertions.assertEquals(xxh3Low, wide.lowBits());
+        Assertions.assertEquals(xxh3High, wide.highBits());
+        Assertions.assertEquals(wide, Xxh3OneShot.hash128(bytes, 0, bytes.length, seed));
+    }
+
+    private static Stream<Arguments> patternTestDataProvider() {
+        // libxxhash 0.8.1 on the bytes (byte) (i * 31 + 7) for i in [0, length)
+        return Stream.of(
+                Arguments.of(0, 0L, 0xef46db3751d8e999L, 0x2d06800538d394c2L, 0x6001c324468d497fL, 0x99aa06d3014798d8L),
+                Arguments.of(0, SEED, 0x51e24c0e9077a48cL, 0xcc1ca35a1b089c5cL, 0xaaa287af24a9bb3aL, 0xa4cb05dbbf09907aL),
+                Arguments.of(1, 0L, 0xa96c7f0ce858bbb7L, 0x4c5cca45d0f4811fL, 0x4c5cca45d0f4811fL, 0x495b62073ef70ca4L),
+                Arguments.of(1, SEED, 0x63f3595cc59f5425L, 0x6dcb95d31de5966bL, 0x6dcb95d31de5966bL, 0x12016bb9bdaa396eL),
+                Arguments.of(3, 0L, 0x56e6957632a487f9L, 0x15f7093b173d005cL, 0x15f7093b173d005cL, 0x46f66cb935381565L),
+                Arguments.of(3, SEED, 0x2dd3de03d79b780fL, 0x2c39b392abaacc0eL, 0x2c39b392abaacc0eL, 0x23fb72a959bf4818L),
+                Arguments.of(4, 0L, 0xc60d15b1e3ff8f04L, 0xdca012f95811b6b9L, 0xb987ca5d9241572aL, 0x7fefeeffb4d0eab3L),
+                Arguments.of(4, SEED, 0x881a72a2895ded30L, 0x56ff8d61faf8f3c1L, 0xbad9788ff92ae0c1L, 0x4fddf672a1ce7601L),
+                Arguments.of(8, 0L, 0x3da5c7aa269683e0L, 0xdec6a9a43575982eL, 0x56bb836ceb6d4baaL, 0x803c675a846cc6c2L),
+                Arguments.of(8, SEED, 0x1727919cb64b240fL, 0x32f1df0fb4c56018L, 0x571078620377afd7L, 0x8c09234177f35fb8L),
+                Arguments.of(9, 0L, 0x4b17a9ba9e215c09L, 0xcbe393399f17ffbdL, 0x4376673580310154L, 0xd46556872d230f22L),
+                Arguments.of(9, SEED, 0x06420ed585121c0eL, 0xd2c1a17aaa3efb26L, 0xbb1aebd2e6e58679L, 0xf1cb424c137a1608L),
+                Arguments.of(16, 0L, 0xa19ad429b02bc413L, 0x7e484c18d74895d0L, 0xf853dd94614dfa07L, 0x650fe308c566747dL),
+                Arguments.of(16, SEED, 0x2c6db85a21a7021bL, 0xf6ca25f941ddb47cL, 0x1998cb6eb60bcb7fL, 0x7b220e947528f5a6L),
+                Arguments.of(17, 0L, 0xfe9f0feb7eeedc09L, 0x208bde5ee2bed407L, 0x78c349fe81b2f26cL, 0x18217300b5132d5aL),
+                Arguments.of(17, SEED, 0x0ad12dede1a3ca78L, 0xab17ffdb7d9eead9L, 0x695eb6f3aef50f82L, 0x2a36696cda554afeL),
+                Arguments.of(32, 0L, 0x8d57d6a4671cc43dL, 0x03df0ac5255d1446L, 0x5726e079716c6a62L, 0x3220ff5fe507b3c0L),
+                Arguments.of(32, SEED, 0x815b5d25513b13b8L, 0x9dc60494f6ac170dL, 0xab65b29b46f50eb0L, 0x35d2d525fcdcae6bL),
+                Arguments.of(33, 0L, 0x62c9fd21ed857664L, 0x199a362122d71f46L, 0x3b25275300c8b44eL, 0x91a4c56ad1b91d88L),
+                Arguments.of(33, SEED, 0x1cbd9f0a49f557e8L, 0x41865766beb4a714L, 0x1b326f42f16041efL, 0x774ae146aba93a1cL),
+                Arguments.of(64, 0L, 0x7bbabbc45729d17eL, 0xdd30702ab46b3745L, 0x36c5f7e547426bc4L, 0xf9bfa77da0891a96L),
+                Arguments.of(64, SEED, 0xd5e6b36d0a907effL, 0x3b2bc8def1bef79dL, 0x8a440660025896a9L, 0x0e84283c66ffd88dL),
+                Arguments.of(65, 0L, 0xf3980c34bae65dc1L, 0xfab36b851b94ce20L, 0xd0d1d7884590a330L, 0x5642c5d38e6e787dL),
+                Arguments.of(65, SEED, 0xc1e2246d4c012d94L, 0xa292e09597319b6aL, 0xf50fd3703fcb70d4L, 0x1dcc5cbf1650b04bL),
+                Arguments.of(96, 0L, 0x1a4b207385051b55L, 0xd245cd2541582982L, 0x63451be079edd707L, 0x59861d1adb3e51a2L),
+                Arguments.of(96, SEED, 0xb36949f8f7bb3422L, 0xc16c7d44bd2f0c5dL, 0x722dd709f297c008L, 0xdde97de2d68c6a39L),
+                Arguments.of(97, 0L, 0xb8016eeff392be5dL, 0x60e3e1d0d43785b3L, 0xfa4138b7dc44e45bL, 0x0912f66857975b13L),
+                Arguments.of(97, SEED, 0x04984e7c2555ee75L, 0x779d754a235d30d7L, 0x3865da4a64676248L, 0xf672c78bf360a309L),
+                Arguments.of(128, 0L, 0x725a5b9b3bedfe94L, 0xf92b70eaa21a6288L, 0x1e04fad9f0cacb4dL, 0xb4f87b99d2db8a51L),
+                Arguments.of(128, SEED, 0x029e60720f65cb77L, 0x6652fc6e0bbab624L, 0x635222ce474ebf0aL, 0xf2809b6e286e993dL),
+                Arguments.of(129, 0L, 0x28fc8362643627d7L, 0xf8f76713f2bb60faL, 0xc51bc887976aef63L, 0x6881633650cd8924L),
+                Arguments.of(129, SEED, 0x16281b124e811af7L, 0x82a748d81e908533L, 0xc5225af457f1cd73L, 0x3ff83084c080bc88L),
+                Arguments.of(160, 0L, 0xc1c8129fce641faaL, 0xc90911ffcef461e2L, 0xf661814e66697391L, 0xc000b788df6dbbc4L),
+                Arguments.of(160, SEED, 0xa3000e609c01826dL, 0x0315bf7f4dee9e49L, 0xbcf8e8479e81a609L, 0x70bad9b342b9c09eL),
+                Arguments.of(240, 0L, 0xd430520ae3ed2fc6L, 0xccc7375172c41f03L, 0x93e173833f75ab66L, 0xde57aab31e77a2ffL),
+                Arguments.of(240, SEED, 0xb4d3e5109a9168ecL, 0x3d7f78749e396490L, 0xcdea99acc9980148L, 0xd3afd36e072de973L),
+                Arguments.of(241, 0L, 0xd3f50496d5bf27e0L, 0x0b3b630948ce4a00L, 0x0b3b630948ce4a00L, 0x92b991a7192f3f08L),
+                Arguments.of(241, SEED, 0x738b78e68a285b05L, 0x8a0d480f36059169L, 0x8a0d480f36059169L, 0x24150c6edd923bc6L),
+                Arguments.of(255, 0L, 0x2c3db4bb567f731eL, 0x89932170686cdd9aL, 0x89932170686cdd9aL, 0x3e68b7e415ce7e5cL),
+                Arguments.of(255, SEED, 0x3f8049102c289731L, 0x8e060980b971585fL, 0x8e060980b971585fL, 0x6889f7b940ec86c6L),
+                Arguments.of(256, 0L, 0x7c1ff7b1d57c10d5L, 0xec85b75bafe6ca74L, 0xec85b75bafe6ca74L, 0x24ee30633ca52c6aL),
+                Arguments.of(256, SEED, 0xaa1d578900580dc9L, 0x35f2752cdea7b80dL, 0x35f2752cdea7b80dL, 0x8488436fba31a95eL),
+                Arguments.of(257, 0L, 0x6ff15897658784e0L, 0x12ef0ff633841459L, 0x12ef0ff633841459L, 0x0f849a4f3e33b6c2L),
+                Arguments.of(257, SEED, 0xe8e1b7d007cc9b30L, 0xd85eac319a596877L, 0xd85eac319a596877L, 0xc7193e0b22627223L),
+                Arguments.of(511, 0L, 0xa316a70d395e7bb2L, 0x0fec8fb6eae1df8bL, 0x0fec8fb6eae1df8bL, 0xf7b19289ed756843L),
+                Arguments.of(511, SEED, 0x13e342ddb093c7e2L, 0x5df826d1b1adfa2bL, 0x5df826d1b1adfa2bL, 0x7120ac371e2c9c25L),
+                Arguments.of(1024, 0L, 0x149aa44972cdae00L, 0x23bc880ebf0d29c6L, 0x23bc880ebf0d29c6L, 0x4c17271c906df792L),
+                Arguments.of(1024, SEED, 0x139ae90e5158218aL, 0x47af4fe460c9956fL, 0x47af4fe460c9956fL, 0x2b55cf616487d1bbL),
+                Arguments.of(1025, 0L, 0x2c9d0b038b4a4b35L, 0xc09fdfbc398c7d82L, 0xc09fdfbc398c7d82L, 0x70a4eb1b9691d77fL),
+                Arguments.of(1025, SEED, 0x009880421f9074b4L, 0x350929fe64db0243L, 0x350929fe64db0243L, 0x80e0d14600fc4078L),
+                Arguments.of(2048, 0L, 0x6a531ef2d65594ecL, 0x19f6f9c987331373L, 0x19f6f9c987331373L, 0xb318976b177a38c7L),
+                Arguments.of(2048, SEED, 0x0234375c308ae6d0L, 0xb8e0fc76511af414L, 0xb8e0fc76511af414L, 0xd903d65a1cbe68a7L),
+                Arguments.of(4100, 0L, 0x1c5d2378ad83d368L, 0x12dfe4843fc71e92L, 0x12dfe4843fc71e92L, 0xb265c6deaed7cb6cL),
+                Arguments.of(4100, SEED, 0x639b78382955eeeaL, 0x7166e3264cc4fc43L, 0x7166e3264cc4fc43L, 0x3db2ab232156b85bL)
+        );
+    }
+
+    @ParameterizedTest(name = "Length {0}, seed {1}")
+    @MethodSource("patternTestDataProvider")
+    public void patternTest(int length, long seed, long xxh64, long xxh3, long xxh3Low, long xxh3High) {
+        var data = pattern(length);
+        var dst = new long[2];
+
+        Assertions.assertEquals(xxh64, XxHash64OneShot.hash(data, 0, length, seed));
+        Assertions.assertEquals(xxh3, Xxh3OneShot.hash64(data, 0, length, seed));
+        Xxh3OneShot.hash128(data, 0, length, seed, dst, 0);
+        Assertions.assertArrayEquals(new long[]{xxh3Low, xxh3High}, dst);
+
+        Assertions.assertEquals(xxh64, XxHashFactory.createXxHash64(seed).include(data).hash().asLong());
+        Assertions.assertEquals(xxh3, XxHashFactory.createXxh3_64(seed).include(data).hash().asLong());
+        XxHashFactory.createXxh3_128(seed).include(data).hashInto(dst, 0);
+        Assertions.assertArrayEquals(new long[]{xxh3Low, xxh3High}, dst);
+
+        var direct = ByteBuffer.allocateDirect(length).put(data).flip();
+        Assertions.assertEquals(xxh64, XxHashFactory.createXxHash64(seed).include(direct).hash().asLong());
+        Assertions.assertEquals(xxh3, XxHashFactory.createXxh3_64(seed).include(direct).hash().asLong());
+        XxHashFactory.createXxh3_128(seed).include(direct).hashInto(dst, 0);
+        Assertions.assertArrayEquals(new long[]{xxh3Low, xxh3High}, dst);
+        Assertions.assertEquals(0, direct.position());
+    }
+
+    private static Stream<Arguments> engines() {
+        return Stream.of(
+                Arguments.of("XXH64", (LongFunction<HashFunction>) XxHashFactory::createXxHash64),
+                Arguments.of("XXH3-64", (LongFunction<HashFunction>) XxHashFactory::createXxh3_64),
+                Arguments.of("XXH3-128", (LongFunction<HashFunction>) XxHashFactory::createXxh3_128)
+        );
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("engines")
+    public void randomChunksTest(String name, LongFunction<HashFunction> factory) {
+        var random = new Random(name.hashCode());
+        for (int round = 0; round < 20; round++) {
+            long seed = random.nextLong();
+            var data = new byte[random.nextInt(3000)];
+            random.nextBytes(data);
+            var expected = factory.apply(seed).include(data).hash();
+
+            var hasher = factory.apply(seed);
+            var direct = ByteBuffer.allocateDirect(data.length).put(data).flip();
+            for (int offset = 0; offset < data.length; ) {
+                // Mostly small chunks, with the occasional one spanning several stripes
+                int bound = random.nextInt(8) == 0 ? 700 : 40;
+                int chunk = Math.min(random.nextInt(bound), data.length - offset);
+                if (random.nextBoolean()) {
+                    hasher.include(data, offset, chunk);
+                } else {
+                    hasher.include(direct.slice(offset, chunk));
+                }
+                offset += chunk;
+            }
+            Assertions.assertEquals(expected, hasher.hash(), "Length " + data.length);
+        }
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("engines")
+    public void typedValuesMatchLittleEndianBytesTest(String name, LongFunction<HashFunction> factory) {
+        var random = new Random(7);
+        var hasher = factory.apply(7);
+        var expected = ByteBuffer.allocate(8192).order(ByteOrder.LITTLE_ENDIAN);
+        for (int i = 0; i < 600; i++) {
+            switch (random.nextInt(6)) {
+                case 0 -> {
+                    byte value = (byte) random.nextInt();
+                    hasher.putByte(value);
+                    expected.put(value);
+                }
+                case 1 -> {
+                    short value = (short) random.nextInt();
+                    hasher.putShort(value);
+                    expected.putShort(value);
+                }
+                case 2 -> {
+                    int value = random.nextInt();
+                    hasher.putInt(value);
+                    expected.putInt(value);
+                }
+                case 3 -> {
+                    long value = random.nextLong();
+                    hasher.putLong(value);
+                    expected.putLong(value);
+                }
+                case 4 -> {
+                    var text = Long.toString(random.nextLong(), 36) + "π€";
+                    hasher.putUtf8(text);
+                    expected.put(text.getBytes(StandardCharsets.UTF_8));
+                }
+                default -> {
+                    var text = Long.toString(random.nextLong(), 36) + "π€";
+                    hasher.putChars(text);
+                    text.chars().forEach(c -> expected.putChar((char) c));
+                }
+            }
+        }
+        var bytes = Arrays.copyOf(expected.array(), expected.position());
+        Assertions.assertEquals(factory.apply(7).include(bytes).hash(), hasher.hash());
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("engines")
+    public void copyAndStateTest(String name, LongFunction<HashFunction> factory) {
+        var data = pattern(1500);
+        var expected = factory.apply(SEED).include(data).hash();
+
+        for (int split : new int[]{0, 1, 31, 32, 33, 240, 255, 256, 257, 300, 512, 513, 1024, 1100, 1500}) {
+            HashFunction hasher = factory.apply(SEED).include(data, 0, split);
+            var copy = hasher.copy();
+            var restored = factory.apply(99).restoreState(hasher.saveState());
+
+            Assertions.assertEquals(expected, hasher.include(data, split, data.length - split).hash());
+            Assertions.assertEquals(expected, copy.include(data, split, data.length - split).hash());
+            Assertions.assertEquals(expected, restored.include(data, split, data.length - split).hash());
+        }
+
+        var state = factory.apply(0).include(pattern(300)).saveState();
+        var otherAlgorithm = state.clone();
+        otherAlgorithm[1] = 1;
+        Assertions.assertThrows(IllegalArgumentException.class, () -> factory.apply(0).restoreState(otherAlgorithm));
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> factory.apply(0).restoreState(Arrays.copyOf(state, state.length - 1)));
+        var corrupted = state.clone();
+        corrupted[2] = 100;
+        Assertions.assertThrows(IllegalArgumentException.class, () -> factory.apply(0).restoreState(corrupted));
+    }
+
+    @ParameterizedTest(name = "Length {0}")
+    @ValueSource(ints = {0, 5, 100, 241, 1000})
+    public void hashIsRepeatableTest(int length) {
+        var hasher = XxHashFactory.createXxh3_128(SEED).include(pattern(length));
+        var first = hasher.hash();
+        Assertions.assertEquals(first, hasher.hash());
+    }
+
+    @Test
+    public void hashCodeFormatTest() {
+        var abc = "abc".getBytes(StandardCharsets.UTF_8);
+
+        HashCode hash64 = JHash.newXxHash64().include(abc).hash();
+        Assertions.assertEquals("44bc2cf5ad770999", hash64.getValueHexString());
+        Assertions.assertEquals(0x44bc2cf5ad770999L, JHash.xxHash64(abc));
+        Assertions.assertEquals(0L, hash64.highBits());
+        Assertions.assertEquals(hash64, XxHashFactory.createHashCode64(hash64.asLong()));
+        Assertions.assertEquals(0x78af5f94892f3950L, JHash.xxh3_64(abc));
+
+        HashCode hash128 = JHash.xxh3_128(abc);
+        Assertions.assertEquals("06b05ab6733a618578af5f94892f3950", hash128.getValueHexString());
+        Assertions.assertEquals(hash128, XxHashFactory.createHashCode128(hash128.lowBits(), hash128.highBits()));
+
+        var buffer = ByteBuffer.allocate(20);
+        JHash.newXxh3_128().include(abc).hashInto(buffer);
+        Assertions.assertEquals(16, buffer.position());
+        Assertions.assertArrayEquals(hash128.getValueBytesLittleEndian(), Arrays.copyOf(buffer.array(), 16));
+
+        var dst = new long[3];
+        JHash.xxh3_128_into(abc, dst, 1);
+        Assertions.assertArrayEquals(new long[]{0, hash128.lowBits(), hash128.highBits()}, dst);
+    }
+
+    private static byte[] pattern(int length) {
+        var data = new byte[length];
+        for (int i = 0; i < length; i++) {
+            data[i] = (byte) (i * 31 + 7);
+        }
+        return data;
+    }
+}
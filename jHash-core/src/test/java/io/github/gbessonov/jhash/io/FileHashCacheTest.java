@@ -0,0 +1,193 @@
+package io.github.gbessonov.jhash.io;
+
+import io.github.gbessonov.jhash.JHash;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+public class FileHashCacheTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void hitsAndMissesTest() throws IOException {
+        var file = writeOld("a.bin", randomBytes(1000, 1), 0);
+        try (var cache = FileHashCache.open(tempDir.resolve("index"), 100)) {
+            Assertions.assertEquals(JHash.murmur3_128File(file), cache.hash(file));
+            Assertions.assertEquals(JHash.murmur3_128File(file), cache.hash(file));
+            Assertions.assertEquals(JHash.murmur3_128File(file), cache.hash(tempDir.resolve(".").resolve("a.bin")));
+            Assertions.assertEquals(1, cache.getMisses());
+            Assertions.assertEquals(2, cache.getHits());
+            Assertions.assertEquals(1, cache.size());
+        }
+    }
+
+    @Test
+    public void changedFileIsRehashedTest() throws IOException {
+        var file = writeOld("a.bin", randomBytes(1000, 1), 0);
+        try (var cache = FileHashCache.open(tempDir.resolve("index"), 100)) {
+            cache.hash(file);
+
+            // Same size, different content and mtime
+            writeOld("a.bin", randomBytes(1000, 2), 1);
+            Assertions.assertEquals(JHash.murmur3_128File(file), cache.hash(file));
+            Assertions.assertEquals(2, cache.getMisses());
+
+            // Same mtime, different size
+            Files.write(file, randomBytes(1001, 2));
+            Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis() - 60_000 + 1));
+            Assertions.assertEquals(JHash.murmur3_128File(file), cache.hash(file));
+            Assertions.assertEquals(3, cache.getMisses());
+            Assertions.assertEquals(0, cache.getHits());
+            Assertions.assertEquals(1, cache.size());
+        }
+    }
+
+    @Test
+    public void recentlyModifiedFileIsNotCachedTest() throws IOException {
+        var file = Files.write(tempDir.resolve("fresh.bin"), randomBytes(100, 1));
+        try (var cache = FileHashCache.open(tempDir.resolve("index"), 100)) {
+            Assertions.assertEquals(JHash.murmur3_128File(file), cache.hash(file));
+            Assertions.assertEquals(0, cache.size());
+        }
+    }
+
+    @Test
+    public void persistsAcrossReopenTest() throws IOException {
+        var index = tempDir.resolve("index");
+        var files = new ArrayList<Path>();
+        for (int i = 0; i < 50; i++) {
+            files.add(writeOld("f" + i, randomBytes(i * 37, i), 0));
+        }
+        try (var cache = FileHashCache.open(index, 100)) {
+            for (Path file : files) {
+                cache.hash(file);
+            }
+        }
+        try (var cache = FileHashCache.open(index, 100)) {
+            Assertions.assertEquals(50, cache.size());
+            for (Path file : files) {
+                Assertions.assertEquals(JHash.murmur3_128File(file), cache.hash(file));
+            }
+            Assertions.assertEquals(50, cache.getHits());
+            Assertions.assertEquals(0, cache.getMisses());
+        }
+        // Another capacity or a corrupted header starts from scratch
+        try (var cache = FileHashCache.open(index, 1000)) {
+            Assertions.assertEquals(0, cache.size());
+        }
+        Files.write(index, new byte[]{1, 2, 3});
+        try (var cache = FileHashCache.open(index, 1000)) {
+            Assertions.assertEquals(0, cache.size());
+            Assertions.assertEquals(JHash.murmur3_128File(files.get(3)), cache.hash(files.get(3)));
+        }
+    }
+
+    @Test
+    public void evictionKeepsRecentEntriesTest() throws IOException {
+        int capacity = 64;
+        var hot = writeOld("hot", randomBytes(10, 0), 0);
+        try (var cache = FileHashCache.open(tempDir.resolve("index"), capacity)) {
+            for (int i = 0; i < 1000; i++) {
+                cache.hash(hot);
+                var file = writeOld("f" + i, randomBytes(16, i), 0);
+                Assertions.assertEquals(JHash.murmur3_128File(file), cache.hash(file));
+                Assertions.assertTrue(cache.size() <= capacity);
+            }
+            Assertions.assertEquals(capacity, cache.size());
+            Assertions.assertEquals(1000 + 1 - capacity, cache.getEvictions());
+            // The entry touched before every insert is never the oldest in its window
+            Assertions.assertEquals(999, cache.getHits());
+
+            // Every remaining entry is still reachable after the backward-shift deletions
+            Assertions.assertEquals(capacity, cache.reachableEntries());
+        }
+    }
+
+    @Test
+    public void concurrentReadersTest() throws Exception {
+        var files = new ArrayList<Path>();
+        for (int i = 0; i < 64; i++) {
+            files.add(writeOld("f" + i, randomBytes(100 + i, i), 0));
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try (var cache = FileHashCache.open(tempDir.resolve("index"), 128)) {
+            var futures = new ArrayList<Future<?>>();
+            for (int t = 0; t < 4; t++) {
+                futures.add(executor.submit(() -> {
+                    for (int round = 0; round < 20; round++) {
+                        for (Path file : files) {
+                            Assertions.assertEquals(JHash.murmur3_128File(file), cache.hash(file));
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            Assertions.assertEquals(4 * 20 * 64, cache.getHits() + cache.getMisses());
+            Assertions.assertEquals(64, cache.size());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void fullCorruptIndexTest() throws IOException {
+        var index = tempDir.resolve("index");
+        var file = writeOld("f", randomBytes(100, 1), 0);
+        try (var cache = FileHashCache.open(index, 4)) {
+            Assertions.assertEquals(0, cache.size());
+        }
+        // Fill every slot with a foreign entry, keeping the header and its entry count of 0
+        byte[] bytes = Files.readAllBytes(index);
+        var random = new Random(7);
+        for (int slot = 64; slot < bytes.length; slot += 64) {
+            for (int i = 0; i < 64; i++) {
+                bytes[slot + i] = (byte) (random.nextInt(255) + 1);
+            }
+        }
+        Files.write(index, bytes);
+        try (var cache = FileHashCache.open(index, 4)) {
+            Assertions.assertTimeoutPreemptively(Duration.ofSeconds(10), () -> {
+                Assertions.assertEquals(JHash.murmur3_128File(file), cache.hash(file));
+                Assertions.assertEquals(JHash.murmur3_128File(file), cache.hash(file));
+            });
+            Assertions.assertEquals(1, cache.getHits());
+            Assertions.assertEquals(1, cache.size());
+        }
+    }
+
+    @Test
+    public void invalidCapacityTest() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> FileHashCache.open(tempDir.resolve("i"), 0));
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> FileHashCache.open(tempDir.resolve("i"), FileHashCache.MAX_CAPACITY + 1));
+    }
+
+    // Written with an mtime well outside the racy window
+    private Path writeOld(String name, byte[] data, int version) throws IOException {
+        var file = Files.write(tempDir.resolve(name), data);
+        Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis() - 60_000 + version * 1000L));
+        return file;
+    }
+
+    private static byte[] randomBytes(int size, int seed) {
+        var data = new byte[size];
+        new Random(seed).nextBytes(data);
+        return data;
+    }
+}
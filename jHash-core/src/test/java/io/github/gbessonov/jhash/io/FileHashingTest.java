@@ -0,0 +1,62 @@
+package io.github.gbessonov.jhash.io;
+
+import io.github.gbessonov.jhash.JHash;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Random;
+
+public class FileHashingTest {
+
+    @TempDir
+    Path tempDir;
+
+    @ParameterizedTest(name = "File of {0} bytes")
+    @ValueSource(ints = {0, 1, 15, 16, 17, 1000, 65536, 100003})
+    public void fileMatchesByteArrayTest(int size) throws IOException {
+        var data = randomBytes(size);
+        var file = Files.write(tempDir.resolve("data.bin"), data);
+
+        Assertions.assertEquals(JHash.murmur3_128(data), JHash.murmur3_128File(file));
+        Assertions.assertEquals(JHash.murmur3_128(data, 42), JHash.murmur3_128File(file, 42));
+    }
+
+    @ParameterizedTest(name = "Window of {0} bytes")
+    @ValueSource(longs = {1, 7, 16, 17, 4096})
+    public void windowBoundariesTest(long windowSize) throws IOException {
+        var data = randomBytes(10000);
+        var file = Files.write(tempDir.resolve("data.bin"), data);
+
+        try (var channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            var hash = FileHashing.include(JHash.newMurmur3_128(), channel, windowSize).hash();
+            Assertions.assertEquals(JHash.murmur3_128(data), hash);
+        }
+    }
+
+    @Test
+    public void channelPositionIsIgnoredAndPreservedTest() throws IOException {
+        var data = randomBytes(1000);
+        var file = Files.write(tempDir.resolve("data.bin"), data);
+
+        try (var channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            channel.position(123);
+            Assertions.assertEquals(JHash.murmur3_128(data), JHash.murmur3_128File(channel));
+            Assertions.assertEquals(123, channel.position());
+            Assertions.assertTrue(channel.isOpen());
+        }
+    }
+
+    private static byte[] randomBytes(int size) {
+        var data = new byte[size];
+        new Random(size).nextBytes(data);
+        return data;
+    }
+}
@@ -0,0 +1,149 @@
+package io.github.gbessonov.jhash.io;
+
+import io.github.gbessonov.jhash.JHash;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Random;
+
+public class HashingStreamsTest {
+
+    private static final byte[] DATA = randomBytes(100_003);
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void inputStreamTest() throws IOException {
+        try (var in = new HashingInputStream(JHash.newMurmur3_128(), new ByteArrayInputStream(DATA))) {
+            var copy = new ByteArrayOutputStream();
+            copy.write(in.read());
+            var chunk = new byte[1000];
+            int n = in.read(chunk, 3, 17);
+            copy.write(chunk, 3, n);
+            Assertions.assertEquals(5000, in.skip(5000));
+            in.transferTo(copy);
+            Assertions.assertEquals(-1, in.read());
+
+            Assertions.assertEquals(DATA.length - 5000, copy.size());
+            Assertions.assertEquals(JHash.murmur3_128(DATA), in.hash());
+            Assertions.assertFalse(in.markSupported());
+        }
+    }
+
+    @Test
+    public void outputStreamTest() throws IOException {
+        var sink = new ByteArrayOutputStream();
+        try (var out = new HashingOutputStream(JHash.newMurmur3_128(7), sink)) {
+            out.write(DATA[0]);
+            out.write(DATA, 1, 999);
+            new ByteArrayInputStream(DATA, 1000, DATA.length - 1000).transferTo(out);
+            Assertions.assertEquals(JHash.murmur3_128(DATA, 7), out.hash());
+        }
+        Assertions.assertArrayEquals(DATA, sink.toByteArray());
+    }
+
+    @Test
+    public void readableChannelTest() throws IOException {
+        var source = new HashingReadableByteChannel(JHash.newMurmur3_128(),
+                Channels.newChannel(new ByteArrayInputStream(DATA)));
+        var buffer = ByteBuffer.allocateDirect(4096);
+        var copy = new ByteArrayOutputStream();
+        buffer.position(5).limit(100);
+        while (source.read(buffer) >= 0) {
+            Assertions.assertEquals(100, buffer.limit());
+            buffer.flip().position(5);
+            while (buffer.hasRemaining()) {
+                copy.write(buffer.get());
+            }
+            buffer.clear().position(5).limit(100);
+        }
+        Assertions.assertArrayEquals(DATA, copy.toByteArray());
+        Assertions.assertEquals(JHash.murmur3_128(DATA), source.hash());
+    }
+
+    @Test
+    public void writableChannelHashesOnlyConsumedBytesTest() throws IOException {
+        var sink = new ByteArrayOutputStream();
+        // Consumes at most 7 bytes per call, like a non-blocking channel
+        WritableByteChannel partial = new WritableByteChannel() {
+            @Override
+            public int write(ByteBuffer src) {
+                int n = Math.min(7, src.remaining());
+                for (int i = 0; i < n; i++) {
+                    sink.write(src.get());
+                }
+                return n;
+            }
+
+            @Override
+            public boolean isOpen() {
+                return true;
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+        var target = new HashingWritableByteChannel(JHash.newMurmur3_128(), partial);
+        var buffer = ByteBuffer.wrap(DATA);
+        while (buffer.hasRemaining()) {
+            target.write(buffer);
+        }
+        Assertions.assertArrayEquals(DATA, sink.toByteArray());
+        Assertions.assertEquals(JHash.murmur3_128(DATA), target.hash());
+    }
+
+    @Test
+    public void fileChannelTransfersTest() throws IOException {
+        var file = Files.write(tempDir.resolve("data.bin"), DATA);
+        var copy = tempDir.resolve("copy.bin");
+
+        try (var in = FileChannel.open(file, StandardOpenOption.READ);
+             var out = new HashingWritableByteChannel(JHash.newMurmur3_128(),
+                     Files.newByteChannel(copy, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE))) {
+            long transferred = 0;
+            while (transferred < DATA.length) {
+                transferred += in.transferTo(transferred, DATA.length - transferred, out);
+            }
+            Assertions.assertEquals(JHash.murmur3_128(DATA), out.hash());
+        }
+        Assertions.assertArrayEquals(DATA, Files.readAllBytes(copy));
+
+        try (var in = new HashingReadableByteChannel(JHash.newMurmur3_128(), Files.newByteChannel(file));
+             var out = FileChannel.open(tempDir.resolve("copy2.bin"), StandardOpenOption.CREATE_NEW,
+                     StandardOpenOption.WRITE)) {
+            long transferred = 0;
+            while (transferred < DATA.length) {
+                transferred += out.transferFrom(in, transferred, DATA.length - transferred);
+            }
+            Assertions.assertEquals(JHash.murmur3_128(DATA), in.hash());
+        }
+    }
+
+    @Test
+    public void rangeIncludeTest() {
+        var expected = JHash.murmur3_128(Arrays.copyOfRange(DATA, 10, 1010));
+        Assertions.assertEquals(expected, JHash.newMurmur3_128().include(DATA, 10, 1000).hash());
+        Assertions.assertThrows(IndexOutOfBoundsException.class,
+                () -> JHash.newMurmur3_128().include(DATA, DATA.length - 1, 2));
+    }
+
+    private static byte[] randomBytes(int size) {
+        var data = new byte[size];
+        new Random(size).nextBytes(data);
+        return data;
+    }
+}
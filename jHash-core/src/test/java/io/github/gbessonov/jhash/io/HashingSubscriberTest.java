@@ -0,0 +1,178 @@
+package io.github.gbessonov.jhash.io;
+
+import io.github.gbessonov.jhash.HashCode;
+import io.github.gbessonov.jhash.HashFunction;
+import io.github.gbessonov.jhash.JHash;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Flow;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.TimeUnit;
+
+public class HashingSubscriberTest {
+
+    private static final byte[] DATA = randomBytes(50_000);
+
+    @ParameterizedTest(name = "Batch of {0}")
+    @ValueSource(ints = {1, 2, 3, 16})
+    public void unevenChunksTest(int batchSize) {
+        var publisher = new ChunkPublisher(unevenChunks(DATA, false));
+        var subscriber = new HashingSubscriber(JHash.newMurmur3_128(), batchSize);
+        publisher.subscribe(subscriber);
+
+        Assertions.assertEquals(JHash.murmur3_128(DATA), subscriber.result().join());
+        Assertions.assertTrue(publisher.maxOutstanding <= batchSize);
+        Assertions.assertTrue(publisher.maxOutstanding > 0);
+    }
+
+    @Test
+    public void directChunksAndEmptyStreamTest() {
+        var subscriber = new HashingSubscriber(JHash.newMurmur3_128(42));
+        new ChunkPublisher(unevenChunks(DATA, true)).subscribe(subscriber);
+        Assertions.assertEquals(JHash.murmur3_128(DATA, 42), subscriber.result().join());
+
+        var empty = new HashingSubscriber(JHash.newMurmur3_128());
+        new ChunkPublisher(List.of()).subscribe(empty);
+        Assertions.assertEquals(JHash.murmur3_128(new byte[0]), empty.result().join());
+    }
+
+    @Test
+    public void asyncPublisherTest() throws Exception {
+        var subscriber = new HashingSubscriber(JHash.newMurmur3_128(), 4);
+        try (var publisher = new SubmissionPublisher<ByteBuffer>()) {
+            publisher.subscribe(subscriber);
+            for (ByteBuffer chunk : unevenChunks(DATA, false)) {
+                publisher.submit(chunk);
+            }
+        }
+        Assertions.assertEquals(JHash.murmur3_128(DATA), subscriber.result().get(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void errorTest() {
+        var subscriber = new HashingSubscriber(JHash.newMurmur3_128());
+        var failure = new IOException("connection reset");
+        try (var publisher = new SubmissionPublisher<ByteBuffer>()) {
+            publisher.subscribe(subscriber);
+            publisher.submit(ByteBuffer.wrap(DATA));
+            publisher.closeExceptionally(failure);
+        }
+        var thrown = Assertions.assertThrows(ExecutionException.class,
+                () -> subscriber.result().get(10, TimeUnit.SECONDS));
+        Assertions.assertSame(failure, thrown.getCause());
+    }
+
+    @Test
+    public void failingHasherTest() {
+        var failure = new IllegalStateException("hasher failed");
+        var hasher = new HashFunction() {
+            @Override
+            public HashFunction include(byte[] input) {
+                throw failure;
+            }
+
+            @Override
+            public HashCode hash() {
+                throw new AssertionError("hash() after a failed include");
+            }
+
+            @Override
+            public void reset(int seed) {
+            }
+        };
+        var publisher = new ChunkPublisher(unevenChunks(DATA, false));
+        var subscriber = new HashingSubscriber(hasher, 4);
+        Assertions.assertDoesNotThrow(() -> publisher.subscribe(subscriber));
+
+        Assertions.assertTrue(publisher.cancelled);
+        var thrown = Assertions.assertThrows(CompletionException.class, () -> subscriber.result().join());
+        Assertions.assertSame(failure, thrown.getCause());
+    }
+
+    @Test
+    public void cancelledResultCancelsSubscriptionTest() {
+        var publisher = new ChunkPublisher(unevenChunks(DATA, false));
+        var subscriber = new HashingSubscriber(JHash.newMurmur3_128(), 2);
+        subscriber.result().cancel(false);
+        publisher.subscribe(subscriber);
+        Assertions.assertTrue(publisher.cancelled);
+    }
+
+    @Test
+    public void invalidBatchSizeTest() {
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> new HashingSubscriber(JHash.newMurmur3_128(), 0));
+    }
+
+    // Chunks of 0 to ~3000 bytes
+    private static List<ByteBuffer> unevenChunks(byte[] data, boolean direct) {
+        var random = new Random(7);
+        var chunks = new ArrayList<ByteBuffer>();
+        for (int offset = 0; offset < data.length; ) {
+            int size = Math.min(random.nextInt(3000), data.length - offset);
+            var chunk = direct ? ByteBuffer.allocateDirect(size) : ByteBuffer.allocate(size);
+            chunks.add(chunk.put(data, offset, size).flip());
+            offset += size;
+        }
+        return chunks;
+    }
+
+    private static byte[] randomBytes(int size) {
+        var data = new byte[size];
+        new Random(size).nextBytes(data);
+        return data;
+    }
+
+    // Synchronous publisher emitting only what was requested, tracking the outstanding demand
+    private static final class ChunkPublisher implements Flow.Publisher<ByteBuffer> {
+        private final List<ByteBuffer> chunks;
+        private int next;
+        private long demand;
+        private long maxOutstanding;
+        private boolean cancelled;
+        private boolean emitting;
+
+        ChunkPublisher(List<ByteBuffer> chunks) {
+            this.chunks = chunks;
+        }
+
+        @Override
+        public void subscribe(Flow.Subscriber<? super ByteBuffer> subscriber) {
+            subscriber.onSubscribe(new Flow.Subscription() {
+                @Override
+                public void request(long n) {
+                    demand += n;
+                    maxOutstanding = Math.max(maxOutstanding, demand);
+                    if (emitting) {
+                        return;
+                    }
+                    emitting = true;
+                    while (demand > 0 && next < chunks.size() && !cancelled) {
+                        demand--;
+                        subscriber.onNext(chunks.get(next++));
+                    }
+                    emitting = false;
+                    if (next == chunks.size() && !cancelled) {
+                        cancelled = true;
+                        subscriber.onComplete();
+                    }
+                }
+
+                @Override
+                public void cancel() {
+                    cancelled = true;
+                }
+            });
+        }
+    }
+}
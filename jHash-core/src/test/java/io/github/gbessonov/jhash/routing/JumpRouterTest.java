@@ -0,0 +1,79 @@
+package io.github.gbessonov.jhash.routing;
+
+import io.github.gbessonov.jhash.JHash;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+public class JumpRouterTest {
+
+    @Test
+    public void knownBucketsTest() {
+        // Same as Guava's Hashing.consistentHash, which implements the same algorithm
+        int[] buckets = {1, 2, 10, 1000, 1 << 20};
+        long[] hashes = {0L, 1L, -1L, 0x9e3779b97f4a7c15L, 123456789L};
+        int[][] expected = {
+                {0, 0, 0, 0, 0},
+                {0, 0, 6, 549, 985611},
+                {0, 1, 9, 313, 589430},
+                {0, 1, 3, 838, 972672},
+                {0, 0, 7, 294, 561473},
+        };
+        for (int i = 0; i < hashes.length; i++) {
+            for (int j = 0; j < buckets.length; j++) {
+                Assertions.assertEquals(expected[i][j], JumpRouter.bucket(hashes[i], buckets[j]));
+            }
+        }
+    }
+
+    @Test
+    public void keyFormsAgreeTest() {
+        var router = JumpRouter.create(37);
+        Assertions.assertEquals(37, router.nodeCount());
+        for (int i = 0; i < 1000; i++) {
+            byte[] key = ("key-" + i).getBytes(StandardCharsets.UTF_8);
+            Assertions.assertEquals(router.routeHash(JHash.murmur3_128_low64(key)), router.route(key));
+            Assertions.assertEquals(router.routeHash(JHash.murmur3_128_low64((long) i)), router.route((long) i));
+        }
+    }
+
+    @Test
+    public void growthMovesKeysToNewBucketTest() {
+        int keys = 100_000;
+        for (int n = 1; n < 64; n++) {
+            var before = JumpRouter.create(n);
+            var after = JumpRouter.create(n + 1);
+            int moved = 0;
+            for (long key = 0; key < keys; key++) {
+                int from = before.route(key);
+                int to = after.route(key);
+                if (from != to) {
+                    Assertions.assertEquals(n, to);
+                    moved++;
+                }
+            }
+            Assertions.assertEquals(keys / (n + 1.0), moved, 5 * Math.sqrt(keys / (n + 1.0)));
+        }
+    }
+
+    @Test
+    public void balanceTest() {
+        int nodes = 100;
+        int keys = 1_000_000;
+        var router = JumpRouter.create(nodes);
+        int[] counts = new int[nodes];
+        for (long key = 0; key < keys; key++) {
+            counts[router.route(key)]++;
+        }
+        for (int count : counts) {
+            Assertions.assertEquals(keys / nodes, count, 500);
+        }
+    }
+
+    @Test
+    public void argumentsTest() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> JumpRouter.create(0));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> JumpRouter.bucket(1, -1));
+    }
+}
@@ -0,0 +1,93 @@
+package io.github.gbessonov.jhash.routing;
+
+import io.github.gbessonov.jhash.JHash;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import static io.github.gbessonov.jhash.routing.RingRouterTest.nodeIds;
+
+public class RendezvousRouterTest {
+
+    @Test
+    public void keyFormsAgreeTest() {
+        var router = RendezvousRouter.create(nodeIds(0, 10));
+        Assertions.assertEquals(10, router.nodeCount());
+        for (int i = 0; i < 1000; i++) {
+            byte[] key = ("key-" + i).getBytes(StandardCharsets.UTF_8);
+            Assertions.assertEquals(router.routeHash(JHash.murmur3_128_low64(key)), router.route(key));
+            Assertions.assertEquals(router.routeHash(JHash.murmur3_128_low64((long) i)), router.route((long) i));
+        }
+        Assertions.assertEquals(0, RendezvousRouter.create(new long[]{42}).route(7L));
+    }
+
+    @Test
+    public void balanceTest() {
+        int nodes = 20;
+        int keys = 1_000_000;
+        var router = RendezvousRouter.create(nodeIds(0, nodes));
+        int[] counts = new int[nodes];
+        for (long key = 0; key < keys; key++) {
+            counts[router.route(key)]++;
+        }
+        for (int count : counts) {
+            Assertions.assertEquals(keys / nodes, count, 0.05 * keys / nodes);
+        }
+    }
+
+    @Test
+    public void nodeOrderDoesNotMatterTest() {
+        long[] ids = nodeIds(0, 10);
+        long[] reversed = new long[ids.length];
+        for (int i = 0; i < ids.length; i++) {
+            reversed[i] = ids[ids.length - 1 - i];
+        }
+        var router = RendezvousRouter.create(ids);
+        var other = RendezvousRouter.create(reversed);
+        for (long key = 0; key < 10_000; key++) {
+            Assertions.assertEquals(router.nodeId(router.route(key)), other.nodeId(other.route(key)));
+        }
+    }
+
+    @Test
+    public void addedNodeOnlyGainsKeysTest() {
+        long[] ids = nodeIds(100, 10);
+        var before = RendezvousRouter.create(ids);
+        long[] grown = Arrays.copyOf(ids, 11);
+        grown[10] = 999;
+        var after = RendezvousRouter.create(grown);
+        int keys = 200_000;
+        int moved = 0;
+        for (long key = 0; key < keys; key++) {
+            long from = before.nodeId(before.route(key));
+            long to = after.nodeId(after.route(key));
+            if (from != to) {
+                Assertions.assertEquals(999, to);
+                moved++;
+            }
+        }
+        Assertions.assertEquals(keys / 11.0, moved, 0.05 * keys / 11);
+    }
+
+    @Test
+    public void removedNodeOnlyLosesKeysTest() {
+        long[] ids = nodeIds(100, 10);
+        var before = RendezvousRouter.create(ids);
+        var after = RendezvousRouter.create(Arrays.copyOf(ids, 9));
+        for (long key = 0; key < 200_000; key++) {
+            long from = before.nodeId(before.route(key));
+            long to = after.nodeId(after.route(key));
+            if (from != ids[9]) {
+                Assertions.assertEquals(from, to);
+            }
+        }
+    }
+
+    @Test
+    public void argumentsTest() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> RendezvousRouter.create(new long[0]));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> RendezvousRouter.create(new long[]{5, 5}));
+    }
+}
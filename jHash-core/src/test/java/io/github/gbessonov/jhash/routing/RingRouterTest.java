@@ -0,0 +1,97 @@
+package io.github.gbessonov.jhash.routing;
+
+import io.github.gbessonov.jhash.JHash;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+public class RingRouterTest {
+
+    @Test
+    public void keyFormsAgreeTest() {
+        var router = RingRouter.create(nodeIds(0, 10));
+        Assertions.assertEquals(10, router.nodeCount());
+        Assertions.assertEquals(RingRouter.DEFAULT_VIRTUAL_NODES, router.virtualNodes());
+        for (int i = 0; i < 1000; i++) {
+            byte[] key = ("key-" + i).getBytes(StandardCharsets.UTF_8);
+            Assertions.assertEquals(router.routeHash(JHash.murmur3_128_low64(key)), router.route(key));
+            Assertions.assertEquals(router.routeHash(JHash.murmur3_128_low64((long) i)), router.route((long) i));
+        }
+        Assertions.assertEquals(0, RingRouter.create(new long[]{42}).route(7L));
+    }
+
+    @Test
+    public void balanceTest() {
+        int nodes = 20;
+        int keys = 1_000_000;
+        var router = RingRouter.create(nodeIds(0, nodes), 1000);
+        int[] counts = new int[nodes];
+        for (long key = 0; key < keys; key++) {
+            counts[router.route(key)]++;
+        }
+        for (int count : counts) {
+            Assertions.assertEquals(keys / nodes, count, 0.15 * keys / nodes);
+        }
+    }
+
+    @Test
+    public void addedNodeOnlyGainsKeysTest() {
+        long[] ids = nodeIds(100, 10);
+        var before = RingRouter.create(ids);
+        long[] grown = Arrays.copyOf(ids, 11);
+        grown[10] = 999;
+        var after = RingRouter.create(grown);
+        int keys = 200_000;
+        int moved = 0;
+        for (long key = 0; key < keys; key++) {
+            long from = before.nodeId(before.route(key));
+            long to = after.nodeId(after.route(key));
+            if (from != to) {
+                Assertions.assertEquals(999, to);
+                moved++;
+            }
+        }
+        Assertions.assertEquals(keys / 11.0, moved, 0.3 * keys / 11);
+    }
+
+    @Test
+    public void removedNodeOnlyLosesKeysTest() {
+        long[] ids = nodeIds(100, 10);
+        var before = RingRouter.create(ids);
+        // Dropping a node also shifts the indices of the nodes after it
+        long[] shrunk = new long[9];
+        System.arraycopy(ids, 0, shrunk, 0, 3);
+        System.arraycopy(ids, 4, shrunk, 3, 6);
+        var after = RingRouter.create(shrunk);
+        for (long key = 0; key < 200_000; key++) {
+            long from = before.nodeId(before.route(key));
+            long to = after.nodeId(after.route(key));
+            if (from != ids[3]) {
+                Assertions.assertEquals(from, to);
+            } else {
+                Assertions.assertNotEquals(ids[3], to);
+            }
+        }
+    }
+
+    @Test
+    public void argumentsTest() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> RingRouter.create(new long[0]));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> RingRouter.create(new long[]{1, 2, 1}));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> RingRouter.create(new long[]{1}, 0));
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> RingRouter.create(nodeIds(0, 100), RingRouter.MAX_POINTS / 100 + 1));
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> RingRouter.create(new long[RingRouter.MAX_NODES + 1], 1));
+    }
+
+    static long[] nodeIds(long first, int count) {
+        long[] ids = new long[count];
+        for (int i = 0; i < count; i++) {
+            ids[i] = JHash.murmur3_128_low64(("node-" + (first + i)).getBytes(StandardCharsets.UTF_8));
+        }
+        return ids;
+    }
+}
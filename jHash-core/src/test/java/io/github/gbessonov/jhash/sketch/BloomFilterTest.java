@@ -0,0 +1,218 @@
+package io.github.gbessonov.jhash.sketch;
+
+import io.github.gbessonov.jhash.JHash;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+public class BloomFilterTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void noFalseNegativesTest() {
+        var filter = BloomFilter.create(10_000, 0.01);
+        for (long key = 0; key < 10_000; key++) {
+            filter.put(key);
+        }
+        for (long key = 0; key < 10_000; key++) {
+            Assertions.assertTrue(filter.mightContain(key));
+        }
+        Assertions.assertEquals(10_000, filter.approximateElementCount(), 200);
+    }
+
+    @Test
+    public void falsePositiveRateTest() {
+        var filter = BloomFilter.create(100_000, 0.01);
+        Assertions.assertEquals(7, filter.hashFunctions());
+        for (long key = 0; key < 100_000; key++) {
+            filter.put(key);
+        }
+        int falsePositives = 0;
+        for (long key = 100_000; key < 1_100_000; key++) {
+            if (filter.mightContain(key)) {
+                falsePositives++;
+            }
+        }
+        Assertions.assertEquals(0.01, falsePositives / 1e6, 0.002);
+        Assertions.assertEquals(0.01, filter.expectedFpp(), 0.002);
+    }
+
+    @Test
+    public void shortDigestsFalsePositiveRateTest() {
+        // 32- and 64-bit digests leave the high half zero; their probes must still spread
+        for (var function : List.of(JHash.newMurmur3_32(), JHash.newXxHash64())) {
+            var filter = BloomFilter.create(10_000, 0.01);
+            for (long key = 0; key < 10_000; key++) {
+                function.reset(0);
+                filter.put(function.putLong(key).hash());
+            }
+            int falsePositives = 0;
+            for (long key = 10_000; key < 110_000; key++) {
+                function.reset(0);
+                if (filter.mightContain(function.putLong(key).hash())) {
+                    falsePositives++;
+                }
+            }
+            Assertions.assertEquals(0.01, falsePositives / 1e5, 0.004);
+        }
+    }
+
+    @Test
+    public void keyFormsAgreeTest() {
+        var filter = BloomFilter.create(100, 0.01);
+        byte[] data = "jHash".getBytes();
+        Assertions.assertTrue(filter.put(data));
+        Assertions.assertFalse(filter.put(data));
+        Assertions.assertTrue(filter.mightContain(JHash.murmur3_128(data)));
+
+        var digest = JHash.murmur3_128(ByteBuffer.allocate(8).order(ByteOrder.LITTLE_ENDIAN).putLong(0, 42).array());
+        Assertions.assertTrue(filter.put(digest.lowBits(), digest.highBits()));
+        Assertions.assertTrue(filter.mightContain(42L));
+        Assertions.assertFalse(filter.put(42L));
+    }
+
+    @Test
+    public void segmentsTest() {
+        // 16 words per segment: 5 segments, the last one short
+        var segmented = BloomFilter.allocate(64 * 70 + 5, 5, 16);
+        var flat = BloomFilter.createWithBits(64 * 70 + 5, 5);
+        for (long key = 0; key < 500; key += 2) {
+            Assertions.assertEquals(flat.put(key), segmented.put(key));
+        }
+        Assertions.assertEquals(flat.bitCount(), segmented.bitCount());
+        for (long key = 0; key < 1000; key++) {
+            Assertions.assertEquals(flat.mightContain(key), segmented.mightContain(key));
+        }
+    }
+
+    @Test
+    public void mergeTest() {
+        var left = BloomFilter.create(1000, 0.01);
+        var right = BloomFilter.create(1000, 0.01);
+        var both = BloomFilter.create(1000, 0.01);
+        for (long key = 0; key < 1000; key++) {
+            (key % 3 == 0 ? left : right).put(key);
+            both.put(key);
+        }
+        left.merge(right);
+        Assertions.assertEquals(both.bitCount(), left.bitCount());
+        for (long key = 0; key < 2000; key++) {
+            Assertions.assertEquals(both.mightContain(key), left.mightContain(key));
+        }
+
+        Assertions.assertThrows(IllegalArgumentException.class, () -> left.merge(BloomFilter.create(1001, 0.01)));
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> left.merge(BloomFilter.createWithBits(left.bitSize(), left.hashFunctions() + 1)));
+    }
+
+    @Test
+    public void writeAndMapTest() throws IOException {
+        var filter = BloomFilter.create(1000, 0.001);
+        for (long key = 0; key < 1000; key++) {
+            filter.put(key);
+        }
+        var file = tempDir.resolve("filter.bf");
+        filter.writeTo(file);
+        try (var mapped = BloomFilter.map(file)) {
+            Assertions.assertEquals(filter.bitSize(), mapped.bitSize());
+            Assertions.assertEquals(filter.hashFunctions(), mapped.hashFunctions());
+            Assertions.assertEquals(filter.bitCount(), mapped.bitCount());
+            for (long key = 0; key < 2000; key++) {
+                Assertions.assertEquals(filter.mightContain(key), mapped.mightContain(key));
+            }
+            mapped.put(5000L);
+        }
+        try (var mapped = BloomFilter.map(file)) {
+            Assertions.assertTrue(mapped.mightContain(5000L));
+        }
+    }
+
+    @Test
+    public void createMappedTest() throws IOException {
+        var file = tempDir.resolve("filter.bf");
+        try (var filter = BloomFilter.createMapped(file, 1000, 0.01)) {
+            for (long key = 0; key < 1000; key++) {
+                filter.put(key);
+            }
+        }
+        Assertions.assertThrows(IOException.class, () -> BloomFilter.createMapped(file, 1000, 0.01));
+        try (var filter = BloomFilter.map(file)) {
+            for (long key = 0; key < 1000; key++) {
+                Assertions.assertTrue(filter.mightContain(key));
+            }
+            Assertions.assertEquals(1000, filter.approximateElementCount(), 30);
+        }
+    }
+
+    @Test
+    public void malformedFileTest() throws IOException {
+        var file = tempDir.resolve("filter.bf");
+        BloomFilter.create(1000, 0.01).writeTo(file);
+        byte[] content = Files.readAllBytes(file);
+
+        Files.write(tempDir.resolve("short.bf"), new byte[10]);
+        Assertions.assertThrows(IOException.class, () -> BloomFilter.map(tempDir.resolve("short.bf")));
+
+        byte[] truncated = new byte[content.length - 8];
+        System.arraycopy(content, 0, truncated, 0, truncated.length);
+        Files.write(tempDir.resolve("truncated.bf"), truncated);
+        Assertions.assertThrows(IOException.class, () -> BloomFilter.map(tempDir.resolve("truncated.bf")));
+
+        content[0]++;
+        Files.write(tempDir.resolve("magic.bf"), content);
+        Assertions.assertThrows(IOException.class, () -> BloomFilter.map(tempDir.resolve("magic.bf")));
+    }
+
+    @Test
+    public void argumentsTest() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> BloomFilter.create(0, 0.01));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> BloomFilter.create(100, 0));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> BloomFilter.create(100, 1));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> BloomFilter.create(Long.MAX_VALUE / 2, 0.01));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> BloomFilter.createWithBits(0, 3));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> BloomFilter.createWithBits(1000, 0));
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> BloomFilter.createWithBits(1000, BloomFilter.MAX_HASH_FUNCTIONS + 1));
+    }
+
+    @Test
+    public void concurrentPutsTest() throws Exception {
+        var filter = BloomFilter.create(200_000, 0.01);
+        var sequential = BloomFilter.create(200_000, 0.01);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            var futures = new ArrayList<Future<?>>();
+            for (int t = 0; t < 4; t++) {
+                long first = t;
+                futures.add(executor.submit(() -> {
+                    for (long key = first; key < 200_000; key += 4) {
+                        filter.put(key);
+                    }
+                }));
+            }
+            for (var future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+        for (long key = 0; key < 200_000; key++) {
+            sequential.put(key);
+            Assertions.assertTrue(filter.mightContain(key));
+        }
+        Assertions.assertEquals(sequential.bitCount(), filter.bitCount());
+    }
+}
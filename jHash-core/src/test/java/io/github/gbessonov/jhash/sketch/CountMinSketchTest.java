@@ -0,0 +1,146 @@
+package io.github.gbessonov.jhash.sketch;
+
+import io.github.gbessonov.jhash.HashCode;
+import io.github.gbessonov.jhash.JHash;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+public class CountMinSketchTest {
+
+    @Test
+    public void estimatesTest() {
+        var sketch = CountMinSketch.create(0.001, 0.01);
+        Assertions.assertEquals(2719, sketch.width());
+        Assertions.assertEquals(5, sketch.depth());
+
+        var counts = zipf(sketch, 200_000, 50_000, 1);
+        Assertions.assertEquals(200_000, sketch.totalCount());
+        int overEpsilon = 0;
+        for (long key = 0; key < 50_000; key++) {
+            long actual = counts.getOrDefault(key, 0L);
+            long estimate = sketch.estimate(key);
+            Assertions.assertTrue(estimate >= actual, "Underestimated key " + key);
+            if (estimate - actual > 0.001 * 200_000) {
+                overEpsilon++;
+            }
+        }
+        Assertions.assertTrue(overEpsilon < 50_000 * 0.01, overEpsilon + " keys over the error bound");
+    }
+
+    @Test
+    public void keyFormsAgreeTest() {
+        var sketch = CountMinSketch.createWithDimensions(4, 1000);
+        byte[] bytes = "key".getBytes(StandardCharsets.UTF_8);
+        sketch.add(bytes);
+        sketch.add("key");
+        sketch.add(new StringBuilder("key"));
+        sketch.add(JHash.murmur3_128(bytes));
+        var digest = JHash.murmur3_128(bytes);
+        sketch.add(digest.lowBits(), digest.highBits(), 6);
+        Assertions.assertEquals(10, sketch.estimate(bytes));
+        Assertions.assertEquals(10, sketch.estimate("key"));
+        Assertions.assertEquals(10, sketch.estimate(digest));
+        Assertions.assertEquals(10, sketch.totalCount());
+
+        sketch.add(42L);
+        Assertions.assertEquals(1, sketch.estimate(42L));
+        Assertions.assertEquals(0, sketch.estimate(43L));
+    }
+
+    @Test
+    public void stripedConcurrentAddsTest() throws Exception {
+        var sketch = CountMinSketch.createWithDimensions(5, 1000, 8);
+        var sequential = CountMinSketch.createWithDimensions(5, 1000);
+        sketch.add(0L);
+        sequential.add(0L);
+        sketch.grow();
+        sketch.grow();
+        sketch.grow();
+        sketch.grow();
+        Assertions.assertEquals(8, sketch.stripeCount());
+        sequential.grow();
+        Assertions.assertEquals(1, sequential.stripeCount());
+        for (int t = 0; t < 8; t++) {
+            zipf(sequential, 50_000, 5000, t);
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            var futures = new ArrayList<Future<?>>();
+            for (int t = 0; t < 8; t++) {
+                int seed = t;
+                futures.add(executor.submit(() -> zipf(sketch, 50_000, 5000, seed)));
+            }
+            for (var future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+        Assertions.assertEquals(sequential.totalCount(), sketch.totalCount());
+        for (long key = 0; key < 5000; key++) {
+            Assertions.assertEquals(sequential.estimate(key), sketch.estimate(key));
+        }
+    }
+
+    @Test
+    public void shortDigestsTest() {
+        // 32- and 64-bit digests leave the high half zero; the rows must still pick different columns
+        for (var function : List.of(JHash.newMurmur3_32(), JHash.newXxHash64())) {
+            var sketch = CountMinSketch.createWithDimensions(4, 1000);
+            var digests = new ArrayList<HashCode>();
+            for (long key = 0; key < 500; key++) {
+                function.reset(0);
+                HashCode digest = function.putLong(key).hash();
+                Assertions.assertEquals(0, digest.highBits());
+                digests.add(digest);
+                sketch.add(digest);
+            }
+            int exact = 0;
+            for (HashCode digest : digests) {
+                if (sketch.estimate(digest) == 1) {
+                    exact++;
+                }
+            }
+            // one row alone is collision-free for about 61% of the keys, one of four rows for about 98%
+            Assertions.assertTrue(exact > 450, exact + " exact estimates out of 500");
+        }
+    }
+
+    @Test
+    public void argumentsTest() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> CountMinSketch.create(0, 0.01));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> CountMinSketch.create(0.01, 1));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> CountMinSketch.create(1e-10, 0.01));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> CountMinSketch.createWithDimensions(0, 10));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> CountMinSketch.createWithDimensions(33, 10));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> CountMinSketch.createWithDimensions(4, 0));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> CountMinSketch.createWithDimensions(4, 10, 0));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> CountMinSketch.createWithDimensions(4, 10, 3));
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> CountMinSketch.createWithDimensions(4, 10, CountMinSketch.MAX_STRIPES * 2));
+        var sketch = CountMinSketch.createWithDimensions(4, 10);
+        Assertions.assertThrows(IllegalArgumentException.class, () -> sketch.add(1, 2, -1));
+    }
+
+    // Adds 'events' keys in [0, keys) with Zipf-like frequencies (key k about 1 / (k + 1)) and returns the counts
+    static HashMap<Long, Long> zipf(CountMinSketch sketch, int events, int keys, long seed) {
+        var random = new SplittableRandom(seed);
+        var counts = new HashMap<Long, Long>();
+        double logKeys = Math.log(keys + 1);
+        for (int i = 0; i < events; i++) {
+            long key = (long) Math.exp(random.nextDouble() * logKeys) - 1;
+            sketch.add(key);
+            counts.merge(key, 1L, Long::sum);
+        }
+        return counts;
+    }
+}
@@ -0,0 +1,125 @@
+package io.github.gbessonov.jhash.sketch;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+public class HeavyHittersTest {
+
+    @Test
+    public void topKTest() {
+        var hitters = HeavyHitters.create(10, CountMinSketch.create(0.0005, 0.01));
+        // Keys 0..9 are far more frequent than the long tail of 100 000 keys
+        var random = new SplittableRandom(1);
+        for (int i = 0; i < 500_000; i++) {
+            long key = random.nextInt(4) == 0 ? random.nextInt(10) : 10 + random.nextInt(100_000);
+            hitters.add(key);
+        }
+        var top = hitters.topK();
+        Assertions.assertEquals(10, top.size());
+        var found = new HashSet<Object>();
+        for (int i = 0; i < top.size(); i++) {
+            found.add(top.get(i).getKey());
+            Assertions.assertEquals(12_500, top.get(i).getCount(), 1_500);
+            if (i > 0) {
+                Assertions.assertTrue(top.get(i - 1).getCount() >= top.get(i).getCount());
+            }
+        }
+        for (long key = 0; key < 10; key++) {
+            Assertions.assertTrue(found.contains(key), "Missing key " + key);
+        }
+    }
+
+    @Test
+    public void keyFormsTest() {
+        var hitters = HeavyHitters.create(3, CountMinSketch.createWithDimensions(4, 1000));
+        byte[] bytes = "bytes".getBytes(StandardCharsets.UTF_8);
+        for (int i = 0; i < 5; i++) {
+            hitters.add(bytes);
+            hitters.add(new StringBuilder("chars"));
+            hitters.add(7L);
+        }
+        // Mutating the caller's array does not change the tracked key
+        bytes[0] = 'X';
+        hitters.add("rare");
+        var top = hitters.topK();
+        Assertions.assertEquals(3, top.size());
+        var keys = new HashSet<Object>();
+        for (var entry : top) {
+            Assertions.assertEquals(5, entry.getCount());
+            keys.add(entry.getKey() instanceof byte[] ? new String((byte[]) entry.getKey(), StandardCharsets.UTF_8)
+                    : entry.getKey());
+        }
+        Assertions.assertEquals(new HashSet<>(List.of("bytes", "chars", 7L)), keys);
+    }
+
+    @Test
+    public void evictionTest() {
+        var hitters = HeavyHitters.create(2, CountMinSketch.createWithDimensions(5, 10_000));
+        // The first two keys fill the heap at count 1, then grow without being re-offered
+        hitters.add(1L);
+        hitters.add(2L);
+        for (int i = 0; i < 100; i++) {
+            hitters.add(1L);
+            hitters.add(2L);
+        }
+        // A newcomer must beat their refreshed counts, not the stale ones
+        for (int i = 0; i < 50; i++) {
+            hitters.add(3L);
+        }
+        Assertions.assertEquals(List.of(1L, 2L),
+                hitters.topK().stream().map(HeavyHitters.Entry::getKey).sorted().toList());
+        for (int i = 0; i < 100; i++) {
+            hitters.add(3L);
+        }
+        var top = hitters.topK();
+        Assertions.assertEquals(3L, top.get(0).getKey());
+        Assertions.assertEquals(150, top.get(0).getCount());
+        Assertions.assertEquals(2, top.size());
+    }
+
+    @Test
+    public void concurrentAddsTest() throws Exception {
+        var hitters = HeavyHitters.create(5, CountMinSketch.createWithDimensions(5, 4096, 4));
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            var futures = new ArrayList<Future<?>>();
+            for (int t = 0; t < 4; t++) {
+                int seed = t;
+                futures.add(executor.submit(() -> {
+                    var random = new SplittableRandom(seed);
+                    for (int i = 0; i < 100_000; i++) {
+                        hitters.add(random.nextInt(3) == 0 ? random.nextInt(5) : 5 + random.nextLong(1_000_000));
+                    }
+                }));
+            }
+            for (var future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+        var keys = new HashSet<Object>();
+        for (var entry : hitters.topK()) {
+            keys.add(entry.getKey());
+        }
+        Assertions.assertEquals(new HashSet<>(List.of(0L, 1L, 2L, 3L, 4L)), keys);
+        Assertions.assertEquals(400_000, hitters.getSketch().totalCount());
+    }
+
+    @Test
+    public void argumentsTest() {
+        var sketch = CountMinSketch.createWithDimensions(4, 100);
+        Assertions.assertThrows(IllegalArgumentException.class, () -> HeavyHitters.create(0, sketch));
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> HeavyHitters.create(HeavyHitters.MAX_CAPACITY + 1, sketch));
+    }
+}
@@ -0,0 +1,229 @@
+package io.github.gbessonov.jhash.sketch;
+
+import io.github.gbessonov.jhash.JHash;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+public class HyperLogLogTest {
+
+    @Test
+    public void sparseTest() {
+        var sketch = HyperLogLog.create();
+        for (long key = 0; key < 3000; key++) {
+            sketch.add(key);
+            sketch.add(key);
+        }
+        Assertions.assertTrue(sketch.isSparse());
+        Assertions.assertEquals(3000, sketch.estimate(), 3);
+
+        // The table of 4096 entries turns dense past three quarters
+        for (long key = 3000; key < 3100; key++) {
+            sketch.add(key);
+        }
+        Assertions.assertFalse(sketch.isSparse());
+        Assertions.assertEquals(3100, sketch.estimate(), 3100 * 0.03);
+    }
+
+    @Test
+    public void emptyTest() {
+        var sketch = HyperLogLog.create(4);
+        Assertions.assertEquals(0, sketch.estimate());
+        Assertions.assertEquals(0, HyperLogLog.fromBytes(sketch.toBytes()).estimate());
+        sketch.add(1L);
+        sketch.add(2L);
+        sketch.add(3L);
+        sketch.add(4L);
+        Assertions.assertFalse(sketch.isSparse());
+        Assertions.assertTrue(sketch.estimate() > 0);
+    }
+
+    @ParameterizedTest(name = "Cardinality {0}")
+    @ValueSource(ints = {10_000, 100_000, 1_000_000, 5_000_000})
+    public void denseAccuracyTest(int cardinality) {
+        var sketch = HyperLogLog.create();
+        var random = new SplittableRandom(cardinality);
+        for (int i = 0; i < cardinality; i++) {
+            sketch.add(random.nextLong(), random.nextLong());
+        }
+        // Four standard errors of 1.04 / 128
+        Assertions.assertEquals(cardinality, sketch.estimate(), cardinality * 0.0325);
+    }
+
+    @Test
+    public void shortDigestsTest() {
+        // 32- and 64-bit digests leave the high half zero, which must not be taken as the rank
+        for (var function : List.of(JHash.newMurmur3_32(), JHash.newXxHash64())) {
+            var sketch = HyperLogLog.create();
+            for (long key = 0; key < 100_000; key++) {
+                function.reset(0);
+                sketch.add(function.putLong(key).hash());
+            }
+            Assertions.assertEquals(100_000, sketch.estimate(), 100_000 * 0.0325);
+        }
+    }
+
+    @Test
+    public void feedersAgreeTest() {
+        var bytes = HyperLogLog.create(10);
+        var fed = HyperLogLog.create(10);
+        for (int i = 0; i < 1000; i++) {
+            String text = "user-" + i + (i % 7 == 0 ? "é中😀" : "");
+            bytes.add(text.getBytes(StandardCharsets.UTF_8));
+            fed.add(new StringBuilder(text));
+
+            byte[] key = ByteBuffer.allocate(8).order(ByteOrder.LITTLE_ENDIAN).putLong(0, i * 31L).array();
+            var digest = JHash.murmur3_128(key);
+            bytes.add(digest.lowBits(), digest.highBits());
+            if (i % 2 == 0) {
+                fed.add(i * 31L);
+            } else {
+                fed.add(digest);
+            }
+        }
+        Assertions.assertArrayEquals(bytes.toBytes(), fed.toBytes());
+    }
+
+    @ParameterizedTest(name = "Keys per side {0}")
+    @ValueSource(ints = {100, 2000, 50_000})
+    public void mergeTest(int keys) {
+        var left = HyperLogLog.create();
+        var right = HyperLogLog.create();
+        var both = HyperLogLog.create();
+        for (long key = 0; key < keys; key++) {
+            left.add(key);
+            both.add(key);
+        }
+        // Right is always sparse, left and both sparse or dense depending on the size
+        for (long key = 0; key < 1000; key++) {
+            right.add(key + keys / 2);
+            both.add(key + keys / 2);
+        }
+        var merged = HyperLogLog.fromBytes(left.toBytes());
+        merged.merge(right);
+        Assertions.assertArrayEquals(both.toBytes(), merged.toBytes());
+
+        merged = HyperLogLog.fromBytes(right.toBytes());
+        merged.merge(left);
+        Assertions.assertArrayEquals(both.toBytes(), merged.toBytes());
+    }
+
+    @Test
+    public void mergeIntoLowerPrecisionTest() {
+        var low = HyperLogLog.create(10);
+        var high = HyperLogLog.create(14);
+        for (long key = 0; key < 100_000; key++) {
+            low.add(key);
+            high.add(key);
+        }
+        var merged = HyperLogLog.create(10);
+        merged.merge(high);
+        Assertions.assertArrayEquals(low.toBytes(), merged.toBytes());
+        Assertions.assertThrows(IllegalArgumentException.class, () -> high.merge(low));
+    }
+
+    @Test
+    public void serializationTest() {
+        var sketch = HyperLogLog.create();
+        for (long key = 0; key < 1000; key++) {
+            sketch.add(key);
+        }
+        byte[] sparse = sketch.toBytes();
+        Assertions.assertTrue(sparse.length < 4000, "Sparse form of " + sparse.length + " bytes");
+        var restored = HyperLogLog.fromBytes(sparse);
+        Assertions.assertTrue(restored.isSparse());
+        Assertions.assertEquals(sketch.estimate(), restored.estimate());
+        Assertions.assertArrayEquals(sparse, restored.toBytes());
+
+        for (long key = 1000; key < 100_000; key++) {
+            sketch.add(key);
+        }
+        byte[] dense = sketch.toBytes();
+        Assertions.assertEquals(3 + 12 * 1024, dense.length);
+        restored = HyperLogLog.fromBytes(dense);
+        Assertions.assertFalse(restored.isSparse());
+        Assertions.assertEquals(sketch.estimate(), restored.estimate());
+        Assertions.assertArrayEquals(dense, restored.toBytes());
+    }
+
+    @Test
+    public void malformedBytesTest() {
+        var sketch = HyperLogLog.create(8);
+        for (long key = 0; key < 20; key++) {
+            sketch.add(key);
+        }
+        byte[] sparse = sketch.toBytes();
+
+        Assertions.assertThrows(IllegalArgumentException.class, () -> HyperLogLog.fromBytes(new byte[2]));
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> HyperLogLog.fromBytes(Arrays.copyOf(sparse, sparse.length - 1)));
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> HyperLogLog.fromBytes(Arrays.copyOf(sparse, sparse.length + 1)));
+        for (int at : new int[]{0, 1, 2}) {
+            byte[] corrupted = sparse.clone();
+            corrupted[at] = 42;
+            Assertions.assertThrows(IllegalArgumentException.class, () -> HyperLogLog.fromBytes(corrupted));
+        }
+        // Sparse entry counts that are negative, wider than 32 bits or larger than the bytes left
+        for (byte[] count : new byte[][]{{-1, -1, -1, -1, 0x0f}, {-1, -1, -1, -1, 0x1f}, {0x7f}}) {
+            byte[] corrupted = Arrays.copyOf(sparse, 3 + count.length);
+            System.arraycopy(count, 0, corrupted, 3, count.length);
+            Assertions.assertThrows(IllegalArgumentException.class, () -> HyperLogLog.fromBytes(corrupted));
+        }
+
+        for (long key = 20; key < 1000; key++) {
+            sketch.add(key);
+        }
+        byte[] dense = sketch.toBytes();
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> HyperLogLog.fromBytes(Arrays.copyOf(dense, dense.length - 1)));
+    }
+
+    @Test
+    public void argumentsTest() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> HyperLogLog.create(3));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> HyperLogLog.create(19));
+    }
+
+    @Test
+    public void concurrentAddsTest() throws Exception {
+        // Every thread adds all keys, racing through the switch from sparse to dense
+        for (int round = 0; round < 20; round++) {
+            var sketch = HyperLogLog.create(12);
+            var sequential = HyperLogLog.create(12);
+            for (long key = 0; key < 20_000; key++) {
+                sequential.add(key);
+            }
+            ExecutorService executor = Executors.newFixedThreadPool(4);
+            try {
+                var futures = new ArrayList<Future<?>>();
+                for (int t = 0; t < 4; t++) {
+                    long step = 2 * t + 1;
+                    futures.add(executor.submit(() -> {
+                        for (long i = 0; i < 20_000; i++) {
+                            sketch.add(i * step % 20_000);
+                        }
+                    }));
+                }
+                for (var future : futures) {
+                    future.get();
+                }
+            } finally {
+                executor.shutdown();
+            }
+            Assertions.assertArrayEquals(sequential.toBytes(), sketch.toBytes());
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package io.github.gbessonov.jhash.vector;
+
+/**
+ * Computes the Murmur3f digests of a key column; output arrays are already bounds-checked.
+ */
+interface ColumnKernel {
+
+    void hashLongs(long[] keys, int seed, long[] low, long[] high);
+
+    void hashInts(int[] keys, int seed, long[] low, long[] high);
+}
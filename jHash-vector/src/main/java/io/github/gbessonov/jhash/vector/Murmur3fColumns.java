@@ -0,0 +1,80 @@
+package io.github.gbessonov.jhash.vector;
+
+import java.util.Objects;
+
+/**
+ * MurmurHash3 (x64 128-bit variant) of every element of a fixed-width key column.
+ * <p>
+ * Each element is hashed independently, exactly like
+ * {@link io.github.gbessonov.jhash.implementations.murmur3f.Murmur3fOneShot#hash(long, int, long[], int)}
+ * (or its {@code int} overload) would, and the low and high 64 bits of element {@code i} are written to
+ * {@code low[i]} and {@code high[i]}.
+ * <p>
+ * When the incubating {@code jdk.incubator.vector} module is resolved (run with
+ * {@code --add-modules jdk.incubator.vector}) and the CPU offers SIMD registers of at least two
+ * 64-bit lanes, many keys are hashed at once in vector lanes. Otherwise, or when the
+ * {@value #SCALAR_PROPERTY} system property is {@code true}, the same digests are computed by a
+ * scalar loop. 64-bit lane multiplies are only native on AVX-512DQ-class hardware, so benchmark
+ * both paths on the target machine.
+ * <p>
+ * The class is stateless and therefore thread-safe.
+ */
+public final class Murmur3fColumns {
+
+    /**
+     * System property forcing the scalar path even when the Vector API is available.
+     */
+    public static final String SCALAR_PROPERTY = "jhash.vector.scalar";
+
+    private static final String VECTOR_MODULE = "jdk.incubator.vector";
+    private static final String VECTOR_KERNEL = "io.github.gbessonov.jhash.vector.VectorColumnKernel";
+
+    static final ColumnKernel KERNEL = selectKernel();
+
+    private Murmur3fColumns() {
+    }
+
+    /**
+     * Hashes the 8 little-endian bytes of every key.
+     *
+     * @throws IndexOutOfBoundsException if {@code low} or {@code high} is shorter than {@code keys}
+     */
+    public static void hash(long[] keys, int seed, long[] low, long[] high) {
+        checkOutputs(keys.length, low, high);
+        KERNEL.hashLongs(keys, seed, low, high);
+    }
+
+    /**
+     * Hashes the 4 little-endian bytes of every key.
+     *
+     * @throws IndexOutOfBoundsException if {@code low} or {@code high} is shorter than {@code keys}
+     */
+    public static void hash(int[] keys, int seed, long[] low, long[] high) {
+        checkOutputs(keys.length, low, high);
+        KERNEL.hashInts(keys, seed, low, high);
+    }
+
+    /**
+     * Returns whether columns are hashed in SIMD lanes rather than by the scalar fallback.
+     */
+    public static boolean isVectorized() {
+        return !(KERNEL instanceof ScalarColumnKernel);
+    }
+
+    private static void checkOutputs(int count, long[] low, long[] high) {
+        Objects.checkFromIndexSize(0, count, low.length);
+        Objects.checkFromIndexSize(0, count, high.length);
+    }
+
+    private static ColumnKernel selectKernel() {
+        if (Boolean.getBoolean(SCALAR_PROPERTY) || ModuleLayer.boot().findModule(VECTOR_MODULE).isEmpty()) {
+            return new ScalarColumnKernel();
+        }
+        // Loaded reflectively so that nothing links against the incubator module when it is absent
+        try {
+            return (ColumnKernel) Class.forName(VECTOR_KERNEL).getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException | LinkageError e) {
+            return new ScalarColumnKernel();
+        }
+    }
+}
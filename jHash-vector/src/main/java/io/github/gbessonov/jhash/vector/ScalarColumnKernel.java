@@ -0,0 +1,29 @@
+package io.github.gbessonov.jhash.vector;
+
+import io.github.gbessonov.jhash.implementations.murmur3f.Murmur3fOneShot;
+
+/**
+ * Portable fallback: one fixed-width one-shot hash per element.
+ */
+final class ScalarColumnKernel implements ColumnKernel {
+
+    @Override
+    public void hashLongs(long[] keys, int seed, long[] low, long[] high) {
+        long[] halves = new long[2];
+        for (int i = 0; i < keys.length; i++) {
+            Murmur3fOneShot.hash(keys[i], seed, halves, 0);
+            low[i] = halves[0];
+            high[i] = halves[1];
+        }
+    }
+
+    @Override
+    public void hashInts(int[] keys, int seed, long[] low, long[] high) {
+        long[] halves = new long[2];
+        for (int i = 0; i < keys.length; i++) {
+            Murmur3fOneShot.hash(keys[i], seed, halves, 0);
+            low[i] = halves[0];
+            high[i] = halves[1];
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package io.github.gbessonov.jhash.vector;
+
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorShape;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * SIMD kernel: one key per 64-bit lane of the preferred species.
+ * <p>
+ * A 4 or 8-byte key is a single partial block, so the digest reduces to {@code mixK1} of the key,
+ * the length and seed mixing, and two {@code fmix64}; all of it maps to lane-wise multiplies,
+ * rotates, shifts and xors. The last partial vector is handled with masked loads and stores.
+ * Only this class references {@code jdk.incubator.vector}.
+ */
+final class VectorColumnKernel implements ColumnKernel {
+
+    private static final long C1 = 0x87c37b91114253d5L;
+    private static final long C2 = 0x4cf5ad432745937fL;
+
+    private static final VectorSpecies<Long> LONGS = LongVector.SPECIES_PREFERRED;
+    // Same lane count as LONGS, so an int vector widens into exactly one long vector
+    private static final VectorSpecies<Integer> INTS =
+            VectorSpecies.of(int.class, VectorShape.forBitSize(LONGS.vectorBitSize() / 2));
+
+    VectorColumnKernel() {
+        if (LONGS.length() < 2) {
+            throw new IllegalStateException("No SIMD support for 64-bit lanes: " + LONGS);
+        }
+    }
+
+    @Override
+    public void hashLongs(long[] keys, int seed, long[] low, long[] high) {
+        int count = keys.length;
+        int bound = LONGS.loopBound(count);
+        int i = 0;
+        for (; i < bound; i += LONGS.length()) {
+            LongVector k1 = LongVector.fromArray(LONGS, keys, i);
+            finish(k1, seed, Long.BYTES, low, high, i, null);
+        }
+        if (i < count) {
+            VectorMask<Long> mask = LONGS.indexInRange(i, count);
+            LongVector k1 = LongVector.fromArray(LONGS, keys, i, mask);
+            finish(k1, seed, Long.BYTES, low, high, i, mask);
+        }
+    }
+
+    @Override
+    public void hashInts(int[] keys, int seed, long[] low, long[] high) {
+        int count = keys.length;
+        int bound = INTS.loopBound(count);
+        int i = 0;
+        for (; i < bound; i += INTS.length()) {
+            finish(widen(IntVector.fromArray(INTS, keys, i)), seed, Integer.BYTES, low, high, i, null);
+        }
+        if (i < count) {
+            IntVector k = IntVector.fromArray(INTS, keys, i, INTS.indexInRange(i, count));
+            finish(widen(k), seed, Integer.BYTES, low, high, i, LONGS.indexInRange(i, count));
+        }
+    }
+
+    // Zero-extends the int lanes: the key bytes are the low 4 bytes of k1
+    private static LongVector widen(IntVector keys) {
+        return ((LongVector) keys.convertShape(VectorOperators.I2L, LONGS, 0)).and(0xffffffffL);
+    }
+
+    private static void finish(LongVector k1, int seed, int length, long[] low, long[] high, int offset,
+                               VectorMask<Long> mask) {
+        long h2Initial = (long) seed ^ length;
+
+        // h1 = seed ^ mixK1(k1) ^ length; h2 = seed ^ length
+        LongVector h1 = k1.mul(C1).lanewise(VectorOperators.ROL, 31).mul(C2).lanewise(VectorOperators.XOR, h2Initial);
+        h1 = h1.add(h2Initial);
+        LongVector h2 = h1.add(h2Initial);
+
+        h1 = fmix64(h1);
+        h2 = fmix64(h2);
+
+        h1 = h1.add(h2);
+        h2 = h2.add(h1);
+
+        if (mask == null) {
+            h1.intoArray(low, offset);
+            h2.intoArray(high, offset);
+        } else {
+            h1.intoArray(low, offset, mask);
+            h2.intoArray(high, offset, mask);
+        }
+    }
+
+    private static LongVector fmix64(LongVector k) {
+        k = k.lanewise(VectorOperators.XOR, k.lanewise(VectorOperators.LSHR, 33));
+        k = k.mul(0xff51afd7ed558ccdL);
+        k = k.lanewise(VectorOperators.XOR, k.lanewise(VectorOperators.LSHR, 33));
+        k = k.mul(0xc4ceb9fe1a85ec53L);
+        return k.lanewise(VectorOperators.XOR, k.lanewise(VectorOperators.LSHR, 33));
+    }
+}
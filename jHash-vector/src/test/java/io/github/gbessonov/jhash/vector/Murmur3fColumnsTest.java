@@ -0,0 +1,97 @@
+package io.github.gbessonov.jhash.vector;
+
+import io.github.gbessonov.jhash.implementations.murmur3f.Murmur3fOneShot;
+import jdk.incubator.vector.LongVector;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.Random;
+
+public class Murmur3fColumnsTest {
+
+    private static final ColumnKernel[] KERNELS = kernels();
+
+    // The vector kernel refuses to run without SIMD registers of at least two 64-bit lanes
+    private static ColumnKernel[] kernels() {
+        if (LongVector.SPECIES_PREFERRED.length() < 2) {
+            return new ColumnKernel[]{new ScalarColumnKernel()};
+        }
+        return new ColumnKernel[]{new ScalarColumnKernel(), new VectorColumnKernel()};
+    }
+
+    @ParameterizedTest(name = "{0} keys")
+    @ValueSource(ints = {0, 1, 2, 3, 7, 8, 9, 15, 16, 17, 63, 1000})
+    public void longColumnMatchesOneShotTest(int count) {
+        var random = new Random(count);
+        var keys = new long[count];
+        for (int i = 0; i < count; i++) {
+            keys[i] = random.nextLong();
+        }
+        int seed = random.nextInt();
+
+        var halves = new long[2];
+        var expectedLow = new long[count + 1];
+        var expectedHigh = new long[count + 1];
+        for (int i = 0; i < count; i++) {
+            Murmur3fOneShot.hash(keys[i], seed, halves, 0);
+            expectedLow[i] = halves[0];
+            expectedHigh[i] = halves[1];
+        }
+
+        for (ColumnKernel kernel : KERNELS) {
+            var low = new long[count + 1];
+            var high = new long[count + 1];
+            kernel.hashLongs(keys, seed, low, high);
+            Assertions.assertArrayEquals(expectedLow, low, kernel.getClass().getSimpleName());
+            Assertions.assertArrayEquals(expectedHigh, high, kernel.getClass().getSimpleName());
+        }
+
+        var low = new long[count + 1];
+        var high = new long[count + 1];
+        Murmur3fColumns.hash(keys, seed, low, high);
+        Assertions.assertArrayEquals(expectedLow, low);
+        Assertions.assertArrayEquals(expectedHigh, high);
+    }
+
+    @ParameterizedTest(name = "{0} keys")
+    @ValueSource(ints = {0, 1, 2, 3, 7, 8, 9, 15, 16, 17, 63, 1000})
+    public void intColumnMatchesOneShotTest(int count) {
+        var random = new Random(count);
+        var keys = new int[count];
+        for (int i = 0; i < count; i++) {
+            keys[i] = random.nextInt();
+        }
+        if (count > 0) {
+            // The key must be zero-extended, not sign-extended, into the 64-bit block
+            keys[0] = -1;
+        }
+        int seed = random.nextInt();
+
+        var halves = new long[2];
+        var expectedLow = new long[count];
+        var expectedHigh = new long[count];
+        for (int i = 0; i < count; i++) {
+            Murmur3fOneShot.hash(keys[i], seed, halves, 0);
+            expectedLow[i] = halves[0];
+            expectedHigh[i] = halves[1];
+        }
+
+        for (ColumnKernel kernel : KERNELS) {
+            var low = new long[count];
+            var high = new long[count];
+            kernel.hashInts(keys, seed, low, high);
+            Assertions.assertArrayEquals(expectedLow, low, kernel.getClass().getSimpleName());
+            Assertions.assertArrayEquals(expectedHigh, high, kernel.getClass().getSimpleName());
+        }
+    }
+
+    @Test
+    public void boundsTest() {
+        Assertions.assertThrows(IndexOutOfBoundsException.class,
+                () -> Murmur3fColumns.hash(new long[4], 0, new long[3], new long[4]));
+        Assertions.assertThrows(IndexOutOfBoundsException.class,
+                () -> Murmur3fColumns.hash(new int[4], 0, new long[4], new long[3]));
+    }
+}